@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.core.benchmark.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.CompositeOperationHandler;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelOnlyResourceDefinition;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.ValueExpression;
+
+/**
+ * The management model used by the controller benchmarks. It mimics the shape of a typical server configuration:
+ * a number of {@code subsystem=*} resources, each with a list of {@code child=*} resources carrying a mix of
+ * plain, expression and runtime-only attributes.
+ */
+final class BenchmarkModel {
+
+    static final String SUBSYSTEM = "subsystem";
+    static final String CHILD = "child";
+
+    static final SimpleAttributeDefinition NAME = new SimpleAttributeDefinitionBuilder("name", ModelType.STRING)
+            .setRequired(false)
+            .build();
+
+    static final SimpleAttributeDefinition ENABLED = new SimpleAttributeDefinitionBuilder("enabled", ModelType.BOOLEAN)
+            .setRequired(false)
+            .setAllowExpression(true)
+            .setDefaultValue(ModelNode.TRUE)
+            .build();
+
+    static final SimpleAttributeDefinition SIZE = new SimpleAttributeDefinitionBuilder("size", ModelType.INT)
+            .setRequired(false)
+            .setAllowExpression(true)
+            .build();
+
+    static final SimpleAttributeDefinition TIMEOUT = new SimpleAttributeDefinitionBuilder("timeout", ModelType.LONG)
+            .setRequired(false)
+            .setAllowExpression(true)
+            .build();
+
+    static final SimpleAttributeDefinition VALUE = new SimpleAttributeDefinitionBuilder("value", ModelType.STRING)
+            .setRequired(false)
+            .setAllowExpression(true)
+            .build();
+
+    static final SimpleAttributeDefinition INVOCATIONS = new SimpleAttributeDefinitionBuilder("invocations", ModelType.LONG)
+            .setStorageRuntime()
+            .setFlags(AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    static final AttributeDefinition[] SUBSYSTEM_ATTRIBUTES = { NAME, ENABLED };
+    static final AttributeDefinition[] CHILD_ATTRIBUTES = { NAME, ENABLED, SIZE, TIMEOUT, VALUE };
+
+    private BenchmarkModel() {
+    }
+
+    static void initModel(ManagementModel managementModel, ProcessType processType) {
+        ManagementResourceRegistration root = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(root, processType);
+        GlobalNotifications.registerGlobalNotifications(root, processType);
+        root.registerOperationHandler(CompositeOperationHandler.DEFINITION, CompositeOperationHandler.INSTANCE);
+
+        NonResolvingResourceDescriptionResolver resolver = new NonResolvingResourceDescriptionResolver();
+        ManagementResourceRegistration subsystem = root.registerSubModel(
+                new ModelOnlyResourceDefinition(PathElement.pathElement(SUBSYSTEM), resolver, SUBSYSTEM_ATTRIBUTES));
+        ManagementResourceRegistration child = subsystem.registerSubModel(
+                new ModelOnlyResourceDefinition(PathElement.pathElement(CHILD), resolver, CHILD_ATTRIBUTES));
+        child.registerMetric(INVOCATIONS, (context, operation) -> context.getResult().set(System.nanoTime()));
+    }
+
+    /**
+     * Creates the boot operations that populate the model.
+     *
+     * @param subsystems the number of {@code subsystem=*} resources
+     * @param children the number of {@code child=*} resources under each subsystem
+     * @return the boot operations
+     */
+    static List<ModelNode> createBootOperations(int subsystems, int children) {
+        List<ModelNode> result = new ArrayList<>(subsystems * (children + 1));
+        for (int i = 0; i < subsystems; i++) {
+            PathAddress subsystemAddress = subsystemAddress(i);
+            ModelNode subsystemAdd = Util.createEmptyOperation(ADD, subsystemAddress);
+            subsystemAdd.get(NAME.getName()).set(subsystemAddress.getLastElement().getValue());
+            result.add(subsystemAdd);
+            for (int j = 0; j < children; j++) {
+                PathAddress childAddress = childAddress(i, j);
+                ModelNode childAdd = Util.createEmptyOperation(ADD, childAddress);
+                childAdd.get(NAME.getName()).set(childAddress.getLastElement().getValue());
+                childAdd.get(ENABLED.getName()).set(j % 2 == 0);
+                childAdd.get(SIZE.getName()).set(j);
+                childAdd.get(TIMEOUT.getName()).set(new ValueExpression("${benchmark.timeout:" + (j * 1000L) + "}"));
+                childAdd.get(VALUE.getName()).set("value-" + j);
+                result.add(childAdd);
+            }
+        }
+        return result;
+    }
+
+    static PathAddress subsystemAddress(int subsystem) {
+        return PathAddress.pathAddress(SUBSYSTEM, "subsystem-" + subsystem);
+    }
+
+    static PathAddress childAddress(int subsystem, int child) {
+        return subsystemAddress(subsystem).append(CHILD, "child-" + child);
+    }
+}
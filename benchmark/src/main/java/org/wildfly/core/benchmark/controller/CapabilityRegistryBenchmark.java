@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.core.benchmark.controller;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.CapabilityRegistry;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.capability.registry.CapabilityScope;
+import org.jboss.as.controller.capability.registry.RegistrationPoint;
+import org.jboss.as.controller.capability.registry.RuntimeCapabilityRegistration;
+import org.jboss.as.controller.capability.registry.RuntimeRequirementRegistration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures contention in {@link CapabilityRegistry} when several threads register capabilities and requirements
+ * at the same time, as the subsystem threads of a parallel boot do.
+ * <p>
+ * Each invocation registers a capability with a requirement on an existing capability, registers an additional
+ * requirement, looks up the required capability and removes the capability again. Compare the single threaded
+ * and multi threaded scores to see how well registration scales:
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar CapabilityRegistryBenchmark -t 1
+ * java -jar benchmark/target/benchmarks.jar CapabilityRegistryBenchmark -t 8
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class CapabilityRegistryBenchmark {
+
+    private static final String BASE = "org.wildfly.benchmark.base";
+    private static final String REGISTERED = "org.wildfly.benchmark.registered";
+
+    @Param({"1000"})
+    public int capabilities;
+
+    private CapabilityRegistry registry;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        registry = new CapabilityRegistry(true);
+        for (int i = 0; i < capabilities; i++) {
+            RuntimeCapability<Void> capability = RuntimeCapability.Builder.of(BASE + "." + i).build();
+            RegistrationPoint point = new RegistrationPoint(PathAddress.pathAddress("base", Integer.toString(i)), null);
+            registry.registerCapability(new RuntimeCapabilityRegistration(capability, CapabilityScope.GLOBAL, point));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Registrant {
+
+        private static final AtomicInteger THREADS = new AtomicInteger();
+        private static final int SIZE = 64;
+
+        private final RuntimeCapability<?>[] capabilities = new RuntimeCapability<?>[SIZE];
+        private final String[] required = new String[SIZE];
+        private final RegistrationPoint[] points = new RegistrationPoint[SIZE];
+        private int index;
+
+        @Setup(Level.Trial)
+        public void setup(CapabilityRegistryBenchmark benchmark) {
+            int thread = THREADS.getAndIncrement();
+            for (int i = 0; i < SIZE; i++) {
+                String name = REGISTERED + "." + thread + "." + i;
+                int base = (thread * SIZE + i) % benchmark.capabilities;
+                required[i] = BASE + "." + ((base + 1) % benchmark.capabilities);
+                capabilities[i] = RuntimeCapability.Builder.of(name).addRequirements(BASE + "." + base).build();
+                points[i] = new RegistrationPoint(PathAddress.pathAddress("thread", Integer.toString(thread)).append("registered", Integer.toString(i)), null);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean registerAndRemove(Registrant registrant) {
+        int i = registrant.index;
+        registrant.index = (i + 1) % Registrant.SIZE;
+        RuntimeCapability<?> capability = registrant.capabilities[i];
+        RegistrationPoint point = registrant.points[i];
+        registry.registerCapability(new RuntimeCapabilityRegistration(capability, CapabilityScope.GLOBAL, point));
+        registry.registerAdditionalCapabilityRequirement(new RuntimeRequirementRegistration(registrant.required[i],
+                capability.getName(), CapabilityScope.GLOBAL, point));
+        boolean result = registry.hasCapability(registrant.required[i], CapabilityScope.GLOBAL);
+        registry.removeCapability(capability.getName(), CapabilityScope.GLOBAL, point.getAddress());
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CapabilityRegistryBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.core.benchmark.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.QUERY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SELECT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WHERE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceName;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the cost of common management operations executed against a booted {@code ModelControllerImpl}, i.e.
+ * including the full {@code OperationContextImpl} step processing.
+ * <p>
+ * Run with the gc profiler to also report the allocation rate per operation:
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar ManagementOperationBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ManagementOperationBenchmark {
+
+    private static final ServiceName CONTROLLER_NAME = ServiceName.of("benchmark", "controller");
+
+    @Param({"10"})
+    public int subsystems;
+
+    @Param({"100"})
+    public int children;
+
+    private ServiceContainer container;
+    private ModelController controller;
+
+    private ModelNode readResourceRecursive;
+    private ModelNode readResourceIncludeRuntime;
+    private ModelNode readAttribute;
+    private ModelNode writeAttribute;
+    private ModelNode composite;
+    private ModelNode query;
+    private int writeCount;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        container = ServiceContainer.Factory.create("benchmark");
+        BenchmarkControllerService service = new BenchmarkControllerService(subsystems, children);
+        container.subTarget().addService(CONTROLLER_NAME).setInstance(service).install();
+        service.awaitStartup(30, TimeUnit.SECONDS);
+        controller = service.getValue();
+
+        PathAddress subsystem = BenchmarkModel.subsystemAddress(subsystems / 2);
+        PathAddress child = BenchmarkModel.childAddress(subsystems / 2, children / 2);
+
+        readResourceRecursive = Util.createEmptyOperation(READ_RESOURCE_OPERATION, subsystem);
+        readResourceRecursive.get(RECURSIVE).set(true);
+
+        readResourceIncludeRuntime = Util.createEmptyOperation(READ_RESOURCE_OPERATION, subsystem);
+        readResourceIncludeRuntime.get(RECURSIVE).set(true);
+        readResourceIncludeRuntime.get(INCLUDE_RUNTIME).set(true);
+
+        readAttribute = Util.getReadAttributeOperation(child, BenchmarkModel.VALUE.getName());
+
+        writeAttribute = Util.createEmptyOperation(WRITE_ATTRIBUTE_OPERATION, child);
+        writeAttribute.get(NAME).set(BenchmarkModel.SIZE.getName());
+
+        composite = Util.createEmptyOperation(COMPOSITE, PathAddress.EMPTY_ADDRESS);
+        ModelNode steps = composite.get(STEPS).setEmptyList();
+        for (int i = 0; i < 10; i++) {
+            steps.add(Util.getReadAttributeOperation(BenchmarkModel.childAddress(subsystems / 2, i), BenchmarkModel.VALUE.getName()));
+        }
+
+        query = Util.createEmptyOperation(QUERY, subsystem.append(BenchmarkModel.CHILD, "*"));
+        query.get(SELECT).add(BenchmarkModel.NAME.getName()).add(BenchmarkModel.SIZE.getName());
+        query.get(WHERE, BenchmarkModel.ENABLED.getName()).set(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        container.shutdown();
+        container.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public ModelNode readResourceRecursive() {
+        return execute(readResourceRecursive);
+    }
+
+    @Benchmark
+    public ModelNode readResourceIncludeRuntime() {
+        return execute(readResourceIncludeRuntime);
+    }
+
+    @Benchmark
+    public ModelNode readAttribute() {
+        return execute(readAttribute);
+    }
+
+    @Benchmark
+    public ModelNode writeAttribute() {
+        // Change the value on every invocation so the write is never a no-op
+        writeAttribute.get(VALUE).set(writeCount++);
+        return execute(writeAttribute);
+    }
+
+    @Benchmark
+    public ModelNode composite() {
+        return execute(composite);
+    }
+
+    @Benchmark
+    public ModelNode query() {
+        return execute(query);
+    }
+
+    private ModelNode execute(ModelNode operation) {
+        ModelNode response = controller.execute(operation, null, null, null);
+        if (FAILED.equals(response.get(OUTCOME).asString())) {
+            throw new IllegalStateException(response.get(FAILURE_DESCRIPTION).asString());
+        }
+        return response;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ManagementOperationBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.core.benchmark.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures resolving operation handlers and attribute access through a {@link ManagementResourceRegistration}
+ * tree, which every management operation does at least once per step.
+ * <p>
+ * The tree has {@code depth} levels, each registered both as a wildcard and as a specific override, so every
+ * level searches the specific registration and then falls back to the wildcard one. Run with the GC profiler to
+ * see the per lookup allocation rate:
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar ResourceRegistrationLookupBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceRegistrationLookupBenchmark {
+
+    private static final OperationStepHandler HANDLER = (context, operation) -> {
+    };
+
+    @Param({"4"})
+    public int depth;
+
+    private ManagementResourceRegistration root;
+    private PathAddress address;
+
+    @Setup
+    public void setup() {
+        NonResolvingResourceDescriptionResolver resolver = new NonResolvingResourceDescriptionResolver();
+        root = ManagementResourceRegistration.Factory.forProcessType(ProcessType.EMBEDDED_SERVER)
+                .createRegistration(new SimpleResourceDefinition(null, resolver));
+        ManagementResourceRegistration parent = root;
+        PathElement[] elements = new PathElement[depth];
+        for (int i = 0; i < depth; i++) {
+            String type = "level" + i;
+            ManagementResourceRegistration wildcard = parent.registerSubModel(new SimpleResourceDefinition(PathElement.pathElement(type), resolver));
+            wildcard.registerOperationHandler(new SimpleOperationDefinitionBuilder("op", resolver).build(), HANDLER);
+            wildcard.registerReadOnlyAttribute(BenchmarkModel.NAME, null);
+            // A specific registration alongside the wildcard one makes each level search both
+            parent.registerSubModel(new SimpleResourceDefinition(PathElement.pathElement(type, "specific"), resolver));
+            elements[i] = PathElement.pathElement(type, "specific");
+            parent = wildcard;
+        }
+        address = PathAddress.pathAddress(elements);
+    }
+
+    @Benchmark
+    public OperationStepHandler operationHandler() {
+        return root.getOperationHandler(address, "op");
+    }
+
+    @Benchmark
+    public AttributeAccess attributeAccess() {
+        return root.getAttributeAccess(address, BenchmarkModel.NAME.getName());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ResourceRegistrationLookupBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
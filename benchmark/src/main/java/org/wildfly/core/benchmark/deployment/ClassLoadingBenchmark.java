@@ -0,0 +1,173 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.core.benchmark.deployment;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.as.server.deployment.module.VFSResourceLoader;
+import org.jboss.modules.ClassSpec;
+import org.jboss.vfs.TempFileProvider;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VFSUtils;
+import org.jboss.vfs.VirtualFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures how fast {@link VFSResourceLoader} serves class bytes from a deployment archive, depending on how the
+ * archive is mounted.
+ * <p>
+ * {@code zip} mounts the archive as the default archive mount strategy does, so every class is inflated through the
+ * VFS zip file system. {@code expanded} mounts a directory the archive was expanded to, which is what the
+ * {@code expanded} and {@code expanded-cache} values of {@code jboss.deployment.archive-mount-strategy} do. Each
+ * invocation reads every class of the archive:
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar ClassLoadingBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassLoadingBenchmark {
+
+    private static final int CLASS_SIZE = 4096;
+
+    @Param({"zip", "expanded"})
+    public String mount;
+
+    @Param({"1000"})
+    public int classes;
+
+    private Path workDir;
+    private ScheduledExecutorService executor;
+    private TempFileProvider tempFileProvider;
+    private Closeable mountHandle;
+    private VFSResourceLoader loader;
+    private String[] names;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        workDir = Files.createTempDirectory("class-loading-benchmark");
+        final File archive = workDir.resolve("benchmark.jar").toFile();
+        names = new String[classes];
+        final Random random = new Random(classes);
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(archive.toPath()))) {
+            for (int i = 0; i < classes; i++) {
+                names[i] = "org/wildfly/benchmark/package" + (i % 20) + "/Class" + i + ".class";
+                out.putNextEntry(new ZipEntry(names[i]));
+                out.write(classBytes(random));
+                out.closeEntry();
+            }
+        }
+
+        executor = Executors.newScheduledThreadPool(1);
+        tempFileProvider = TempFileProvider.create("benchmark", executor, true);
+        final VirtualFile mountPoint = VFS.getChild("content/benchmark.jar");
+        if ("zip".equals(mount)) {
+            mountHandle = VFS.mountZip(archive, mountPoint, tempFileProvider);
+        } else {
+            mountHandle = VFS.mountReal(expand(archive, workDir.resolve("expanded")), mountPoint);
+        }
+        loader = new VFSResourceLoader("benchmark.jar", mountPoint);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        VFSUtils.safeClose(mountHandle);
+        VFSUtils.safeClose(tempFileProvider);
+        executor.shutdown();
+        VFSUtils.recursiveDelete(workDir.toFile());
+    }
+
+    @Benchmark
+    public long loadClasses() throws IOException {
+        long bytes = 0;
+        for (String name : names) {
+            final ClassSpec spec = loader.getClassSpec(name);
+            bytes += spec.getBytes().length;
+        }
+        return bytes;
+    }
+
+    /** Class-file sized content that compresses about as well as real classes do. */
+    private static byte[] classBytes(final Random random) {
+        final byte[] bytes = new byte[CLASS_SIZE];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) ('a' + random.nextInt(16));
+        }
+        return bytes;
+    }
+
+    private static File expand(final File archive, final Path target) throws IOException {
+        try (ZipFile zip = new ZipFile(archive)) {
+            final Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                final Path file = target.resolve(entry.getName());
+                Files.createDirectories(file.getParent());
+                try (InputStream in = zip.getInputStream(entry)) {
+                    Files.copy(in, file);
+                }
+            }
+        }
+        return target.toFile();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ClassLoadingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
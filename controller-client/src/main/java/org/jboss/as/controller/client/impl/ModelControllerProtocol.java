@@ -61,5 +61,8 @@ public interface ModelControllerProtocol {
     // The propagated identity params
     byte PARAM_IDENTITY_LENGTH = 0x50;
     byte PARAM_IN_VM_CALL = 0x51;
+    // The payload compression params
+    byte PARAM_UNCOMPRESSED_PAYLOAD = 0x52;
+    byte PARAM_COMPRESSED_PAYLOAD = 0x53;
 
 }
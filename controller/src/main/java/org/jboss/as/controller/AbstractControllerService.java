@@ -685,6 +685,10 @@ public abstract class AbstractControllerService implements Service<ModelControll
             @Override
             public void run() {
                 try {
+                    final ConfigurationPersister persister = configurationPersister;
+                    if (persister != null) {
+                        persister.stop();
+                    }
                     stopAsynchronous(context);
                 } finally {
                     try {
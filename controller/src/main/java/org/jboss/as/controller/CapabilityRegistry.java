@@ -65,11 +65,25 @@ import org.jboss.msc.service.ServiceName;
  */
 public final class CapabilityRegistry implements ImmutableCapabilityRegistry, PossibleCapabilityRegistry, RuntimeCapabilityRegistry {
 
-    private final Map<CapabilityId, RuntimeCapabilityRegistration> capabilities = new HashMap<>();
-    private final Map<CapabilityId, RuntimeCapabilityRegistration> pendingRemoveCapabilities = new HashMap<>();
-    private final Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> requirements = new HashMap<>();
-    private final Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> pendingRemoveRequirements = new HashMap<>();
-    private final Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> runtimeOnlyRequirements = new HashMap<>();
+    /**
+     * Locks that serialize changes to the entries for a given capability, selected by {@link #stripe(CapabilityId)}.
+     * Changes that only affect a single capability and its requirements hold the shared {@link #readLock} plus
+     * the capability's stripe, so registrations for different capabilities don't block each other. Anything that
+     * changes state for more than one capability holds the exclusive {@link #writeLock} instead. Reads only hold
+     * the {@link #readLock}, so the requirement maps of a capability are concurrent maps as well.
+     */
+    private final Object[] stripes = new Object[64];
+    {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    private final Map<CapabilityId, RuntimeCapabilityRegistration> capabilities = new ConcurrentHashMap<>();
+    private final Map<CapabilityId, RuntimeCapabilityRegistration> pendingRemoveCapabilities = new ConcurrentHashMap<>();
+    private final Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> requirements = new ConcurrentHashMap<>();
+    private final Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> pendingRemoveRequirements = new ConcurrentHashMap<>();
+    private final Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> runtimeOnlyRequirements = new ConcurrentHashMap<>();
     private final boolean forServer;
     private final Set<CapabilityScope> knownContexts;
     private final ResolutionContextImpl resolutionContext = new ResolutionContextImpl();
@@ -82,7 +96,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     private final ReentrantReadWriteLock.WriteLock writeLock = reentrantReadWriteLock.writeLock();
     //holds reference to parent published registry
     private final CapabilityRegistry publishedFullRegistry;
-    private boolean modified = false;
+    private volatile boolean modified = false;
 
     public CapabilityRegistry(boolean forServer) {
         this(forServer, null);
@@ -90,7 +104,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
 
     private CapabilityRegistry(boolean forServer, CapabilityRegistry parent) {//for published view
         this.forServer = forServer;
-        this.knownContexts = forServer ? null : new HashSet<>();
+        this.knownContexts = forServer ? null : ConcurrentHashMap.newKeySet();
         this.publishedFullRegistry = parent;
     }
 
@@ -102,7 +116,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
      */
     CapabilityRegistry createShadowCopy() {
         CapabilityRegistry result = new CapabilityRegistry(forServer, this);
-        readLock.lock();
+        writeLock.lock();
         try {
             try {
                 result.writeLock.lock();
@@ -111,7 +125,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
                 result.writeLock.unlock();
             }
         } finally {
-            readLock.unlock();
+            writeLock.unlock();
         }
         return result;
     }
@@ -126,7 +140,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     private static void copyRequirements(Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> source,
                                          Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> dest) {
         for (Map.Entry<CapabilityId, Map<String, RuntimeRequirementRegistration>> entry : source.entrySet()) {
-            Map<String, RuntimeRequirementRegistration> mapCopy = new HashMap<>();
+            Map<String, RuntimeRequirementRegistration> mapCopy = new ConcurrentHashMap<>();
             for (Map.Entry<String, RuntimeRequirementRegistration> innerEntry : entry.getValue().entrySet()) {
                 mapCopy.put(innerEntry.getKey(), new RuntimeRequirementRegistration(innerEntry.getValue()));
             }
@@ -145,38 +159,40 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
      */
     @Override
     public void registerCapability(RuntimeCapabilityRegistration capabilityRegistration) {
-        writeLock.lock();
+        CapabilityId capabilityId = capabilityRegistration.getCapabilityId();
+        readLock.lock();
         try {
-            CapabilityId capabilityId = capabilityRegistration.getCapabilityId();
-            RegistrationPoint rp = capabilityRegistration.getOldestRegistrationPoint();
-            RuntimeCapabilityRegistration currentRegistration = capabilities.get(capabilityId);
-            if (currentRegistration != null) {
-                // The actual capability must be the same, the capability must allow multiple registrations
-                // and we must not already have a registration from this same resource
-                if (!Objects.equals(capabilityRegistration.getCapability(), currentRegistration.getCapability())
-                        || !currentRegistration.getCapability().isAllowMultipleRegistrations()
-                        || !currentRegistration.addRegistrationPoint(rp)) {
-                    throw ControllerLogger.MGMT_OP_LOGGER.capabilityAlreadyRegisteredInContext(capabilityId.getName(),
-                                rp, capabilityId.getScope().getName(), currentRegistration.getRegistrationPoints());
+            synchronized (stripe(capabilityId)) {
+                RegistrationPoint rp = capabilityRegistration.getOldestRegistrationPoint();
+                RuntimeCapabilityRegistration currentRegistration = capabilities.get(capabilityId);
+                if (currentRegistration != null) {
+                    // The actual capability must be the same, the capability must allow multiple registrations
+                    // and we must not already have a registration from this same resource
+                    if (!Objects.equals(capabilityRegistration.getCapability(), currentRegistration.getCapability())
+                            || !currentRegistration.getCapability().isAllowMultipleRegistrations()
+                            || !currentRegistration.addRegistrationPoint(rp)) {
+                        throw ControllerLogger.MGMT_OP_LOGGER.capabilityAlreadyRegisteredInContext(capabilityId.getName(),
+                                    rp, capabilityId.getScope().getName(), currentRegistration.getRegistrationPoints());
+                    }
+                    // else it was ok, and we just recorded the additional registration point
+                } else {
+                    capabilities.put(capabilityId, capabilityRegistration);
                 }
-                // else it was ok, and we just recorded the additional registration point
-            } else {
-                capabilities.put(capabilityId, capabilityRegistration);
-            }
 
-            // Add any hard requirements
-            for (String req : capabilityRegistration.getCapability().getRequirements()) {
-                registerRequirement(new RuntimeRequirementRegistration(req, capabilityId.getName(),
-                        capabilityId.getScope(), rp));
-            }
+                // Add any hard requirements
+                for (String req : capabilityRegistration.getCapability().getRequirements()) {
+                    registerRequirement(new RuntimeRequirementRegistration(req, capabilityId.getName(),
+                            capabilityId.getScope(), rp));
+                }
 
-            if (!forServer) {
-                CapabilityScope capContext = capabilityId.getScope();
-                knownContexts.add(capContext);
+                if (!forServer) {
+                    CapabilityScope capContext = capabilityId.getScope();
+                    knownContexts.add(capContext);
+                }
+                modified = true;
             }
-            modified = true;
         } finally {
-            writeLock.unlock();
+            readLock.unlock();
         }
     }
 
@@ -193,21 +209,23 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
      */
     @Override
     public void registerAdditionalCapabilityRequirement(RuntimeRequirementRegistration requirement) {
-        writeLock.lock();
+        readLock.lock();
         try {
-            registerRequirement(requirement);
+            synchronized (stripe(requirement.getDependentId())) {
+                registerRequirement(requirement);
+            }
         } finally {
-            writeLock.unlock();
+            readLock.unlock();
         }
     }
 
     /**
-     * This must be called with the write lock held.
+     * This must be called with the dependent capability's stripe held.
      * @param requirement the requirement
      */
     private void registerRequirement(RuntimeRequirementRegistration requirement) {
-        assert writeLock.isHeldByCurrentThread();
         CapabilityId dependentId = requirement.getDependentId();
+        assert Thread.holdsLock(stripe(dependentId));
         if (!capabilities.containsKey(dependentId)) {
             throw ControllerLogger.MGMT_OP_LOGGER.unknownCapabilityInContext(dependentId.getName(),
                     dependentId.getScope().getName());
@@ -217,7 +235,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
 
         Map<String, RuntimeRequirementRegistration> dependents = requirementMap.get(dependentId);
         if (dependents == null) {
-            dependents = new HashMap<>();
+            dependents = new ConcurrentHashMap<>();
             requirementMap.put(dependentId, dependents);
         }
         RuntimeRequirementRegistration existing = dependents.get(requirement.getRequiredName());
@@ -239,12 +257,14 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     public void removeCapabilityRequirement(RuntimeRequirementRegistration requirementRegistration) {
         // We don't know if this got registered as an runtime-only requirement or a hard one
         // so clean it from both maps
-        writeLock.lock();
+        readLock.lock();
         try {
-            removeRequirement(requirementRegistration, false);
-            removeRequirement(requirementRegistration, true);
+            synchronized (stripe(requirementRegistration.getDependentId())) {
+                removeRequirement(requirementRegistration, false);
+                removeRequirement(requirementRegistration, true);
+            }
         } finally {
-            writeLock.unlock();
+            readLock.unlock();
         }
     }
 
@@ -260,69 +280,71 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     @Override
     public RuntimeCapabilityRegistration removeCapability(String capabilityName, CapabilityScope scope,
                                                           PathAddress registrationPoint) {
-        writeLock.lock();
+        CapabilityId capabilityId = new CapabilityId(capabilityName, scope);
+        readLock.lock();
         try {
-            CapabilityId capabilityId = new CapabilityId(capabilityName, scope);
-            RuntimeCapabilityRegistration removed = null;
-            RuntimeCapabilityRegistration candidate = capabilities.get(capabilityId);
-            if (candidate != null) {
-                RegistrationPoint rp = new RegistrationPoint(registrationPoint, null);
-                if (candidate.removeRegistrationPoint(rp)) {
-
-                    Map<String, RuntimeRequirementRegistration> removedRequirements = null;
-                    if (candidate.getRegistrationPointCount() == 0) {
-                        removed = capabilities.remove(capabilityId);
-                        removedRequirements = requirements.remove(capabilityId);
-                        runtimeOnlyRequirements.remove(capabilityId);
-                    } else {
-                        // There are still registration points for this capability.
-                        // So just remove the requirements for this registration point
-                        Map<String, RuntimeRequirementRegistration> candidateRequirements = requirements.get(capabilityId);
-                        if (candidateRequirements != null) {
-                            removedRequirements = new HashMap<>(candidateRequirements.size());
-                            // Iterate over array to avoid ConcurrentModificationException
-                            for (String req : candidateRequirements.keySet().toArray(new String[candidateRequirements.size()])) {
-                                RuntimeRequirementRegistration removedReqReg = removeRequirement(new RuntimeRequirementRegistration(req, capabilityName, scope, rp), false);
-                                if (removedReqReg != null) {
-                                    removedRequirements.put(req, removedReqReg);
+            synchronized (stripe(capabilityId)) {
+                RuntimeCapabilityRegistration removed = null;
+                RuntimeCapabilityRegistration candidate = capabilities.get(capabilityId);
+                if (candidate != null) {
+                    RegistrationPoint rp = new RegistrationPoint(registrationPoint, null);
+                    if (candidate.removeRegistrationPoint(rp)) {
+
+                        Map<String, RuntimeRequirementRegistration> removedRequirements = null;
+                        if (candidate.getRegistrationPointCount() == 0) {
+                            removed = capabilities.remove(capabilityId);
+                            removedRequirements = requirements.remove(capabilityId);
+                            runtimeOnlyRequirements.remove(capabilityId);
+                        } else {
+                            // There are still registration points for this capability.
+                            // So just remove the requirements for this registration point
+                            Map<String, RuntimeRequirementRegistration> candidateRequirements = requirements.get(capabilityId);
+                            if (candidateRequirements != null) {
+                                removedRequirements = new ConcurrentHashMap<>(candidateRequirements.size());
+                                // Iterate over array to avoid ConcurrentModificationException
+                                for (String req : candidateRequirements.keySet().toArray(new String[candidateRequirements.size()])) {
+                                    RuntimeRequirementRegistration removedReqReg = removeRequirement(new RuntimeRequirementRegistration(req, capabilityName, scope, rp), false);
+                                    if (removedReqReg != null) {
+                                        removedRequirements.put(req, removedReqReg);
+                                    }
                                 }
                             }
-                        }
-                        candidateRequirements = runtimeOnlyRequirements.get(capabilityId);
-                        if (candidateRequirements != null) {
-                            // Iterate over array to avoid ConcurrentModificationException
-                            for (String req : candidateRequirements.keySet().toArray(new String[candidateRequirements.size()])) {
-                                removeRequirement(new RuntimeRequirementRegistration(req, capabilityName, scope, rp), true);
+                            candidateRequirements = runtimeOnlyRequirements.get(capabilityId);
+                            if (candidateRequirements != null) {
+                                // Iterate over array to avoid ConcurrentModificationException
+                                for (String req : candidateRequirements.keySet().toArray(new String[candidateRequirements.size()])) {
+                                    removeRequirement(new RuntimeRequirementRegistration(req, capabilityName, scope, rp), true);
+                                }
                             }
                         }
-                    }
 
-                    // Remember this removed cap for use by getRuntimeStatus until we are published or rolled back
-                    RuntimeCapabilityRegistration removeReg = pendingRemoveCapabilities.get(capabilityId);
-                    if (removeReg == null) {
-                        removeReg = new RuntimeCapabilityRegistration(candidate.getCapability(), candidate.getCapabilityScope(), rp);
-                        pendingRemoveCapabilities.put(capabilityId, removeReg);
-                    } else {
-                        removeReg.addRegistrationPoint(rp);
-                    }
-                    if (removedRequirements != null) {
-                        pendingRemoveRequirements.put(capabilityId, removedRequirements);
-                    }
+                        // Remember this removed cap for use by getRuntimeStatus until we are published or rolled back
+                        RuntimeCapabilityRegistration removeReg = pendingRemoveCapabilities.get(capabilityId);
+                        if (removeReg == null) {
+                            removeReg = new RuntimeCapabilityRegistration(candidate.getCapability(), candidate.getCapabilityScope(), rp);
+                            pendingRemoveCapabilities.put(capabilityId, removeReg);
+                        } else {
+                            removeReg.addRegistrationPoint(rp);
+                        }
+                        if (removedRequirements != null) {
+                            pendingRemoveRequirements.put(capabilityId, removedRequirements);
+                        }
 
+                    }
                 }
-            }
 
-            if (removed != null) {
-                modified = true;
+                if (removed != null) {
+                    modified = true;
+                }
+                return removed;
             }
-            return removed;
         } finally {
-            writeLock.unlock();
+            readLock.unlock();
         }
     }
 
     private RuntimeRequirementRegistration removeRequirement(RuntimeRequirementRegistration requirementRegistration, boolean optional) {
-        assert writeLock.isHeldByCurrentThread();
+        assert Thread.holdsLock(stripe(requirementRegistration.getDependentId()));
         Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> requirementMap = optional ? runtimeOnlyRequirements : requirements;
         Map<String, RuntimeRequirementRegistration> dependents = requirementMap.get(requirementRegistration.getDependentId());
         RuntimeRequirementRegistration result = null;
@@ -564,23 +586,25 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         final CapabilityId capabilityId = new CapabilityId(capability.getName(), CapabilityScope.GLOBAL);
         RegistrationPoint point = new RegistrationPoint(registrationPoint, null);
         CapabilityRegistration<?> capabilityRegistration = new CapabilityRegistration<>(capability, CapabilityScope.GLOBAL, point);
-        writeLock.lock();
+        readLock.lock();
         try {
-            possibleCapabilities.computeIfPresent(capabilityId, (capabilityId1, currentRegistration) -> {
-                RegistrationPoint rp = capabilityRegistration.getOldestRegistrationPoint();
-                // The actual capability must be the same, and we must not already have a registration
-                // from this resource
-                if (!Objects.equals(capabilityRegistration.getCapability(), currentRegistration.getCapability())
-                        || !currentRegistration.addRegistrationPoint(rp)) {
-                    throw ControllerLogger.MGMT_OP_LOGGER.capabilityAlreadyRegisteredInContext(capabilityId.getName(),
-                            capabilityId.getScope().getName());
-                }
-                return currentRegistration;
-            });
-            possibleCapabilities.putIfAbsent(capabilityId, capabilityRegistration);
-            modified = true;
+            synchronized (stripe(capabilityId)) {
+                possibleCapabilities.computeIfPresent(capabilityId, (capabilityId1, currentRegistration) -> {
+                    RegistrationPoint rp = capabilityRegistration.getOldestRegistrationPoint();
+                    // The actual capability must be the same, and we must not already have a registration
+                    // from this resource
+                    if (!Objects.equals(capabilityRegistration.getCapability(), currentRegistration.getCapability())
+                            || !currentRegistration.addRegistrationPoint(rp)) {
+                        throw ControllerLogger.MGMT_OP_LOGGER.capabilityAlreadyRegisteredInContext(capabilityId.getName(),
+                                capabilityId.getScope().getName());
+                    }
+                    return currentRegistration;
+                });
+                possibleCapabilities.putIfAbsent(capabilityId, capabilityRegistration);
+                modified = true;
+            }
         } finally {
-            writeLock.unlock();
+            readLock.unlock();
         }
     }
 
@@ -597,26 +621,28 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     public CapabilityRegistration<?> removePossibleCapability(Capability capability, PathAddress registrationPoint) {
         CapabilityId capabilityId = new CapabilityId(capability.getName(), CapabilityScope.GLOBAL);
         CapabilityRegistration<?> removed = null;
-        writeLock.lock();
+        readLock.lock();
         try {
-            CapabilityRegistration<?> candidate = possibleCapabilities.get(capabilityId);
-            if (candidate != null) {
-                RegistrationPoint rp = new RegistrationPoint(registrationPoint, null);
-                if (candidate.removeRegistrationPoint(rp)) {
-                    if (candidate.getRegistrationPointCount() == 0) {
-                        removed = possibleCapabilities.remove(capabilityId);
-                    } else {
-                        removed = candidate;
+            synchronized (stripe(capabilityId)) {
+                CapabilityRegistration<?> candidate = possibleCapabilities.get(capabilityId);
+                if (candidate != null) {
+                    RegistrationPoint rp = new RegistrationPoint(registrationPoint, null);
+                    if (candidate.removeRegistrationPoint(rp)) {
+                        if (candidate.getRegistrationPointCount() == 0) {
+                            removed = possibleCapabilities.remove(capabilityId);
+                        } else {
+                            removed = candidate;
+                        }
                     }
                 }
-            }
 
-            if (removed != null) {
-                modified = true;
+                if (removed != null) {
+                    modified = true;
+                }
+                return removed;
             }
-            return removed;
         } finally {
-            writeLock.unlock();
+            readLock.unlock();
         }
     }
 
@@ -769,13 +795,13 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         }
         writeLock.lock();
         try {
-            publishedFullRegistry.readLock.lock();
+            publishedFullRegistry.writeLock.lock();
             try {
                 clear(true);
                 copy(publishedFullRegistry, this);
                 modified = false;
             } finally {
-                publishedFullRegistry.readLock.unlock();
+                publishedFullRegistry.writeLock.unlock();
             }
         } finally {
             writeLock.unlock();
@@ -791,6 +817,11 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         }
     }
 
+    private Object stripe(CapabilityId capabilityId) {
+        int hash = capabilityId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
     private void copy(CapabilityRegistry source, CapabilityRegistry target) {
         assert target.writeLock.isHeldByCurrentThread();
         copyCapabilities(source.capabilities, target.capabilities);
@@ -837,72 +868,75 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     CapabilityValidation resolveCapabilities(Resource rootResource, boolean hostXmlOnly) {
         readLock.lock();
         try {
-            resolutionContext.setRootResource(rootResource);
-            assert resolutionContext.rootResource != null;
-            Map<CapabilityId, Set<RuntimeRequirementRegistration>> missing = new HashMap<>();
-
-            // Vars for tracking inconsistent contexts
-            boolean isInconsistent = false;
-            Map<CapabilityScope, Set<RuntimeRequirementRegistration>> requiresConsistency = null;
-            Map<CapabilityScope, Set<CapabilityScope>> consistentSets = null;
-
-            for (Map.Entry<CapabilityId, Map<String, RuntimeRequirementRegistration>> entry : requirements.entrySet()) {
-                CapabilityId dependentId = entry.getKey();
-                String dependentName = dependentId.getName();
-                CapabilityScope dependentContext = dependentId.getScope();
-                Set<CapabilityScope> consistentSet = consistentSets == null ? null : consistentSets.get(dependentContext);
-                for (RuntimeRequirementRegistration req : entry.getValue().values()) {
-                    SatisfactoryCapability satisfactory = findSatisfactoryCapability(req.getRequiredName(), dependentContext, !forServer);
-                    if (satisfactory == null) {
-                        // Missing
-                        if (hostXmlOnly && dependentName.startsWith("org.wildfly.domain.server-config.")
-                                && (req.getRequiredName().startsWith("org.wildfly.domain.server-group.")
-                                || req.getRequiredName().startsWith("org.wildfly.domain.socket-binding-group."))) {
-                            // HACK. We can't resolve these now as we have no domain model at this part of boot
-                            // We can resolve them when the domain model ops run, so wait to validate then
-                            ControllerLogger.MGMT_OP_LOGGER.tracef("Ignoring that dependent %s cannot resolve required capability %s as the 'hostXmlOnly' param is set", dependentId, req.getRequiredName());
-                            continue;
-                        }
-                        CapabilityId basicId = new CapabilityId(req.getRequiredName(), dependentContext);
-                        Set<RuntimeRequirementRegistration> set = missing.get(basicId);
-                        if (set == null) {
-                            set = new HashSet<>();
-                            missing.put(basicId, set);
-                        }
-                        set.add(req);
-                    } else if (satisfactory.multipleCapabilities != null) {
-                        // This requirement is one that needs tracking to ensure that all similar ones for this
-                        // dependent context can be resolved against at least one context
-                        if (requiresConsistency == null) {
-                            requiresConsistency = new HashMap<>();
-                            consistentSets = new HashMap<>();
-                        }
-
-                        CapabilityScope reqDependent = req.getDependentContext();
-                        recordConsistentSets(requiresConsistency, consistentSets, reqDependent, consistentSet, req, satisfactory, reqDependent);
-                        isInconsistent = isInconsistent || (consistentSet != null && consistentSet.isEmpty());
+            // The resolution context is shared, so resolutions still run one at a time
+            synchronized (resolutionContext) {
+                resolutionContext.setRootResource(rootResource);
+                assert resolutionContext.rootResource != null;
+                Map<CapabilityId, Set<RuntimeRequirementRegistration>> missing = new HashMap<>();
+
+                // Vars for tracking inconsistent contexts
+                boolean isInconsistent = false;
+                Map<CapabilityScope, Set<RuntimeRequirementRegistration>> requiresConsistency = null;
+                Map<CapabilityScope, Set<CapabilityScope>> consistentSets = null;
+
+                for (Map.Entry<CapabilityId, Map<String, RuntimeRequirementRegistration>> entry : requirements.entrySet()) {
+                    CapabilityId dependentId = entry.getKey();
+                    String dependentName = dependentId.getName();
+                    CapabilityScope dependentContext = dependentId.getScope();
+                    Set<CapabilityScope> consistentSet = consistentSets == null ? null : consistentSets.get(dependentContext);
+                    for (RuntimeRequirementRegistration req : entry.getValue().values()) {
+                        SatisfactoryCapability satisfactory = findSatisfactoryCapability(req.getRequiredName(), dependentContext, !forServer);
+                        if (satisfactory == null) {
+                            // Missing
+                            if (hostXmlOnly && dependentName.startsWith("org.wildfly.domain.server-config.")
+                                    && (req.getRequiredName().startsWith("org.wildfly.domain.server-group.")
+                                    || req.getRequiredName().startsWith("org.wildfly.domain.socket-binding-group."))) {
+                                // HACK. We can't resolve these now as we have no domain model at this part of boot
+                                // We can resolve them when the domain model ops run, so wait to validate then
+                                ControllerLogger.MGMT_OP_LOGGER.tracef("Ignoring that dependent %s cannot resolve required capability %s as the 'hostXmlOnly' param is set", dependentId, req.getRequiredName());
+                                continue;
+                            }
+                            CapabilityId basicId = new CapabilityId(req.getRequiredName(), dependentContext);
+                            Set<RuntimeRequirementRegistration> set = missing.get(basicId);
+                            if (set == null) {
+                                set = new HashSet<>();
+                                missing.put(basicId, set);
+                            }
+                            set.add(req);
+                        } else if (satisfactory.multipleCapabilities != null) {
+                            // This requirement is one that needs tracking to ensure that all similar ones for this
+                            // dependent context can be resolved against at least one context
+                            if (requiresConsistency == null) {
+                                requiresConsistency = new HashMap<>();
+                                consistentSets = new HashMap<>();
+                            }
 
-                        // Record for any contexts that include this one
-                        for (CapabilityScope including : dependentContext.getIncludingScopes(resolutionContext)) {
-                            consistentSet = consistentSets.get(including);
-                            recordConsistentSets(requiresConsistency, consistentSets, including, consistentSet, req, satisfactory, reqDependent);
+                            CapabilityScope reqDependent = req.getDependentContext();
+                            recordConsistentSets(requiresConsistency, consistentSets, reqDependent, consistentSet, req, satisfactory, reqDependent);
                             isInconsistent = isInconsistent || (consistentSet != null && consistentSet.isEmpty());
-                        }
-                    } // else simple capability match
+
+                            // Record for any contexts that include this one
+                            for (CapabilityScope including : dependentContext.getIncludingScopes(resolutionContext)) {
+                                consistentSet = consistentSets.get(including);
+                                recordConsistentSets(requiresConsistency, consistentSets, including, consistentSet, req, satisfactory, reqDependent);
+                                isInconsistent = isInconsistent || (consistentSet != null && consistentSet.isEmpty());
+                            }
+                        } // else simple capability match
+                    }
                 }
-            }
 
-            // We've finished resolution
-            resolutionContext.resolutionComplete = true;
+                // We've finished resolution
+                resolutionContext.resolutionComplete = true;
 
-            if (isInconsistent) {
-                // This is the exception case. Figure out the details of the problems
-                return new CapabilityValidation(missing, findInconsistent(requiresConsistency, consistentSets), resolutionContext);
-            } else if (!missing.isEmpty()) {
-                return new CapabilityValidation(missing, null, resolutionContext);
-            }
+                if (isInconsistent) {
+                    // This is the exception case. Figure out the details of the problems
+                    return new CapabilityValidation(missing, findInconsistent(requiresConsistency, consistentSets), resolutionContext);
+                } else if (!missing.isEmpty()) {
+                    return new CapabilityValidation(missing, null, resolutionContext);
+                }
 
-            return CapabilityValidation.OK;
+                return CapabilityValidation.OK;
+            }
         } finally {
             readLock.unlock();
         }
@@ -947,7 +981,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
                 throw ControllerLogger.MGMT_OP_LOGGER.unknownCapabilityInContext(capabilityName, capabilityScope.getName());
             }
         }
-        return capabilities.get(satisfactoryCapability.singleCapability);
+        return satisfactoryCapability.singleCapability == null ? null : capabilities.get(satisfactoryCapability.singleCapability);
     }
 
     private SatisfactoryCapability findSatisfactoryCapability(String capabilityName, CapabilityScope dependentContext,
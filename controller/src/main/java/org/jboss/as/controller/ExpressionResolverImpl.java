@@ -22,12 +22,16 @@
 package org.jboss.as.controller;
 
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.jboss.as.controller.extension.ExpressionResolverExtension;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.dmr.Property;
 import org.jboss.dmr.ValueExpression;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Basic {@link ExpressionResolver} implementation.
@@ -40,7 +44,20 @@ public class ExpressionResolverImpl implements ExpressionResolver {
     private static final int GOT_DOLLAR = 1;
     private static final int GOT_OPEN_BRACE = 2;
 
+    /**
+     * Name of the system property that sets the maximum number of resolved expressions each resolver caches.
+     * Caching is disabled unless the property is set to a positive value.
+     */
+    public static final String RESOLUTION_CACHE_SIZE_PROPERTY = "jboss.expression-resolution-cache-size";
+
+    private static final int DEFAULT_RESOLUTION_CACHE_SIZE = Integer.parseInt(
+            WildFlySecurityManager.getPropertyPrivileged(RESOLUTION_CACHE_SIZE_PROPERTY, "0"));
+
+    /** Incremented whenever a cached resolution may have become stale; entries from older generations are ignored. */
+    private static final AtomicInteger CACHE_GENERATION = new AtomicInteger();
+
     private final boolean lenient;
+    private final ResolutionCache cache;
 
     /**
      * Creates a new {@code ExpressionResolverImpl} configured to throw an OFE
@@ -58,7 +75,21 @@ public class ExpressionResolverImpl implements ExpressionResolver {
      *                           if the node should be left as an unresolved expression
      */
     protected ExpressionResolverImpl(boolean lenient) {
+        this(lenient, DEFAULT_RESOLUTION_CACHE_SIZE);
+    }
+
+    ExpressionResolverImpl(boolean lenient, int resolutionCacheSize) {
         this.lenient = lenient;
+        this.cache = resolutionCacheSize > 0 ? new ResolutionCache(resolutionCacheSize) : null;
+    }
+
+    /**
+     * Discards the resolved expressions cached by all resolvers. Must be called after anything that can change the
+     * result of resolving an expression, e.g. a system property write or a change in the registered
+     * {@link ExpressionResolverExtension}s, has been applied.
+     */
+    public static void invalidateResolutionCaches() {
+        CACHE_GENERATION.incrementAndGet();
     }
 
     @Override
@@ -87,7 +118,7 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         ModelType type = node.getType();
         ModelNode resolved;
         if (type == ModelType.EXPRESSION) {
-            resolved = resolveExpressionStringRecursively(node.asExpression().getExpressionString(), lenient, true, context);
+            resolved = resolveExpression(node.asExpression().getExpressionString(), context);
         } else if (type == ModelType.OBJECT) {
             resolved = node.clone();
             for (Property prop : resolved.asPropertyList()) {
@@ -111,6 +142,25 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         return resolved;
     }
 
+    private ModelNode resolveExpression(final String expressionString, final OperationContext context) throws OperationFailedException {
+        final ResolutionCache cache = this.cache;
+        if (cache == null) {
+            return resolveExpressionStringRecursively(expressionString, lenient, true, context, null);
+        }
+        // Read the generation before resolving so a concurrent invalidation discards what we store
+        final int generation = CACHE_GENERATION.get();
+        final String cached = cache.get(expressionString, generation);
+        if (cached != null) {
+            return new ModelNode(cached);
+        }
+        final ResolutionTracker tracker = new ResolutionTracker();
+        final ModelNode resolved = resolveExpressionStringRecursively(expressionString, lenient, true, context, tracker);
+        if (tracker.cacheable && resolved.getType() == ModelType.STRING) {
+            cache.put(expressionString, resolved.asString(), generation);
+        }
+        return resolved;
+    }
+
     /**
      * Attempt to resolve the expression {@link org.jboss.dmr.ModelNode#asString() encapsulated in the given node},
      * setting the value of {@code node} to the resolved string if successful, or leaving {@code node} unaltered
@@ -146,13 +196,14 @@ public class ExpressionResolverImpl implements ExpressionResolver {
      * @throws OperationFailedException if the expression cannot be resolved
      */
     private ModelNode resolveExpressionStringRecursively(final String expressionString, final boolean ignoreDMRResolutionFailure,
-                                                         final boolean initial, final OperationContext context) throws OperationFailedException {
-        ParseAndResolveResult resolved = parseAndResolve(expressionString, ignoreDMRResolutionFailure, context);
+                                                         final boolean initial, final OperationContext context,
+                                                         final ResolutionTracker tracker) throws OperationFailedException {
+        ParseAndResolveResult resolved = parseAndResolve(expressionString, ignoreDMRResolutionFailure, context, tracker);
         if (resolved.recursive) {
             // Some part of expressionString resolved into a different expression.
             // So, start over, ignoring failures. Ignore failures because we don't require
             // that expressions must not resolve to something that *looks like* an expression but isn't
-            return resolveExpressionStringRecursively(resolved.result, true, false, context);
+            return resolveExpressionStringRecursively(resolved.result, true, false, context, tracker);
         } else if (resolved.modified) {
             // Typical case
             return new ModelNode(resolved.result);
@@ -172,7 +223,8 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         }
     }
 
-    private ParseAndResolveResult parseAndResolve(final String initialValue, boolean lenient, OperationContext context) throws OperationFailedException {
+    private ParseAndResolveResult parseAndResolve(final String initialValue, boolean lenient, OperationContext context,
+                                                  ResolutionTracker tracker) throws OperationFailedException {
 
 
         final StringBuilder builder = new StringBuilder();
@@ -250,11 +302,11 @@ public class ExpressionResolverImpl implements ExpressionResolver {
                                 continue;
                             }
                             String toResolve = getStringToResolve(initialValue, stack, i);
-                            final String resolved = resolveExpressionString(toResolve, context); // TODO we could catch OFE or ERUE here
-                                                                                        // and if lenient respond with
-                                                                                        // the initial value, else rethrow
-                                                                                        // But for now it's a corner case
-                                                                                        // so follow KISS and just throw
+                            final String resolved = resolveExpressionString(toResolve, context, tracker); // TODO we could catch OFE or ERUE here
+                                                                                                 // and if lenient respond with
+                                                                                                 // the initial value, else rethrow
+                                                                                                 // But for now it's a corner case
+                                                                                                 // so follow KISS and just throw
                             // We only successfully resolved if toResolve != resolved
                             if (!toResolve.equals(resolved)) {
                                 if (EXPRESSION_PATTERN.matcher(resolved).matches()) {
@@ -334,7 +386,8 @@ public class ExpressionResolverImpl implements ExpressionResolver {
     }
 
     /** Resolve the given string using any plugin and the DMR resolve method */
-    private String resolveExpressionString(final String unresolvedString, final OperationContext context) throws OperationFailedException {
+    private String resolveExpressionString(final String unresolvedString, final OperationContext context,
+                                           final ResolutionTracker tracker) throws OperationFailedException {
 
         // parseAndResolve should only be providing expressions with no leading or trailing chars
         assert unresolvedString.startsWith("${") && unresolvedString.endsWith("}");
@@ -349,13 +402,21 @@ public class ExpressionResolverImpl implements ExpressionResolver {
 
         if (resolveNode.getType() == ModelType.EXPRESSION ) {
             // resolvePluggableExpression did nothing. Try standard resolution
+            if (tracker != null && ExpressionResolverExtension.EXTENSION_EXPRESSION_PATTERN.matcher(unresolvedString).matches()) {
+                // A resolver extension may handle this expression in another context or once it is registered
+                tracker.cacheable = false;
+            }
             String resolvedString = resolveStandardExpression(resolveNode);
             if (!unresolvedString.equals(resolvedString)) {
                 // resolveStandardExpression made progress
                 result = resolvedString;
             } // else there is nothing more we can do with this string
         } else {
-            // resolvePluggableExpression made progress
+            // resolvePluggableExpression made progress. Its results may be secrets or depend on the context,
+            // so they are never cached
+            if (tracker != null) {
+                tracker.cacheable = false;
+            }
             result = resolveNode.asString();
         }
 
@@ -476,6 +537,53 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         }
     }
 
+    /** Records whether every part of an expression was resolved in a way that can be cached. */
+    private static class ResolutionTracker {
+        private boolean cacheable = true;
+    }
+
+    /**
+     * Bounded cache of resolved expression strings. Rather than tracking usage, the cache is simply emptied when
+     * it is full or when its entries are from an older generation.
+     */
+    private static class ResolutionCache {
+        private final int maxSize;
+        private final ConcurrentHashMap<String, CachedResolution> entries = new ConcurrentHashMap<>();
+
+        private ResolutionCache(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        private String get(String expressionString, int generation) {
+            final CachedResolution cached = entries.get(expressionString);
+            if (cached == null) {
+                return null;
+            }
+            if (cached.generation != generation) {
+                entries.clear();
+                return null;
+            }
+            return cached.value;
+        }
+
+        private void put(String expressionString, String value, int generation) {
+            if (entries.size() >= maxSize) {
+                entries.clear();
+            }
+            entries.put(expressionString, new CachedResolution(value, generation));
+        }
+    }
+
+    private static class CachedResolution {
+        private final String value;
+        private final int generation;
+
+        private CachedResolution(String value, int generation) {
+            this.value = value;
+            this.generation = generation;
+        }
+    }
+
     private static class OpenExpression {
         private final int startIndex;
         private int endIndex = -1;
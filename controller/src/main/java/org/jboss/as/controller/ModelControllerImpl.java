@@ -144,6 +144,10 @@ class ModelControllerImpl implements ModelController {
 
     /** Tracks the relationship between domain resources and hosts and server groups */
     private final HostServerGroupTracker hostServerGroupTracker;
+    /** Only set for servers that are not part of a managed domain */
+    private final ReadAttributeFastPath readAttributeFastPath;
+    /** Only set for servers that are not part of a managed domain and have a management executor */
+    private final ParallelReadComposite parallelReadComposite;
     private final Resource.ResourceEntry modelControllerResource;
     private final OperationStepHandler extraValidationStepHandler;
 
@@ -203,6 +207,10 @@ class ModelControllerImpl implements ModelController {
         assert bootErrorCollector != null;
         this.bootErrorCollector = bootErrorCollector;
         this.hostServerGroupTracker = processType.isManagedDomain() ? new HostServerGroupTracker() : null;
+        this.readAttributeFastPath = processType.isServer() && !processType.isManagedDomain()
+                ? new ReadAttributeFastPath(authorizer, securityIdentitySupplier, processState, processType) : null;
+        this.parallelReadComposite = processType.isServer() && !processType.isManagedDomain() && executorService != null
+                ? new ParallelReadComposite(executorService, securityIdentitySupplier) : null;
         this.modelControllerResource = new ModelControllerResource();
         this.extraValidationStepHandler = extraValidationStepHandler;
         if (processType.isServer()) {
@@ -258,7 +266,7 @@ class ModelControllerImpl implements ModelController {
                                          final OperationAttachments attachments, final boolean forBoot) {
         SecurityIdentity securityIdentity = securityIdentitySupplier.get();
         return securityIdentity.runAs((PrivilegedAction<OperationResponse>) () -> internalExecute(operation,
-                handler, control, attachments, prepareStep, false, partialModelIndicator.isModelPartial(), forBoot));
+                handler, control, attachments, prepareStep, false, partialModelIndicator.isModelPartial(), forBoot, null));
     }
 
     private AbstractOperationContext getDelegateContext(final int operationId) {
@@ -354,12 +362,16 @@ class ModelControllerImpl implements ModelController {
      */
     protected OperationResponse internalExecute(final ModelNode operation, final OperationMessageHandler handler, final OperationTransactionControl control,
                                                 final OperationAttachments attachments, final OperationStepHandler prepareStep, final boolean attemptLock, boolean partialModel) {
-        return internalExecute(operation, handler, control, attachments, prepareStep, attemptLock, partialModel, false);
+        return internalExecute(operation, handler, control, attachments, prepareStep, attemptLock, partialModel, false, null);
     }
 
+    /**
+     * @param snapshot the published model to execute the operation against, or {@code null} for the current one
+     */
     private OperationResponse internalExecute(final ModelNode operation, final OperationMessageHandler handler, final OperationTransactionControl control,
                                               final OperationAttachments attachments, final OperationStepHandler prepareStep,
-                                              final boolean attemptLock, final boolean partialModel, final boolean forBoot) {
+                                              final boolean attemptLock, final boolean partialModel, final boolean forBoot,
+                                              final ManagementModelImpl snapshot) {
 
         SecurityManager sm = System.getSecurityManager();
         if (sm != null) {
@@ -420,13 +432,36 @@ class ModelControllerImpl implements ModelController {
             return handleExternalRequestDuringBoot();
         }
 
+        // Simple reads of configuration data are served straight from the published model; no context, steps or locks
+        if (readAttributeFastPath != null && !forBoot && prepareStep instanceof DefaultPrepareStepHandler
+                && !bootingFlag.get() && !bootingReadOnlyFlag.get() && !auditLogger.isLogReadOnly()
+                && readAttributeFastPath.execute(operation, snapshot != null ? snapshot : managementModel.get(), responseNode)) {
+            addProcessStateHeader(responseNode);
+            return OperationResponse.Factory.createSimple(responseNode);
+        }
+
+        // Composites of global reads may run their steps concurrently if the caller asked for it; all steps read
+        // the same published model, as the steps of a regular composite do. If any step does not succeed the
+        // composite is executed again below so the failure is reported the usual way
+        if (parallelReadComposite != null && !forBoot && snapshot == null && prepareStep instanceof DefaultPrepareStepHandler
+                && (control == null || control == OperationTransactionControl.COMMIT)
+                && !bootingFlag.get() && !bootingReadOnlyFlag.get() && !auditLogger.isLogReadOnly()
+                && ParallelReadComposite.isParallelReadComposite(operation)) {
+            final ManagementModelImpl compositeSnapshot = managementModel.get().readOnlySnapshot();
+            if (parallelReadComposite.execute(operation, responseNode, step -> internalExecute(step, handler, null,
+                    attachments, prepareStep, false, partialModel, false, compositeSnapshot))) {
+                addProcessStateHeader(responseNode);
+                return OperationResponse.Factory.createSimple(responseNode);
+            }
+        }
+
         for (;;) {
             responseStreams = null;
             // Create a random operation-id
             final Integer operationID = random.nextInt();
             final OperationContextImpl context = new OperationContextImpl(operationID, operation.get(OP).asString(),
                     operation.get(OP_ADDR), this, processType, runningModeControl.getRunningMode(),
-                    headers, handler, attachments, managementModel.get(), originalResultTxControl, processState, auditLogger,
+                    headers, handler, attachments, snapshot != null ? snapshot : managementModel.get(), originalResultTxControl, processState, auditLogger,
                     bootingFlag.get(), forBoot, hostServerGroupTracker, accessContext, notificationSupport,
                     false, extraValidationStepHandler, partialModel, securityIdentitySupplier);
             // Try again if the operation-id is already taken
@@ -457,17 +492,7 @@ class ModelControllerImpl implements ModelController {
                     throw e;
                 } finally {
 
-                    if (!responseNode.hasDefined(RESPONSE_HEADERS) || !responseNode.get(RESPONSE_HEADERS).hasDefined(PROCESS_STATE)) {
-                        ControlledProcessState.State state = processState.getState();
-                        switch (state) {
-                            case RELOAD_REQUIRED:
-                            case RESTART_REQUIRED:
-                                responseNode.get(RESPONSE_HEADERS, PROCESS_STATE).set(state.toString());
-                                break;
-                            default:
-                                break;
-                        }
-                    }
+                    addProcessStateHeader(responseNode);
 
                     if (shouldUnlock) {
                         controllerLock.unlock(operationID);
@@ -486,6 +511,20 @@ class ModelControllerImpl implements ModelController {
         }
     }
 
+    private void addProcessStateHeader(final ModelNode responseNode) {
+        if (!responseNode.hasDefined(RESPONSE_HEADERS) || !responseNode.get(RESPONSE_HEADERS).hasDefined(PROCESS_STATE)) {
+            ControlledProcessState.State state = processState.getState();
+            switch (state) {
+                case RELOAD_REQUIRED:
+                case RESTART_REQUIRED:
+                    responseNode.get(RESPONSE_HEADERS, PROCESS_STATE).set(state.toString());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
     private static OperationResponse handleExternalRequestDuringBoot() {
         ModelNode result = new ModelNode();
         result.get(OUTCOME).set(FAILED);
@@ -1254,9 +1293,23 @@ class ModelControllerImpl implements ModelController {
         */
 
         /**
-         * Creates a new {@code ManagementModelImpl} that uses a clone of this one's root {@link Resource}.
+         * Creates an unpublished {@code ManagementModelImpl} for the root {@link Resource} that is currently published.
+         * Unlike the published model, it does not follow later writes, which replace the published root resource
+         * with a modified copy. It must only be used to read; it must never be modified or published.
+         *
+         * @return the snapshot of the published model
+         */
+        ManagementModelImpl readOnlySnapshot() {
+            final ManagementModelImpl currentPublished = ModelControllerImpl.this.managementModel.get();
+            return new ManagementModelImpl(currentPublished.resourceRegistration, currentPublished.rootResource,
+                    currentPublished.capabilityRegistry);
+        }
+
+        /**
+         * Creates a new {@code ManagementModelImpl} that uses a copy of this one's root {@link Resource}.
          * The caller can safely modify that {@code Resource} without changes being exposed
-         * to other callers. Use {@link ModelControllerImpl#writeModel(ManagementModelImpl, Set, boolean, boolean, boolean)}
+         * to other callers. If this model is published, the copy shares all unmodified resources with it
+         * (see {@link Resource.Tools#copyOnWrite(Resource)}). Use {@link ModelControllerImpl#writeModel(ManagementModelImpl, Set, boolean, boolean, boolean)}
          * to publish changes.
          *
          * @return the new {@code ManagementModelImpl}. Will not return {@code null}
@@ -1279,7 +1332,9 @@ class ModelControllerImpl implements ModelController {
                 currentResource = rootResource;
                 currentCaps = capabilityRegistry;
             }
-            Resource clone = currentResource.clone();
+            // A published resource tree is never modified again, so it's safe to share its resources with the copy,
+            // which then only copies the resources along the paths the operation navigates
+            Resource clone = published ? Resource.Tools.copyOnWrite(currentResource) : currentResource.clone();
             ManagementModelImpl result = new ManagementModelImpl(mrr, clone, currentCaps);
             ControllerLogger.MGMT_OP_LOGGER.tracef("cloned to %s to create %s and %s", currentResource, clone, result);
             return result;
@@ -1304,6 +1359,8 @@ class ModelControllerImpl implements ModelController {
             }
         }
         private void publish() {
+            // Seal before publishing so no reader ever copies resources that are still shared
+            Resource.Tools.seal(rootResource);
             ModelControllerImpl.this.managementModel.set(this);
             published = true;
             ControllerLogger.MGMT_OP_LOGGER.tracef("published %s", this);
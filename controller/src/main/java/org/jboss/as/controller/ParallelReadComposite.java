@@ -0,0 +1,214 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PARALLEL_READ_STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESPONSE_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+import org.wildfly.security.auth.server.SecurityIdentity;
+
+/**
+ * Executes the steps of a {@code composite} operation concurrently when the caller asks for it with the
+ * {@code parallel-read-steps} operation header and every step is one of the standard global read operations.
+ * <p>
+ * Each step runs as a separate operation on the management executor, under the caller's security identity and
+ * access audit context, and the results are gathered into the usual composite response in step order. All steps
+ * read the published model captured when the composite started, so like the steps of a regular composite they see
+ * a single snapshot of the configuration, even if a write is committed while they run. Reads have
+ * no side effects, so if any step does not succeed the parallel results are discarded and the caller is expected
+ * to run the composite the regular way. That keeps the failure response, which depends on the order in which the
+ * steps were executed and rolled back, exactly as it would be without the header.</p>
+ */
+final class ParallelReadComposite {
+
+    private final ExecutorService executor;
+    private final Supplier<SecurityIdentity> securityIdentitySupplier;
+
+    ParallelReadComposite(ExecutorService executor, Supplier<SecurityIdentity> securityIdentitySupplier) {
+        this.executor = executor;
+        this.securityIdentitySupplier = securityIdentitySupplier;
+    }
+
+    /**
+     * Gets whether the given operation is a composite whose steps may be executed in parallel.
+     *
+     * @param operation the operation. Cannot be {@code null}
+     * @return {@code true} if the operation requested parallel execution and only contains global read steps
+     */
+    static boolean isParallelReadComposite(final ModelNode operation) {
+        if (!operation.hasDefined(OPERATION_HEADERS, PARALLEL_READ_STEPS)
+                || !operation.get(OPERATION_HEADERS, PARALLEL_READ_STEPS).asBoolean(false)
+                || !COMPOSITE.equals(operation.get(OP).asString())
+                || (operation.hasDefined(OP_ADDR) && operation.get(OP_ADDR).asInt() > 0)
+                || !operation.hasDefined(STEPS)) {
+            return false;
+        }
+        final List<ModelNode> steps = operation.get(STEPS).asList();
+        if (steps.size() < 2) {
+            return false;
+        }
+        for (ModelNode step : steps) {
+            if (!step.hasDefined(OP) || !GlobalOperationHandlers.STD_READ_OPS.contains(step.get(OP).asString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Executes the steps of the composite concurrently.
+     *
+     * @param operation the composite operation, for which {@link #isParallelReadComposite(ModelNode)} returned {@code true}
+     * @param responseNode the node to store the composite response in
+     * @param stepExecutor executes a single step as a standalone operation on the current thread
+     * @return {@code true} if every step succeeded and {@code responseNode} holds the composite response;
+     *         {@code false} if the composite must be executed the regular way
+     */
+    boolean execute(final ModelNode operation, final ModelNode responseNode,
+                    final Function<ModelNode, OperationResponse> stepExecutor) {
+
+        final AccessAuditContext accessContext = SecurityActions.currentAccessAuditContext();
+        final SecurityIdentity identity = accessContext != null ? accessContext.getSecurityIdentity() : securityIdentitySupplier.get();
+        final ModelNode headers = operation.get(OPERATION_HEADERS).clone();
+        headers.remove(PARALLEL_READ_STEPS);
+
+        final List<ModelNode> steps = operation.get(STEPS).asList();
+        final List<FutureTask<OperationResponse>> tasks = new ArrayList<>(steps.size());
+        for (ModelNode step : steps) {
+            final ModelNode stepOperation = withHeaders(step, headers);
+            final PrivilegedAction<OperationResponse> action = () -> stepExecutor.apply(stepOperation);
+            tasks.add(new FutureTask<>(() -> runAs(accessContext, identity, action)));
+        }
+
+        // The first step always runs on this thread, as does any step the executor has not started by the time
+        // we get to it, so the composite completes even if the executor has no free threads
+        for (int i = 1; i < tasks.size(); i++) {
+            try {
+                executor.execute(tasks.get(i));
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+
+        final List<OperationResponse> stepResponses = new ArrayList<>(tasks.size());
+        boolean succeeded = true;
+        try {
+            for (FutureTask<OperationResponse> task : tasks) {
+                task.run();
+                final OperationResponse stepResponse = task.get();
+                stepResponses.add(stepResponse);
+                if (!SUCCESS.equals(stepResponse.getResponseNode().get(OUTCOME).asString())
+                        || !stepResponse.getInputStreams().isEmpty()) {
+                    succeeded = false;
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            succeeded = false;
+        } catch (ExecutionException | CancellationException e) {
+            ControllerLogger.MGMT_OP_LOGGER.debugf(e, "Parallel execution of %s failed", operation);
+            succeeded = false;
+        }
+
+        if (!succeeded) {
+            for (FutureTask<OperationResponse> task : tasks) {
+                task.cancel(true);
+            }
+            for (OperationResponse stepResponse : stepResponses) {
+                close(stepResponse);
+            }
+            return false;
+        }
+
+        responseNode.get(OUTCOME).set(SUCCESS);
+        final ModelNode result = responseNode.get(RESULT).setEmptyObject();
+        for (int i = 0; i < stepResponses.size(); i++) {
+            final ModelNode stepResponse = stepResponses.get(i).getResponseNode();
+            stepResponse.remove(RESPONSE_HEADERS);
+            result.get("step-" + (i + 1)).set(stepResponse);
+        }
+        return true;
+    }
+
+    private static ModelNode withHeaders(final ModelNode step, final ModelNode headers) {
+        if (!headers.isDefined() || headers.keys().isEmpty()) {
+            return step;
+        }
+        final ModelNode result = step.clone();
+        for (Property header : headers.asPropertyList()) {
+            // A header on the step itself takes precedence over the one on the composite
+            if (!result.has(OPERATION_HEADERS, header.getName())) {
+                result.get(OPERATION_HEADERS, header.getName()).set(header.getValue());
+            }
+        }
+        return result;
+    }
+
+    private static OperationResponse runAs(final AccessAuditContext accessContext, final SecurityIdentity identity,
+                                           final PrivilegedAction<OperationResponse> action) {
+        if (accessContext == null) {
+            // Internal caller
+            return identity != null ? identity.runAs(action) : action.run();
+        }
+        final InetAddress remoteAddress = accessContext.getRemoteAddress();
+        return AccessAuditContext.doAs(accessContext.isInflowed(), identity, remoteAddress, (PrivilegedAction<OperationResponse>) () -> {
+            SecurityActions.currentAccessAuditContext().setAccessMechanism(accessContext.getAccessMechanism());
+            return action.run();
+        });
+    }
+
+    private static void close(final OperationResponse response) {
+        try {
+            response.close();
+        } catch (IOException e) {
+            ControllerLogger.MGMT_OP_LOGGER.debugf(e, "Failed closing step response");
+        }
+    }
+}
@@ -215,6 +215,8 @@ public class PathAddress implements Iterable<PathElement> {
     }
 
     private final List<PathElement> pathAddressList;
+    /** Lazily computed hash code; the element list is immutable so the value never changes once computed. */
+    private int hashCode;
 
     PathAddress(final List<PathElement> pathAddressList) {
         Assert.assertNotNull(pathAddressList);
@@ -423,7 +425,12 @@ public class PathAddress implements Iterable<PathElement> {
 
     @Override
     public int hashCode() {
-        return pathAddressList.hashCode();
+        int result = hashCode;
+        if (result == 0) {
+            result = pathAddressList.hashCode();
+            hashCode = result;
+        }
+        return result;
     }
 
     /**
@@ -444,7 +451,7 @@ public class PathAddress implements Iterable<PathElement> {
      * @return {@code true} if they are equal, {@code false} otherwise
      */
     public boolean equals(PathAddress other) {
-        return this == other || other != null && pathAddressList.equals(other.pathAddressList);
+        return this == other || other != null && hashCode() == other.hashCode() && pathAddressList.equals(other.pathAddressList);
     }
 
     @Override
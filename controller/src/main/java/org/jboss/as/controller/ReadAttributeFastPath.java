@@ -0,0 +1,204 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_MECHANISM;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CALLER_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_DEFAULTS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESOLVE_EXPRESSIONS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.util.function.Supplier;
+
+import org.jboss.as.controller.access.Action;
+import org.jboss.as.controller.access.AuthorizationResult;
+import org.jboss.as.controller.access.Authorizer;
+import org.jboss.as.controller.access.Environment;
+import org.jboss.as.controller.access.TargetAttribute;
+import org.jboss.as.controller.access.TargetResource;
+import org.jboss.as.controller.operations.global.ReadAttributeHandler;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.security.auth.server.SecurityIdentity;
+
+/**
+ * Executes simple {@code read-attribute} requests directly against the published {@link ManagementModel}, without
+ * creating an {@link OperationContext} or running any steps.
+ * <p>
+ * The published model is never modified once it has been made visible, so a configuration attribute without a
+ * custom read handler can be read from it without taking any lock. Anything that would need more than that (runtime
+ * or metric attributes, wildcard or proxied addresses, {@code resolve-expressions}, operation headers other than the
+ * ones describing the caller, denied access, unknown attributes or missing resources) is not handled here, and the
+ * caller is expected to run the request through the regular operation execution instead. That keeps all error
+ * reporting in a single place.</p>
+ */
+final class ReadAttributeFastPath {
+
+    private final Authorizer authorizer;
+    private final Supplier<SecurityIdentity> securityIdentitySupplier;
+    private final Environment callEnvironment;
+
+    ReadAttributeFastPath(Authorizer authorizer, Supplier<SecurityIdentity> securityIdentitySupplier,
+                          ControlledProcessState processState, ProcessType processType) {
+        this.authorizer = authorizer;
+        this.securityIdentitySupplier = securityIdentitySupplier;
+        this.callEnvironment = new Environment(processState, processType);
+    }
+
+    /**
+     * Attempts to execute the given operation against the given published model.
+     *
+     * @param operation the operation. Cannot be {@code null}
+     * @param model the published management model. Cannot be {@code null}
+     * @param responseNode the node to store the response in if the operation is handled. Cannot be {@code null}
+     * @return {@code true} if the operation was handled and {@code responseNode} populated; {@code false} if the
+     *         operation must be executed the regular way
+     */
+    boolean execute(final ModelNode operation, final ManagementModel model, final ModelNode responseNode) {
+        if (!operation.hasDefined(OP) || !READ_ATTRIBUTE_OPERATION.equals(operation.get(OP).asString())
+                || !operation.hasDefined(NAME) || !hasSimpleParameters(operation)) {
+            return false;
+        }
+        final ModelNode nameNode = operation.get(NAME);
+        final ModelNode includeDefaults = operation.has(INCLUDE_DEFAULTS) ? operation.get(INCLUDE_DEFAULTS) : new ModelNode();
+        if (nameNode.getType() != ModelType.STRING
+                || (includeDefaults.isDefined() && includeDefaults.getType() != ModelType.BOOLEAN)) {
+            return false;
+        }
+
+        final PathAddress address;
+        try {
+            address = operation.has(OP_ADDR) ? PathAddress.pathAddress(operation.get(OP_ADDR)) : PathAddress.EMPTY_ADDRESS;
+        } catch (RuntimeException e) {
+            return false;
+        }
+        if (address.isMultiTarget()) {
+            return false;
+        }
+
+        final ImmutableManagementResourceRegistration registration = model.getRootResourceRegistration().getSubModel(address);
+        if (registration == null || registration.isRemote() || registration.isRuntimeOnly() || registration.isAlias()) {
+            return false;
+        }
+        final OperationEntry operationEntry = registration.getOperationEntry(PathAddress.EMPTY_ADDRESS, READ_ATTRIBUTE_OPERATION);
+        if (operationEntry == null
+                || (operationEntry.getOperationHandler() != ReadAttributeHandler.INSTANCE
+                    && operationEntry.getOperationHandler() != ReadAttributeHandler.RESOLVE_INSTANCE)) {
+            return false;
+        }
+        final String attributeName = nameNode.asString();
+        final AttributeAccess attributeAccess = registration.getAttributeAccess(PathAddress.EMPTY_ADDRESS, attributeName);
+        if (attributeAccess == null
+                || attributeAccess.getStorageType() != AttributeAccess.Storage.CONFIGURATION
+                || attributeAccess.getReadHandler() != null) {
+            return false;
+        }
+
+        final Resource resource = getResource(model.getRootResource(), address);
+        if (resource == null) {
+            return false;
+        }
+
+        final ModelNode subModel = resource.getModel();
+        final ModelNode result;
+        if (subModel.hasDefined(attributeName)) {
+            result = subModel.get(attributeName).clone();
+        } else if (includeDefaults.asBoolean(true) && attributeAccess.getAttributeDefinition().getDefaultValue() != null) {
+            result = attributeAccess.getAttributeDefinition().getDefaultValue().clone();
+        } else {
+            result = new ModelNode();
+        }
+
+        // Same checks as the regular execution applies, first the resource and then the attribute
+        final SecurityIdentity identity = securityIdentitySupplier.get();
+        final Action action = new Action(operation, operationEntry);
+        final TargetResource targetResource = TargetResource.forStandalone(address, registration, resource);
+        if (authorizer.authorize(identity, callEnvironment, action, targetResource).getDecision() != AuthorizationResult.Decision.PERMIT) {
+            return false;
+        }
+        final TargetAttribute targetAttribute = new TargetAttribute(attributeName, attributeAccess, result, targetResource);
+        if (authorizer.authorize(identity, callEnvironment, action, targetAttribute).getDecision() != AuthorizationResult.Decision.PERMIT) {
+            return false;
+        }
+
+        responseNode.get(OUTCOME).set(SUCCESS);
+        responseNode.get(RESULT).set(result);
+        return true;
+    }
+
+    private static boolean hasSimpleParameters(final ModelNode operation) {
+        for (String key : operation.keys()) {
+            switch (key) {
+                case OP:
+                case OP_ADDR:
+                case NAME:
+                case INCLUDE_DEFAULTS:
+                case INCLUDE_UNDEFINED_METRIC_VALUES:
+                    break;
+                case RESOLVE_EXPRESSIONS:
+                    if (operation.get(key).isDefined()
+                            && (operation.get(key).getType() != ModelType.BOOLEAN || operation.get(key).asBoolean())) {
+                        return false;
+                    }
+                    break;
+                case OPERATION_HEADERS:
+                    if (operation.get(key).getType() == ModelType.OBJECT) {
+                        for (String header : operation.get(key).keys()) {
+                            if (!ACCESS_MECHANISM.equals(header) && !CALLER_TYPE.equals(header)) {
+                                return false;
+                            }
+                        }
+                    } else if (operation.get(key).isDefined()) {
+                        return false;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private static Resource getResource(final Resource root, final PathAddress address) {
+        Resource resource = root;
+        for (PathElement element : address) {
+            resource = resource.getChild(element);
+            if (resource == null || resource.isProxy() || resource.isRuntime()) {
+                return null;
+            }
+        }
+        return resource;
+    }
+}
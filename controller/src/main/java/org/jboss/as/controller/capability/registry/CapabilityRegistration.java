@@ -40,7 +40,8 @@ import org.jboss.as.controller.capability.Capability;
  */
 public class CapabilityRegistration<C extends Capability> implements Comparable<CapabilityRegistration<C>> {
 
-    private final Map<PathAddress, RegistrationPoint> registrationPoints = new LinkedHashMap<>();
+    // Copied on write, so readers can iterate the points without holding the monitor
+    private volatile Map<PathAddress, RegistrationPoint> registrationPoints = Collections.emptyMap();
     private final C capability;
     private final CapabilityId id;
 
@@ -51,7 +52,7 @@ public class CapabilityRegistration<C extends Capability> implements Comparable<
 
     public CapabilityRegistration(C capability, CapabilityScope scope, RegistrationPoint registrationPoint) {
         this(capability, scope);
-        this.registrationPoints.put(registrationPoint.getAddress(), registrationPoint);
+        this.registrationPoints = Collections.singletonMap(registrationPoint.getAddress(), registrationPoint);
     }
 
     /**
@@ -61,7 +62,7 @@ public class CapabilityRegistration<C extends Capability> implements Comparable<
      */
     public CapabilityRegistration(CapabilityRegistration<C> toCopy) {
         this(toCopy.getCapability(), toCopy.getCapabilityScope());
-        this.registrationPoints.putAll(toCopy.registrationPoints);
+        this.registrationPoints = toCopy.registrationPoints;
     }
 
     /**
@@ -109,8 +110,9 @@ public class CapabilityRegistration<C extends Capability> implements Comparable<
      * Gets the registration point that been associated with the registration for the longest period.
      * @return the initial registration point, or {@code null} if there are no longer any registration points
      */
-    public synchronized RegistrationPoint getOldestRegistrationPoint() {
-        return registrationPoints.size() == 0 ? null : registrationPoints.values().iterator().next();
+    public RegistrationPoint getOldestRegistrationPoint() {
+        final Map<PathAddress, RegistrationPoint> points = registrationPoints;
+        return points.isEmpty() ? null : points.values().iterator().next();
     }
 
     /**
@@ -118,7 +120,7 @@ public class CapabilityRegistration<C extends Capability> implements Comparable<
      *
      * @return all registration points. Will not be {@code null} but may be empty
      */
-    public synchronized Set<RegistrationPoint> getRegistrationPoints() {
+    public Set<RegistrationPoint> getRegistrationPoints() {
         return Collections.unmodifiableSet(new LinkedHashSet<>(registrationPoints.values()));
     }
 
@@ -127,7 +129,9 @@ public class CapabilityRegistration<C extends Capability> implements Comparable<
         if (registrationPoints.containsKey(addedAddress)) {
             return false;
         }
-        registrationPoints.put(addedAddress, toAdd);
+        final Map<PathAddress, RegistrationPoint> points = new LinkedHashMap<>(registrationPoints);
+        points.put(addedAddress, toAdd);
+        registrationPoints = points;
         return true;
     }
 
@@ -136,11 +140,13 @@ public class CapabilityRegistration<C extends Capability> implements Comparable<
         if (!registrationPoints.containsKey(addedAddress)) {
             return false;
         }
-        registrationPoints.remove(addedAddress);
+        final Map<PathAddress, RegistrationPoint> points = new LinkedHashMap<>(registrationPoints);
+        points.remove(addedAddress);
+        registrationPoints = points;
         return true;
     }
 
-    public synchronized int getRegistrationPointCount() {
+    public int getRegistrationPointCount() {
         return registrationPoints.size();
     }
 
@@ -93,6 +93,7 @@ public class ModelDescriptionConstants {
     public static final String BYTES = "bytes";
     public static final String CALLER_THREAD = "caller-thread";
     public static final String CALLER_TYPE = "caller-type";
+    public static final String CANARY_PERCENTAGE = "canary-percentage";
     public static final String CANCELLED = "cancelled";
     public static final String CAPABILITIES = "capabilities";
     public static final String CAPABILITY_REFERENCE = "capability-reference";
@@ -105,6 +106,7 @@ public class ModelDescriptionConstants {
     public static final String CLIENT_MAPPINGS = "client-mappings";
     public static final String CLONE = "clone";
     public static final String CODE = "code";
+    public static final String COMMIT_DEPLOYMENT_UPLOAD = "commit-deployment-upload";
     public static final String COMPACT = "compact";
     public static final String COMPLEX_ATTRIBUTE = "complex-attribute";
     public static final String COMPOSITE = "composite";
@@ -121,6 +123,7 @@ public class ModelDescriptionConstants {
     public static final String CONSTANT_HEADERS = "constant-headers";
     public static final String CONTENT = "content";
     public static final String CONTENT_LENGTH = "content-length";
+    public static final String CONTENT_REPOSITORY = "content-repository";
     public static final String CONTENT_TYPE = "content-type";
     public static final String CORE = "core";
     public static final String CORE_SERVICE = "core-service";
@@ -152,6 +155,7 @@ public class ModelDescriptionConstants {
     public static final String DESTINATION_ADDRESS = "destination-address";
     public static final String DESTROY_SERVERS = "destroy-servers";
     public static final String DESTINATION_PORT = "destination-port";
+    public static final String DIFF_CONTENT = "diff-content";
     public static final String DIRECTORY = "directory";
     public static final String DIRECTORY_GROUPING = "directory-grouping";
     public static final String DISABLE = "disable";
@@ -307,11 +311,14 @@ public class ModelDescriptionConstants {
     public static final String MANAGEMENT_MICRO_VERSION = "management-micro-version";
     public static final String MANAGEMENT_OPERATIONS = "management-operations";
     public static final String MANAGEMENT_SUBSYSTEM_ENDPOINT = "management-subsystem-endpoint";
+    public static final String MANIFEST = "manifest";
     public static final String MAP_GROUPS_TO_ROLES = "map-groups-to-roles";
     public static final String MASK = "mask";
     public static final String MASTER = "master";
     public static final String MAX = "max";
     public static final String MAX_BACKUP_INDEX = "max-backup-index";
+    public static final String MAX_CONCURRENT_PERCENTAGE = "max-concurrent-percentage";
+    public static final String MAX_CONCURRENT_SERVERS = "max-concurrent-servers";
     public static final String MAX_FAILED_SERVERS = "max-failed-servers";
     public static final String MAX_FAILURE_COUNT = "max-failure-count";
     public static final String MAX_FAILURE_PERCENTAGE = "max-failure-percentage";
@@ -324,6 +331,7 @@ public class ModelDescriptionConstants {
     public static final String MIN = "min";
     public static final String MIN_LENGTH = "min-length";
     public static final String MIN_OCCURS = "min-occurs";
+    public static final String MISSING = "missing";
     public static final String MISSING_TRANSITIVE_DEPENDENCY_PROBLEMS = "missing-transitive-dependency-problems";
     public static final String MODEL_DESCRIPTION = "model-description";
     public static final String MODULE = "module";
@@ -348,6 +356,7 @@ public class ModelDescriptionConstants {
     public static final String NOTIFICATION_TYPE = "notification-type";
     public static final String NOTIFICATIONS = "notifications";
     public static final String NO_SERVICES = "no-services";
+    public static final String OFFSET = "offset";
     /** Use this as the standard operation name field in the operation *request* ModelNode */
     public static final String OP = "operation";
     /** Use this standard operation address field in the operation *request* ModelNode */
@@ -370,6 +379,7 @@ public class ModelDescriptionConstants {
     public static final String OWNER = "owner";
     public static final String PACKAGE = "package";
     public static final String PACKAGES = "packages";
+    public static final String PARALLEL_READ_STEPS = "parallel-read-steps";
     public static final String PARAMS = "params";
     public static final String PARSE_ROLES_FROM_DN = "parse-group-name-from-dn";
     public static final String PASSIVE = "passive";
@@ -405,6 +415,7 @@ public class ModelDescriptionConstants {
     public static final String PROXIES = "proxies";
     public static final String QUERY = "query";
     public static final String READ = "read";
+    public static final String READ_ANNOTATION_INDEX_TIMING = "read-annotation-index-timing";
     public static final String READ_ATTRIBUTE_OPERATION = "read-attribute";
     public static final String READ_ATTRIBUTE_GROUP_OPERATION = "read-attribute-group";
     public static final String READ_ATTRIBUTE_GROUP_NAMES_OPERATION = "read-attribute-group-names";
@@ -414,6 +425,7 @@ public class ModelDescriptionConstants {
     public static final String READ_CONFIG_AS_FEATURES_OPERATION = "read-config-as-features";
     public static final String READ_CONFIG_AS_XML_OPERATION = "read-config-as-xml";
     public static final String READ_CONTENT = "read-content";
+    public static final String READ_DEPLOYMENT_TIMING = "read-deployment-timing";
     public static final String READ_FEATURE_DESCRIPTION_OPERATION = "read-feature-description";
     public static final String READ_ONLY = "read-only";
     public static final String READ_OPERATION_DESCRIPTION_OPERATION = "read-operation-description";
@@ -508,6 +520,7 @@ public class ModelDescriptionConstants {
     public static final String SERVICES_MISSING_TRANSITIVE_DEPENDENCIES = "services-missing-transitive-dependencies";
     public static final String SERVICE_CONTAINER = "service-container";
     public static final String SINCE = "since";
+    public static final String SIZE = "size";
     public static final String SIZE_ROTATING_FILE_HANDLER = "size-rotating-file-handler";
     public static final String SOURCE_FILE = "source-file";
     public static final String SOURCE_NETWORK = "source-network";
@@ -517,6 +530,7 @@ public class ModelDescriptionConstants {
     public static final String OPERATION_REQUIRES_RESTART = "operation-requires-restart";
     public static final String RELOAD_SERVERS = "reload-servers";
     public static final String REMOVE_CONTENT = "remove-content";
+    public static final String REMOVED = "removed";
     public static final String RESTART_SERVERS = "restart-servers";
     public static final String RESUME_SERVERS = "resume-servers";
     public static final String RESUME = "resume";
@@ -587,8 +601,10 @@ public class ModelDescriptionConstants {
     public static final String UNDEPLOY = "undeploy";
     public static final String UNREADABLE_CHILDREN = "unreadable-children";
     public static final String UPLOAD_DEPLOYMENT_BYTES = "upload-deployment-bytes";
+    public static final String UPLOAD_DEPLOYMENT_CHUNK = "upload-deployment-chunk";
     public static final String UPLOAD_DEPLOYMENT_URL = "upload-deployment-url";
     public static final String UPLOAD_DEPLOYMENT_STREAM = "upload-deployment-stream";
+    public static final String UPLOAD_ID = "upload-id";
     public static final String UNIT = "unit";
     public static final String UPDATE_AUTO_START_WITH_SERVER_STATUS = "update-auto-start-with-server-status";
     public static final String URI = "uri";
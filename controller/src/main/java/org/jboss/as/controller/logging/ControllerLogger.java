@@ -3704,6 +3704,16 @@ public interface ControllerLogger extends BasicLogger {
     @Message(id = 494, value = "Resolution of extension expression '%s' is not allowed at this point.")
     ExpressionResolver.ExpressionResolutionServerException resolverExtensionExpressionsNotAllowed(String expression);
 
+    @Message(id = 495, value = "Interrupted awaiting parsing of subsystem %s")
+    XMLStreamException subsystemParsingInterrupted(String namespace);
+
+    @LogMessage(level = WARN)
+    @Message(id = 496, value = "Could not use the boot operation cache %s")
+    void bootOperationCacheFailure(@Cause Throwable cause, String file);
+
+    @Message(id = 497, value = "Invalid compressed management payload, expected %d bytes but got %d")
+    IOException invalidCompressedPayload(int expected, int actual);
+
     @Message(id = NONE, value = "While constructing a mapping; %s; expected a mapping for merging, but found %s")
     String errorConstructingYAMLMapping(Mark mark, NodeId node);
 
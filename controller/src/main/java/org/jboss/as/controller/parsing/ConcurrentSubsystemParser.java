@@ -0,0 +1,226 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.parsing;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLExtendedStreamReader;
+import org.jboss.staxmapper.XMLMapper;
+
+/**
+ * Parses the {@code subsystem} elements of a profile concurrently.
+ * <p>
+ * Each {@code subsystem} element is copied from the document reader into its own buffer, which is then parsed
+ * on the supplied executor using the subsystem parser registered with the {@link XMLMapper}. The buffer is
+ * preceded by blank lines so that locations reported by parsing errors still match the line in the original
+ * document. The operations are returned in document order, so the boot operation list is the same as the
+ * one produced by parsing each subsystem in turn with {@link XMLExtendedStreamReader#handleAny(Object)}.
+ * <p>
+ * Instances are not thread safe; they are meant to be used by the thread parsing a single profile.
+ */
+public final class ConcurrentSubsystemParser {
+
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final XMLOutputFactory OUTPUT_FACTORY;
+    static {
+        OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+        OUTPUT_FACTORY.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, Boolean.TRUE);
+    }
+
+    private final XMLMapper mapper;
+    private final ExecutorService executor;
+    private final boolean lenient;
+    private final Map<String, Future<List<ModelNode>>> results = new LinkedHashMap<>();
+
+    /**
+     * Creates a parser.
+     *
+     * @param mapper the mapper with which the subsystem parsers are registered. Cannot be {@code null}
+     * @param executor the executor on which the subsystem elements are parsed. Cannot be {@code null}
+     * @param lenient {@code true} if a failure to parse a subsystem element should be logged rather than
+     *                reported, in which case the operations parsed before the failure are kept
+     */
+    public ConcurrentSubsystemParser(XMLMapper mapper, ExecutorService executor, boolean lenient) {
+        this.mapper = mapper;
+        this.executor = executor;
+        this.lenient = lenient;
+    }
+
+    /**
+     * Gets whether a subsystem element with the given namespace has already been submitted.
+     *
+     * @param namespace the namespace of the subsystem element
+     * @return {@code true} if the namespace has already been submitted
+     */
+    public boolean contains(String namespace) {
+        return results.containsKey(namespace);
+    }
+
+    /**
+     * Copies the subsystem element at the current position of the reader and submits it for parsing. On return
+     * the reader is positioned on the element's {@code END_ELEMENT} event, as it would be after
+     * {@link XMLExtendedStreamReader#handleAny(Object)}.
+     *
+     * @param reader the reader, positioned on the {@code START_ELEMENT} event of a subsystem element
+     * @throws XMLStreamException if the element cannot be read
+     */
+    public void submit(XMLExtendedStreamReader reader) throws XMLStreamException {
+        final QName element = reader.getName();
+        final String buffer = copyElement(reader);
+        results.put(element.getNamespaceURI(), executor.submit(() -> parse(element, buffer)));
+    }
+
+    /**
+     * Waits for all submitted subsystem elements to be parsed.
+     *
+     * @return the operations for each subsystem, keyed by namespace, in document order
+     * @throws XMLStreamException if a subsystem element could not be parsed, or the wait was interrupted
+     */
+    public Map<String, List<ModelNode>> complete() throws XMLStreamException {
+        final Map<String, List<ModelNode>> profileOps = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, Future<List<ModelNode>>> entry : results.entrySet()) {
+                try {
+                    profileOps.put(entry.getKey(), entry.getValue().get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw ControllerLogger.ROOT_LOGGER.subsystemParsingInterrupted(entry.getKey());
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof XMLStreamException) {
+                        throw (XMLStreamException) cause;
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new XMLStreamException(cause);
+                }
+            }
+        } finally {
+            if (profileOps.size() < results.size()) {
+                for (Future<List<ModelNode>> future : results.values()) {
+                    future.cancel(false);
+                }
+            }
+            results.clear();
+        }
+        return profileOps;
+    }
+
+    private List<ModelNode> parse(QName element, String buffer) throws XMLStreamException {
+        final List<ModelNode> operations = new ArrayList<>();
+        final XMLStreamReader streamReader = INPUT_FACTORY.createXMLStreamReader(new StringReader(buffer));
+        try {
+            mapper.parseDocument(operations, streamReader);
+        } catch (XMLStreamException e) {
+            if (!lenient) {
+                throw e;
+            }
+            ControllerLogger.ROOT_LOGGER.failedToParseElementLenient(e, element.toString());
+        } finally {
+            streamReader.close();
+        }
+        return operations;
+    }
+
+    private static String copyElement(XMLExtendedStreamReader reader) throws XMLStreamException {
+        final StringWriter buffer = new StringWriter();
+        // Whitespace is allowed before the root element; use it to keep the line numbers of the original document
+        final int line = reader.getLocation().getLineNumber();
+        for (int i = 1; i < line; i++) {
+            buffer.write('\n');
+        }
+        final XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(buffer);
+        int depth = 0;
+        int event = reader.getEventType();
+        while (true) {
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    writer.writeStartElement(prefix(reader.getPrefix()), reader.getLocalName(), reader.getNamespaceURI());
+                    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                        writer.writeNamespace(prefix(reader.getNamespacePrefix(i)), reader.getNamespaceURI(i));
+                    }
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        final String namespace = reader.getAttributeNamespace(i);
+                        if (namespace == null || namespace.isEmpty()) {
+                            writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                        } else {
+                            writer.writeAttribute(prefix(reader.getAttributePrefix(i)), namespace,
+                                    reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                        }
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    writer.writeEndElement();
+                    if (--depth == 0) {
+                        writer.close();
+                        return buffer.toString();
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                    writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    break;
+                case XMLStreamConstants.CDATA:
+                    writer.writeCData(reader.getText());
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    writer.writeComment(reader.getText());
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+                    break;
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    writer.writeEntityRef(reader.getLocalName());
+                    break;
+                default:
+                    break;
+            }
+            event = reader.next();
+        }
+    }
+
+    private static String prefix(String prefix) {
+        return prefix == null ? "" : prefix;
+    }
+}
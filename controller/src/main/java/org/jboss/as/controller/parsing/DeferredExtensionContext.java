@@ -55,6 +55,15 @@ public class DeferredExtensionContext {
         this.bootExecutor = bootExecutor;
     }
 
+    /**
+     * Gets the executor that can be used for boot tasks such as loading extension modules.
+     *
+     * @return the executor, or {@code null} if boot tasks should run on the calling thread
+     */
+    public ExecutorService getBootExecutor() {
+        return bootExecutor;
+    }
+
 
     public void load() throws XMLStreamException {
         if (!loaded) {
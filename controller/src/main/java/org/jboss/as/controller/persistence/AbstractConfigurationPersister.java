@@ -27,11 +27,13 @@ import static org.jboss.as.controller.logging.ControllerLogger.ROOT_LOGGER;
 import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamWriter;
 
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
 import org.jboss.staxmapper.XMLElementWriter;
@@ -47,6 +49,7 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
     private final XMLElementWriter<ModelMarshallingContext> rootDeparser;
     private final ConcurrentHashMap<String, XMLElementWriter<SubsystemMarshallingContext>> subsystemWriters = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Supplier<XMLElementWriter<SubsystemMarshallingContext>>> subsystemWriterSuppliers = new ConcurrentHashMap<>();
+    private final SubsystemFragmentCache subsystemFragments = new SubsystemFragmentCache();
 
     /**
      * Construct a new instance.
@@ -60,17 +63,31 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
     @Override
     public void registerSubsystemWriter(String name, XMLElementWriter<SubsystemMarshallingContext> writer) {
         subsystemWriters.putIfAbsent(name, writer);
+        subsystemFragments.invalidate(name);
     }
 
     @Override
     public void registerSubsystemWriter(String name, Supplier<XMLElementWriter<SubsystemMarshallingContext>> writer) {
         subsystemWriterSuppliers.putIfAbsent(name, writer);
+        subsystemFragments.invalidate(name);
     }
 
     @Override
     public void unregisterSubsystemWriter(String name) {
         subsystemWriters.remove(name);
         subsystemWriterSuppliers.remove(name);
+        subsystemFragments.invalidate(name);
+    }
+
+    /**
+     * Discards the cached XML of the subsystems affected by a change to any of the given addresses, so that they are
+     * marshalled again by the next call to {@link #marshallAsXml(ModelNode, OutputStream)}. Subsystems that are not
+     * affected reuse the XML produced by the previous call, as long as their model is unchanged.
+     *
+     * @param affectedAddresses the addresses of the resources modified since the previous store. May be {@code null}
+     */
+    protected final void invalidateSubsystemFragments(final Set<PathAddress> affectedAddresses) {
+        subsystemFragments.invalidate(affectedAddresses);
     }
 
     /** {@inheritDoc} */
@@ -100,7 +117,7 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
                                 localSubsystemWriters.put(extensionName, result);
                             }
                         }
-                        return result;
+                        return subsystemFragments.wrap(extensionName, result);
                     }
                 };
                 mapper.deparseDocument(rootDeparser, extensibleModel, streamWriter);
@@ -96,6 +96,11 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
         }
     }
 
+    @Override
+    public void stop() {
+        configurationFile.stopPendingWrites();
+    }
+
     /**
      * Overrides the default behavior to return {@code false} until {@link #successfulBoot()} has been called.
      *
@@ -117,6 +122,7 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
                 }
             };
         }
+        invalidateSubsystemFragments(affectedAddresses);
         return new ConfigurationFilePersistenceResource(model, configurationFile, this);
     }
 
@@ -0,0 +1,220 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXTENSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.logging.ControllerLogger.ROOT_LOGGER;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.jboss.as.controller.Extension;
+import org.jboss.dmr.ModelNode;
+import org.jboss.modules.Module;
+import org.jboss.modules.ModuleIdentifier;
+import org.jboss.modules.ModuleLoadException;
+import org.jboss.modules.ModuleLoader;
+
+/**
+ * Stores the boot operations parsed from a configuration file in DMR binary form, so that a later boot of the same
+ * configuration can use them without parsing the file or registering the extensions' parsers.
+ * <p>
+ * The stored operations are keyed by a SHA-256 hash of the configuration file content, a caller supplied
+ * description of the environment (e.g. the product version), and for each extension module referenced by the
+ * operations, the location and modification time of its {@link Extension} service descriptor. The stored operations
+ * are only used if the key computed at boot matches. Parsers whose output depends on anything else, such as system
+ * properties read while parsing, are not covered by the key.</p>
+ */
+public final class BootOperationCache {
+
+    private static final int MAGIC = 0x57464243;
+    private static final int FORMAT_VERSION = 1;
+    private static final String EXTENSION_SERVICE = "META-INF/services/" + Extension.class.getName();
+
+    private final File cacheFile;
+    private final ModuleLoader moduleLoader;
+    private final String environment;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param cacheFile the file in which the operations are stored. Cannot be {@code null}
+     * @param moduleLoader the loader for the extension modules. Cannot be {@code null}
+     * @param environment a description of anything else the parsed operations depend on, such as the product version.
+     *                    Cannot be {@code null}
+     */
+    public BootOperationCache(final File cacheFile, final ModuleLoader moduleLoader, final String environment) {
+        this.cacheFile = cacheFile;
+        this.moduleLoader = moduleLoader;
+        this.environment = environment;
+    }
+
+    /**
+     * Gets the operations stored for a configuration file.
+     *
+     * @param configurationFile the configuration file being booted
+     * @return the stored operations, or {@code null} if none are stored or the stored ones are stale
+     */
+    List<ModelNode> load(final File configurationFile) {
+        if (!cacheFile.exists()) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            final byte[] storedKey = new byte[input.readInt()];
+            input.readFully(storedKey);
+            final List<String> modules = new ArrayList<>();
+            for (int i = input.readInt(); i > 0; i--) {
+                modules.add(input.readUTF());
+            }
+            final byte[] key = computeKey(configurationFile, modules);
+            if (key == null || !MessageDigest.isEqual(storedKey, key)) {
+                ROOT_LOGGER.debugf("Boot operations stored in %s are stale", cacheFile);
+                return null;
+            }
+            final ModelNode operations = new ModelNode();
+            operations.readExternal(input);
+            ROOT_LOGGER.debugf("Using boot operations stored in %s", cacheFile);
+            return new ArrayList<>(operations.asList());
+        } catch (IOException | RuntimeException e) {
+            ROOT_LOGGER.bootOperationCacheFailure(e, cacheFile.getAbsolutePath());
+            return null;
+        }
+    }
+
+    /**
+     * Stores the operations parsed from a configuration file.
+     *
+     * @param configurationFile the configuration file the operations were parsed from
+     * @param operations the parsed operations. Must not have been modified by their execution
+     */
+    void store(final File configurationFile, final List<ModelNode> operations) {
+        final List<String> modules = getExtensionModules(operations);
+        try {
+            final byte[] key = computeKey(configurationFile, modules);
+            if (key == null) {
+                FilePersistenceUtils.deleteFile(cacheFile);
+                return;
+            }
+            final ExposedByteArrayOutputStream bytes = new ExposedByteArrayOutputStream(64 * 1024);
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(bytes))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                output.writeInt(key.length);
+                output.write(key);
+                output.writeInt(modules.size());
+                for (String module : modules) {
+                    output.writeUTF(module);
+                }
+                final ModelNode list = new ModelNode().setEmptyList();
+                for (ModelNode operation : operations) {
+                    list.add(operation);
+                }
+                list.writeExternal(output);
+            }
+            final File parent = cacheFile.getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            final File temp = FilePersistenceUtils.createTempFile(cacheFile);
+            try {
+                FilePersistenceUtils.writeToTempFile(bytes.getInputStream(), temp, cacheFile);
+                FilePersistenceUtils.moveTempFileToMain(temp, cacheFile);
+            } finally {
+                FilePersistenceUtils.deleteFile(temp);
+            }
+        } catch (IOException | ConfigurationPersistenceException | RuntimeException e) {
+            ROOT_LOGGER.bootOperationCacheFailure(e, cacheFile.getAbsolutePath());
+        }
+    }
+
+    private byte[] computeKey(final File configurationFile, final List<String> modules) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final byte[] buffer = new byte[8192];
+        try (InputStream input = new FileInputStream(configurationFile)) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        digest.update(environment.getBytes(StandardCharsets.UTF_8));
+        for (String name : modules) {
+            digest.update(name.getBytes(StandardCharsets.UTF_8));
+            final Module module;
+            try {
+                module = moduleLoader.loadModule(ModuleIdentifier.fromString(name));
+            } catch (ModuleLoadException e) {
+                return null;
+            }
+            final Enumeration<URL> descriptors = module.getClassLoader().findResources(EXTENSION_SERVICE, false);
+            if (!descriptors.hasMoreElements()) {
+                return null;
+            }
+            for (URL url : Collections.list(descriptors)) {
+                final URLConnection connection = url.openConnection();
+                connection.setUseCaches(false);
+                digest.update(url.toExternalForm().getBytes(StandardCharsets.UTF_8));
+                digest.update(Long.toString(connection.getLastModified()).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return digest.digest();
+    }
+
+    private static List<String> getExtensionModules(final List<ModelNode> operations) {
+        final List<String> modules = new ArrayList<>();
+        for (ModelNode operation : operations) {
+            if (ADD.equals(operation.get(OP).asString()) && operation.hasDefined(OP_ADDR)) {
+                final List<ModelNode> address = operation.get(OP_ADDR).asList();
+                if (address.size() == 1 && address.get(0).has(EXTENSION)) {
+                    modules.add(address.get(0).get(EXTENSION).asString());
+                }
+            }
+        }
+        return modules;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import java.io.InputStream;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces configuration writes that arrive within a short window into a single write, which is synced to disk.
+ * Only the content of the most recent write is stored when the window closes.
+ * <p>
+ * Pending content is written by {@link #flush()}, which callers that need the file to be current must call.
+ * {@link #stop()} also writes it, and releases the thread that closes the windows until the next write arrives.
+ * The owner of the configuration must call it when it stops.</p>
+ */
+final class CoalescingConfigurationWriter {
+
+    private final long windowMillis;
+    private final Consumer<InputStream> target;
+    // Guarded by this
+    private InputStream pending;
+    private ScheduledFuture<?> scheduled;
+    private ScheduledExecutorService executor;
+
+    /**
+     * Creates a new writer.
+     *
+     * @param windowMillis how long to wait for further writes after the first one, in milliseconds
+     * @param target the consumer that writes and syncs the content
+     */
+    CoalescingConfigurationWriter(final long windowMillis, final Consumer<InputStream> target) {
+        assert windowMillis > 0;
+        this.windowMillis = windowMillis;
+        this.target = target;
+    }
+
+    /**
+     * Records content to be written once the current window closes, replacing any content not yet written.
+     *
+     * @param content the content. Cannot be {@code null}
+     */
+    synchronized void write(final InputStream content) {
+        pending = content;
+        if (scheduled == null) {
+            if (executor == null) {
+                final ScheduledThreadPoolExecutor newExecutor = new ScheduledThreadPoolExecutor(1, r -> {
+                    final Thread thread = new Thread(r, "Configuration persister");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                newExecutor.setRemoveOnCancelPolicy(true);
+                executor = newExecutor;
+            }
+            scheduled = executor.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes any pending content right away.
+     */
+    synchronized void flush() {
+        final InputStream content = pending;
+        pending = null;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+        if (content != null) {
+            target.accept(content);
+        }
+    }
+
+    /**
+     * Writes any pending content and shuts down the thread closing the windows. A later write starts a new one.
+     */
+    synchronized void stop() {
+        flush();
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+}
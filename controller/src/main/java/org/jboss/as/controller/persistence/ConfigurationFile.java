@@ -21,6 +21,7 @@ package org.jboss.as.controller.persistence;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -101,6 +102,7 @@ public class ConfigurationFile {
     private static final int HISTORY_DAYS = 30;
     private static final String CURRENT_HISTORY_LENGTH_PROPERTY = "jboss.config.current-history-length";
     private static final String HISTORY_DAYS_PROPERTY = "jboss.config.history-days";
+    private static final String PERSIST_COALESCE_WINDOW_PROPERTY = "jboss.config.persist-coalesce-window";
     private static final String TIMESTAMP_STRING = "\\d\\d\\d\\d\\d\\d\\d\\d-\\d\\d\\d\\d\\d\\d\\d\\d\\d";
     private static final Pattern TIMESTAMP_PATTERN = Pattern.compile(TIMESTAMP_STRING);
     private static final String TIMESTAMP_FORMAT = "yyyyMMdd-HHmmssSSS";
@@ -137,6 +139,8 @@ public class ConfigurationFile {
     private volatile File lastFile;
     private final boolean useGit;
     private final ConfigurationExtension configurationExtension;
+    // Writes of the main file coalesced within the configured window; null if each write goes to disk right away
+    private final CoalescingConfigurationWriter writeCoalescer;
 
     /**
      * Creates a new ConfigurationFile.
@@ -210,6 +214,10 @@ public class ConfigurationFile {
         } catch (IOException ioe) {
             throw ControllerLogger.ROOT_LOGGER.canonicalMainFileNotFound(ioe, file);
         }
+        final int coalesceWindow = getInteger(PERSIST_COALESCE_WINDOW_PROPERTY, 0, 0);
+        this.writeCoalescer = coalesceWindow > 0
+                ? new CoalescingConfigurationWriter(coalesceWindow, in -> ConfigurationFilePersistenceResource.writeConfiguration(this, in, true))
+                : null;
     }
 
     public boolean useGit() {
@@ -232,6 +240,8 @@ public class ConfigurationFile {
      * @param newBootFileName the name of the new bootfile
      */
     public synchronized void resetBootFile(boolean reloadUsingLast, String newBootFileName) {
+        // The file we are about to boot from must include all changes made so far
+        flushPendingWrites();
         this.bootFile = null;
         this.bootFileReset = true;
         this.reloadUsingLast = reloadUsingLast;
@@ -506,6 +516,16 @@ public class ConfigurationFile {
         return mainFile;
     }
 
+    /**
+     * Gets the file in the configuration history directory in which a {@link BootOperationCache} stores
+     * the boot operations parsed from this configuration.
+     *
+     * @return the file. May not exist
+     */
+    public File getBootOperationCacheFile() {
+        return new File(historyRoot, mainFile.getName() + ".bootops");
+    }
+
     public File getConfigurationDir(){
         return configurationDir;
     }
@@ -628,11 +648,41 @@ public class ConfigurationFile {
     }
 
 
+    /**
+     * Hands the given content over for writing if writes of this file are coalesced.
+     *
+     * @param content the content of the file
+     * @return {@code true} if the content will be written once the current coalescing window closes; {@code false}
+     *         if writes are not coalesced and the caller must write the content itself
+     */
+    boolean coalesceWrite(InputStream content) {
+        if (writeCoalescer == null) {
+            return false;
+        }
+        writeCoalescer.write(content);
+        return true;
+    }
+
+    /** Writes any content whose write is still being coalesced */
+    void flushPendingWrites() {
+        if (writeCoalescer != null) {
+            writeCoalescer.flush();
+        }
+    }
+
+    /** Writes any content whose write is still being coalesced and releases the thread coalescing the writes */
+    void stopPendingWrites() {
+        if (writeCoalescer != null) {
+            writeCoalescer.stop();
+        }
+    }
+
     private void moveFile(final File file, final File backup) throws IOException {
         Files.move(file.toPath(), backup.toPath(), StandardCopyOption.REPLACE_EXISTING);
     }
 
     String snapshot(String prefix, String comment) throws ConfigurationPersistenceException {
+        flushPendingWrites();
         String sanitizedComment = FilePersistenceUtils.sanitizeFileName(comment);
         String fileName = (sanitizedComment == null || sanitizedComment.isEmpty()) ? mainFile.getName() : sanitizedComment + "-" + mainFile.getName();
         String name = (prefix == null || prefix.isEmpty()) ? getTimeStamp(new Date()) + fileName : prefix + fileName;
@@ -50,6 +50,20 @@ public class ConfigurationFilePersistenceResource extends AbstractFilePersistenc
 
     @Override
     protected void doCommit(InputStream in) {
+        if (!configurationFile.coalesceWrite(in)) {
+            writeConfiguration(configurationFile, in, false);
+        }
+    }
+
+    /**
+     * Writes the given content to the main file of the given configuration, backing up the previous version.
+     *
+     * @param configurationFile the configuration file
+     * @param in the content to write
+     * @param sync {@code true} if the content must be synced to the storage device before the main file is replaced
+     */
+    static void writeConfiguration(final ConfigurationFile configurationFile, final InputStream in, final boolean sync) {
+        final File fileName = configurationFile.getMainFile();
         final File tempFileName;
 
         if ( FilePersistenceUtils.isParentFolderWritable(fileName) ){
@@ -62,7 +76,7 @@ public class ConfigurationFilePersistenceResource extends AbstractFilePersistenc
 
         try {
             try {
-                FilePersistenceUtils.writeToTempFile(in, tempFileName, fileName);
+                FilePersistenceUtils.writeToTempFile(in, tempFileName, fileName, sync);
             } catch (Exception e) {
                 MGMT_OP_LOGGER.failedToStoreConfiguration(e, fileName.getName());
                 return;
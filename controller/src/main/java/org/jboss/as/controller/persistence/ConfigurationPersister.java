@@ -106,6 +106,13 @@ public interface ConfigurationPersister {
      */
     void successfulBoot() throws ConfigurationPersistenceException;
 
+    /**
+     * Called when the controller using this persister stops. Persisters that write changes in the background must
+     * write any pending changes and release the resources used to do so. The default implementation does nothing.
+     */
+    default void stop() {
+    }
+
     /**
      * Take a snapshot of the current configuration
      *
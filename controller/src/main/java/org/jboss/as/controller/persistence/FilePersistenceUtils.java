@@ -25,10 +25,12 @@ import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileStore;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.AclEntry;
 import java.nio.file.attribute.AclFileAttributeView;
 import java.nio.file.attribute.FileAttribute;
@@ -123,6 +125,10 @@ class FilePersistenceUtils {
     }
 
     static File writeToTempFile(InputStream is, File tempFileName, File fileName) throws IOException {
+        return writeToTempFile(is, tempFileName, fileName, false);
+    }
+
+    static File writeToTempFile(InputStream is, File tempFileName, File fileName, boolean sync) throws IOException {
         Path targetPath = tempFileName.toPath();
         deleteFile(tempFileName);
         try {
@@ -131,6 +137,11 @@ class FilePersistenceUtils {
             ControllerLogger.ROOT_LOGGER.error(ioex.getLocalizedMessage(), ioex);
         }
         Files.copy(is, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        if (sync) {
+            try (FileChannel channel = FileChannel.open(targetPath, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+        }
         return tempFileName;
     }
 
@@ -0,0 +1,414 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+
+/**
+ * Cache of marshalled subsystem XML fragments.
+ * <p>
+ * Subsystem writers are wrapped so that the calls they make on the stream writer are recorded together with the
+ * subsystem model they were produced from. When the same subsystem model is marshalled again, the recorded calls
+ * are replayed instead of running the subsystem writer, so only subsystems whose model changed are re-rendered.
+ * Fragments of subsystems touched by a store are dropped up front, so that they are not even compared.</p>
+ */
+final class SubsystemFragmentCache {
+
+    /** Several fragments per subsystem are kept, as a domain configuration marshals a subsystem once per profile */
+    private static final int MAX_FRAGMENTS_PER_SUBSYSTEM = 8;
+
+    private final Map<String, List<Fragment>> fragments = new ConcurrentHashMap<>();
+
+    /**
+     * Wraps the given subsystem writer so it uses the cached fragments.
+     *
+     * @param subsystemName the name of the subsystem
+     * @param writer the writer of the subsystem. May be {@code null}
+     * @return the caching writer, or {@code null} if {@code writer} is {@code null}
+     */
+    XMLElementWriter<SubsystemMarshallingContext> wrap(final String subsystemName, final XMLElementWriter<SubsystemMarshallingContext> writer) {
+        if (writer == null) {
+            return null;
+        }
+        return (streamWriter, context) -> {
+            final ModelNode model = context.getModelNode();
+            final Fragment cached = getFragment(subsystemName, model);
+            if (cached != null) {
+                cached.replay(streamWriter);
+            } else {
+                final RecordingStreamWriter recorder = new RecordingStreamWriter(streamWriter);
+                writer.writeContent(recorder, new SubsystemMarshallingContext(model, recorder));
+                if (recorder.isReplayable()) {
+                    putFragment(subsystemName, new Fragment(model.clone(), recorder.getEvents()));
+                }
+            }
+        };
+    }
+
+    /**
+     * Drops the fragments of the subsystems affected by a change to any of the given addresses.
+     *
+     * @param affectedAddresses the addresses that were modified. May be {@code null}
+     */
+    void invalidate(final Set<PathAddress> affectedAddresses) {
+        if (affectedAddresses == null) {
+            return;
+        }
+        for (PathAddress address : affectedAddresses) {
+            final String subsystemName = getSubsystemName(address);
+            if (subsystemName != null) {
+                fragments.remove(subsystemName);
+            }
+        }
+    }
+
+    /**
+     * Drops the fragments of the given subsystem, e.g. because its writer was changed.
+     *
+     * @param subsystemName the name of the subsystem
+     */
+    void invalidate(final String subsystemName) {
+        fragments.remove(subsystemName);
+    }
+
+    private Fragment getFragment(final String subsystemName, final ModelNode model) {
+        final List<Fragment> list = fragments.get(subsystemName);
+        if (list != null) {
+            for (Fragment fragment : list) {
+                if (fragment.model.equals(model)) {
+                    return fragment;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void putFragment(final String subsystemName, final Fragment fragment) {
+        fragments.compute(subsystemName, (name, existing) -> {
+            final List<Fragment> list = new ArrayList<>(existing == null ? 1 : existing.size() + 1);
+            list.add(fragment);
+            if (existing != null) {
+                list.addAll(existing.subList(0, Math.min(existing.size(), MAX_FRAGMENTS_PER_SUBSYSTEM - 1)));
+            }
+            return list;
+        });
+    }
+
+    private static String getSubsystemName(final PathAddress address) {
+        if (address.size() > 0) {
+            final PathElement first = address.getElement(0);
+            if (SUBSYSTEM.equals(first.getKey())) {
+                return first.getValue();
+            }
+            if (address.size() > 1 && PROFILE.equals(first.getKey()) && SUBSYSTEM.equals(address.getElement(1).getKey())) {
+                return address.getElement(1).getValue();
+            }
+        }
+        return null;
+    }
+
+    private static final class Fragment {
+
+        private final ModelNode model;
+        private final List<WriterEvent> events;
+
+        private Fragment(final ModelNode model, final List<WriterEvent> events) {
+            this.model = model;
+            this.events = events;
+        }
+
+        private void replay(final XMLExtendedStreamWriter writer) throws XMLStreamException {
+            for (WriterEvent event : events) {
+                event.apply(writer);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface WriterEvent {
+        void apply(XMLExtendedStreamWriter writer) throws XMLStreamException;
+    }
+
+    /**
+     * Passes all calls to the underlying writer, recording those that produce output or change its state.
+     */
+    private static final class RecordingStreamWriter implements XMLExtendedStreamWriter {
+
+        private final XMLExtendedStreamWriter delegate;
+        private final List<WriterEvent> events = new ArrayList<>();
+        private boolean replayable = true;
+
+        private RecordingStreamWriter(final XMLExtendedStreamWriter delegate) {
+            this.delegate = delegate;
+        }
+
+        List<WriterEvent> getEvents() {
+            return events;
+        }
+
+        boolean isReplayable() {
+            return replayable;
+        }
+
+        private void record(final WriterEvent event) throws XMLStreamException {
+            event.apply(delegate);
+            events.add(event);
+        }
+
+        @Override
+        public void writeAttribute(final String localName, final String[] values) throws XMLStreamException {
+            final String[] copy = values.clone();
+            record(w -> w.writeAttribute(localName, copy));
+        }
+
+        @Override
+        public void writeAttribute(final String prefix, final String namespaceURI, final String localName, final String[] values) throws XMLStreamException {
+            final String[] copy = values.clone();
+            record(w -> w.writeAttribute(prefix, namespaceURI, localName, copy));
+        }
+
+        @Override
+        public void writeAttribute(final String namespaceURI, final String localName, final String[] values) throws XMLStreamException {
+            final String[] copy = values.clone();
+            record(w -> w.writeAttribute(namespaceURI, localName, copy));
+        }
+
+        @Override
+        public void writeAttribute(final String localName, final Iterable<String> values) throws XMLStreamException {
+            final List<String> copy = copy(values);
+            record(w -> w.writeAttribute(localName, copy));
+        }
+
+        @Override
+        public void writeAttribute(final String prefix, final String namespaceURI, final String localName, final Iterable<String> values) throws XMLStreamException {
+            final List<String> copy = copy(values);
+            record(w -> w.writeAttribute(prefix, namespaceURI, localName, copy));
+        }
+
+        @Override
+        public void writeAttribute(final String namespaceURI, final String localName, final Iterable<String> values) throws XMLStreamException {
+            final List<String> copy = copy(values);
+            record(w -> w.writeAttribute(namespaceURI, localName, copy));
+        }
+
+        @Override
+        public void setUnspecifiedElementNamespace(final String namespace) {
+            delegate.setUnspecifiedElementNamespace(namespace);
+            events.add(w -> w.setUnspecifiedElementNamespace(namespace));
+        }
+
+        @Override
+        public void writeStartElement(final String localName) throws XMLStreamException {
+            record(w -> w.writeStartElement(localName));
+        }
+
+        @Override
+        public void writeStartElement(final String namespaceURI, final String localName) throws XMLStreamException {
+            record(w -> w.writeStartElement(namespaceURI, localName));
+        }
+
+        @Override
+        public void writeStartElement(final String prefix, final String localName, final String namespaceURI) throws XMLStreamException {
+            record(w -> w.writeStartElement(prefix, localName, namespaceURI));
+        }
+
+        @Override
+        public void writeEmptyElement(final String namespaceURI, final String localName) throws XMLStreamException {
+            record(w -> w.writeEmptyElement(namespaceURI, localName));
+        }
+
+        @Override
+        public void writeEmptyElement(final String prefix, final String localName, final String namespaceURI) throws XMLStreamException {
+            record(w -> w.writeEmptyElement(prefix, localName, namespaceURI));
+        }
+
+        @Override
+        public void writeEmptyElement(final String localName) throws XMLStreamException {
+            record(w -> w.writeEmptyElement(localName));
+        }
+
+        @Override
+        public void writeEndElement() throws XMLStreamException {
+            record(XMLExtendedStreamWriter::writeEndElement);
+        }
+
+        @Override
+        public void writeAttribute(final String localName, final String value) throws XMLStreamException {
+            record(w -> w.writeAttribute(localName, value));
+        }
+
+        @Override
+        public void writeAttribute(final String prefix, final String namespaceURI, final String localName, final String value) throws XMLStreamException {
+            record(w -> w.writeAttribute(prefix, namespaceURI, localName, value));
+        }
+
+        @Override
+        public void writeAttribute(final String namespaceURI, final String localName, final String value) throws XMLStreamException {
+            record(w -> w.writeAttribute(namespaceURI, localName, value));
+        }
+
+        @Override
+        public void writeNamespace(final String prefix, final String namespaceURI) throws XMLStreamException {
+            record(w -> w.writeNamespace(prefix, namespaceURI));
+        }
+
+        @Override
+        public void writeDefaultNamespace(final String namespaceURI) throws XMLStreamException {
+            record(w -> w.writeDefaultNamespace(namespaceURI));
+        }
+
+        @Override
+        public void writeComment(final String data) throws XMLStreamException {
+            record(w -> w.writeComment(data));
+        }
+
+        @Override
+        public void writeProcessingInstruction(final String target) throws XMLStreamException {
+            record(w -> w.writeProcessingInstruction(target));
+        }
+
+        @Override
+        public void writeProcessingInstruction(final String target, final String data) throws XMLStreamException {
+            record(w -> w.writeProcessingInstruction(target, data));
+        }
+
+        @Override
+        public void writeCData(final String data) throws XMLStreamException {
+            record(w -> w.writeCData(data));
+        }
+
+        @Override
+        public void writeEntityRef(final String name) throws XMLStreamException {
+            record(w -> w.writeEntityRef(name));
+        }
+
+        @Override
+        public void writeCharacters(final String text) throws XMLStreamException {
+            record(w -> w.writeCharacters(text));
+        }
+
+        @Override
+        public void writeCharacters(final char[] text, final int start, final int len) throws XMLStreamException {
+            final String copy = new String(text, start, len);
+            record(w -> w.writeCharacters(copy));
+        }
+
+        @Override
+        public void setPrefix(final String prefix, final String uri) throws XMLStreamException {
+            record(w -> w.setPrefix(prefix, uri));
+        }
+
+        @Override
+        public void setDefaultNamespace(final String uri) throws XMLStreamException {
+            record(w -> w.setDefaultNamespace(uri));
+        }
+
+        @Override
+        public void setNamespaceContext(final NamespaceContext context) throws XMLStreamException {
+            record(w -> w.setNamespaceContext(context));
+        }
+
+        @Override
+        public String getPrefix(final String uri) throws XMLStreamException {
+            return delegate.getPrefix(uri);
+        }
+
+        @Override
+        public NamespaceContext getNamespaceContext() {
+            return delegate.getNamespaceContext();
+        }
+
+        @Override
+        public Object getProperty(final String name) throws IllegalArgumentException {
+            return delegate.getProperty(name);
+        }
+
+        // Document level calls are not expected from a subsystem writer; don't cache anything that makes them
+
+        @Override
+        public void writeDTD(final String dtd) throws XMLStreamException {
+            replayable = false;
+            delegate.writeDTD(dtd);
+        }
+
+        @Override
+        public void writeStartDocument() throws XMLStreamException {
+            replayable = false;
+            delegate.writeStartDocument();
+        }
+
+        @Override
+        public void writeStartDocument(final String version) throws XMLStreamException {
+            replayable = false;
+            delegate.writeStartDocument(version);
+        }
+
+        @Override
+        public void writeStartDocument(final String encoding, final String version) throws XMLStreamException {
+            replayable = false;
+            delegate.writeStartDocument(encoding, version);
+        }
+
+        @Override
+        public void writeEndDocument() throws XMLStreamException {
+            replayable = false;
+            delegate.writeEndDocument();
+        }
+
+        @Override
+        public void flush() throws XMLStreamException {
+            replayable = false;
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws XMLStreamException {
+            replayable = false;
+            delegate.close();
+        }
+
+        private static List<String> copy(final Iterable<String> values) {
+            final List<String> result = new ArrayList<>();
+            for (String value : values) {
+                result.add(value);
+            }
+            return result;
+        }
+    }
+}
@@ -60,6 +60,7 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
     private final XMLElementReader<List<ModelNode>> rootParser;
     private final Map<QName, XMLElementReader<List<ModelNode>>> additionalParsers;
     private final boolean suppressLoad;
+    private volatile BootOperationCache bootOperationCache;
 
     /**
      * Construct a new instance.
@@ -97,9 +98,20 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
         }
     }
 
+    /**
+     * Sets the cache used to store the parsed boot operations, so that later boots of the same configuration
+     * can skip parsing.
+     *
+     * @param bootOperationCache the cache, or {@code null} to always parse the configuration file
+     */
+    public void setBootOperationCache(final BootOperationCache bootOperationCache) {
+        this.bootOperationCache = bootOperationCache;
+    }
+
     /** {@inheritDoc} */
     @Override
     public PersistenceResource store(final ModelNode model, Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
+        invalidateSubsystemFragments(affectedAddresses);
         return new FilePersistenceResource(model, fileName, this);
     }
 
@@ -110,6 +122,14 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
             return new ArrayList<>();
         }
 
+        final BootOperationCache cache = bootOperationCache;
+        if (cache != null) {
+            final List<ModelNode> cached = cache.load(fileName);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         final XMLMapper mapper = XMLMapper.Factory.create();
         mapper.registerRootElement(rootElement, rootParser);
         synchronized (additionalParsers) {
@@ -142,6 +162,9 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
             safeClose(input);
         }
 
+        if (cache != null) {
+            cache.store(fileName, updates);
+        }
         return updates;
     }
 
@@ -150,13 +150,32 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
 
     @Override
     public Set<ResourceEntry> getChildren(final String childType) {
+        return getChildren(childType, false);
+    }
+
+    /**
+     * Variant of {@link #getChildren(String)} for callers that will only read the returned resources. Children
+     * still shared with a published resource tree are returned as is instead of being copied first.
+     *
+     * @param childType the child type
+     * @return the children. Will not be {@code null}
+     *
+     * @see #copyOnWrite(Resource, CopyOnWriteScope)
+     */
+    Set<ResourceEntry> getChildrenForRead(final String childType) {
+        return getChildren(childType, true);
+    }
+
+    private Set<ResourceEntry> getChildren(final String childType, final boolean readOnly) {
         final ResourceProvider provider = getProvider(childType);
         if(provider == null) {
             return Collections.emptySet();
         }
         final Set<ResourceEntry> children = new LinkedHashSet<ResourceEntry>();
         for(final String name : provider.children()) {
-            final Resource resource = provider.get(name);
+            final Resource resource = readOnly && provider instanceof DefaultResourceProvider
+                    ? ((DefaultResourceProvider) provider).peek(name)
+                    : provider.get(name);
             children.add(new DelegateResource(resource) {
                 @Override
                 public String getName() {
@@ -261,11 +280,103 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         }
     }
 
+    /**
+     * Registers with {@code copy} providers that share this resource's children. The children will only be copied
+     * when they are obtained from {@code copy} for as long as {@code scope} is not {@link CopyOnWriteScope#seal() sealed}.
+     * Providers not created by this class do not support sharing and are {@link ResourceProvider#clone() cloned}.
+     *
+     * @param copy the copy of this resource
+     * @param scope the scope of the writable copy of the resource tree
+     */
+    void shareProviders(AbstractModelResource copy, CopyOnWriteScope scope) {
+        synchronized (children) {
+            for (final Map.Entry<String, ResourceProvider> entry : children.entrySet()) {
+                final ResourceProvider provider = entry.getValue();
+                copy.registerResourceProvider(entry.getKey(), provider instanceof DefaultResourceProvider
+                        ? new DefaultResourceProvider((DefaultResourceProvider) provider, scope)
+                        : provider.clone());
+            }
+        }
+    }
+
+    /**
+     * Creates a copy of {@code resource} that shares its children with {@code resource}, if {@code resource}
+     * supports that; otherwise a {@link Resource#clone() clone}.
+     *
+     * @param resource the resource to copy. Must not be modified anymore by anyone
+     * @param scope the scope of the writable copy of the resource tree
+     * @return the copy
+     */
+    static Resource copyOnWrite(Resource resource, CopyOnWriteScope scope) {
+        if (resource.getClass() == BasicResource.class) {
+            return ((BasicResource) resource).copyOnWrite(scope);
+        }
+        return resource.clone();
+    }
+
+    /**
+     * Tracks whether the resources of a tree created by {@link Resource.Tools#copyOnWrite(Resource)} may still be
+     * modified. Until the scope is sealed, any child still shared with the source tree is copied the first time it
+     * is obtained, so callers can never modify a shared resource. Once sealed, the tree is treated as immutable and
+     * shared children are returned as is.
+     */
+    static final class CopyOnWriteScope {
+
+        private volatile boolean sealed;
+
+        boolean isSealed() {
+            return sealed;
+        }
+
+        void seal() {
+            sealed = true;
+        }
+    }
+
     private static class DefaultResourceProvider implements ResourceProvider {
 
         private final Map<String, Resource> children = new LinkedHashMap<String, Resource>();
+        /** The scope of the copy-on-write tree this provider belongs to, or {@code null} if it shares nothing */
+        private final CopyOnWriteScope scope;
+        /** The names of the children that are still shared with the tree this provider was copied from */
+        private final Set<String> shared;
 
         protected DefaultResourceProvider() {
+            this.scope = null;
+            this.shared = null;
+        }
+
+        private DefaultResourceProvider(DefaultResourceProvider source, CopyOnWriteScope scope) {
+            this.scope = scope;
+            synchronized (source.children) {
+                this.children.putAll(source.children);
+            }
+            this.shared = new HashSet<>(children.keySet());
+        }
+
+        /**
+         * Gets the named child without copying it, even if it is still shared.
+         *
+         * @param name the name of the child
+         * @return the child, or {@code null} if there is none
+         */
+        Resource peek(String name) {
+            synchronized (children) {
+                return children.get(name);
+            }
+        }
+
+        /**
+         * Replaces a shared child by its copy, if the tree this provider belongs to can still be modified.
+         * Must be called while holding the {@code children} monitor.
+         */
+        private Resource unshare(String name, Resource resource) {
+            if (resource != null && shared != null && !scope.isSealed() && shared.remove(name)) {
+                final Resource copy = copyOnWrite(resource, scope);
+                children.put(name, copy);
+                return copy;
+            }
+            return resource;
         }
 
         @Override
@@ -285,7 +396,7 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         @Override
         public Resource get(String name) {
             synchronized (children) {
-                return children.get(name);
+                return unshare(name, children.get(name));
             }
         }
 
@@ -338,7 +449,9 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         @Override
         public Resource remove(String name) {
             synchronized (children) {
-                return children.remove(name);
+                final Resource removed = unshare(name, children.get(name));
+                children.remove(name);
+                return removed;
             }
         }
 
@@ -24,7 +24,6 @@ package org.jboss.as.controller.registry;
 
 import java.util.HashSet;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -178,10 +177,10 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         // else we are the root
 
         OperationEntry inheritable = getInheritableOperationEntry(operationName);
-        return getOperationEntry(pathAddress.iterator(), operationName, inheritable);
+        return getOperationEntry(pathAddress, 0, operationName, inheritable);
     }
 
-    abstract OperationEntry getOperationEntry(ListIterator<PathElement> iterator, String operationName, OperationEntry inherited);
+    abstract OperationEntry getOperationEntry(PathAddress address, int index, String operationName, OperationEntry inherited);
     abstract OperationEntry getInheritableOperationEntry(String operationName);
 
     /** {@inheritDoc} */
@@ -213,10 +212,10 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
             return ri.root.getAttributeAccess(ri.pathAddress.append(address), attributeName);
         }
         // else we are the root
-        return getAttributeAccess(address.iterator(), attributeName);
+        return getAttributeAccess(address, 0, attributeName);
     }
 
-    abstract AttributeAccess getAttributeAccess(final ListIterator<PathElement> address, final String attributeName);
+    abstract AttributeAccess getAttributeAccess(PathAddress address, int index, final String attributeName);
 
     /**
      * Get all the handlers at a specific address.
@@ -234,11 +233,11 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         }
         // else we are the root
         Map<String, OperationEntry> providers = new TreeMap<String, OperationEntry>();
-        getOperationDescriptions(address.iterator(), providers, inherited);
+        getOperationDescriptions(address, 0, providers, inherited);
         return providers;
     }
 
-    abstract void getOperationDescriptions(ListIterator<PathElement> iterator, Map<String, OperationEntry> providers, boolean inherited);
+    abstract void getOperationDescriptions(PathAddress address, int index, Map<String, OperationEntry> providers, boolean inherited);
 
     /**
      * Get all the handlers at a specific address.
@@ -256,11 +255,11 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         }
         // else we are the root
         Map<String, NotificationEntry> providers = new TreeMap<String, NotificationEntry>();
-        getNotificationDescriptions(address.iterator(), providers, inherited);
+        getNotificationDescriptions(address, 0, providers, inherited);
         return providers;
     }
 
-    abstract void getNotificationDescriptions(ListIterator<PathElement> iterator, Map<String, NotificationEntry> providers, boolean inherited);
+    abstract void getNotificationDescriptions(PathAddress address, int index, Map<String, NotificationEntry> providers, boolean inherited);
 
 
     /** {@inheritDoc} */
@@ -272,10 +271,10 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
             return ri.root.getModelDescription(ri.pathAddress.append(address));
         }
         // else we are the root
-        return getModelDescription(address.iterator());
+        return getModelDescription(address, 0);
     }
 
-    abstract DescriptionProvider getModelDescription(ListIterator<PathElement> iterator);
+    abstract DescriptionProvider getModelDescription(PathAddress address, int index);
 
     @Override
     public final Set<String> getAttributeNames(final PathAddress address) {
@@ -285,10 +284,10 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
             return ri.root.getAttributeNames(ri.pathAddress.append(address));
         }
         // else we are the root
-        return getAttributeNames(address.iterator());
+        return getAttributeNames(address, 0);
     }
 
-    abstract Set<String> getAttributeNames(ListIterator<PathElement> iterator);
+    abstract Set<String> getAttributeNames(PathAddress address, int index);
 
     @Override
     public final Map<String, AttributeAccess> getAttributes(final PathAddress address) {
@@ -298,10 +297,10 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
             return ri.root.getAttributes(ri.pathAddress.append(address));
         }
         // else we are the root
-        return getAttributes(address.iterator());
+        return getAttributes(address, 0);
     }
 
-    abstract Map<String, AttributeAccess> getAttributes(ListIterator<PathElement> iterator);
+    abstract Map<String, AttributeAccess> getAttributes(PathAddress address, int index);
 
     @Override
     public final Set<String> getChildNames(final PathAddress address) {
@@ -311,10 +310,10 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
             return ri.root.getChildNames(ri.pathAddress.append(address));
         }
         // else we are the root
-        return getChildNames(address.iterator());
+        return getChildNames(address, 0);
     }
 
-    abstract Set<String> getChildNames(ListIterator<PathElement> iterator);
+    abstract Set<String> getChildNames(PathAddress address, int index);
 
     @Override
     public final Set<PathElement> getChildAddresses(final PathAddress address){
@@ -324,10 +323,10 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
             return ri.root.getChildAddresses(ri.pathAddress.append(address));
         }
         // else we are the root
-        return getChildAddresses(address.iterator());
+        return getChildAddresses(address, 0);
     }
 
-    abstract Set<PathElement> getChildAddresses(ListIterator<PathElement> iterator);
+    abstract Set<PathElement> getChildAddresses(PathAddress address, int index);
 
     @Override
     public final ProxyController getProxyController(final PathAddress address) {
@@ -337,10 +336,10 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
             return ri.root.getProxyController(ri.pathAddress.append(address));
         }
         // else we are the root
-        return getProxyController(address.iterator());
+        return getProxyController(address, 0);
     }
 
-    abstract ProxyController getProxyController(ListIterator<PathElement> iterator);
+    abstract ProxyController getProxyController(PathAddress address, int index);
 
     @Override
     public final Set<ProxyController> getProxyControllers(PathAddress address){
@@ -352,11 +351,11 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         // else we are the root
 
         Set<ProxyController> controllers = new HashSet<ProxyController>();
-        getProxyControllers(address.iterator(), controllers);
+        getProxyControllers(address, 0, controllers);
         return controllers;
     }
 
-    abstract void getProxyControllers(ListIterator<PathElement> iterator, Set<ProxyController> controllers);
+    abstract void getProxyControllers(PathAddress address, int index, Set<ProxyController> controllers);
 
     /** {@inheritDoc} */
     @Override
@@ -395,11 +394,11 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
             return ri.root.getSubRegistration(ri.pathAddress.append(address));
         }
         // else we are the root
-        return getResourceRegistration(address.iterator());
+        return getResourceRegistration(address, 0);
 
     }
 
-    abstract ManagementResourceRegistration getResourceRegistration(ListIterator<PathElement> iterator);
+    abstract ManagementResourceRegistration getResourceRegistration(PathAddress address, int index);
 
     final String getLocationString() {
         return getPathAddress().toCLIStyleString();
@@ -437,26 +436,26 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
 
         if (parent != null) {
             RootInvocation ri = getRootInvocation();
-            return ri.root.getCapabilities(ri.pathAddress.iterator());
+            return ri.root.getCapabilities(ri.pathAddress, 0);
         }
         // else we are the root
-        return getCapabilities(pathAddress.iterator());
+        return getCapabilities(pathAddress, 0);
     }
 
-    abstract Set<RuntimeCapability> getCapabilities(ListIterator<PathElement> iterator);
+    abstract Set<RuntimeCapability> getCapabilities(PathAddress address, int index);
 
     @Override
     public final Set<RuntimeCapability> getIncorporatingCapabilities() {
 
         if (parent != null) {
             RootInvocation ri = getRootInvocation();
-            return ri.root.getIncorporatingCapabilities(ri.pathAddress.iterator());
+            return ri.root.getIncorporatingCapabilities(ri.pathAddress, 0);
         }
         // else we are the root
-        return getIncorporatingCapabilities(pathAddress.iterator());
+        return getIncorporatingCapabilities(pathAddress, 0);
     }
 
-    abstract Set<RuntimeCapability> getIncorporatingCapabilities(ListIterator<PathElement> iterator);
+    abstract Set<RuntimeCapability> getIncorporatingCapabilities(PathAddress address, int index);
 
     private RootInvocation getRootInvocation() {
         RootInvocation result = rootInvocation;
@@ -482,13 +481,13 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
 
         if (parent != null) {
             RootInvocation ri = getRootInvocation();
-            return ri.root.getRequirements(ri.pathAddress.iterator());
+            return ri.root.getRequirements(ri.pathAddress, 0);
         }
         // else we are the root
-        return getRequirements(pathAddress.iterator());
+        return getRequirements(pathAddress, 0);
     }
 
-    abstract Set<CapabilityReferenceRecorder> getRequirements(ListIterator<PathElement> iterator);
+    abstract Set<CapabilityReferenceRecorder> getRequirements(PathAddress address, int index);
 
     protected AbstractResourceRegistration getRootResourceRegistration() {
         if (parent == null) {
@@ -544,13 +543,13 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
 
         if (parent != null) {
             RootInvocation ri = getRootInvocation();
-            return ri.root.getOrderedChildTypes(ri.pathAddress.iterator());
+            return ri.root.getOrderedChildTypes(ri.pathAddress, 0);
         }
         // else we are the root
-        return getOrderedChildTypes(pathAddress.iterator());
+        return getOrderedChildTypes(pathAddress, 0);
     }
 
-    abstract Set<String> getOrderedChildTypes(ListIterator<PathElement> iterator);
+    abstract Set<String> getOrderedChildTypes(PathAddress address, int index);
 
     protected abstract void setOrderedChild(String key);
 
@@ -25,7 +25,6 @@ package org.jboss.as.controller.registry;
 
 import java.util.HashMap;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -35,6 +34,7 @@ import org.jboss.as.controller.CapabilityReferenceRecorder;
 import org.jboss.as.controller.NotificationDefinition;
 import org.jboss.as.controller.OperationDefinition;
 import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ProxyController;
 import org.jboss.as.controller.ResourceDefinition;
@@ -75,8 +75,8 @@ final class AliasResourceRegistration extends AbstractResourceRegistration imple
     }
 
     @Override
-    OperationEntry getOperationEntry(final ListIterator<PathElement> iterator, final String operationName, OperationEntry inherited) {
-        OperationEntry targetOp = target.getOperationEntry(iterator, operationName, inherited);
+    OperationEntry getOperationEntry(final PathAddress address, final int index, final String operationName, OperationEntry inherited) {
+        OperationEntry targetOp = target.getOperationEntry(address, index, operationName, inherited);
         if (targetOp == null) {
             return null;
         }
@@ -220,9 +220,9 @@ final class AliasResourceRegistration extends AbstractResourceRegistration imple
     }
 
     @Override
-    void getOperationDescriptions(final ListIterator<PathElement> iterator, final Map<String, OperationEntry> providers, final boolean inherited) {
+    void getOperationDescriptions(final PathAddress address, final int index, final Map<String, OperationEntry> providers, final boolean inherited) {
         Map<String, OperationEntry> temp = new HashMap<String, OperationEntry>();
-        target.getOperationDescriptions(iterator, temp, inherited);
+        target.getOperationDescriptions(address, index, temp, inherited);
         for (Map.Entry<String, OperationEntry> entry : providers.entrySet()) {
             OperationEntry value = entry.getValue();
             providers.put(entry.getKey(),
@@ -236,9 +236,9 @@ final class AliasResourceRegistration extends AbstractResourceRegistration imple
     }
 
     @Override
-    void getNotificationDescriptions(ListIterator<PathElement> iterator, Map<String, NotificationEntry> providers, boolean inherited) {
+    void getNotificationDescriptions(final PathAddress address, final int index, Map<String, NotificationEntry> providers, boolean inherited) {
         Map<String, NotificationEntry> temp = new HashMap<String, NotificationEntry>();
-        target.getNotificationDescriptions(iterator, temp, inherited);
+        target.getNotificationDescriptions(address, index, temp, inherited);
         for (Map.Entry<String, NotificationEntry> entry : providers.entrySet()) {
             providers.put(entry.getKey(),
                     new NotificationEntry(entry.getValue().getDescriptionProvider(), entry.getValue().isInherited()));
@@ -251,50 +251,50 @@ final class AliasResourceRegistration extends AbstractResourceRegistration imple
     }
 
     @Override
-    DescriptionProvider getModelDescription(final ListIterator<PathElement> iterator) {
-        return target.getModelDescription(iterator);
+    DescriptionProvider getModelDescription(final PathAddress address, final int index) {
+        return target.getModelDescription(address, index);
     }
 
     @Override
-    Set<String> getAttributeNames(final ListIterator<PathElement> iterator) {
-        return target.getAttributeNames(iterator);
+    Set<String> getAttributeNames(final PathAddress address, final int index) {
+        return target.getAttributeNames(address, index);
     }
 
     @Override
-    Map<String, AttributeAccess> getAttributes(final ListIterator<PathElement> iterator) {
-        return target.getAttributes(iterator);
+    Map<String, AttributeAccess> getAttributes(final PathAddress address, final int index) {
+        return target.getAttributes(address, index);
     }
 
     @Override
-    Set<String> getChildNames(final ListIterator<PathElement> iterator) {
-        return target.getChildNames(iterator);
+    Set<String> getChildNames(final PathAddress address, final int index) {
+        return target.getChildNames(address, index);
     }
 
     @Override
-    Set<PathElement> getChildAddresses(final ListIterator<PathElement> iterator) {
-        return target.getChildAddresses(iterator);
+    Set<PathElement> getChildAddresses(final PathAddress address, final int index) {
+        return target.getChildAddresses(address, index);
     }
 
     @Override
-    AttributeAccess getAttributeAccess(final ListIterator<PathElement> address, final String attributeName) {
-        return target.getAttributeAccess(address, attributeName);
+    AttributeAccess getAttributeAccess(final PathAddress address, final int index, final String attributeName) {
+        return target.getAttributeAccess(address, index, attributeName);
     }
 
     @Override
-    ProxyController getProxyController(ListIterator<PathElement> iterator) {
-        return target.getProxyController(iterator);
+    ProxyController getProxyController(final PathAddress address, final int index) {
+        return target.getProxyController(address, index);
     }
 
     @Override
-    void getProxyControllers(ListIterator<PathElement> iterator, Set<ProxyController> controllers) {
+    void getProxyControllers(final PathAddress address, final int index, Set<ProxyController> controllers) {
     }
 
     @Override
-    ManagementResourceRegistration getResourceRegistration(ListIterator<PathElement> iterator) {
-        if (!iterator.hasNext()) {
+    ManagementResourceRegistration getResourceRegistration(final PathAddress address, final int index) {
+        if (index == address.size()) {
             return this;
         }
-        return target.getResourceRegistration(iterator);
+        return target.getResourceRegistration(address, index);
     }
 
     @Override
@@ -323,8 +323,8 @@ final class AliasResourceRegistration extends AbstractResourceRegistration imple
     }
 
     @Override
-    Set<String> getOrderedChildTypes(ListIterator<PathElement> iterator) {
-        return target.getOrderedChildTypes(iterator);
+    Set<String> getOrderedChildTypes(final PathAddress address, final int index) {
+        return target.getOrderedChildTypes(address, index);
     }
 
     @Override
@@ -333,18 +333,18 @@ final class AliasResourceRegistration extends AbstractResourceRegistration imple
     }
 
     @Override
-    Set<RuntimeCapability> getCapabilities(ListIterator<PathElement> iterator) {
-        return target.getCapabilities(iterator);
+    Set<RuntimeCapability> getCapabilities(final PathAddress address, final int index) {
+        return target.getCapabilities(address, index);
     }
 
     @Override
-    Set<RuntimeCapability> getIncorporatingCapabilities(ListIterator<PathElement> iterator) {
-        return target.getIncorporatingCapabilities(iterator);
+    Set<RuntimeCapability> getIncorporatingCapabilities(final PathAddress address, final int index) {
+        return target.getIncorporatingCapabilities(address, index);
     }
 
     @Override
-    Set<CapabilityReferenceRecorder> getRequirements(ListIterator<PathElement> iterator) {
-        return target.getRequirements(iterator);
+    Set<CapabilityReferenceRecorder> getRequirements(final PathAddress address, final int index) {
+        return target.getRequirements(address, index);
     }
 
     @Override
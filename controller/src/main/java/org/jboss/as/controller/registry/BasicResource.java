@@ -25,6 +25,7 @@ package org.jboss.as.controller.registry;
 import java.util.ConcurrentModificationException;
 import java.util.Set;
 
+import org.jboss.as.controller.PathElement;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -39,6 +40,8 @@ class BasicResource extends AbstractModelResource implements Resource {
 
     /** The local model. */
     private final ModelNode model = new ModelNode();
+    /** The scope of the copy-on-write tree, if this resource is the root of one */
+    private CopyOnWriteScope copyOnWriteScope;
 
     protected BasicResource() {
         this(false);
@@ -77,17 +80,58 @@ class BasicResource extends AbstractModelResource implements Resource {
     @SuppressWarnings({"CloneDoesntCallSuperClone"})
     @Override
     public Resource clone() {
-        final BasicResource clone = new BasicResource(isRuntime(), getOrderedChildTypes(), true);
+        final BasicResource clone = copyModel();
+        cloneProviders(clone);
+        return clone;
+    }
+
+    @Override
+    public Resource shallowCopy() {
+        // Only the child names are needed, so avoid unsharing the children of a copy-on-write tree
+        final Resource copy = Resource.Factory.create();
+        copy.writeModel(getModel());
+        for (final String childType : getChildTypes()) {
+            for (final String childName : getChildrenNames(childType)) {
+                copy.registerChild(PathElement.pathElement(childType, childName), PlaceholderResource.INSTANCE);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Creates a copy of this resource that shares all children with this resource until they are
+     * obtained from the copy.
+     *
+     * @param scope the scope of the writable copy of the resource tree
+     * @return the copy
+     */
+    BasicResource copyOnWrite(CopyOnWriteScope scope) {
+        final BasicResource copy = copyModel();
+        copy.copyOnWriteScope = scope;
+        shareProviders(copy, scope);
+        return copy;
+    }
+
+    /**
+     * Gets the scope of the copy-on-write tree this resource is the root of.
+     *
+     * @return the scope, or {@code null} if this resource was not created by {@link #copyOnWrite(CopyOnWriteScope)}
+     */
+    CopyOnWriteScope getCopyOnWriteScope() {
+        return copyOnWriteScope;
+    }
+
+    private BasicResource copyModel() {
+        final BasicResource copy = new BasicResource(isRuntime(), getOrderedChildTypes(), true);
         for (;;) {
             try {
-                clone.writeModel(model);
+                copy.writeModel(model);
                 break;
             } catch (ConcurrentModificationException ignore) {
                 // TODO horrible hack :(
             }
         }
-        cloneProviders(clone);
-        return clone;
+        return copy;
     }
 
 }
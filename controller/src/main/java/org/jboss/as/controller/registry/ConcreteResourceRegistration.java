@@ -30,7 +30,6 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
@@ -183,14 +182,14 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     }
 
     @Override
-    Set<String> getOrderedChildTypes(ListIterator<PathElement> iterator) {
-        if (iterator.hasNext()) {
-            final PathElement next = iterator.next();
+    Set<String> getOrderedChildTypes(final PathAddress address, final int index) {
+        if (index < address.size()) {
+            final PathElement next = address.getElement(index);
             final NodeSubregistry subregistry = getSubregistry(next.getKey());
             if (subregistry == null) {
                 return Collections.emptySet();
             }
-            return subregistry.getOrderedChildTypes(iterator, next.getValue());
+            return subregistry.getOrderedChildTypes(address, index + 1, next.getValue());
         } else {
             checkPermission();
             readLock.lock();
@@ -280,9 +279,9 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 // trying to somehow remove children from the related wildcard MRR
                 // would be wrong, so there's no point reading from the root to
                 // find those kinds of addresses.
-                Set<PathElement> childAddresses = getChildAddresses(PathAddress.pathAddress(address).iterator());
+                Set<PathElement> childAddresses = getChildAddresses(PathAddress.pathAddress(address), 0);
                 if (childAddresses != null) {
-                    ManagementResourceRegistration registration = subregistry.getResourceRegistration(PathAddress.EMPTY_ADDRESS.iterator(), address.getValue());
+                    ManagementResourceRegistration registration = subregistry.getResourceRegistration(PathAddress.EMPTY_ADDRESS, 0, address.getValue());
                     if(!registration.isAlias()) {
                         for (PathElement a : childAddresses) {
                             registration.unregisterSubModel(a);
@@ -300,11 +299,11 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     }
 
     @Override
-    OperationEntry getOperationEntry(final ListIterator<PathElement> iterator, final String operationName, OperationEntry inherited) {
-        if (iterator.hasNext()) {
+    OperationEntry getOperationEntry(final PathAddress address, final int index, final String operationName, OperationEntry inherited) {
+        if (index < address.size()) {
             final NodeSubregistry subregistry;
             final OperationEntry inheritance;
-            final PathElement next = iterator.next();
+            final PathElement next = address.getElement(index);
             readLock.lock();
             try {
                 subregistry = children == null ? null : children.get(next.getKey());
@@ -316,7 +315,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             } finally {
                 readLock.unlock();
             }
-            return subregistry.getOperationEntry(iterator, next.getValue(), operationName, inheritance);
+            return subregistry.getOperationEntry(address, index + 1, next.getValue(), operationName, inheritance);
         } else {
             checkPermission();
             final OperationEntry entry;
@@ -351,9 +350,9 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     }
 
     @Override
-    void getOperationDescriptions(final ListIterator<PathElement> iterator, final Map<String, OperationEntry> providers, final boolean inherited) {
+    void getOperationDescriptions(final PathAddress address, final int index, final Map<String, OperationEntry> providers, final boolean inherited) {
 
-        if (!iterator.hasNext() ) {
+        if (index == address.size()) {
             checkPermission();
             readLock.lock();
             try {
@@ -368,15 +367,10 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             }
             return;
         }
-        final PathElement next = iterator.next();
-        try {
-            final String key = next.getKey();
-            final NodeSubregistry subregistry = getSubregistry(key);
-            if (subregistry != null) {
-                subregistry.getHandlers(iterator, next.getValue(), providers, inherited);
-            }
-        } finally {
-            iterator.previous();
+        final PathElement next = address.getElement(index);
+        final NodeSubregistry subregistry = getSubregistry(next.getKey());
+        if (subregistry != null) {
+            subregistry.getHandlers(address, index + 1, next.getValue(), providers, inherited);
         }
     }
 
@@ -557,9 +551,9 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     }
 
     @Override
-    void getNotificationDescriptions(final ListIterator<PathElement> iterator, final Map<String, NotificationEntry> providers, final boolean inherited) {
+    void getNotificationDescriptions(final PathAddress address, final int index, final Map<String, NotificationEntry> providers, final boolean inherited) {
 
-        if (!iterator.hasNext() ) {
+        if (index == address.size()) {
             checkPermission();
             readLock.lock();
             try {
@@ -574,15 +568,10 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             }
             return;
         }
-        final PathElement next = iterator.next();
-        try {
-            final String key = next.getKey();
-            final NodeSubregistry subregistry = getSubregistry(key);
-            if (subregistry != null) {
-                subregistry.getNotificationDescriptions(iterator, next.getValue(), providers, inherited);
-            }
-        } finally {
-            iterator.previous();
+        final PathElement next = address.getElement(index);
+        final NodeSubregistry subregistry = getSubregistry(next.getKey());
+        if (subregistry != null) {
+            subregistry.getNotificationDescriptions(address, index + 1, next.getValue(), providers, inherited);
         }
     }
 
@@ -613,14 +602,14 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     }
 
     @Override
-    Set<RuntimeCapability> getCapabilities(ListIterator<PathElement> iterator) {
-        if (iterator.hasNext()) {
-            final PathElement next = iterator.next();
+    Set<RuntimeCapability> getCapabilities(final PathAddress address, final int index) {
+        if (index < address.size()) {
+            final PathElement next = address.getElement(index);
             final NodeSubregistry subregistry = getSubregistry(next.getKey());
             if (subregistry == null) {
                 return Collections.emptySet();
             }
-            return subregistry.getCapabilities(iterator, next.getValue());
+            return subregistry.getCapabilities(address, index + 1, next.getValue());
         } else {
             checkPermission();
             readLock.lock();
@@ -633,14 +622,14 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     }
 
     @Override
-    Set<RuntimeCapability> getIncorporatingCapabilities(ListIterator<PathElement> iterator) {
-        if (iterator.hasNext()) {
-            final PathElement next = iterator.next();
+    Set<RuntimeCapability> getIncorporatingCapabilities(final PathAddress address, final int index) {
+        if (index < address.size()) {
+            final PathElement next = address.getElement(index);
             final NodeSubregistry subregistry = getSubregistry(next.getKey());
             if (subregistry == null) {
                 return Collections.emptySet();
             }
-            return subregistry.getIncorporatingCapabilities(iterator, next.getValue());
+            return subregistry.getIncorporatingCapabilities(address, index + 1, next.getValue());
         } else {
             checkPermission();
             readLock.lock();
@@ -754,14 +743,14 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     }
 
     @Override
-    Set<CapabilityReferenceRecorder> getRequirements(ListIterator<PathElement> iterator) {
-        if (iterator.hasNext()) {
-            final PathElement next = iterator.next();
+    Set<CapabilityReferenceRecorder> getRequirements(final PathAddress address, final int index) {
+        if (index < address.size()) {
+            final PathElement next = address.getElement(index);
             final NodeSubregistry subregistry = getSubregistry(next.getKey());
             if (subregistry == null) {
                 return Collections.emptySet();
             }
-            return subregistry.getRequirements(iterator, next.getValue());
+            return subregistry.getRequirements(address, index + 1, next.getValue());
         } else {
             checkPermission();
             readLock.lock();
@@ -799,14 +788,14 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     }
 
     @Override
-    DescriptionProvider getModelDescription(final ListIterator<PathElement> iterator) {
-        if (iterator.hasNext()) {
-            final PathElement next = iterator.next();
+    DescriptionProvider getModelDescription(final PathAddress address, final int index) {
+        if (index < address.size()) {
+            final PathElement next = address.getElement(index);
             final NodeSubregistry subregistry = getSubregistry(next.getKey());
             if (subregistry == null) {
                 return null;
             }
-            return subregistry.getModelDescription(iterator, next.getValue());
+            return subregistry.getModelDescription(address, index + 1, next.getValue());
         } else {
             checkPermission();
             return resourceDefinition.getDescriptionProvider(this);
@@ -814,14 +803,14 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     }
 
     @Override
-    Set<String> getAttributeNames(final ListIterator<PathElement> iterator) {
-        if (iterator.hasNext()) {
-            final PathElement next = iterator.next();
+    Set<String> getAttributeNames(final PathAddress address, final int index) {
+        if (index < address.size()) {
+            final PathElement next = address.getElement(index);
             final NodeSubregistry subregistry = getSubregistry(next.getKey());
             if (subregistry == null) {
                 return Collections.emptySet();
             }
-            return subregistry.getAttributeNames(iterator, next.getValue());
+            return subregistry.getAttributeNames(address, index + 1, next.getValue());
         } else {
             checkPermission();
             readLock.lock();
@@ -834,15 +823,15 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     }
 
     @Override
-    AttributeAccess getAttributeAccess(final ListIterator<PathElement> iterator, final String attributeName) {
+    AttributeAccess getAttributeAccess(final PathAddress address, final int index, final String attributeName) {
 
-        if (iterator.hasNext()) {
-            final PathElement next = iterator.next();
+        if (index < address.size()) {
+            final PathElement next = address.getElement(index);
             final NodeSubregistry subregistry = getSubregistry(next.getKey());
             if (subregistry == null) {
                 return null;
             }
-            return subregistry.getAttributeAccess(iterator, next.getValue(), attributeName);
+            return subregistry.getAttributeAccess(address, index + 1, next.getValue(), attributeName);
         } else {
             checkPermission();
             readLock.lock();
@@ -855,14 +844,14 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     }
 
     @Override
-    Map<String, AttributeAccess> getAttributes(final ListIterator<PathElement> iterator) {
-        if (iterator.hasNext()) {
-            final PathElement next = iterator.next();
+    Map<String, AttributeAccess> getAttributes(final PathAddress address, final int index) {
+        if (index < address.size()) {
+            final PathElement next = address.getElement(index);
             final NodeSubregistry subregistry = getSubregistry(next.getKey());
             if (subregistry == null) {
                 return Collections.emptyMap();
             }
-            return subregistry.getAttributes(iterator, next.getValue());
+            return subregistry.getAttributes(address, index + 1, next.getValue());
         } else {
             checkPermission();
             readLock.lock();
@@ -875,14 +864,14 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     }
 
     @Override
-    Set<String> getChildNames(final ListIterator<PathElement> iterator) {
-        if (iterator.hasNext()) {
-            final PathElement next = iterator.next();
+    Set<String> getChildNames(final PathAddress address, final int index) {
+        if (index < address.size()) {
+            final PathElement next = address.getElement(index);
             final NodeSubregistry subregistry = getSubregistry(next.getKey());
             if (subregistry == null) {
                 return Collections.emptySet();
             }
-            return subregistry.getChildNames(iterator, next.getValue());
+            return subregistry.getChildNames(address, index + 1, next.getValue());
         } else {
             checkPermission();
             readLock.lock();
@@ -898,14 +887,14 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     }
 
     @Override
-    Set<PathElement> getChildAddresses(final ListIterator<PathElement> iterator) {
-        if (iterator.hasNext()) {
-            final PathElement next = iterator.next();
+    Set<PathElement> getChildAddresses(final PathAddress address, final int index) {
+        if (index < address.size()) {
+            final PathElement next = address.getElement(index);
             final NodeSubregistry subregistry = getSubregistry(next.getKey());
             if (subregistry == null) {
                 return Collections.emptySet();
             }
-            return subregistry.getChildAddresses(iterator, next.getValue());
+            return subregistry.getChildAddresses(address, index + 1, next.getValue());
         } else {
             checkPermission();
             readLock.lock();
@@ -927,42 +916,42 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     }
 
     @Override
-    ProxyController getProxyController(ListIterator<PathElement> iterator) {
-        if (iterator.hasNext()) {
-            final PathElement next = iterator.next();
+    ProxyController getProxyController(final PathAddress address, final int index) {
+        if (index < address.size()) {
+            final PathElement next = address.getElement(index);
             final NodeSubregistry subregistry = getSubregistry(next.getKey());
             if (subregistry == null) {
                 return null;
             }
-            return subregistry.getProxyController(iterator, next.getValue());
+            return subregistry.getProxyController(address, index + 1, next.getValue());
         } else {
             return null;
         }
     }
 
     @Override
-    void getProxyControllers(ListIterator<PathElement> iterator, Set<ProxyController> controllers) {
-        if (iterator.hasNext()) {
-            final PathElement next = iterator.next();
+    void getProxyControllers(final PathAddress address, final int index, Set<ProxyController> controllers) {
+        if (index < address.size()) {
+            final PathElement next = address.getElement(index);
             final NodeSubregistry subregistry = getSubregistry(next.getKey());
             if (subregistry == null) {
                 return;
             }
             if (next.isWildcard()) {
-                subregistry.getProxyControllers(iterator, null, controllers);
+                subregistry.getProxyControllers(address, index + 1, null, controllers);
             } else if (next.isMultiTarget()) {
                 for(final String value : next.getSegments()) {
-                    subregistry.getProxyControllers(iterator, value, controllers);
+                    subregistry.getProxyControllers(address, index + 1, value, controllers);
                 }
             } else {
-                subregistry.getProxyControllers(iterator, next.getValue(), controllers);
+                subregistry.getProxyControllers(address, index + 1, next.getValue(), controllers);
             }
         } else {
             readLock.lock();
             try {
                 if (children != null) {
                     for (NodeSubregistry subregistry : children.values()) {
-                        subregistry.getProxyControllers(iterator, null, controllers);
+                        subregistry.getProxyControllers(address, index, null, controllers);
                     }
                 }
             } finally {
@@ -972,15 +961,15 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     }
 
     @Override
-    ManagementResourceRegistration getResourceRegistration(ListIterator<PathElement> iterator) {
-        if (! iterator.hasNext()) {
+    ManagementResourceRegistration getResourceRegistration(final PathAddress address, final int index) {
+        if (index == address.size()) {
             checkPermission();
             return this;
         } else {
-            final PathElement address = iterator.next();
-            final NodeSubregistry subregistry = getSubregistry(address.getKey());
+            final PathElement next = address.getElement(index);
+            final NodeSubregistry subregistry = getSubregistry(next.getKey());
             if (subregistry != null) {
-                return subregistry.getResourceRegistration(iterator, address.getValue());
+                return subregistry.getResourceRegistration(address, index + 1, next.getValue());
             } else {
                 return null;
             }
@@ -26,7 +26,6 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -57,8 +56,6 @@ final class NodeSubregistry {
         }
     }
 
-    private static final ListIterator<PathElement> EMPTY_ITERATOR = PathAddress.EMPTY_ADDRESS.iterator();
-
     private static final String WILDCARD_VALUE = PathElement.WILDCARD_VALUE;
 
     private final String keyName;
@@ -68,6 +65,7 @@ final class NodeSubregistry {
     private final ProcessType processType;
     @SuppressWarnings( { "unused" })
     private volatile Map<String, AbstractResourceRegistration> childRegistries;
+    private volatile ResolvedChildRegistrations resolvedChildRegistrations;
 
     private static final AtomicMapFieldUpdater<NodeSubregistry, String, AbstractResourceRegistration> childRegistriesUpdater = AtomicMapFieldUpdater.newMapUpdater(AtomicReferenceFieldUpdater.newUpdater(NodeSubregistry.class, Map.class, "childRegistries"));
 
@@ -169,27 +167,27 @@ final class NodeSubregistry {
             // We want to remove the possible capabilities.
             // We've removed the MRR so the normal getCapabilities() won't work as it
             // relies on walking the tree from the root. So we just use the local call
-            // with a iterator whose hasNext() returns false
+            // with an address that has no further elements
             PathAddress pa = getPathAddress(elementValue);
-            for (Capability c : rr.getCapabilities(EMPTY_ITERATOR)) {
+            for (Capability c : rr.getCapabilities(PathAddress.EMPTY_ADDRESS, 0)) {
                 capabilityRegistry.removePossibleCapability(c, pa);
             }
         }
     }
 
-    OperationEntry getOperationEntry(final ListIterator<PathElement> iterator, final String child, final String operationName, OperationEntry inherited) {
+    OperationEntry getOperationEntry(final PathAddress address, final int index, final String child, final String operationName, OperationEntry inherited) {
 
-        final RegistrySearchControl searchControl = new RegistrySearchControl(iterator, child);
+        final ChildRegistrations registrations = getChildRegistrations(child);
 
         // First search the non-wildcard child; if not found, search the wildcard child
         OperationEntry result = null;
 
-        if (searchControl.getSpecifiedRegistry() != null) {
-            result = searchControl.getSpecifiedRegistry().getOperationEntry(searchControl.getIterator(), operationName, inherited);
+        if (registrations.specified != null) {
+            result = registrations.specified.getOperationEntry(address, index, operationName, inherited);
         }
 
-        if (result == null && searchControl.getWildCardRegistry() != null) {
-            result = searchControl.getWildCardRegistry().getOperationEntry(searchControl.getIterator(), operationName, inherited);
+        if (result == null && registrations.wildCard != null) {
+            result = registrations.wildCard.getOperationEntry(address, index, operationName, inherited);
         }
 
         // If there is no concrete registry and wildcard query
@@ -200,35 +198,35 @@ final class NodeSubregistry {
         return result;
     }
 
-    void getHandlers(final ListIterator<PathElement> iterator, final String child, final Map<String, OperationEntry> providers, final boolean inherited) {
+    void getHandlers(final PathAddress address, final int index, final String child, final Map<String, OperationEntry> providers, final boolean inherited) {
 
-        final RegistrySearchControl searchControl = new RegistrySearchControl(iterator, child);
+        final ChildRegistrations registrations = getChildRegistrations(child);
 
         // First search the wildcard child, then if there is a non-wildcard child search it
         // Non-wildcard goes second so its description overwrites in case of duplicates
 
-        if (searchControl.getWildCardRegistry() != null) {
-            searchControl.getWildCardRegistry().getOperationDescriptions(searchControl.getIterator(), providers, inherited);
+        if (registrations.wildCard != null) {
+            registrations.wildCard.getOperationDescriptions(address, index, providers, inherited);
         }
 
-        if (searchControl.getSpecifiedRegistry() != null) {
-            searchControl.getSpecifiedRegistry().getOperationDescriptions(searchControl.getIterator(), providers, inherited);
+        if (registrations.specified != null) {
+            registrations.specified.getOperationDescriptions(address, index, providers, inherited);
         }
     }
 
-    void getNotificationDescriptions(final ListIterator<PathElement> iterator, final String child, final Map<String, NotificationEntry> providers, final boolean inherited) {
+    void getNotificationDescriptions(final PathAddress address, final int index, final String child, final Map<String, NotificationEntry> providers, final boolean inherited) {
 
-        final RegistrySearchControl searchControl = new RegistrySearchControl(iterator, child);
+        final ChildRegistrations registrations = getChildRegistrations(child);
 
         // First search the wildcard child, then if there is a non-wildcard child search it
         // Non-wildcard goes second so its description overwrites in case of duplicates
 
-        if (searchControl.getWildCardRegistry() != null) {
-            searchControl.getWildCardRegistry().getNotificationDescriptions(searchControl.getIterator(), providers, inherited);
+        if (registrations.wildCard != null) {
+            registrations.wildCard.getNotificationDescriptions(address, index, providers, inherited);
         }
 
-        if (searchControl.getSpecifiedRegistry() != null) {
-            searchControl.getSpecifiedRegistry().getNotificationDescriptions(searchControl.getIterator(), providers, inherited);
+        if (registrations.specified != null) {
+            registrations.specified.getNotificationDescriptions(address, index, providers, inherited);
         }
     }
 
@@ -236,35 +234,35 @@ final class NodeSubregistry {
         return parent.getPathAddress().append(keyName, value).toCLIStyleString();
     }
 
-    DescriptionProvider getModelDescription(final ListIterator<PathElement> iterator, final String child) {
+    DescriptionProvider getModelDescription(final PathAddress address, final int index, final String child) {
 
-        final RegistrySearchControl searchControl = new RegistrySearchControl(iterator, child);
+        final ChildRegistrations registrations = getChildRegistrations(child);
 
         // First search the non-wildcard child; if not found, search the wildcard child
         DescriptionProvider result = null;
 
-        if (searchControl.getSpecifiedRegistry() != null) {
-            result = searchControl.getSpecifiedRegistry().getModelDescription(searchControl.getIterator());
+        if (registrations.specified != null) {
+            result = registrations.specified.getModelDescription(address, index);
         }
 
-        if (result == null && searchControl.getWildCardRegistry() != null) {
-            result = searchControl.getWildCardRegistry().getModelDescription(searchControl.getIterator());
+        if (result == null && registrations.wildCard != null) {
+            result = registrations.wildCard.getModelDescription(address, index);
         }
 
         return result;
     }
 
-    Set<String> getChildNames(final ListIterator<PathElement> iterator, final String child){
+    Set<String> getChildNames(final PathAddress address, final int index, final String child){
 
-        final RegistrySearchControl searchControl = new RegistrySearchControl(iterator, child);
+        final ChildRegistrations registrations = getChildRegistrations(child);
 
         Set<String> result = null;
-        if (searchControl.getSpecifiedRegistry() != null) {
-            result = searchControl.getSpecifiedRegistry().getChildNames(searchControl.getIterator());
+        if (registrations.specified != null) {
+            result = registrations.specified.getChildNames(address, index);
         }
 
-        if (searchControl.getWildCardRegistry() != null) {
-            final Set<String> wildCardChildren = searchControl.getWildCardRegistry().getChildNames(searchControl.getIterator());
+        if (registrations.wildCard != null) {
+            final Set<String> wildCardChildren = registrations.wildCard.getChildNames(address, index);
             if (result == null) {
                 result = wildCardChildren;
             } else if (wildCardChildren != null) {
@@ -276,17 +274,17 @@ final class NodeSubregistry {
         return result;
     }
 
-    Set<String> getAttributeNames(final ListIterator<PathElement> iterator, final String child){
+    Set<String> getAttributeNames(final PathAddress address, final int index, final String child){
 
-        final RegistrySearchControl searchControl = new RegistrySearchControl(iterator, child);
+        final ChildRegistrations registrations = getChildRegistrations(child);
 
         Set<String> result = null;
-        if (searchControl.getSpecifiedRegistry() != null) {
-            result = searchControl.getSpecifiedRegistry().getAttributeNames(searchControl.getIterator());
+        if (registrations.specified != null) {
+            result = registrations.specified.getAttributeNames(address, index);
         }
 
-        if (searchControl.getWildCardRegistry() != null) {
-            final Set<String> wildCardChildren = searchControl.getWildCardRegistry().getAttributeNames(searchControl.getIterator());
+        if (registrations.wildCard != null) {
+            final Set<String> wildCardChildren = registrations.wildCard.getAttributeNames(address, index);
             if (result == null) {
                 result = wildCardChildren;
             } else if (wildCardChildren != null) {
@@ -298,38 +296,38 @@ final class NodeSubregistry {
         return result;
     }
 
-    AttributeAccess getAttributeAccess(final ListIterator<PathElement> iterator, final String child, final String attributeName) {
+    AttributeAccess getAttributeAccess(final PathAddress address, final int index, final String child, final String attributeName) {
 
-        final RegistrySearchControl searchControl = new RegistrySearchControl(iterator, child);
+        final ChildRegistrations registrations = getChildRegistrations(child);
 
         // First search the non-wildcard child; if not found, search the wildcard child
         AttributeAccess result = null;
 
-        if (searchControl.getSpecifiedRegistry() != null) {
-            result = searchControl.getSpecifiedRegistry().getAttributeAccess(searchControl.getIterator(), attributeName);
+        if (registrations.specified != null) {
+            result = registrations.specified.getAttributeAccess(address, index, attributeName);
         }
 
-        if (result == null && searchControl.getWildCardRegistry() != null) {
-            result = searchControl.getWildCardRegistry().getAttributeAccess(searchControl.getIterator(), attributeName);
+        if (result == null && registrations.wildCard != null) {
+            result = registrations.wildCard.getAttributeAccess(address, index, attributeName);
         }
 
         return result;
     }
 
-    Map<String, AttributeAccess> getAttributes(final ListIterator<PathElement> iterator, final String child){
+    Map<String, AttributeAccess> getAttributes(final PathAddress address, final int index, final String child){
 
-        final RegistrySearchControl searchControl = new RegistrySearchControl(iterator, child);
+        final ChildRegistrations registrations = getChildRegistrations(child);
 
         // First search the wildcard child, then if there is a non-wildcard child search it
         // Non-wildcard goes second so its description overwrites in case of duplicates
 
         Map<String, AttributeAccess> result = null;
-        if (searchControl.getWildCardRegistry() != null) {
-            result = searchControl.getWildCardRegistry().getAttributes(searchControl.getIterator());
+        if (registrations.wildCard != null) {
+            result = registrations.wildCard.getAttributes(address, index);
         }
 
-        if (searchControl.getSpecifiedRegistry() != null) {
-            final Map<String, AttributeAccess> specifiedChildren = searchControl.getSpecifiedRegistry().getAttributes(searchControl.getIterator());
+        if (registrations.specified != null) {
+            final Map<String, AttributeAccess> specifiedChildren = registrations.specified.getAttributes(address, index);
             if (result == null) {
                 result = specifiedChildren;
             } else if (specifiedChildren != null) {
@@ -342,17 +340,17 @@ final class NodeSubregistry {
     }
 
 
-    Set<PathElement> getChildAddresses(final ListIterator<PathElement> iterator, final String child){
+    Set<PathElement> getChildAddresses(final PathAddress address, final int index, final String child){
 
-        final RegistrySearchControl searchControl = new RegistrySearchControl(iterator, child);
+        final ChildRegistrations registrations = getChildRegistrations(child);
 
         Set<PathElement> result = null;
-        if (searchControl.getSpecifiedRegistry() != null) {
-            result = searchControl.getSpecifiedRegistry().getChildAddresses(searchControl.getIterator());
+        if (registrations.specified != null) {
+            result = registrations.specified.getChildAddresses(address, index);
         }
 
-        if (searchControl.getWildCardRegistry() != null) {
-            final Set<PathElement> wildCardChildren = searchControl.getWildCardRegistry().getChildAddresses(searchControl.getIterator());
+        if (registrations.wildCard != null) {
+            final Set<PathElement> wildCardChildren = registrations.wildCard.getChildAddresses(address, index);
             if (result == null) {
                 result = wildCardChildren;
             } else if (wildCardChildren != null) {
@@ -364,59 +362,59 @@ final class NodeSubregistry {
         return result;
     }
 
-    ProxyController getProxyController(final ListIterator<PathElement> iterator, final String child) {
+    ProxyController getProxyController(final PathAddress address, final int index, final String child) {
 
-        final RegistrySearchControl searchControl = new RegistrySearchControl(iterator, child);
+        final ChildRegistrations registrations = getChildRegistrations(child);
 
         // First search the non-wildcard child; if not found, search the wildcard child
         ProxyController result = null;
 
-        if (searchControl.getSpecifiedRegistry() != null) {
-            result = searchControl.getSpecifiedRegistry().getProxyController(searchControl.getIterator());
+        if (registrations.specified != null) {
+            result = registrations.specified.getProxyController(address, index);
         }
 
-        if (result == null && searchControl.getWildCardRegistry() != null) {
-            result = searchControl.getWildCardRegistry().getProxyController(searchControl.getIterator());
+        if (result == null && registrations.wildCard != null) {
+            result = registrations.wildCard.getProxyController(address, index);
         }
 
         return result;
     }
 
-    ManagementResourceRegistration getResourceRegistration(final ListIterator<PathElement> iterator, final String child) {
+    ManagementResourceRegistration getResourceRegistration(final PathAddress address, final int index, final String child) {
 
-        final RegistrySearchControl searchControl = new RegistrySearchControl(iterator, child);
+        final ChildRegistrations registrations = getChildRegistrations(child);
 
         // First search the non-wildcard child; if not found, search the wildcard child
         ManagementResourceRegistration result = null;
 
-        if (searchControl.getSpecifiedRegistry() != null) {
-            result = searchControl.getSpecifiedRegistry().getResourceRegistration(searchControl.getIterator());
+        if (registrations.specified != null) {
+            result = registrations.specified.getResourceRegistration(address, index);
         }
 
-        if (result == null && searchControl.getWildCardRegistry() != null) {
-            result = searchControl.getWildCardRegistry().getResourceRegistration(searchControl.getIterator());
+        if (result == null && registrations.wildCard != null) {
+            result = registrations.wildCard.getResourceRegistration(address, index);
         }
 
         return result;
     }
 
-    void getProxyControllers(final ListIterator<PathElement> iterator, final String child, Set<ProxyController> controllers) {
+    void getProxyControllers(final PathAddress address, final int index, final String child, Set<ProxyController> controllers) {
         if (child != null) {
-            final RegistrySearchControl searchControl = new RegistrySearchControl(iterator, child);
+            final ChildRegistrations registrations = getChildRegistrations(child);
 
             // First search the wildcard child, then if there is a non-wildcard child search it
 
-            if (searchControl.getWildCardRegistry() != null) {
-                searchControl.getWildCardRegistry().getProxyControllers(searchControl.getIterator(), controllers);
+            if (registrations.wildCard != null) {
+                registrations.wildCard.getProxyControllers(address, index, controllers);
             }
 
-            if (searchControl.getSpecifiedRegistry() != null) {
-                searchControl.getSpecifiedRegistry().getProxyControllers(searchControl.getIterator(), controllers);
+            if (registrations.specified != null) {
+                registrations.specified.getProxyControllers(address, index, controllers);
             }
         } else {
             final Map<String, AbstractResourceRegistration> snapshot = childRegistriesUpdater.get(NodeSubregistry.this);
             for (AbstractResourceRegistration childRegistry : snapshot.values()) {
-                childRegistry.getProxyControllers(iterator, controllers);
+                childRegistry.getProxyControllers(address, index, controllers);
             }
         }
     }
@@ -425,17 +423,17 @@ final class NodeSubregistry {
         return parent.getPathAddress().append(PathElement.pathElement(keyName, valueString));
     }
 
-    Set<RuntimeCapability> getCapabilities(ListIterator<PathElement> iterator, String child) {
+    Set<RuntimeCapability> getCapabilities(final PathAddress address, final int index, String child) {
 
-        final RegistrySearchControl searchControl = new RegistrySearchControl(iterator, child);
+        final ChildRegistrations registrations = getChildRegistrations(child);
 
         Set<RuntimeCapability> result = null;
-        if (searchControl.getSpecifiedRegistry() != null) {
-            result = searchControl.getSpecifiedRegistry().getCapabilities(searchControl.getIterator());
+        if (registrations.specified != null) {
+            result = registrations.specified.getCapabilities(address, index);
         }
 
-        if (searchControl.getWildCardRegistry() != null) {
-            final Set<RuntimeCapability> wildCardChildren = searchControl.getWildCardRegistry().getCapabilities(searchControl.getIterator());
+        if (registrations.wildCard != null) {
+            final Set<RuntimeCapability> wildCardChildren = registrations.wildCard.getCapabilities(address, index);
             if (result == null) {
                 result = wildCardChildren;
             } else if (wildCardChildren != null) {
@@ -447,17 +445,17 @@ final class NodeSubregistry {
         return result;
     }
 
-    Set<RuntimeCapability> getIncorporatingCapabilities(ListIterator<PathElement> iterator, String child) {
+    Set<RuntimeCapability> getIncorporatingCapabilities(final PathAddress address, final int index, String child) {
 
-        final RegistrySearchControl searchControl = new RegistrySearchControl(iterator, child);
+        final ChildRegistrations registrations = getChildRegistrations(child);
 
         Set<RuntimeCapability> result = null;
-        if (searchControl.getSpecifiedRegistry() != null) {
-            result = searchControl.getSpecifiedRegistry().getIncorporatingCapabilities(searchControl.getIterator());
+        if (registrations.specified != null) {
+            result = registrations.specified.getIncorporatingCapabilities(address, index);
         }
 
-        if (searchControl.getWildCardRegistry() != null) {
-            final Set<RuntimeCapability> wildCardChildren = searchControl.getWildCardRegistry().getIncorporatingCapabilities(searchControl.getIterator());
+        if (registrations.wildCard != null) {
+            final Set<RuntimeCapability> wildCardChildren = registrations.wildCard.getIncorporatingCapabilities(address, index);
             if (result == null) {
                 result = wildCardChildren;
             } else if (wildCardChildren != null) {
@@ -469,17 +467,17 @@ final class NodeSubregistry {
         return result;
     }
 
-    Set<CapabilityReferenceRecorder> getRequirements(ListIterator<PathElement> iterator, String child) {
+    Set<CapabilityReferenceRecorder> getRequirements(final PathAddress address, final int index, String child) {
 
-        final RegistrySearchControl searchControl = new RegistrySearchControl(iterator, child);
+        final ChildRegistrations registrations = getChildRegistrations(child);
 
         Set<CapabilityReferenceRecorder> result = null;
-        if (searchControl.getSpecifiedRegistry() != null) {
-            result = searchControl.getSpecifiedRegistry().getRequirements(searchControl.getIterator());
+        if (registrations.specified != null) {
+            result = registrations.specified.getRequirements(address, index);
         }
 
-        if (searchControl.getWildCardRegistry() != null) {
-            final Set<CapabilityReferenceRecorder> wildCardChildren = searchControl.getWildCardRegistry().getRequirements(searchControl.getIterator());
+        if (registrations.wildCard != null) {
+            final Set<CapabilityReferenceRecorder> wildCardChildren = registrations.wildCard.getRequirements(address, index);
             if (result == null) {
                 result = wildCardChildren;
             } else if (wildCardChildren != null) {
@@ -491,17 +489,17 @@ final class NodeSubregistry {
         return result;
     }
 
-    Set<String> getOrderedChildTypes(ListIterator<PathElement> iterator, String child) {
+    Set<String> getOrderedChildTypes(final PathAddress address, final int index, String child) {
 
-        final RegistrySearchControl searchControl = new RegistrySearchControl(iterator, child);
+        final ChildRegistrations registrations = getChildRegistrations(child);
 
         Set<String> result = null;
-        if (searchControl.getSpecifiedRegistry() != null) {
-            result = searchControl.getSpecifiedRegistry().getOrderedChildTypes(searchControl.getIterator());
+        if (registrations.specified != null) {
+            result = registrations.specified.getOrderedChildTypes(address, index);
         }
 
-        if (searchControl.getWildCardRegistry() != null) {
-            final Set<String> wildCardChildren = searchControl.getWildCardRegistry().getOrderedChildTypes(searchControl.getIterator());
+        if (registrations.wildCard != null) {
+            final Set<String> wildCardChildren = registrations.wildCard.getOrderedChildTypes(address, index);
             if (result == null) {
                 result = wildCardChildren;
             } else if (wildCardChildren != null) {
@@ -513,6 +511,22 @@ final class NodeSubregistry {
         return result;
     }
 
+    /**
+     * Gets the registrations to search for a child: the one registered for the child's value, and the wildcard
+     * registration unless the child is the wildcard itself. The child registries are replaced rather than modified,
+     * so the registrations are resolved once per version of them.
+     */
+    private ChildRegistrations getChildRegistrations(final String child) {
+        final Map<String, AbstractResourceRegistration> snapshot = childRegistriesUpdater.get(this);
+        ResolvedChildRegistrations resolved = this.resolvedChildRegistrations;
+        if (resolved == null || resolved.snapshot != snapshot) {
+            resolved = new ResolvedChildRegistrations(snapshot);
+            this.resolvedChildRegistrations = resolved;
+        }
+        final ChildRegistrations result = resolved.registrations.get(child);
+        return result != null ? result : resolved.wildCardOnly;
+    }
+
     ProcessType getProcessType() {
         return processType;
     }
@@ -521,51 +535,36 @@ final class NodeSubregistry {
         return parent.isRuntimeOnly();
     }
 
-    /**
-     * Encapsulates data and behavior to help with searches in both a specified child and in the wildcard child if
-     * it exists and is different from the specified child
-     */
-    private class RegistrySearchControl {
-        private final AbstractResourceRegistration specifiedRegistry;
-        private final AbstractResourceRegistration wildCardRegistry;
-        private final ListIterator<PathElement> iterator;
-        private final int restoreIndex;
-        private boolean backupRequired;
-
-        private RegistrySearchControl(final ListIterator<PathElement> iterator, final String childName) {
-            final Map<String, AbstractResourceRegistration> snapshot = childRegistriesUpdater.get(NodeSubregistry.this);
-            this.specifiedRegistry = snapshot.get(childName);
-            this.wildCardRegistry = WILDCARD_VALUE.equals(childName) ? null : snapshot.get(WILDCARD_VALUE);
-            this.iterator = iterator;
-            this.restoreIndex = (specifiedRegistry != null && wildCardRegistry != null) ? iterator.nextIndex() : -1;
-        }
-
-        private AbstractResourceRegistration getSpecifiedRegistry() {
-            return specifiedRegistry;
-        }
+    String getKeyName() {
+        return keyName;
+    }
 
-        private AbstractResourceRegistration getWildCardRegistry() {
-            return wildCardRegistry;
-        }
+    private static final class ResolvedChildRegistrations {
+        private final Map<String, AbstractResourceRegistration> snapshot;
+        private final Map<String, ChildRegistrations> registrations;
+        // For values without a registration of their own
+        private final ChildRegistrations wildCardOnly;
 
-        private ListIterator<PathElement> getIterator() {
-            if (backupRequired) {
-                if (restoreIndex == -1) {
-                    // Coding mistake; someone wants to search twice for no reason, since we only have a single registration
-                    throw new IllegalStateException("Multiple iterator requests are not supported since both " +
-                            "named and wildcard entries were not present");
-                }
-                // Back the iterator to the restore index
-                while (iterator.nextIndex() > restoreIndex) {
-                    iterator.previous();
-                }
+        private ResolvedChildRegistrations(final Map<String, AbstractResourceRegistration> snapshot) {
+            this.snapshot = snapshot;
+            final AbstractResourceRegistration wildCard = snapshot.get(WILDCARD_VALUE);
+            final Map<String, ChildRegistrations> registrations = new HashMap<>(snapshot.size());
+            for (Map.Entry<String, AbstractResourceRegistration> entry : snapshot.entrySet()) {
+                final String value = entry.getKey();
+                registrations.put(value, new ChildRegistrations(entry.getValue(), WILDCARD_VALUE.equals(value) ? null : wildCard));
             }
-            backupRequired = true;
-            return iterator;
+            this.registrations = registrations;
+            this.wildCardOnly = new ChildRegistrations(null, wildCard);
         }
     }
 
-    String getKeyName() {
-        return keyName;
+    private static final class ChildRegistrations {
+        private final AbstractResourceRegistration specified;
+        private final AbstractResourceRegistration wildCard;
+
+        private ChildRegistrations(final AbstractResourceRegistration specified, final AbstractResourceRegistration wildCard) {
+            this.specified = specified;
+            this.wildCard = wildCard;
+        }
     }
 }
@@ -33,7 +33,6 @@ import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
-import org.jboss.as.controller.transform.OperationResultTransformer;
 import org.jboss.as.controller.transform.OperationTransformer;
 import org.jboss.as.controller.transform.PathAddressTransformer;
 import org.jboss.as.controller.transform.ResourceTransformer;
@@ -448,7 +447,7 @@ public class OperationTransformerRegistry {
 
         @Override
         public TransformedOperation transformOperation(TransformationContext context, PathAddress address, ModelNode operation) {
-            return new TransformedOperation(operation, OperationResultTransformer.ORIGINAL_RESULT);
+            return TransformedOperation.untransformed(operation);
         }
     };
 
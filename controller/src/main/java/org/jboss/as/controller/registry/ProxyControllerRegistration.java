@@ -24,7 +24,6 @@ package org.jboss.as.controller.registry;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -82,9 +81,9 @@ final class ProxyControllerRegistration extends AbstractResourceRegistration imp
     }
 
     @Override
-    OperationEntry getOperationEntry(final ListIterator<PathElement> iterator, final String operationName, OperationEntry inherited) {
+    OperationEntry getOperationEntry(final PathAddress address, final int index, final String operationName, OperationEntry inherited) {
         checkPermission();
-        if (! iterator.hasNext()) {
+        if (index == address.size()) {
             // Only in case there is an explicit handler...
             final OperationEntry entry = operationsUpdater.get(this, operationName);
             return entry == null ? operationEntry : entry;
@@ -251,7 +250,7 @@ final class ProxyControllerRegistration extends AbstractResourceRegistration imp
     }
 
     @Override
-    void getOperationDescriptions(final ListIterator<PathElement> iterator, final Map<String, OperationEntry> providers, final boolean inherited) {
+    void getOperationDescriptions(final PathAddress address, final int index, final Map<String, OperationEntry> providers, final boolean inherited) {
         checkPermission();
     }
 
@@ -262,7 +261,7 @@ final class ProxyControllerRegistration extends AbstractResourceRegistration imp
     }
 
     @Override
-    void getNotificationDescriptions(ListIterator<PathElement> iterator, Map<String, NotificationEntry> providers, boolean inherited) {
+    void getNotificationDescriptions(final PathAddress address, final int index, Map<String, NotificationEntry> providers, boolean inherited) {
         checkPermission();
     }
 
@@ -272,30 +271,30 @@ final class ProxyControllerRegistration extends AbstractResourceRegistration imp
     }
 
     @Override
-    Set<RuntimeCapability> getCapabilities(ListIterator<PathElement> iterator) {
+    Set<RuntimeCapability> getCapabilities(final PathAddress address, final int index) {
         return Collections.emptySet();
     }
 
     @Override
-    Set<RuntimeCapability> getIncorporatingCapabilities(ListIterator<PathElement> iterator) {
+    Set<RuntimeCapability> getIncorporatingCapabilities(final PathAddress address, final int index) {
         return Collections.emptySet();
     }
 
     @Override
-    Set<CapabilityReferenceRecorder> getRequirements(ListIterator<PathElement> iterator) {
+    Set<CapabilityReferenceRecorder> getRequirements(final PathAddress address, final int index) {
         return Collections.emptySet();
     }
 
     @Override
-    DescriptionProvider getModelDescription(final ListIterator<PathElement> iterator) {
+    DescriptionProvider getModelDescription(final PathAddress address, final int index) {
         checkPermission();
         return this;
     }
 
     @Override
-    Set<String> getAttributeNames(final ListIterator<PathElement> iterator) {
+    Set<String> getAttributeNames(final PathAddress address, final int index) {
         checkPermission();
-        if (iterator.hasNext()) {
+        if (index < address.size()) {
             return Collections.emptySet();
         } else {
             final Map<String, AttributeAccess> snapshot = attributesUpdater.get(this);
@@ -304,9 +303,9 @@ final class ProxyControllerRegistration extends AbstractResourceRegistration imp
     }
 
     @Override
-    Map<String, AttributeAccess> getAttributes(final ListIterator<PathElement> iterator) {
+    Map<String, AttributeAccess> getAttributes(final PathAddress address, final int index) {
         checkPermission();
-        if (iterator.hasNext()) {
+        if (index < address.size()) {
             return Collections.emptyMap();
         } else {
             return attributesUpdater.get(this);
@@ -314,21 +313,21 @@ final class ProxyControllerRegistration extends AbstractResourceRegistration imp
     }
 
     @Override
-    Set<String> getChildNames(final ListIterator<PathElement> iterator) {
+    Set<String> getChildNames(final PathAddress address, final int index) {
         checkPermission();
         return Collections.emptySet();
     }
 
     @Override
-    Set<PathElement> getChildAddresses(final ListIterator<PathElement> iterator) {
+    Set<PathElement> getChildAddresses(final PathAddress address, final int index) {
         checkPermission();
         return Collections.emptySet();
     }
 
     @Override
-    AttributeAccess getAttributeAccess(final ListIterator<PathElement> iterator, final String attributeName) {
+    AttributeAccess getAttributeAccess(final PathAddress address, final int index, final String attributeName) {
         checkPermission();
-        if (iterator.hasNext()) {
+        if (index < address.size()) {
             return null;
         } else {
             final Map<String, AttributeAccess> snapshot = attributesUpdater.get(this);
@@ -337,30 +336,27 @@ final class ProxyControllerRegistration extends AbstractResourceRegistration imp
     }
 
     @Override
-    ProxyController getProxyController(ListIterator<PathElement> iterator) {
+    ProxyController getProxyController(final PathAddress address, final int index) {
         checkPermission();
         return proxyController;
     }
 
     @Override
-    void getProxyControllers(ListIterator<PathElement> iterator, Set<ProxyController> controllers) {
+    void getProxyControllers(final PathAddress address, final int index, Set<ProxyController> controllers) {
         checkPermission();
         controllers.add(proxyController);
     }
 
     @Override
-    ManagementResourceRegistration getResourceRegistration(ListIterator<PathElement> iterator) {
+    ManagementResourceRegistration getResourceRegistration(final PathAddress address, final int index) {
         // BES 2011/06/14 I do not see why the IAE makes sense, so...
-//        if (!iterator.hasNext()) {
+//        if (index == address.size()) {
 //            return this;
 //        }
 //        throw new IllegalArgumentException("Can't get child registrations of a proxy");
         PathAddress childAddress = null;
-        if (iterator.hasNext()) {
-            childAddress = getPathAddress();
-            while (iterator.hasNext()) {
-                childAddress = childAddress.append(iterator.next());
-            }
+        if (index < address.size()) {
+            childAddress = getPathAddress().append(address.subAddress(index));
         }
         checkPermission();
         return childAddress == null ? this : new ChildRegistration(childAddress);
@@ -408,7 +404,7 @@ final class ProxyControllerRegistration extends AbstractResourceRegistration imp
     }
 
     @Override
-    Set<String> getOrderedChildTypes(ListIterator<PathElement> iterator) {
+    Set<String> getOrderedChildTypes(final PathAddress address, final int index) {
         checkPermission();
         return Collections.emptySet();
     }
@@ -361,7 +361,7 @@ public interface Resource extends Cloneable {
                         continue;
                     }
                     model.get(childType).setEmptyObject();
-                    for (final ResourceEntry entry : resource.getChildren(childType)) {
+                    for (final ResourceEntry entry : getChildrenForRead(resource, childType)) {
                         if (filter.accepts(address.append(entry.getPathElement()), resource)) {
                             ImmutableManagementResourceRegistration childMrr =
                                     mrr == null ? null : mrr.getSubModel(address.append(entry.getPathElement()));
@@ -373,6 +373,16 @@ public interface Resource extends Cloneable {
             return model;
         }
 
+        private static Set<ResourceEntry> getChildrenForRead(final Resource resource, final String childType) {
+            final Resource target = resource instanceof AbstractModelResource.DelegateResource
+                    ? ((AbstractModelResource.DelegateResource) resource).delegate
+                    : resource;
+            if (target instanceof AbstractModelResource) {
+                return ((AbstractModelResource) target).getChildrenForRead(childType);
+            }
+            return resource.getChildren(childType);
+        }
+
         private static Set<String> getNonIgnoredChildTypes(ImmutableManagementResourceRegistration mrr) {
             Set<String> result = new HashSet<>();
             for (PathElement pe : mrr.getChildAddresses(PathAddress.EMPTY_ADDRESS)) {
@@ -384,6 +394,41 @@ public interface Resource extends Cloneable {
             return result;
         }
 
+        /**
+         * Creates a copy of the given resource tree that can be modified without affecting {@code resource}.
+         * Unlike {@link Resource#clone()} the copy initially shares all descendants with {@code resource}; a
+         * descendant is only copied the first time it is obtained from the copy, so the cost of the copy is
+         * proportional to the part of the tree the caller navigates rather than to the size of the tree.
+         * <p>
+         * The caller must guarantee that {@code resource} is not modified anymore, and must {@link #seal(Resource) seal}
+         * the copy before making it visible to other threads. From then on the copy must not be modified either.
+         * </p>
+         * <p>
+         * Resources not created by {@link Resource.Factory} do not support sharing and are {@link Resource#clone() cloned}.
+         * </p>
+         *
+         * @param resource the resource tree to copy. Cannot be {@code null}
+         * @return the copy. Will not be {@code null}
+         */
+        public static Resource copyOnWrite(final Resource resource) {
+            return AbstractModelResource.copyOnWrite(resource, new AbstractModelResource.CopyOnWriteScope());
+        }
+
+        /**
+         * Marks a resource tree created by {@link #copyOnWrite(Resource)} as immutable, so reads no longer copy the
+         * descendants it still shares with the tree it was copied from. Does nothing for any other resource.
+         *
+         * @param resource the root of the resource tree. Cannot be {@code null}
+         */
+        public static void seal(final Resource resource) {
+            if (resource instanceof BasicResource) {
+                final AbstractModelResource.CopyOnWriteScope scope = ((BasicResource) resource).getCopyOnWriteScope();
+                if (scope != null) {
+                    scope.seal();
+                }
+            }
+        }
+
         /**
          * Navigate from a parent {@code resource} to the descendant resource at the given relative {@code address}.
          * <p>
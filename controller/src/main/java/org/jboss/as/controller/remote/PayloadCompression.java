@@ -0,0 +1,286 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.jboss.as.controller.client.impl.ModelControllerProtocol;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.as.protocol.mgmt.ManagementChannelAssociation;
+import org.jboss.as.protocol.mgmt.ManagementProtocolHeader;
+import org.jboss.as.protocol.mgmt.ProtocolUtils;
+import org.jboss.dmr.ModelNode;
+import org.jboss.remoting3.Attachments;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Deflate compression of the DMR payloads exchanged over a management channel.
+ * <p>
+ * Compression is only used once both peers attached an instance to the channel, which they do after they saw a
+ * {@link #PROTOCOL_VERSION protocol version} supporting it in a message header of the other side. Each payload is then
+ * prefixed with a marker telling whether it is compressed, and only payloads above the
+ * {@code jboss.as.management.compression.threshold} (default {@value #DEFAULT_THRESHOLD} bytes, a negative value disables
+ * compression of sent payloads) are compressed. Received payloads larger than the
+ * {@code jboss.as.management.compression.max-payload} (default {@value #DEFAULT_MAX_PAYLOAD} bytes) are rejected. The
+ * instance also counts the bytes of the payloads on the channel.
+ *
+ * DC > HC    : HostControllerRegistrationHandler > RemoteDomainConnection
+ */
+public final class PayloadCompression {
+
+    /** Attachment to a management channel if both peers support compressed payloads */
+    public static final Attachments.Key<PayloadCompression> ATTACHMENT_KEY = new Attachments.Key<>(PayloadCompression.class);
+
+    /** The first {@link org.jboss.as.protocol.mgmt.ManagementProtocol#VERSION protocol version} supporting compressed payloads */
+    public static final int PROTOCOL_VERSION = 3;
+
+    private static final int DEFAULT_THRESHOLD = 16 * 1024;
+    private static final String THRESHOLD_PROPERTY = "jboss.as.management.compression.threshold";
+    private static final int DEFAULT_MAX_PAYLOAD = 256 * 1024 * 1024;
+    private static final int MAX_PAYLOAD = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged("jboss.as.management.compression.max-payload", Integer.toString(DEFAULT_MAX_PAYLOAD)));
+    private static final int BUFFER_SIZE = 8192;
+
+    private final int threshold;
+    private final AtomicLong payloadBytesSent = new AtomicLong();
+    private final AtomicLong transferredBytesSent = new AtomicLong();
+    private final AtomicLong payloadBytesReceived = new AtomicLong();
+    private final AtomicLong transferredBytesReceived = new AtomicLong();
+
+    PayloadCompression(final int threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Attaches payload compression to a channel, if the peer supports it.
+     *
+     * @param channelAssociation the channel association
+     * @param header a header of a message received from the peer
+     */
+    public static void attach(final ManagementChannelAssociation channelAssociation, final ManagementProtocolHeader header) {
+        if (header.getVersion() >= PROTOCOL_VERSION) {
+            final int threshold = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(THRESHOLD_PROPERTY, Integer.toString(DEFAULT_THRESHOLD)));
+            channelAssociation.getAttachments().attach(ATTACHMENT_KEY, new PayloadCompression(threshold));
+        }
+    }
+
+    /**
+     * Removes the payload compression from a channel, before connecting to a peer which might not support it.
+     *
+     * @param channelAssociation the channel association
+     */
+    public static void detach(final ManagementChannelAssociation channelAssociation) {
+        channelAssociation.getAttachments().removeAttachment(ATTACHMENT_KEY);
+    }
+
+    /**
+     * Gets the payload compression of a channel.
+     *
+     * @param channelAssociation the channel association
+     * @return the payload compression, or {@code null} if payloads are sent as they are
+     */
+    public static PayloadCompression get(final ManagementChannelAssociation channelAssociation) {
+        return channelAssociation.getAttachments().getAttachment(ATTACHMENT_KEY);
+    }
+
+    /**
+     * Writes a model node, compressed if the channel supports it and it is large enough.
+     *
+     * @param compression the compression of the channel, may be {@code null}
+     * @param node the model node
+     * @param output the output
+     * @throws IOException for any error
+     */
+    public static void writeModelNode(final PayloadCompression compression, final ModelNode node, final DataOutput output) throws IOException {
+        if (compression == null) {
+            node.writeExternal(output);
+        } else {
+            compression.write(node, output);
+        }
+    }
+
+    /**
+     * Reads a model node written by {@link #writeModelNode(PayloadCompression, ModelNode, DataOutput)}.
+     *
+     * @param compression the compression of the channel, may be {@code null}
+     * @param input the input
+     * @return the model node
+     * @throws IOException for any error
+     */
+    public static ModelNode readModelNode(final PayloadCompression compression, final DataInput input) throws IOException {
+        final ModelNode node = new ModelNode();
+        if (compression == null) {
+            node.readExternal(input);
+        } else {
+            compression.read(node, input);
+        }
+        return node;
+    }
+
+    private void write(final ModelNode node, final DataOutput output) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            node.writeExternal(out);
+        }
+        final byte[] payload = bytes.toByteArray();
+        payloadBytesSent.addAndGet(payload.length);
+        if (threshold >= 0 && payload.length >= threshold) {
+            final byte[] compressed = deflate(payload);
+            if (compressed.length < payload.length) {
+                output.writeByte(ModelControllerProtocol.PARAM_COMPRESSED_PAYLOAD);
+                output.writeInt(payload.length);
+                output.writeInt(compressed.length);
+                output.write(compressed);
+                transferredBytesSent.addAndGet(compressed.length);
+                return;
+            }
+        }
+        output.writeByte(ModelControllerProtocol.PARAM_UNCOMPRESSED_PAYLOAD);
+        output.writeInt(payload.length);
+        output.write(payload);
+        transferredBytesSent.addAndGet(payload.length);
+    }
+
+    private void read(final ModelNode node, final DataInput input) throws IOException {
+        final byte type = input.readByte();
+        if (type == ModelControllerProtocol.PARAM_UNCOMPRESSED_PAYLOAD) {
+            final byte[] payload = new byte[readLength(input)];
+            input.readFully(payload);
+            node.readExternal(new DataInputStream(new ByteArrayInputStream(payload)));
+            payloadBytesReceived.addAndGet(payload.length);
+            transferredBytesReceived.addAndGet(payload.length);
+        } else {
+            ProtocolUtils.expectHeader(type, ModelControllerProtocol.PARAM_COMPRESSED_PAYLOAD);
+            final int length = readLength(input);
+            final byte[] compressed = new byte[readLength(input)];
+            input.readFully(compressed);
+            final byte[] payload = inflate(compressed, length);
+            node.readExternal(new DataInputStream(new ByteArrayInputStream(payload)));
+            payloadBytesReceived.addAndGet(length);
+            transferredBytesReceived.addAndGet(compressed.length);
+        }
+    }
+
+    /**
+     * Reads a length sent by the peer, which must not be trusted to allocate the buffer receiving the payload.
+     */
+    private static int readLength(final DataInput input) throws IOException {
+        final int length = input.readInt();
+        if (length < 0 || length > MAX_PAYLOAD) {
+            throw ControllerLogger.ROOT_LOGGER.invalidCompressedPayload(MAX_PAYLOAD, length);
+        }
+        return length;
+    }
+
+    private static byte[] deflate(final byte[] payload) {
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 4);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(final byte[] compressed, final int length) throws IOException {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            final byte[] payload = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                final int inflated = inflater.inflate(payload, read, length - read);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += inflated;
+            }
+            if (read != length || !inflater.finished()) {
+                throw ControllerLogger.ROOT_LOGGER.invalidCompressedPayload(length, read);
+            }
+            return payload;
+        } catch (DataFormatException e) {
+            throw new IOException(e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Gets the size of the sent payloads before compression.
+     *
+     * @return the number of bytes
+     */
+    public long getPayloadBytesSent() {
+        return payloadBytesSent.get();
+    }
+
+    /**
+     * Gets the size of the sent payloads after compression.
+     *
+     * @return the number of bytes
+     */
+    public long getTransferredBytesSent() {
+        return transferredBytesSent.get();
+    }
+
+    /**
+     * Gets the size of the received payloads after decompression.
+     *
+     * @return the number of bytes
+     */
+    public long getPayloadBytesReceived() {
+        return payloadBytesReceived.get();
+    }
+
+    /**
+     * Gets the size of the received payloads before decompression.
+     *
+     * @return the number of bytes
+     */
+    public long getTransferredBytesReceived() {
+        return transferredBytesReceived.get();
+    }
+
+    @Override
+    public String toString() {
+        return "PayloadCompression{threshold=" + threshold
+                + ", sent=" + transferredBytesSent.get() + "/" + payloadBytesSent.get()
+                + ", received=" + transferredBytesReceived.get() + "/" + payloadBytesReceived.get() + '}';
+    }
+}
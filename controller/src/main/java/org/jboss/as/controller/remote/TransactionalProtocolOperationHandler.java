@@ -92,7 +92,7 @@ public class TransactionalProtocolOperationHandler implements ManagementRequestH
         switch(request.getOperationId()) {
             case ModelControllerProtocol.EXECUTE_TX_REQUEST: {
                 // Initialize the request context
-                final ExecuteRequestContext executeRequestContext = new ExecuteRequestContext(responseAttachmentSupport);
+                final ExecuteRequestContext executeRequestContext = new ExecuteRequestContext(responseAttachmentSupport, PayloadCompression.get(channelAssociation));
                 try {
                     executeRequestContext.operation = handlers.registerActiveOperation(request.getBatchId(), executeRequestContext, executeRequestContext);
                 } catch (IllegalStateException ise) {
@@ -102,7 +102,7 @@ public class TransactionalProtocolOperationHandler implements ManagementRequestH
                 return new ExecuteRequestHandler();
             }
             case ModelControllerProtocol.COMPLETE_TX_REQUEST: {
-                final ExecuteRequestContext executeRequestContext = new ExecuteRequestContext(responseAttachmentSupport);
+                final ExecuteRequestContext executeRequestContext = new ExecuteRequestContext(responseAttachmentSupport, PayloadCompression.get(channelAssociation));
                 try {
                     executeRequestContext.operation = handlers.registerActiveOperation(request.getBatchId(), executeRequestContext, executeRequestContext);
                     // WLFY-3381 Unusual case where the initial request must have lost a race with a COMPLETE_TX_REQUEST carrying a cancellation
@@ -235,9 +235,8 @@ public class TransactionalProtocolOperationHandler implements ManagementRequestH
         }
 
         static ExecutableRequest parse(DataInput input, ManagementChannelAssociation channelAssociation) throws IOException {
-            final ModelNode operation = new ModelNode();
             ProtocolUtils.expectHeader(input, ModelControllerProtocol.PARAM_OPERATION);
-            operation.readExternal(input);
+            final ModelNode operation = PayloadCompression.readModelNode(PayloadCompression.get(channelAssociation), input);
             ProtocolUtils.expectHeader(input, ModelControllerProtocol.PARAM_INPUTSTREAMS_LENGTH);
             final int attachmentsLength = input.readInt();
 
@@ -400,9 +399,12 @@ public class TransactionalProtocolOperationHandler implements ManagementRequestH
 
         /** Support object for managing any streams associated with the response */
         final ResponseAttachmentInputStreamSupport streamSupport;
+        /** The compression of the payloads sent back, {@code null} if not supported by the remote side */
+        final PayloadCompression compression;
 
-        ExecuteRequestContext(final ResponseAttachmentInputStreamSupport streamSupport) {
+        ExecuteRequestContext(final ResponseAttachmentInputStreamSupport streamSupport, final PayloadCompression compression) {
             this.streamSupport = streamSupport;
+            this.compression = compression;
         }
 
         Integer getOperationId() {
@@ -439,7 +441,7 @@ public class TransactionalProtocolOperationHandler implements ManagementRequestH
                 response.get(FAILURE_DESCRIPTION).set(message);
                 ControllerLogger.MGMT_OP_LOGGER.tracef("sending pre-prepare failed response for %d  --- interrupted: %s", getOperationId(), (Object) Thread.currentThread().isInterrupted());
                 try {
-                    sendResponse(responseChannel, ModelControllerProtocol.PARAM_OPERATION_FAILED, response);
+                    sendResponse(responseChannel, ModelControllerProtocol.PARAM_OPERATION_FAILED, response, compression);
                     responseChannel = null;
                 } catch (IOException ignored) {
                     ControllerLogger.MGMT_OP_LOGGER.failedSendingFailedResponse(ignored, response, getOperationId());
@@ -486,7 +488,7 @@ public class TransactionalProtocolOperationHandler implements ManagementRequestH
                 activeTx = tx;
                 ControllerLogger.MGMT_OP_LOGGER.tracef("sending prepared response for %d  --- interrupted: %s", getOperationId(), (Object) Thread.currentThread().isInterrupted());
                 try {
-                    sendResponse(responseChannel, ModelControllerProtocol.PARAM_OPERATION_PREPARED, result);
+                    sendResponse(responseChannel, ModelControllerProtocol.PARAM_OPERATION_PREPARED, result, compression);
                     responseChannel = null; // we've now sent a response to the original request, so we can't use this one further
                 } catch (IOException e) {
                     getResultHandler().failed(e); // this will eventually call back into failed(e) above and roll back the tx
@@ -551,7 +553,7 @@ public class TransactionalProtocolOperationHandler implements ManagementRequestH
                 assert responseChannel != null;
                 ControllerLogger.MGMT_OP_LOGGER.tracef("sending pre-prepare failed response for %d  --- interrupted: %s", getOperationId(), (Object) Thread.currentThread().isInterrupted());
                 try {
-                    sendResponse(responseChannel, ModelControllerProtocol.PARAM_OPERATION_FAILED, response);
+                    sendResponse(responseChannel, ModelControllerProtocol.PARAM_OPERATION_FAILED, response, compression);
                     responseChannel = null; // we've now sent a response to the original request, so we can't use this one further
                 } catch (IOException e) {
                     ControllerLogger.MGMT_OP_LOGGER.failedSendingFailedResponse(e, response, getOperationId());
@@ -576,7 +578,7 @@ public class TransactionalProtocolOperationHandler implements ManagementRequestH
                 streamSupport.registerStreams(operation.getOperationId(), response.getInputStreams());
 
                 try {
-                    sendResponse(responseChannel, ModelControllerProtocol.PARAM_OPERATION_COMPLETED, response.getResponseNode());
+                    sendResponse(responseChannel, ModelControllerProtocol.PARAM_OPERATION_COMPLETED, response.getResponseNode(), compression);
                     responseChannel = null; // we've now sent a response to the COMPLETE_TX_REQUEST, so we can't use this one further
                 } catch (IOException e) {
                     ControllerLogger.MGMT_OP_LOGGER.failedSendingCompletedResponse(e, response.getResponseNode(), getOperationId());
@@ -613,9 +615,11 @@ public class TransactionalProtocolOperationHandler implements ManagementRequestH
      * @param context the request context
      * @param responseType the response type
      * @param response the operation response
+     * @param compression the payload compression, may be {@code null}
      * @throws java.io.IOException for any error
      */
-    static void sendResponse(final ManagementRequestContext<ExecuteRequestContext> context, final byte responseType, final ModelNode response) throws IOException {
+    static void sendResponse(final ManagementRequestContext<ExecuteRequestContext> context, final byte responseType, final ModelNode response,
+                             final PayloadCompression compression) throws IOException {
 
         // WFLY-3090 Protect the communication channel from getting closed due to administrative
         // cancellation of the management op by using a separate thread to send
@@ -633,7 +637,7 @@ public class TransactionalProtocolOperationHandler implements ManagementRequestH
                     // response type
                     output.writeByte(responseType);
                     // operation result
-                    response.writeExternal(output);
+                    PayloadCompression.writeModelNode(compression, response, output);
                     // response end
                     output.writeByte(ManagementProtocol.RESPONSE_END);
                     output.close();
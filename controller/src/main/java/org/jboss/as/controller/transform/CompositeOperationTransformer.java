@@ -67,6 +67,7 @@ class CompositeOperationTransformer implements OperationTransformer {
         final TransformationTarget target = context.getTarget();
         final List<Step> steps = new ArrayList<Step>();
         int stepIdx = 0, resultIdx  = 0;
+        boolean untransformed = true;
         for(final ModelNode step : operation.require(STEPS).asList()) {
             stepIdx++;
             final String operationName = step.require(OP).asString();
@@ -98,9 +99,10 @@ class CompositeOperationTransformer implements OperationTransformer {
                 resultIdx++;
             }
             steps.add(new Step(stepIdx, resultIdx, result));
+            untransformed &= result.isUntransformed();
         }
         final CompositeResultTransformer resultHandler = new CompositeResultTransformer(steps);
-        return new TransformedOperation(composite, resultHandler, resultHandler);
+        return new TransformedOperation(composite, resultHandler, resultHandler, untransformed);
     }
 
     private static class CompositeResultTransformer implements OperationResultTransformer, OperationRejectionPolicy {
@@ -51,15 +51,32 @@ public interface OperationTransformer {
         private final ModelNode transformedOperation;
         private final OperationRejectionPolicy rejectPolicy;
         private final OperationResultTransformer resultTransformer;
+        private final boolean untransformed;
 
         public TransformedOperation(ModelNode transformedOperation, OperationResultTransformer resultTransformer) {
             this(transformedOperation, DEFAULT_REJECTION_POLICY, resultTransformer);
         }
 
         public TransformedOperation(ModelNode transformedOperation, OperationRejectionPolicy policy, OperationResultTransformer resultTransformer) {
+            this(transformedOperation, policy, resultTransformer, false);
+        }
+
+        TransformedOperation(ModelNode transformedOperation, OperationRejectionPolicy policy, OperationResultTransformer resultTransformer,
+                             boolean untransformed) {
             this.transformedOperation = transformedOperation;
             this.rejectPolicy = policy;
             this.resultTransformer = resultTransformer;
+            this.untransformed = untransformed;
+        }
+
+        /**
+         * Creates the result of an operation to which no transformer applies for the target.
+         *
+         * @param operation the operation, passed on as it is
+         * @return the untransformed operation
+         */
+        public static TransformedOperation untransformed(ModelNode operation) {
+            return new TransformedOperation(operation, DEFAULT_REJECTION_POLICY, OperationResultTransformer.ORIGINAL_RESULT, true);
         }
 
         public ModelNode getTransformedOperation() {
@@ -70,6 +87,16 @@ public interface OperationTransformer {
             return resultTransformer;
         }
 
+        /**
+         * Gets whether no transformer applied to the operation for the target. Such an operation is never rejected
+         * and its transformation did not log anything, so it does not depend on the target host.
+         *
+         * @return {@code true} if the operation was passed on as it is
+         */
+        public boolean isUntransformed() {
+            return untransformed;
+        }
+
         @Override
         public boolean rejectOperation(final ModelNode preparedResult) {
             return rejectPolicy.rejectOperation(preparedResult);
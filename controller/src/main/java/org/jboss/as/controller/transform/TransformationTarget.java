@@ -123,6 +123,18 @@ public interface TransformationTarget {
 
     boolean isIgnoreUnaffectedConfig();
 
+    /**
+     * Gets a key identifying the transformations applied for this target. Targets with equal keys transform
+     * operations the same way, so an operation that is {@link OperationTransformer.TransformedOperation#isUntransformed()
+     * untransformed} for one of them can be reused for the others. The result of an actual transformation is not reused,
+     * as its rejection and warnings name the target host.
+     *
+     * @return the key, or {@code null} if the transformations of this target cannot be shared
+     */
+    default Object getTransformationKey() {
+        return null;
+    }
+
     enum TransformationTargetType {
 
         DOMAIN,
@@ -202,10 +202,64 @@ public class TransformationTargetImpl implements TransformationTarget {
         return false;
     }
 
+    @Override
+    public Object getTransformationKey() {
+        if (placeholderResolver != null || operationIgnoredRegistry.isExcludingOperations()) {
+            return null;
+        }
+        final Map<String, ModelVersion> subsystems;
+        synchronized (subsystemVersions) {
+            subsystems = new HashMap<>(subsystemVersions);
+        }
+        return new TransformationKey(transformerRegistry, type, version, subsystems);
+    }
+
     private boolean ignoreResourceTransformation(ResourceTransformationContext context, PathAddress address) {
         if (context.isResourceTransformationIgnored(address)) {
             return true;
         }
         return false;
     }
+
+    private static final class TransformationKey {
+        private final TransformerRegistry transformerRegistry;
+        private final TransformationTargetType type;
+        private final ModelVersion version;
+        private final Map<String, ModelVersion> subsystemVersions;
+
+        private TransformationKey(final TransformerRegistry transformerRegistry, final TransformationTargetType type,
+                                  final ModelVersion version, final Map<String, ModelVersion> subsystemVersions) {
+            this.transformerRegistry = transformerRegistry;
+            this.type = type;
+            this.version = version;
+            this.subsystemVersions = subsystemVersions;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TransformationKey)) {
+                return false;
+            }
+            final TransformationKey other = (TransformationKey) o;
+            return transformerRegistry == other.transformerRegistry && type == other.type
+                    && version.equals(other.version) && subsystemVersions.equals(other.subsystemVersions);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(transformerRegistry);
+            result = 31 * result + type.hashCode();
+            result = 31 * result + version.hashCode();
+            result = 31 * result + subsystemVersions.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return type + "-" + version + subsystemVersions;
+        }
+    }
 }
@@ -324,6 +324,15 @@ public interface Transformers {
          */
         boolean isOperationExcluded(final PathAddress address, String operationName);
 
+        /**
+         * Gets whether this registry may exclude any operation at all. A registry that never excludes operations
+         * behaves the same for every target, so transformation results can be shared between such targets.
+         *
+         * @return {@code true} if {@link #isOperationExcluded(PathAddress, String)} may return {@code true}
+         */
+        default boolean isExcludingOperations() {
+            return true;
+        }
 
         /**
          * A default {@link OperationExcludedTransformationRegistry}
@@ -342,6 +351,11 @@ public interface Transformers {
             public boolean isOperationExcluded(PathAddress address, String operationName) {
                 return false;
             }
+
+            @Override
+            public boolean isExcludingOperations() {
+                return false;
+            }
         };
 
     }
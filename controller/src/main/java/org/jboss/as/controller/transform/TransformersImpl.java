@@ -71,7 +71,7 @@ public class TransformersImpl implements Transformers {
         final OperationTransformer transformer = target.resolveTransformer(opCtx, useAddress, operationName);
         if (transformer == null) {
             ControllerLogger.ROOT_LOGGER.tracef("operation %s does not need transformation", operation);
-            return new OperationTransformer.TransformedOperation(operation, OperationResultTransformer.ORIGINAL_RESULT);
+            return OperationTransformer.TransformedOperation.untransformed(operation);
         }
         // Transform the path address
         final PathAddress transformed = transformAddress(useAddress, target);
@@ -107,7 +107,7 @@ public class TransformersImpl implements Transformers {
         final OperationTransformer transformer = target.resolveTransformer(context, useAddress, operationName);
         if (transformer == null) {
             ControllerLogger.ROOT_LOGGER.tracef("operation %s does not need transformation", operation);
-            return new OperationTransformer.TransformedOperation(operation, OperationResultTransformer.ORIGINAL_RESULT);
+            return OperationTransformer.TransformedOperation.untransformed(operation);
         }
         final OperationTransformer.TransformedOperation op = transformer.transformOperation(context, transformed, operation);
         context.getLogger().flushLogQueue();
@@ -39,6 +39,7 @@ import org.jboss.as.controller.capability.registry.CapabilityId;
 import org.jboss.as.controller.capability.registry.CapabilityScope;
 import org.jboss.as.controller.capability.registry.RegistrationPoint;
 import org.jboss.as.controller.capability.registry.RuntimeCapabilityRegistration;
+import org.jboss.as.controller.capability.registry.RuntimeRequirementRegistration;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
 import org.jboss.as.controller.operations.common.Util;
@@ -983,6 +984,60 @@ public class CapabilityRegistryTestCase extends AbstractControllerTestBase {
         Assert.assertTrue(result.contains("dyn"));
     }
 
+    @Test
+    public void testConcurrentRegistration() throws Exception {
+        final CapabilityRegistry reg = new CapabilityRegistry(true);
+        final RegistrationPoint rootPoint = new RegistrationPoint(PathAddress.pathAddress("subsystem", "root"), null);
+        reg.registerCapability(new RuntimeCapabilityRegistration(ROOT_CAPABILITY, CapabilityScope.GLOBAL, rootPoint));
+
+        final int threads = 8;
+        final int perThread = 200;
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        String name = "org.wildfly.test.concurrent." + thread + "." + i;
+                        RuntimeCapability<Void> cap = RuntimeCapability.Builder.of(name)
+                                .addRequirements(ROOT_CAPABILITY.getName()).build();
+                        RegistrationPoint rp = new RegistrationPoint(PathAddress.pathAddress("subsystem", name), null);
+                        reg.registerCapability(new RuntimeCapabilityRegistration(cap, CapabilityScope.GLOBAL, rp));
+                        if (i > 0) {
+                            String previous = "org.wildfly.test.concurrent." + thread + "." + (i - 1);
+                            reg.registerAdditionalCapabilityRequirement(new RuntimeRequirementRegistration(previous, name, CapabilityScope.GLOBAL, rp));
+                        }
+                        Assert.assertTrue(reg.hasCapability(name, CapabilityScope.GLOBAL));
+                        if (i % 2 == 1 && i < perThread - 1) {
+                            // Remove the requirement on the previous one again, and the previous one with it
+                            String previous = "org.wildfly.test.concurrent." + thread + "." + (i - 1);
+                            reg.removeCapabilityRequirement(new RuntimeRequirementRegistration(previous, name, CapabilityScope.GLOBAL, rp));
+                            RegistrationPoint previousRp = new RegistrationPoint(PathAddress.pathAddress("subsystem", previous), null);
+                            Assert.assertNotNull(reg.removeCapability(previous, CapabilityScope.GLOBAL, previousRp.getAddress()));
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+
+        // Each thread keeps the odd numbered capabilities plus its last one
+        Assert.assertEquals(1 + threads * (perThread / 2 + 1), reg.getCapabilities().size());
+        Assert.assertTrue(reg.resolveCapabilities(Resource.Factory.create(), false).isValid());
+    }
+
     /**
      * Tests that a runtime operation can be done when there is a circular requirements between two capabilities
      * and the server is in restart-required state by an independent capability
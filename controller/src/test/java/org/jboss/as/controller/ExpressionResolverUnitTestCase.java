@@ -444,6 +444,45 @@ public class ExpressionResolverUnitTestCase {
         }
     }
 
+    @Test
+    public void testCachedResolutionInvalidation() throws OperationFailedException {
+        ExpressionResolver resolver = new ExpressionResolverImpl(false, 16);
+        System.setProperty("test.cached.prop", "one");
+        try {
+            assertEquals("one-x", resolver.resolveExpressions(expression("${test.cached.prop}-x")).asString());
+            System.setProperty("test.cached.prop", "two");
+            // Changes not signalled to the resolvers are not seen
+            assertEquals("one-x", resolver.resolveExpressions(expression("${test.cached.prop}-x")).asString());
+            ExpressionResolverImpl.invalidateResolutionCaches();
+            assertEquals("two-x", resolver.resolveExpressions(expression("${test.cached.prop}-x")).asString());
+            System.clearProperty("test.cached.prop");
+            ExpressionResolverImpl.invalidateResolutionCaches();
+            try {
+                resolver.resolveExpressions(expression("${test.cached.prop}-x"));
+                fail("Did not fail with ERUE");
+            } catch (ExpressionResolver.ExpressionResolutionUserException expected) {
+                // expected
+            }
+        } finally {
+            System.clearProperty("test.cached.prop");
+        }
+    }
+
+    @Test
+    public void testPluggableResolutionNotCached() throws OperationFailedException {
+        final int[] invocations = new int[1];
+        ExpressionResolver resolver = new ExpressionResolverImpl(false, 16) {
+            @Override
+            protected void resolvePluggableExpression(ModelNode node, OperationContext context) {
+                if (node.asString().equals("${test::secret}")) {
+                    node.set("secret" + (++invocations[0]));
+                }
+            }
+        };
+        assertEquals("secret1", resolver.resolveExpressions(expression("${test::secret}")).asString());
+        assertEquals("secret2", resolver.resolveExpressions(expression("${test::secret}")).asString());
+    }
+
     private ModelNode expression(String str) {
         return new ModelNode(new ValueExpression(str));
     }
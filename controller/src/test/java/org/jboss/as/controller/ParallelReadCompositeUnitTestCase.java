@@ -0,0 +1,204 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PARALLEL_READ_STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests of composite operations executed with the {@code parallel-read-steps} header.
+ */
+public class ParallelReadCompositeUnitTestCase extends AbstractControllerTestBase {
+
+    private static final PathAddress ADDRESS = PathAddress.pathAddress("subsystem", "test");
+    private static final SimpleAttributeDefinition VALUE = new SimpleAttributeDefinitionBuilder("value", ModelType.STRING)
+            .setRequired(false)
+            .setAllowExpression(true)
+            .build();
+    private static final SimpleAttributeDefinition OTHER = new SimpleAttributeDefinitionBuilder("other", ModelType.INT)
+            .setRequired(false)
+            .build();
+
+    /** A write executed when the next step is submitted, so that it lands while the composite is running */
+    private volatile ModelNode interleavedWrite;
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(4, 4, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+        @Override
+        public void execute(Runnable command) {
+            final ModelNode write = interleavedWrite;
+            if (write != null) {
+                interleavedWrite = null;
+                assertEquals(SUCCESS, controller.execute(write, null, null, null).get(OUTCOME).asString());
+            }
+            super.execute(command);
+        }
+    };
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    protected ModelControllerService createModelControllerService(ProcessType processType) {
+        return new ModelControllerService(processType, new RunningModeControl(RunningMode.NORMAL), () -> executor);
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
+        GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+        rootRegistration.registerOperationHandler(CompositeOperationHandler.DEFINITION, CompositeOperationHandler.INSTANCE);
+        ManagementResourceRegistration registration = rootRegistration.registerSubModel(
+                new SimpleResourceDefinition(ADDRESS.getLastElement(), NonResolvingResourceDescriptionResolver.INSTANCE,
+                        new ModelOnlyAddStepHandler(VALUE, OTHER), ModelOnlyRemoveStepHandler.INSTANCE));
+        registration.registerReadWriteAttribute(VALUE, null, new ModelOnlyWriteAttributeHandler(VALUE));
+        registration.registerReadWriteAttribute(OTHER, null, new ModelOnlyWriteAttributeHandler(OTHER));
+    }
+
+    @Override
+    protected void addBootOperations(List<ModelNode> bootOperations) {
+        ModelNode add = Util.createAddOperation(ADDRESS);
+        add.get(VALUE.getName()).set("initial");
+        bootOperations.add(add);
+    }
+
+    @Test
+    public void testParallelReadSteps() {
+        ModelNode composite = createComposite(
+                Util.getReadAttributeOperation(ADDRESS, VALUE.getName()),
+                Util.getReadAttributeOperation(ADDRESS, OTHER.getName()),
+                Util.createEmptyOperation(READ_RESOURCE_OPERATION, ADDRESS),
+                Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.EMPTY_ADDRESS));
+        assertTrue(ParallelReadComposite.isParallelReadComposite(composite));
+
+        long submitted = executor.getTaskCount();
+        ModelNode parallel = controller.execute(composite, null, null, null);
+        assertEquals(parallel.toString(), SUCCESS, parallel.get(OUTCOME).asString());
+        // Every step but the first was handed to the executor
+        assertTrue(executor.getTaskCount() - submitted >= 3);
+        assertEquals(executeSequentially(composite), parallel);
+        assertEquals("initial", parallel.get("result", "step-1", "result").asString());
+        assertFalse(parallel.get("result", "step-2", "result").isDefined());
+    }
+
+    @Test
+    public void testParallelStepsReadOneModel() {
+        ModelNode composite = createComposite(
+                Util.getReadAttributeOperation(ADDRESS, VALUE.getName()),
+                Util.createEmptyOperation(READ_RESOURCE_OPERATION, ADDRESS),
+                Util.getReadAttributeOperation(ADDRESS, VALUE.getName()));
+        interleavedWrite = Util.getWriteAttributeOperation(ADDRESS, VALUE.getName(), "changed");
+
+        ModelNode parallel = controller.execute(composite, null, null, null);
+        assertEquals(parallel.toString(), SUCCESS, parallel.get(OUTCOME).asString());
+        // The write committed after the composite started, so none of the steps sees it
+        assertEquals("initial", parallel.get("result", "step-1", "result").asString());
+        assertEquals("initial", parallel.get("result", "step-2", "result", VALUE.getName()).asString());
+        assertEquals("initial", parallel.get("result", "step-3", "result").asString());
+        assertEquals("changed", controller.execute(Util.getReadAttributeOperation(ADDRESS, VALUE.getName()), null, null, null)
+                .get("result").asString());
+    }
+
+    @Test
+    public void testFailedStepFallsBackToSequentialExecution() {
+        ModelNode composite = createComposite(
+                Util.getReadAttributeOperation(ADDRESS, VALUE.getName()),
+                Util.getReadAttributeOperation(ADDRESS, "unknown"),
+                Util.createEmptyOperation(READ_RESOURCE_OPERATION, ADDRESS));
+        assertTrue(ParallelReadComposite.isParallelReadComposite(composite));
+
+        ModelNode parallel = controller.execute(composite, null, null, null);
+        assertEquals(parallel.toString(), "failed", parallel.get(OUTCOME).asString());
+        assertEquals(executeSequentially(composite), parallel);
+
+        composite = createComposite(
+                Util.getReadAttributeOperation(ADDRESS, VALUE.getName()),
+                Util.getReadAttributeOperation(PathAddress.pathAddress("subsystem", "missing"), VALUE.getName()));
+        parallel = controller.execute(composite, null, null, null);
+        assertEquals(parallel.toString(), "failed", parallel.get(OUTCOME).asString());
+        assertEquals(executeSequentially(composite), parallel);
+    }
+
+    @Test
+    public void testNonReadCompositeIsNotParallel() {
+        ModelNode composite = createComposite(
+                Util.getReadAttributeOperation(ADDRESS, VALUE.getName()),
+                Util.getWriteAttributeOperation(ADDRESS, VALUE.getName(), "changed"));
+        assertFalse(ParallelReadComposite.isParallelReadComposite(composite));
+        assertEquals(WRITE_ATTRIBUTE_OPERATION, composite.get(STEPS).get(1).get("operation").asString());
+
+        ModelNode response = controller.execute(composite, null, null, null);
+        assertEquals(response.toString(), SUCCESS, response.get(OUTCOME).asString());
+        assertEquals("initial", response.get("result", "step-1", "result").asString());
+        assertEquals("changed", controller.execute(Util.getReadAttributeOperation(ADDRESS, VALUE.getName()), null, null, null)
+                .get("result").asString());
+
+        ModelNode single = createComposite(Util.getReadAttributeOperation(ADDRESS, VALUE.getName()));
+        assertFalse(ParallelReadComposite.isParallelReadComposite(single));
+        assertFalse(ParallelReadComposite.isParallelReadComposite(
+                Util.createEmptyOperation(COMPOSITE, PathAddress.EMPTY_ADDRESS)));
+    }
+
+    private ModelNode executeSequentially(ModelNode composite) {
+        ModelNode sequential = composite.clone();
+        sequential.get(OPERATION_HEADERS).remove(PARALLEL_READ_STEPS);
+        assertFalse(ParallelReadComposite.isParallelReadComposite(sequential));
+        return controller.execute(sequential, null, null, null);
+    }
+
+    private static ModelNode createComposite(ModelNode... steps) {
+        ModelNode composite = Util.createEmptyOperation(COMPOSITE, PathAddress.EMPTY_ADDRESS);
+        for (ModelNode step : steps) {
+            composite.get(STEPS).add(step);
+        }
+        composite.get(OPERATION_HEADERS, PARALLEL_READ_STEPS).set(true);
+        return composite;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_DEFAULTS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESOLVE_EXPRESSIONS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ON_RUNTIME_FAILURE;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.ValueExpression;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of read-attribute requests that are served directly from the published model.
+ */
+public class ReadAttributeFastPathUnitTestCase extends AbstractControllerTestBase {
+
+    private static final PathAddress ADDRESS = PathAddress.pathAddress("subsystem", "test");
+
+    private static final SimpleAttributeDefinition VALUE = new SimpleAttributeDefinitionBuilder("value", ModelType.STRING)
+            .setRequired(false)
+            .setAllowExpression(true)
+            .build();
+    private static final SimpleAttributeDefinition DEFAULTED = new SimpleAttributeDefinitionBuilder("defaulted", ModelType.INT)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(5))
+            .build();
+    private static final SimpleAttributeDefinition COMPUTED = new SimpleAttributeDefinitionBuilder("computed", ModelType.STRING)
+            .setRequired(false)
+            .build();
+
+    private final CountDownLatch writeStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseWrite = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void shutdownExecutor() {
+        releaseWrite.countDown();
+        executor.shutdownNow();
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
+        GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+
+        ManagementResourceRegistration registration = rootRegistration.registerSubModel(
+                new SimpleResourceDefinition(ADDRESS.getLastElement(), NonResolvingResourceDescriptionResolver.INSTANCE,
+                        new ModelOnlyAddStepHandler(VALUE, DEFAULTED), ModelOnlyRemoveStepHandler.INSTANCE));
+        registration.registerReadWriteAttribute(VALUE, null, new BlockingWriteHandler());
+        registration.registerReadWriteAttribute(DEFAULTED, null, new ModelOnlyWriteAttributeHandler(DEFAULTED));
+        registration.registerReadOnlyAttribute(COMPUTED, (context, operation) -> context.getResult().set("computed"));
+    }
+
+    @Override
+    protected void addBootOperations(List<ModelNode> bootOperations) {
+        ModelNode add = Util.createAddOperation(ADDRESS);
+        add.get(VALUE.getName()).set("initial");
+        bootOperations.add(add);
+    }
+
+    @Test
+    public void testReadConfigurationAttribute() throws Exception {
+        Assert.assertEquals("initial", executeForResult(Util.getReadAttributeOperation(ADDRESS, VALUE.getName())).asString());
+        Assert.assertEquals(5, executeForResult(Util.getReadAttributeOperation(ADDRESS, DEFAULTED.getName())).asInt());
+
+        ModelNode op = Util.getReadAttributeOperation(ADDRESS, DEFAULTED.getName());
+        op.get(INCLUDE_DEFAULTS).set(false);
+        Assert.assertFalse(executeForResult(op).isDefined());
+    }
+
+    @Test
+    public void testReadsNotHandledByFastPath() throws Exception {
+        Assert.assertEquals("computed", executeForResult(Util.getReadAttributeOperation(ADDRESS, COMPUTED.getName())).asString());
+
+        ModelNode op = Util.getReadAttributeOperation(ADDRESS, VALUE.getName());
+        op.get(OPERATION_HEADERS, ROLLBACK_ON_RUNTIME_FAILURE).set(false);
+        Assert.assertEquals("initial", executeForResult(op).asString());
+
+        executeForFailure(Util.getReadAttributeOperation(ADDRESS, "unknown"));
+        executeForFailure(Util.getReadAttributeOperation(PathAddress.pathAddress("subsystem", "missing"), VALUE.getName()));
+    }
+
+    @Test
+    public void testResolveExpressions() throws Exception {
+        releaseWrite.countDown();
+        executeForResult(Util.getWriteAttributeOperation(ADDRESS, VALUE.getName(), new ModelNode(new ValueExpression("${test.fast.path:resolved}"))));
+
+        ModelNode op = Util.getReadAttributeOperation(ADDRESS, VALUE.getName());
+        Assert.assertEquals(ModelType.EXPRESSION, executeForResult(op).getType());
+        op.get(RESOLVE_EXPRESSIONS).set(true);
+        Assert.assertEquals("resolved", executeForResult(op).asString());
+    }
+
+    @Test
+    public void testReadDoesNotSeeUncommittedWrite() throws Exception {
+        Future<ModelNode> write = executor.submit(() -> executeForResult(Util.getWriteAttributeOperation(ADDRESS, VALUE.getName(), "updated")));
+        Assert.assertTrue(writeStarted.await(10, TimeUnit.SECONDS));
+
+        // The write holds the controller lock but has not published its model yet
+        Assert.assertEquals("initial", executeForResult(Util.getReadAttributeOperation(ADDRESS, VALUE.getName())).asString());
+
+        releaseWrite.countDown();
+        write.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals("updated", executeForResult(Util.getReadAttributeOperation(ADDRESS, VALUE.getName())).asString());
+    }
+
+    private class BlockingWriteHandler extends ModelOnlyWriteAttributeHandler {
+
+        BlockingWriteHandler() {
+            super(VALUE);
+        }
+
+        @Override
+        protected void finishModelStage(OperationContext context, ModelNode operation, String attributeName, ModelNode newValue,
+                                        ModelNode oldValue, Resource model) throws OperationFailedException {
+            writeStarted.countDown();
+            try {
+                releaseWrite.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
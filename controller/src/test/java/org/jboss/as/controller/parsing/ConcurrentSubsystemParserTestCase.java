@@ -0,0 +1,192 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.parsing;
+
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLElementReader;
+import org.jboss.staxmapper.XMLExtendedStreamReader;
+import org.jboss.staxmapper.XMLMapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ConcurrentSubsystemParser}.
+ */
+public class ConcurrentSubsystemParserTestCase {
+
+    private static final String PROFILE_NS = "urn:test:profile";
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testDocumentOrder() throws Exception {
+        StringBuilder xml = new StringBuilder("<profile xmlns=\"" + PROFILE_NS + "\" xmlns:x=\"urn:test:extra\">\n");
+        for (int i = 0; i < 20; i++) {
+            xml.append("  <subsystem xmlns=\"urn:test:").append(i).append("\" name=\"s").append(i).append("\" x:flag=\"f").append(i).append("\">\n")
+                    .append("    <!-- comment -->\n")
+                    .append("    <child value=\"a&amp;b\">text &lt;").append(i).append("&gt;</child>\n")
+                    .append("    <x:child value=\"prefixed\"/>\n")
+                    .append("  </subsystem>\n");
+        }
+        xml.append("</profile>");
+
+        List<ModelNode> sequential = parse(xml.toString(), false, false);
+        List<ModelNode> concurrent = parse(xml.toString(), true, false);
+
+        assertEquals(20, concurrent.size());
+        assertEquals(sequential, concurrent);
+        for (int i = 0; i < 20; i++) {
+            ModelNode op = concurrent.get(i);
+            assertEquals("s" + i, op.get("name").asString());
+            assertEquals("f" + i, op.get("flag").asString());
+            assertEquals("text <" + i + ">", op.get("text").asString());
+            assertEquals("a&b", op.get("values").get(0).asString());
+            assertEquals("prefixed", op.get("values").get(1).asString());
+        }
+    }
+
+    @Test
+    public void testFailureLocation() throws Exception {
+        String xml = "<profile xmlns=\"" + PROFILE_NS + "\">\n"
+                + "  <subsystem xmlns=\"urn:test:0\" name=\"s0\"/>\n"
+                + "  <subsystem xmlns=\"urn:test:1\" name=\"s1\">\n"
+                + "    <child value=\"ok\"/>\n"
+                + "    <child/>\n"
+                + "  </subsystem>\n"
+                + "</profile>";
+        try {
+            parse(xml, true, false);
+            fail("Expected a failure for the missing attribute");
+        } catch (XMLStreamException e) {
+            assertEquals(5, e.getLocation().getLineNumber());
+        }
+    }
+
+    @Test
+    public void testLenient() throws Exception {
+        String xml = "<profile xmlns=\"" + PROFILE_NS + "\">\n"
+                + "  <subsystem xmlns=\"urn:test:0\" name=\"s0\">\n"
+                + "    <child/>\n"
+                + "  </subsystem>\n"
+                + "  <subsystem xmlns=\"urn:test:1\" name=\"s1\"/>\n"
+                + "</profile>";
+        List<ModelNode> ops = parse(xml, true, true);
+        assertEquals(1, ops.size());
+        assertEquals("s1", ops.get(0).get("name").asString());
+    }
+
+    private List<ModelNode> parse(String xml, boolean concurrent, boolean lenient) throws XMLStreamException {
+        XMLMapper mapper = XMLMapper.Factory.create();
+        mapper.registerRootElement(new QName(PROFILE_NS, "profile"), new ProfileParser(concurrent ? executor : null, lenient));
+        for (int i = 0; i < 20; i++) {
+            mapper.registerRootElement(new QName("urn:test:" + i, "subsystem"), new SubsystemParser());
+        }
+        List<ModelNode> result = new ArrayList<>();
+        mapper.parseDocument(result, XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml)));
+        return result;
+    }
+
+    private static class ProfileParser implements XMLElementReader<List<ModelNode>> {
+
+        private final ExecutorService executor;
+        private final boolean lenient;
+
+        ProfileParser(ExecutorService executor, boolean lenient) {
+            this.executor = executor;
+            this.lenient = lenient;
+        }
+
+        @Override
+        public void readElement(XMLExtendedStreamReader reader, List<ModelNode> list) throws XMLStreamException {
+            if (executor == null) {
+                while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
+                    reader.handleAny(list);
+                }
+                return;
+            }
+            ConcurrentSubsystemParser parser = new ConcurrentSubsystemParser(reader.getXMLMapper(), executor, lenient);
+            while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
+                parser.submit(reader);
+            }
+            for (Map.Entry<String, List<ModelNode>> entry : parser.complete().entrySet()) {
+                for (ModelNode op : entry.getValue()) {
+                    op.get("namespace").set(entry.getKey());
+                    list.add(op);
+                }
+            }
+        }
+    }
+
+    private static class SubsystemParser implements XMLElementReader<List<ModelNode>> {
+
+        @Override
+        public void readElement(XMLExtendedStreamReader reader, List<ModelNode> list) throws XMLStreamException {
+            ModelNode op = new ModelNode();
+            op.get("namespace").set(reader.getNamespaceURI());
+            op.get("name").set(reader.getAttributeValue(null, "name"));
+            String flag = reader.getAttributeValue("urn:test:extra", "flag");
+            if (flag != null) {
+                op.get("flag").set(flag);
+            }
+            op.get("values").setEmptyList();
+            while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
+                String value = reader.getAttributeValue(null, "value");
+                if (value == null) {
+                    throw ParseUtils.missingRequired(reader, "value");
+                }
+                op.get("values").add(value);
+                if ("urn:test:extra".equals(reader.getNamespaceURI())) {
+                    ParseUtils.requireNoContent(reader);
+                } else {
+                    op.get("text").set(reader.getElementText());
+                }
+            }
+            list.add(op);
+        }
+    }
+}
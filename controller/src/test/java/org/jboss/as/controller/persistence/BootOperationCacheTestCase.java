@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXTENSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ValueExpression;
+import org.jboss.modules.Module;
+import org.jboss.staxmapper.XMLElementReader;
+import org.jboss.staxmapper.XMLExtendedStreamReader;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that {@link XmlConfigurationPersister} only parses the configuration file when the stored boot operations are stale.
+ */
+public class BootOperationCacheTestCase {
+
+    private static final QName ROOT = new QName("urn:test:boot-cache", "server");
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private final AtomicInteger parses = new AtomicInteger();
+    private File configFile;
+    private File cacheFile;
+
+    @Before
+    public void setUp() throws Exception {
+        configFile = temp.newFile("standalone.xml");
+        cacheFile = new File(temp.getRoot(), "history/standalone.xml.bootops");
+        writeConfig("<server xmlns=\"urn:test:boot-cache\" value=\"a\"/>");
+    }
+
+    @Test
+    public void testStoredOperationsAreUsed() throws Exception {
+        List<ModelNode> parsed = load("1.0");
+        Assert.assertEquals(1, parses.get());
+        Assert.assertTrue(cacheFile.exists());
+
+        List<ModelNode> cached = load("1.0");
+        Assert.assertEquals(1, parses.get());
+        Assert.assertEquals(parsed, cached);
+        Assert.assertEquals(new ValueExpression("${test.value:a}"), cached.get(1).get("value").asExpression());
+    }
+
+    @Test
+    public void testChangedConfigurationIsParsed() throws Exception {
+        load("1.0");
+        writeConfig("<server xmlns=\"urn:test:boot-cache\" value=\"b\"/>");
+        List<ModelNode> ops = load("1.0");
+        Assert.assertEquals(2, parses.get());
+        Assert.assertEquals("${test.value:b}", ops.get(1).get("value").asExpression().getExpressionString());
+        load("1.0");
+        Assert.assertEquals(2, parses.get());
+    }
+
+    @Test
+    public void testChangedEnvironmentIsParsed() throws Exception {
+        load("1.0");
+        load("1.1");
+        Assert.assertEquals(2, parses.get());
+    }
+
+    @Test
+    public void testUnknownExtensionModuleIsNotStored() throws Exception {
+        writeConfig("<server xmlns=\"urn:test:boot-cache\" value=\"a\" extension=\"org.jboss.as.test.missing\"/>");
+        load("1.0");
+        Assert.assertFalse(cacheFile.exists());
+        load("1.0");
+        Assert.assertEquals(2, parses.get());
+    }
+
+    @Test
+    public void testCorruptCacheIsIgnored() throws Exception {
+        load("1.0");
+        Files.write(cacheFile.toPath(), new byte[] {1, 2, 3});
+        List<ModelNode> ops = load("1.0");
+        Assert.assertEquals(2, parses.get());
+        Assert.assertEquals(2, ops.size());
+    }
+
+    private void writeConfig(String content) throws Exception {
+        Files.write(configFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<ModelNode> load(String environment) throws Exception {
+        XmlConfigurationPersister persister = new XmlConfigurationPersister(configFile, ROOT, new RootParser(), null);
+        persister.setBootOperationCache(new BootOperationCache(cacheFile, Module.getBootModuleLoader(), environment));
+        return persister.load();
+    }
+
+    private class RootParser implements XMLElementReader<List<ModelNode>> {
+
+        @Override
+        public void readElement(XMLExtendedStreamReader reader, List<ModelNode> value) throws XMLStreamException {
+            parses.incrementAndGet();
+            String extension = reader.getAttributeValue(null, "extension");
+            if (extension != null) {
+                value.add(Util.createAddOperation(PathAddress.pathAddress(EXTENSION, extension)));
+            }
+            value.add(Util.createAddOperation(PathAddress.pathAddress(SUBSYSTEM, "test")));
+            ModelNode add = Util.createAddOperation(PathAddress.pathAddress(SUBSYSTEM, "test").append("child", "one"));
+            add.get("value").set(new ValueExpression("${test.value:" + reader.getAttributeValue(null, "value") + "}"));
+            value.add(add);
+            reader.discardRemainder();
+        }
+    }
+}
@@ -151,6 +151,43 @@ public class PersistanceResourceTestCase {
         checkFiles(null, "Four", "std", "Three", "Four", "Three");
     }
 
+    @Test
+    public void testCoalescedWrites() throws Exception {
+        assertFileContents(standardFile, "std");
+        ConfigurationFile configurationFile;
+        System.setProperty("jboss.config.persist-coalesce-window", "60000");
+        try {
+            configurationFile = new ConfigurationFile(standardDir, "standard.xml", null, true);
+        } finally {
+            System.clearProperty("jboss.config.persist-coalesce-window");
+        }
+        Assert.assertEquals(standardFile.getCanonicalPath(), configurationFile.getBootFile().getCanonicalPath());
+        TestConfigurationFilePersister persister = new TestConfigurationFilePersister(configurationFile);
+        configurationFile.successfulBoot();
+
+        store(persister, "One");
+        store(persister, "Two");
+        store(persister, "Three");
+        // Nothing is written until the window closes
+        checkFiles(null, "std", "std", "std", "std");
+
+        configurationFile.flushPendingWrites();
+        checkFiles(null, "Three", "std", "std", "Three", "std");
+
+        store(persister, "Four");
+        configurationFile.resetBootFile(false, null);
+        checkFiles(null, "Four", "std", "std", "Four", "std", "Three");
+
+        // Stopping writes the pending content, and a later write starts coalescing again
+        store(persister, "Five");
+        configurationFile.stopPendingWrites();
+        assertFileContents(standardFile, "Five");
+        store(persister, "Six");
+        assertFileContents(standardFile, "Five");
+        configurationFile.stopPendingWrites();
+        assertFileContents(standardFile, "Six");
+    }
+
     @Test
     public void testOtherPersistentConfigurationFile() throws Exception {
         assertFileContents(standardFile, "std");
@@ -0,0 +1,177 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that subsystem XML is only marshalled again when the subsystem changed.
+ */
+public class SubsystemFragmentCacheTestCase {
+
+    private final Map<String, Integer> invocations = new HashMap<>();
+
+    @Test
+    public void testUnchangedSubsystemsAreNotMarshalledAgain() throws Exception {
+        TestPersister persister = createPersister();
+        ModelNode model = createModel();
+
+        String first = marshal(persister, model);
+        Assert.assertEquals(1, (int) invocations.get("a"));
+        Assert.assertEquals(1, (int) invocations.get("b"));
+
+        Assert.assertEquals(first, marshal(persister, model));
+        Assert.assertEquals(1, (int) invocations.get("a"));
+        Assert.assertEquals(1, (int) invocations.get("b"));
+
+        model.get(SUBSYSTEM, "b", "value").set("changed");
+        String second = marshal(persister, model);
+        Assert.assertEquals(1, (int) invocations.get("a"));
+        Assert.assertEquals(2, (int) invocations.get("b"));
+        Assert.assertNotEquals(first, second);
+        Assert.assertEquals(marshal(createPersister(), model), second);
+    }
+
+    @Test
+    public void testAffectedSubsystemsAreInvalidated() throws Exception {
+        TestPersister persister = createPersister();
+        ModelNode model = createModel();
+
+        String first = marshal(persister, model);
+        persister.store(model, Collections.singleton(PathAddress.pathAddress(SUBSYSTEM, "a")));
+        Assert.assertEquals(2, (int) invocations.get("a"));
+        Assert.assertEquals(1, (int) invocations.get("b"));
+        Assert.assertEquals(first, marshal(persister, model));
+    }
+
+    @Test
+    public void testSameSubsystemInSeveralProfiles() throws Exception {
+        TestPersister persister = createPersister();
+        ModelNode model = createModel();
+        ModelNode other = createModel();
+        other.get(SUBSYSTEM, "a", "value").set("other");
+
+        String first = marshal(persister, model);
+        String second = marshal(persister, other);
+        Assert.assertEquals(first, marshal(persister, model));
+        Assert.assertEquals(second, marshal(persister, other));
+        Assert.assertEquals(2, (int) invocations.get("a"));
+        Assert.assertEquals(1, (int) invocations.get("b"));
+    }
+
+    private TestPersister createPersister() {
+        TestPersister persister = new TestPersister();
+        persister.registerSubsystemWriter("a", new CountingSubsystemWriter("a"));
+        persister.registerSubsystemWriter("b", new CountingSubsystemWriter("b"));
+        return persister;
+    }
+
+    private static ModelNode createModel() {
+        ModelNode model = new ModelNode();
+        model.get(SUBSYSTEM, "a", "value").set("one");
+        model.get(SUBSYSTEM, "a", "list").add("x").add("y");
+        model.get(SUBSYSTEM, "b", "value").set("two");
+        return model;
+    }
+
+    private static String marshal(AbstractConfigurationPersister persister, ModelNode model) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        persister.marshallAsXml(model, output);
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private class CountingSubsystemWriter implements XMLElementWriter<SubsystemMarshallingContext> {
+
+        private final String name;
+
+        private CountingSubsystemWriter(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void writeContent(XMLExtendedStreamWriter writer, SubsystemMarshallingContext context) throws XMLStreamException {
+            invocations.merge(name, 1, Integer::sum);
+            context.startSubsystemElement("urn:test:" + name, false);
+            ModelNode model = context.getModelNode();
+            writer.writeAttribute("value", model.get("value").asString());
+            if (model.hasDefined("list")) {
+                writer.writeStartElement("list");
+                List<String> values = new ArrayList<>();
+                for (ModelNode value : model.get("list").asList()) {
+                    values.add(value.asString());
+                }
+                writer.writeAttribute("values", values);
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    private static class TestPersister extends AbstractConfigurationPersister {
+
+        TestPersister() {
+            super((writer, context) -> {
+                writer.writeStartDocument();
+                writer.writeStartElement("root");
+                writer.writeDefaultNamespace("urn:test:root");
+                for (Property subsystem : context.getModelNode().get(SUBSYSTEM).asPropertyList()) {
+                    context.getSubsystemWriter(subsystem.getName())
+                            .writeContent(writer, new SubsystemMarshallingContext(subsystem.getValue(), writer));
+                }
+                writer.writeEndElement();
+                writer.writeEndDocument();
+            });
+        }
+
+        @Override
+        public PersistenceResource store(ModelNode model, Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
+            invalidateSubsystemFragments(affectedAddresses);
+            marshallAsXml(model, new ByteArrayOutputStream());
+            return null;
+        }
+
+        @Override
+        public List<ModelNode> load() {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link Resource.Tools#copyOnWrite(Resource)}.
+ */
+public class CopyOnWriteResourceUnitTestCase {
+
+    private static final PathElement A = PathElement.pathElement("child", "a");
+    private static final PathElement B = PathElement.pathElement("child", "b");
+    private static final PathElement C = PathElement.pathElement("grandchild", "c");
+
+    private Resource published;
+
+    @Before
+    public void setup() {
+        published = Resource.Factory.create();
+        published.getModel().get("attr").set("root");
+        published.registerChild(A, Resource.Factory.create());
+        published.registerChild(B, Resource.Factory.create());
+        published.requireChild(A).getModel().get("attr").set("a");
+        published.requireChild(B).getModel().get("attr").set("b");
+        published.requireChild(A).registerChild(C, Resource.Factory.create());
+        published.requireChild(A).requireChild(C).getModel().get("attr").set("c");
+    }
+
+    @Test
+    public void testModificationsAreNotVisibleInSource() {
+        ModelNode original = Resource.Tools.readModel(published);
+
+        Resource copy = Resource.Tools.copyOnWrite(published);
+        copy.getModel().get("attr").set("root2");
+        copy.requireChild(A).requireChild(C).getModel().get("attr").set("c2");
+        copy.requireChild(A).registerChild(PathElement.pathElement("grandchild", "d"), Resource.Factory.create());
+        copy.removeChild(B);
+
+        assertEquals(original, Resource.Tools.readModel(published));
+
+        ModelNode modified = Resource.Tools.readModel(copy);
+        assertEquals("root2", modified.get("attr").asString());
+        assertEquals("c2", modified.get("child", "a", "grandchild", "c", "attr").asString());
+        assertTrue(modified.get("child", "a", "grandchild").has("d"));
+        assertFalse(modified.get("child").has("b"));
+    }
+
+    @Test
+    public void testUntouchedChildrenAreShared() {
+        Resource copy = Resource.Tools.copyOnWrite(published);
+        copy.requireChild(A).getModel().get("attr").set("a2");
+        Resource.Tools.seal(copy);
+
+        // Navigated children were copied, the others are shared
+        assertNotSame(published.requireChild(A), copy.requireChild(A));
+        assertSame(published.requireChild(B), copy.requireChild(B));
+        assertSame(published.requireChild(A).requireChild(C), copy.requireChild(A).requireChild(C));
+    }
+
+    @Test
+    public void testReadModelDoesNotCopy() {
+        Resource copy = Resource.Tools.copyOnWrite(published);
+        assertEquals(Resource.Tools.readModel(published), Resource.Tools.readModel(copy));
+        Resource.Tools.seal(copy);
+
+        assertSame(published.requireChild(A), copy.requireChild(A));
+        assertSame(published.requireChild(B), copy.requireChild(B));
+    }
+
+    @Test
+    public void testCopyOfCopy() {
+        Resource first = Resource.Tools.copyOnWrite(published);
+        first.requireChild(A).getModel().get("attr").set("a2");
+        Resource.Tools.seal(first);
+
+        Resource second = Resource.Tools.copyOnWrite(first);
+        second.requireChild(B).getModel().get("attr").set("b2");
+        second.requireChild(A).removeChild(C);
+
+        assertEquals("a", published.requireChild(A).getModel().get("attr").asString());
+        assertEquals("a2", first.requireChild(A).getModel().get("attr").asString());
+        assertEquals("b", first.requireChild(B).getModel().get("attr").asString());
+        assertEquals("c", first.requireChild(A).requireChild(C).getModel().get("attr").asString());
+        assertEquals("b2", second.requireChild(B).getModel().get("attr").asString());
+        assertNull(second.requireChild(A).getChild(C));
+    }
+
+    @Test
+    public void testCloneOfCopyIsIndependent() {
+        Resource copy = Resource.Tools.copyOnWrite(published);
+        Resource clone = copy.clone();
+        clone.requireChild(B).getModel().get("attr").set("b2");
+
+        assertEquals("b", copy.requireChild(B).getModel().get("attr").asString());
+        assertEquals("b", published.requireChild(B).getModel().get("attr").asString());
+    }
+}
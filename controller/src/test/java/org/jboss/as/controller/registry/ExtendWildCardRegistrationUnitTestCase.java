@@ -333,6 +333,24 @@ public class ExtendWildCardRegistrationUnitTestCase {
         assertNull(childExtReg.getOperationHandler(PathAddress.EMPTY_ADDRESS, "na"));
     }
 
+    @Test
+    public void testChildOperationDescriptionsMergeWildcardAndExtension() throws Exception {
+        // Both parent=* and parent=ext are searched from the same position in the address
+        PathAddress address = PathAddress.pathAddress(parentExt, childExt);
+        Set<String> ops = registration.getOperationDescriptions(address, false).keySet();
+        assertTrue(ops.contains("wildOp"));
+        assertTrue(ops.contains("extOp"));
+        assertSame(childExtOverrideOp, registration.getOperationDescriptions(address, false).get("overrideOp").getOperationHandler());
+
+        // A miss in the parent=ext branch must not disturb the subsequent parent=* search
+        address = PathAddress.pathAddress(parentExt, childWildExt);
+        ops = registration.getOperationDescriptions(address, false).keySet();
+        assertTrue(ops.contains("wildExtOp"));
+        assertTrue(ops.contains("wildOp"));
+        assertFalse(ops.contains("extOp"));
+        assertSame(childWildExtOp, registration.getOperationHandler(address, "wildExtOp"));
+    }
+
     @Test
     public void testDuplicateSubModel() {
         try {
@@ -0,0 +1,149 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.jboss.as.controller.client.impl.ModelControllerProtocol;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Test case for the compression of management payloads.
+ */
+public class PayloadCompressionTestCase {
+
+    @Test
+    public void testCompressedPayload() throws Exception {
+        final ModelNode node = createModel(500);
+        final PayloadCompression sender = new PayloadCompression(1024);
+        final PayloadCompression receiver = new PayloadCompression(1024);
+
+        final byte[] bytes = write(sender, node);
+        assertEquals(ModelControllerProtocol.PARAM_COMPRESSED_PAYLOAD, bytes[0]);
+        assertEquals(node, read(receiver, bytes));
+
+        assertTrue(sender.getTransferredBytesSent() < sender.getPayloadBytesSent());
+        assertEquals(sender.getPayloadBytesSent(), receiver.getPayloadBytesReceived());
+        assertEquals(sender.getTransferredBytesSent(), receiver.getTransferredBytesReceived());
+        assertEquals(sender.getTransferredBytesSent() + 9, bytes.length);
+    }
+
+    @Test
+    public void testPayloadBelowThreshold() throws Exception {
+        final ModelNode node = createModel(1);
+        final PayloadCompression sender = new PayloadCompression(1024);
+        final PayloadCompression receiver = new PayloadCompression(1024);
+
+        final byte[] bytes = write(sender, node);
+        assertEquals(ModelControllerProtocol.PARAM_UNCOMPRESSED_PAYLOAD, bytes[0]);
+        assertEquals(node, read(receiver, bytes));
+        assertEquals(sender.getPayloadBytesSent(), sender.getTransferredBytesSent());
+        assertEquals(sender.getPayloadBytesSent(), receiver.getTransferredBytesReceived());
+    }
+
+    @Test
+    public void testCompressionDisabled() throws Exception {
+        final ModelNode node = createModel(500);
+        final PayloadCompression sender = new PayloadCompression(-1);
+
+        final byte[] bytes = write(sender, node);
+        assertEquals(ModelControllerProtocol.PARAM_UNCOMPRESSED_PAYLOAD, bytes[0]);
+        assertEquals(node, read(new PayloadCompression(1024), bytes));
+    }
+
+    @Test
+    public void testWithoutCompression() throws Exception {
+        final ModelNode node = createModel(500);
+        final byte[] bytes = write(null, node);
+
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(expected)) {
+            node.writeExternal(out);
+        }
+        assertEquals(expected.size(), bytes.length);
+        assertEquals(node, read(null, bytes));
+    }
+
+    @Test
+    public void testInvalidLength() throws Exception {
+        final PayloadCompression receiver = new PayloadCompression(1024);
+        for (int length : new int[] {-1, Integer.MAX_VALUE}) {
+            assertInvalid(receiver, ModelControllerProtocol.PARAM_UNCOMPRESSED_PAYLOAD, length);
+            assertInvalid(receiver, ModelControllerProtocol.PARAM_COMPRESSED_PAYLOAD, length, 10);
+            assertInvalid(receiver, ModelControllerProtocol.PARAM_COMPRESSED_PAYLOAD, 10, length);
+        }
+    }
+
+    private static void assertInvalid(final PayloadCompression compression, final byte type, final int... lengths) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(type);
+            for (int length : lengths) {
+                out.writeInt(length);
+            }
+            out.write(new byte[10]);
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            PayloadCompression.readModelNode(compression, in);
+            fail("The payload length should have been rejected");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("WFLYCTL0497"));
+        }
+    }
+
+    private static ModelNode createModel(final int children) {
+        final ModelNode node = new ModelNode();
+        for (int i = 0; i < children; i++) {
+            final ModelNode child = node.get("server-group", "group-" + i);
+            child.get("profile").set("default");
+            child.get("socket-binding-group").set("standard-sockets");
+            child.get("management-subsystem-endpoint").set(false);
+        }
+        return node;
+    }
+
+    private static byte[] write(final PayloadCompression compression, final ModelNode node) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            PayloadCompression.writeModelNode(compression, node, out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ModelNode read(final PayloadCompression compression, final byte[] bytes) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            final ModelNode node = PayloadCompression.readModelNode(compression, in);
+            assertEquals(-1, in.read());
+            return node;
+        }
+    }
+}
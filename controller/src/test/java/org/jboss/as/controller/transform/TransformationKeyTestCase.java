@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.transform;
+
+import java.util.Collections;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.PathAddress;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link TransformationTarget#getTransformationKey()}.
+ */
+public class TransformationKeyTestCase {
+
+    private final TransformerRegistry registry = TransformerRegistry.Factory.create();
+
+    @Test
+    public void testSameVersionSharesKey() {
+        final TransformationTarget a = create("a", ModelVersion.create(4, 0), Transformers.OperationExcludedTransformationRegistry.DEFAULT);
+        final TransformationTarget b = create("b", ModelVersion.create(4, 0), Transformers.OperationExcludedTransformationRegistry.DEFAULT);
+        Assert.assertNotNull(a.getTransformationKey());
+        Assert.assertEquals(a.getTransformationKey(), b.getTransformationKey());
+        Assert.assertEquals(a.getTransformationKey().hashCode(), b.getTransformationKey().hashCode());
+    }
+
+    @Test
+    public void testVersionsDiffer() {
+        final TransformationTarget a = create("a", ModelVersion.create(4, 0), Transformers.OperationExcludedTransformationRegistry.DEFAULT);
+        final TransformationTarget b = create("b", ModelVersion.create(5, 0), Transformers.OperationExcludedTransformationRegistry.DEFAULT);
+        Assert.assertNotEquals(a.getTransformationKey(), b.getTransformationKey());
+    }
+
+    @Test
+    public void testSubsystemVersionsDiffer() {
+        final TransformationTarget a = create("a", ModelVersion.create(4, 0), Transformers.OperationExcludedTransformationRegistry.DEFAULT);
+        final TransformationTarget b = create("b", ModelVersion.create(4, 0), Transformers.OperationExcludedTransformationRegistry.DEFAULT);
+        a.addSubsystemVersion("test", ModelVersion.create(1, 0));
+        Assert.assertNotEquals(a.getTransformationKey(), b.getTransformationKey());
+        b.addSubsystemVersion("test", ModelVersion.create(1, 0));
+        Assert.assertEquals(a.getTransformationKey(), b.getTransformationKey());
+    }
+
+    @Test
+    public void testExcludingTargetIsNotShared() {
+        final TransformationTarget target = create("a", ModelVersion.create(4, 0), (address, operationName) -> false);
+        Assert.assertNull(target.getTransformationKey());
+    }
+
+    private TransformationTarget create(final String host, final ModelVersion version,
+                                        final Transformers.OperationExcludedTransformationRegistry excluded) {
+        return TransformationTargetImpl.createForHost(host, registry, version, Collections.<PathAddress, ModelVersion>emptyMap(), excluded);
+    }
+}
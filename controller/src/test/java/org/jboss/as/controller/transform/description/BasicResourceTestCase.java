@@ -335,6 +335,29 @@ public class BasicResourceTestCase {
         Assert.assertFalse(op.rejectOperation(success()));
     }
 
+    @Test
+    public void testUntransformedOperation() throws Exception {
+        final ModelNode untouched = new ModelNode();
+        untouched.get(ModelDescriptionConstants.OP).set("add");
+        untouched.get(ModelDescriptionConstants.OP_ADDR).add("other", "resource");
+
+        final ModelNode rejected = new ModelNode();
+        rejected.get(ModelDescriptionConstants.OP).set("add");
+        rejected.get(ModelDescriptionConstants.OP_ADDR).add("toto", "testSubsystem");
+        rejected.get("test").set("${one:two}");
+
+        Assert.assertTrue(transformOperation(ModelVersion.create(1), untouched.clone()).isUntransformed());
+        Assert.assertFalse(transformOperation(ModelVersion.create(1), rejected.clone()).isUntransformed());
+
+        final ModelNode composite = new ModelNode();
+        composite.get(ModelDescriptionConstants.OP).set(COMPOSITE);
+        composite.get(ModelDescriptionConstants.OP_ADDR).setEmptyList();
+        composite.get(ModelDescriptionConstants.STEPS).add(untouched.clone());
+        Assert.assertTrue(transformOperation(ModelVersion.create(1), composite.clone()).isUntransformed());
+        composite.get(ModelDescriptionConstants.STEPS).add(rejected.clone());
+        Assert.assertFalse(transformOperation(ModelVersion.create(1), composite.clone()).isUntransformed());
+    }
+
     @Test
     public void testWriteAttribute() throws Exception {
 
@@ -27,6 +27,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.PrivilegedAction;
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceTarget;
 import org.jboss.vfs.VirtualFile;
@@ -34,6 +35,7 @@ import org.jboss.vfs.VirtualFile;
 import static java.lang.Long.getLong;
 import static java.security.AccessController.doPrivileged;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
@@ -76,6 +78,24 @@ public interface ContentRepository {
      */
     byte[] addContent(InputStream stream) throws IOException;
 
+    /**
+     * Add the content of a file whose hash is already known, such as a deployment assembled from uploaded chunks, to
+     * the repository. The file is moved into the repository where possible and must not be used afterwards.
+     *
+     * @param file the file holding the content. Cannot be {@code null}
+     * @param hash the SHA-1 hash of the file content. Cannot be {@code null}
+     * @return the hash of the content that will be used as an internal identifier for the content. Will not be
+     * {@code null}
+     * @throws IOException if there is a problem reading or moving the file
+     */
+    default byte[] addContent(Path file, byte[] hash) throws IOException {
+        try (InputStream stream = Files.newInputStream(file)) {
+            return addContent(stream);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
     /**
      * Adds a reference to the content.
      *
@@ -153,6 +173,19 @@ public interface ContentRepository {
         return Collections.emptyList();
     }
 
+    /**
+     * Lists the files of exploded content with the SHA-1 hash of each, so that a client can compare them with its own
+     * files and only send the ones that differ.
+     *
+     * @param deploymentHash the hash of the exploded content.
+     * @return the hash of each file, by path relative to the content root with '/' as separator.
+     * @throws ExplodedContentException if the content is not exploded or could not be read, or if this repository
+     * cannot list the files of exploded content.
+     */
+    default Map<String, byte[]> getExplodedContentManifest(byte[] deploymentHash) throws ExplodedContentException {
+        throw DeploymentRepositoryLogger.ROOT_LOGGER.explodedContentManifestNotSupported();
+    }
+
     default void readWrite() {
     }
 
@@ -162,6 +195,61 @@ public interface ContentRepository {
     default void flush(boolean success) {
     }
 
+    /**
+     * Gets the number of bytes of content written to the repository by {@link #addContent(InputStream)}.
+     *
+     * @return the number of bytes, or {@code 0} if the repository does not track it
+     */
+    default long getIngestedBytes() {
+        return 0;
+    }
+
+    /**
+     * Gets the average rate at which {@link #addContent(InputStream)} has written content to the repository.
+     *
+     * @return the rate in bytes per second, or {@code 0} if no content has been written or the repository does not
+     * track it
+     */
+    default long getIngestionRate() {
+        return 0;
+    }
+
+    /**
+     * Gets the number of content items in the repository.
+     *
+     * @return the number of content items, or {@code 0} if the repository does not track it
+     */
+    default int getContentCount() {
+        return 0;
+    }
+
+    /**
+     * Gets the total size of the content in the repository.
+     *
+     * @return the size in bytes, or {@code 0} if the repository does not track it
+     */
+    default long getContentBytes() {
+        return 0;
+    }
+
+    /**
+     * Gets the number of bytes freed by removing content from the repository.
+     *
+     * @return the number of bytes, or {@code 0} if the repository does not track it
+     */
+    default long getReclaimedBytes() {
+        return 0;
+    }
+
+    /**
+     * Gets how long the last {@link #cleanObsoleteContent()} pass took.
+     *
+     * @return the duration in milliseconds, or {@code 0} if no pass has run or the repository does not track it
+     */
+    default long getLastCleanDuration() {
+        return 0;
+    }
+
     /**
      * Clean content that is not referenced from the repository.
      *
@@ -30,21 +30,32 @@ import static org.jboss.as.repository.PathUtil.getFileExtension;
 import static org.jboss.as.repository.PathUtil.isArchive;
 import static org.jboss.as.repository.PathUtil.resolveSecurely;
 
-import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
 import java.security.DigestOutputStream;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
 import org.jboss.vfs.VFS;
@@ -67,12 +78,44 @@ import org.wildfly.common.Assert;
 public class ContentRepositoryImpl implements ContentRepository {
 
     protected static final String CONTENT = "content";
+    private static final int EXPLODED_MANIFEST_CACHE_SIZE = 16;
+    private static final int FULL_WALK_PASSES = 12;
     private final File repoRoot;
     private final File tmpRoot;
+    /**
+     * @deprecated each operation now hashes with its own digest; this one is no longer used and will be removed.
+     */
+    @Deprecated
     protected final MessageDigest messageDigest;
+    /**
+     * Reads the files of exploded content ahead of the thread hashing it; its threads stop when idle. Created on first
+     * use and shut down when the repository is made read only.
+     */
+    private ThreadPoolExecutor hashingExecutor;
+    private final LongAdder ingestedBytes = new LongAdder();
+    private final LongAdder ingestionNanos = new LongAdder();
     private final Map<String, Set<ContentReference>> contentHashReferences = new HashMap<>();
     private final Map<String, ReentrantLock> lockedContents = new HashMap<>();
     private final Map<String, Long> obsoleteContents = new HashMap<>();
+    // The following are protected by contentHashReferences
+    /** Size in bytes of each content item known to be in the repository, by hex hash */
+    private final Map<String, Long> localContents = new HashMap<>();
+    /** Stored content that had no reference when last seen, the only content a cleaning pass has to look at */
+    private final Map<String, ContentReference> unreferencedContents = new HashMap<>();
+    private long localContentBytes;
+    /** Whether the content stored before this instance was created has been listed */
+    private boolean localContentsListed;
+    /** Number of cleaning passes run, used to walk the content directory again from time to time */
+    private int cleanPasses;
+    private final LongAdder reclaimedBytes = new LongAdder();
+    private volatile long lastCleanDuration;
+    /** Per file hashes of recently used exploded content, by content hash; protected by itself */
+    private final Map<String, Map<String, byte[]>> explodedManifests = new LinkedHashMap<String, Map<String, byte[]>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Map<String, byte[]>> eldest) {
+            return size() > EXPLODED_MANIFEST_CACHE_SIZE;
+        }
+    };
     private final long obsolescenceTimeout;
     private final long lockTimeout;
     private volatile boolean readWrite = false;
@@ -86,11 +129,22 @@ public class ContentRepositoryImpl implements ContentRepository {
         this.tmpRoot = tmpRoot;
         this.obsolescenceTimeout = obsolescenceTimeout;
         this.lockTimeout = lockTimeout;
-        try {
-            this.messageDigest = MessageDigest.getInstance("SHA-1");
-        } catch (NoSuchAlgorithmException e) {
-            throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
+        // Also fails early if SHA-1 is not available
+        this.messageDigest = HashUtil.newSha1Digest();
+    }
+
+    private synchronized ThreadPoolExecutor getHashingExecutor() {
+        if (hashingExecutor == null) {
+            final int hashingThreads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+            final AtomicInteger threadCount = new AtomicInteger();
+            hashingExecutor = new ThreadPoolExecutor(hashingThreads, hashingThreads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, "content-repository-hashing-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            hashingExecutor.allowCoreThreadTimeOut(true);
         }
+        return hashingExecutor;
     }
 
     private void checkDirectory(final File directory) {
@@ -113,34 +167,55 @@ public class ContentRepositoryImpl implements ContentRepository {
     @Override
     public void readOnly() {
         this.readWrite = false;
+        synchronized (this) {
+            if (hashingExecutor != null) {
+                // A hash in progress reads its remaining files itself
+                hashingExecutor.shutdown();
+                hashingExecutor = null;
+            }
+        }
     }
 
     @Override
     public byte[] addContent(InputStream stream) throws IOException {
         byte[] sha1Bytes;
         Path tmp = File.createTempFile(CONTENT, ".tmp", repoRoot).toPath();
+        final MessageDigest messageDigest = HashUtil.newSha1Digest();
         if (stream != null) {
-            try (OutputStream fos = Files.newOutputStream(tmp)) {
-                synchronized (messageDigest) {
-                    messageDigest.reset();
+            final long start = System.nanoTime();
+            long size = 0;
+            if (stream.getClass() == FileInputStream.class) {
+                // Let the file system copy the file, then hash the copy
+                final FileChannel in = ((FileInputStream) stream).getChannel();
+                try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                    final long count = in.size() - in.position();
+                    long transferred;
+                    while (size < count && (transferred = out.transferFrom(in, size, count - size)) > 0) {
+                        size += transferred;
+                    }
+                }
+                sha1Bytes = HashUtil.hashFileContent(messageDigest, tmp);
+            } else {
+                try (OutputStream fos = Files.newOutputStream(tmp)) {
                     DigestOutputStream dos = new DigestOutputStream(fos, messageDigest);
-                    BufferedInputStream bis = new BufferedInputStream(stream);
                     byte[] bytes = new byte[8192];
                     int read;
-                    while ((read = bis.read(bytes)) > -1) {
+                    while ((read = stream.read(bytes)) > -1) {
                         dos.write(bytes, 0, read);
+                        size += read;
                     }
                     fos.flush();
                 }
                 sha1Bytes = messageDigest.digest();
             }
+            final long elapsed = System.nanoTime() - start;
+            ingestedBytes.add(size);
+            ingestionNanos.add(elapsed);
+            DeploymentRepositoryLogger.ROOT_LOGGER.debugf("Wrote %d bytes of content in %d ms", size, TimeUnit.NANOSECONDS.toMillis(elapsed));
         } else {//create a directory instead
             Files.delete(tmp);
             Files.createDirectory(tmp);
-            synchronized (messageDigest) {
-                messageDigest.reset();
-                sha1Bytes = HashUtil.hashPath(messageDigest, tmp);
-            }
+            sha1Bytes = HashUtil.hashPath(messageDigest, tmp);
         }
         final Path realFile = getDeploymentContentFile(sha1Bytes, true);
         if (hasContent(sha1Bytes)) {
@@ -159,6 +234,48 @@ public class ContentRepositoryImpl implements ContentRepository {
         return sha1Bytes;
     }
 
+    @Override
+    public byte[] addContent(Path file, byte[] hash) throws IOException {
+        Assert.checkNotNullParam("file", file);
+        Assert.checkNotNullParam("hash", hash);
+        final Path realFile = getDeploymentContentFile(hash, true);
+        if (hasContent(hash)) {
+            // we've already got this content
+            try {
+                deleteRecursively(file);
+            } catch (IOException ioex) {
+                DeploymentRepositoryLogger.ROOT_LOGGER.cannotDeleteTempFile(ioex, file.toAbsolutePath().toString());
+                file.toFile().deleteOnExit();
+            }
+            DeploymentRepositoryLogger.ROOT_LOGGER.debugf("Content was already present in repository at location %s", realFile.toAbsolutePath().toString());
+        } else {
+            moveTempToPermanent(file, realFile);
+            DeploymentRepositoryLogger.ROOT_LOGGER.contentAdded(realFile.toAbsolutePath().toString());
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the number of bytes of content written to the repository by {@link #addContent(InputStream)}.
+     *
+     * @return the number of bytes
+     */
+    @Override
+    public long getIngestedBytes() {
+        return ingestedBytes.sum();
+    }
+
+    /**
+     * Gets the average rate at which {@link #addContent(InputStream)} has written content to the repository.
+     *
+     * @return the rate in bytes per second, or {@code 0} if no content has been written
+     */
+    @Override
+    public long getIngestionRate() {
+        final long nanos = ingestionNanos.sum();
+        return nanos == 0 ? 0 : (long) (ingestedBytes.sum() / (nanos / 1_000_000_000d));
+    }
+
     @Override
     public void addContentReference(ContentReference reference) {
         if(!this.readWrite) {
@@ -171,6 +288,8 @@ public class ContentRepositoryImpl implements ContentRepository {
                 contentHashReferences.put(reference.getHexHash(), references);
             }
             references.add(reference);
+            unreferencedContents.remove(reference.getHexHash());
+            obsoleteContents.remove(reference.getHexHash());
         }
     }
 
@@ -239,6 +358,7 @@ public class ContentRepositoryImpl implements ContentRepository {
         Path localTmp = permanentFile.resolveSibling("tmp");
         try {
             Files.move(tmpFile, permanentFile);
+            contentStored(permanentFile);
         } catch (IOException ioex) {
             // AS7-3574. Try to avoid writing the permanent file bit by bit in we crash in the middle.
             // Copy tmpFile to another tmpfile in the same dir as the permanent file (and thus same filesystem)
@@ -255,6 +375,7 @@ public class ContentRepositoryImpl implements ContentRepository {
                     throw e;
                 }
             }
+            contentStored(permanentFile);
         } finally {
             try {
                 deleteRecursively(tmpFile);
@@ -271,6 +392,70 @@ public class ContentRepositoryImpl implements ContentRepository {
         }
     }
 
+    /**
+     * Records new content, so that the cleaner looks at it if it does not get referenced.
+     *
+     * @param contentFile the {@link #CONTENT} file or directory of the stored content
+     */
+    private void contentStored(Path contentFile) {
+        final Path hashDir = contentFile.getParent();
+        final String hexHash = hashDir.getParent().getFileName().toString() + hashDir.getFileName().toString();
+        final long size = getContentSize(contentFile);
+        synchronized (contentHashReferences) {
+            final Long previous = localContents.put(hexHash, size);
+            localContentBytes += size - (previous == null ? 0 : previous);
+            if (!contentHashReferences.containsKey(hexHash)) {
+                unreferencedContents.put(hexHash, new ContentReference(hashDir.toAbsolutePath().toString(), hexHash));
+            }
+        }
+    }
+
+    /**
+     * Records the removal of content from the repository.
+     *
+     * @param hexHash the hash of the content
+     * @param size the size of the content, used if it was not recorded yet
+     */
+    private void contentRemoved(String hexHash, long size) {
+        synchronized (contentHashReferences) {
+            final Long recorded = localContents.remove(hexHash);
+            if (recorded != null) {
+                size = recorded;
+                localContentBytes -= recorded;
+            }
+            unreferencedContents.remove(hexHash);
+            obsoleteContents.remove(hexHash);
+        }
+        reclaimedBytes.add(size);
+    }
+
+    /**
+     * Queues content that could not be removed, so that a later cleaning pass tries again if it is still unreferenced.
+     *
+     * @param reference the content
+     */
+    private void contentRemovalFailed(ContentReference reference) {
+        synchronized (contentHashReferences) {
+            if (!contentHashReferences.containsKey(reference.getHexHash())) {
+                unreferencedContents.put(reference.getHexHash(), reference);
+            }
+        }
+    }
+
+    private static long getContentSize(Path contentFile) {
+        try {
+            if (Files.isDirectory(contentFile)) {
+                try (Stream<Path> files = Files.walk(contentFile)) {
+                    return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+                }
+            }
+            return Files.exists(contentFile) ? Files.size(contentFile) : 0L;
+        } catch (IOException | UncheckedIOException ex) {
+            DeploymentRepositoryLogger.ROOT_LOGGER.debugf(ex, "Cannot compute the size of %s", contentFile);
+            return 0L;
+        }
+    }
+
     @Override
     public void removeContent(ContentReference reference) {
         if(!this.readWrite) {
@@ -296,15 +481,24 @@ public class ContentRepositoryImpl implements ContentRepository {
             if (HashUtil.isEachHexHashInTable(reference.getHexHash()) && this.readWrite) { //Otherwise this is not a deployment content
                 if(!lock(reference.getHash())) {
                     DeploymentRepositoryLogger.ROOT_LOGGER.contentDeletionError(DeploymentRepositoryLogger.ROOT_LOGGER.errorLockingDeployment(), contentPath.toString());
+                    contentRemovalFailed(reference);
                     return;
                 }
             }
-            deleteRecursively(contentPath);
+            if (HashUtil.isEachHexHashInTable(reference.getHexHash())) {
+                final long size = getContentSize(contentPath);
+                deleteRecursively(contentPath);
+                contentRemoved(reference.getHexHash(), size);
+            } else {
+                deleteRecursively(contentPath);
+            }
         } catch (IOException ex) {
             DeploymentRepositoryLogger.ROOT_LOGGER.contentDeletionError(ex, contentPath.toString());
+            contentRemovalFailed(reference);
         } catch (InterruptedException ex) {
             Thread.interrupted();
             DeploymentRepositoryLogger.ROOT_LOGGER.contentDeletionError(ex, contentPath.toString());
+            contentRemovalFailed(reference);
         } finally {
             if (HashUtil.isEachHexHashInTable(reference.getHexHash())) {
                 unlock(reference.getHash());
@@ -332,6 +526,12 @@ public class ContentRepositoryImpl implements ContentRepository {
     /**
      * Clean obsolete contents from the content repository. It will first mark contents as obsolete then after some time
      * if these contents are still obsolete they will be removed.
+     * <p>
+     * The content directory is walked by the first pass and then every {@value #FULL_WALK_PASSES} passes, which picks up
+     * content changed behind the repository, such as content restored by a rollback of the configuration history.
+     * Other passes only look at the content that was stored or lost its references since, as tracked by
+     * {@link #addContent(InputStream)}, {@link #addContentReference(ContentReference)} and
+     * {@link #removeContent(ContentReference)}.
      *
      * @return a map containing the list of marked contents and the list of deleted contents.
      */
@@ -340,12 +540,16 @@ public class ContentRepositoryImpl implements ContentRepository {
         if(!readWrite) {
             return Collections.emptyMap();
         }
+        final long start = System.nanoTime();
         Map<String, Set<String>> cleanedContents = new HashMap<>(2);
         cleanedContents.put(MARKED_CONTENT, new HashSet<>());
         cleanedContents.put(DELETED_CONTENT, new HashSet<>());
         synchronized (contentHashReferences) {
             DeploymentRepositoryLogger.ROOT_LOGGER.debug("Current content hash references are "+contentHashReferences);
-            for (ContentReference fsContent : listLocalContents()) {
+            if (!localContentsListed || ++cleanPasses % FULL_WALK_PASSES == 0) {
+                listLocalContents(true);
+            }
+            for (ContentReference fsContent : new ArrayList<>(unreferencedContents.values())) {
                 if (!readWrite) {
                     return Collections.emptyMap();
                 }
@@ -356,13 +560,110 @@ public class ContentRepositoryImpl implements ContentRepository {
                         cleanedContents.get(MARKED_CONTENT).add(fsContent.getContentIdentifier());
                     }
                 } else {
+                    unreferencedContents.remove(fsContent.getHexHash());
                     obsoleteContents.remove(fsContent.getHexHash()); //Remove existing references from obsoleteContents
                 }
             }
         }
+        lastCleanDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        DeploymentRepositoryLogger.ROOT_LOGGER.debugf("Cleaned obsolete content in %d ms, %d content items marked and %d removed",
+                lastCleanDuration, cleanedContents.get(MARKED_CONTENT).size(), cleanedContents.get(DELETED_CONTENT).size());
         return cleanedContents;
     }
 
+    /**
+     * Records the content stored before this instance was created. Invoke with the contentHashReferences monitor held.
+     */
+    private void listLocalContentsOnce() {
+        if (!localContentsListed) {
+            listLocalContents(false);
+        }
+    }
+
+    /**
+     * Walks the content directory and records the content found there. Invoke with the contentHashReferences monitor
+     * held.
+     *
+     * @param forget whether to also forget the recorded content that is no longer in the directory
+     */
+    private void listLocalContents(boolean forget) {
+        final Set<String> found = new HashSet<>();
+        for (ContentReference fsContent : listLocalContents()) {
+            final String hexHash = fsContent.getHexHash();
+            final Path contentFile = Paths.get(fsContent.getContentIdentifier()).resolve(CONTENT);
+            if (Files.exists(contentFile)) {
+                found.add(hexHash);
+                if (!localContents.containsKey(hexHash)) {
+                    final long size = getContentSize(contentFile);
+                    localContents.put(hexHash, size);
+                    localContentBytes += size;
+                }
+            }
+            if (!contentHashReferences.containsKey(hexHash)) {
+                unreferencedContents.putIfAbsent(hexHash, fsContent);
+            }
+        }
+        if (forget) {
+            final Iterator<Map.Entry<String, Long>> iterator = localContents.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<String, Long> entry = iterator.next();
+                if (!found.contains(entry.getKey())) {
+                    localContentBytes -= entry.getValue();
+                    unreferencedContents.remove(entry.getKey());
+                    obsoleteContents.remove(entry.getKey());
+                    iterator.remove();
+                }
+            }
+        }
+        localContentsListed = true;
+    }
+
+    /**
+     * Gets the number of content items in the repository.
+     *
+     * @return the number of content items
+     */
+    @Override
+    public int getContentCount() {
+        synchronized (contentHashReferences) {
+            listLocalContentsOnce();
+            return localContents.size();
+        }
+    }
+
+    /**
+     * Gets the total size of the content in the repository.
+     *
+     * @return the size in bytes
+     */
+    @Override
+    public long getContentBytes() {
+        synchronized (contentHashReferences) {
+            listLocalContentsOnce();
+            return localContentBytes;
+        }
+    }
+
+    /**
+     * Gets the number of bytes freed by removing content from the repository.
+     *
+     * @return the number of bytes
+     */
+    @Override
+    public long getReclaimedBytes() {
+        return reclaimedBytes.sum();
+    }
+
+    /**
+     * Gets how long the last {@link #cleanObsoleteContent()} pass took.
+     *
+     * @return the duration in milliseconds, or {@code 0} if no pass has run
+     */
+    @Override
+    public long getLastCleanDuration() {
+        return lastCleanDuration;
+    }
+
     /**
      * Mark content as obsolete. If content was already marked for obsolescenceTimeout ms then it is removed.
      *
@@ -421,7 +722,7 @@ public class ContentRepositoryImpl implements ContentRepository {
             Path tmp = createTempDirectory(repoRoot.toPath(), CONTENT);
             Path contentDir = Files.createDirectory(tmp.resolve(CONTENT));
             unzip(contentPath, contentDir);
-            byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+            byte[] sha1Bytes = HashUtil.hashPath(HashUtil.newSha1Digest(), contentDir, getHashingExecutor());
             final Path realFile = getDeploymentContentFile(sha1Bytes, true);
             if (hasContent(sha1Bytes)) {
                 // we've already got this content
@@ -464,7 +765,7 @@ public class ContentRepositoryImpl implements ContentRepository {
                     deleteRecursively(targetPath);
                 }
                 unzip(sourcePath, targetPath);
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                byte[] sha1Bytes = HashUtil.hashPath(HashUtil.newSha1Digest(), contentDir, getHashingExecutor());
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -613,6 +914,8 @@ public class ContentRepositoryImpl implements ContentRepository {
                 Path tmp = createTempDirectory(repoRoot.toPath(), CONTENT);
                 Path contentDir = tmp.resolve(CONTENT);
                 copyRecursively(contentPath, contentDir, overwrite);
+                // the added files are hashed while they are written, to update the manifest of the content
+                final Map<String, byte[]> addedHashes = new HashMap<>();
                 for (ExplodedContent newContent : addFiles) {
                     Path targetFile = resolveSecurely(contentDir, newContent.getRelativePath());
                     if (!Files.exists(targetFile)) {
@@ -622,15 +925,19 @@ public class ContentRepositoryImpl implements ContentRepository {
                         if(in == null) {
                             Files.createDirectory(targetFile);
                         } else {
+                            final MessageDigest digest = HashUtil.newSha1Digest();
+                            final InputStream digestIn = new DigestInputStream(in, digest);
                             if(overwrite) {
-                                Files.copy(in, targetFile, StandardCopyOption.REPLACE_EXISTING);
+                                Files.copy(digestIn, targetFile, StandardCopyOption.REPLACE_EXISTING);
                             } else {
-                                Files.copy(in, targetFile);
+                                Files.copy(digestIn, targetFile);
                             }
+                            addedHashes.put(getManifestPath(contentDir, targetFile), digest.digest());
                         }
                     }
                 }
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                byte[] sha1Bytes = HashUtil.hashPath(HashUtil.newSha1Digest(), contentDir, getHashingExecutor());
+                deriveExplodedManifest(deploymentHash, sha1Bytes, manifest -> manifest.putAll(addedHashes));
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -663,11 +970,14 @@ public class ContentRepositoryImpl implements ContentRepository {
                 Path tmp = createTempDirectory(repoRoot.toPath(), CONTENT);
                 Path contentDir = tmp.resolve(CONTENT).toAbsolutePath();
                 copyRecursively(contentPath, contentDir, false);
+                final List<String> removedPaths = new ArrayList<>(paths.size());
                 for (String path : paths) {
                     Path targetFile = resolveSecurely(contentDir, path);
                     deleteFileWithEmptyAncestorDirectories(targetFile);
+                    removedPaths.add(getManifestPath(contentDir, targetFile));
                 }
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                byte[] sha1Bytes = HashUtil.hashPath(HashUtil.newSha1Digest(), contentDir, getHashingExecutor());
+                deriveExplodedManifest(deploymentHash, sha1Bytes, manifest -> manifest.keySet().removeAll(removedPaths));
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -691,4 +1001,56 @@ public class ContentRepositoryImpl implements ContentRepository {
             throw DeploymentRepositoryLogger.ROOT_LOGGER.errorUpdatingDeployment(ex);
         }
     }
+
+    @Override
+    public Map<String, byte[]> getExplodedContentManifest(byte[] deploymentHash) throws ExplodedContentException {
+        final String hexHash = HashUtil.bytesToHexString(deploymentHash);
+        synchronized (explodedManifests) {
+            final Map<String, byte[]> manifest = explodedManifests.get(hexHash);
+            if (manifest != null) {
+                return manifest;
+            }
+        }
+        final Path contentPath = getDeploymentContentFile(deploymentHash);
+        if (!Files.isDirectory(contentPath)) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.notExplodedContent(contentPath.toString());
+        }
+        final Map<String, byte[]> manifest = new HashMap<>();
+        final MessageDigest digest = HashUtil.newSha1Digest();
+        try (Stream<Path> files = Files.walk(contentPath)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                manifest.put(getManifestPath(contentPath, file), HashUtil.hashFileContent(digest, file));
+            }
+        } catch (IOException | UncheckedIOException ex) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.errorAccessingDeployment(ex);
+        }
+        final Map<String, byte[]> result = Collections.unmodifiableMap(manifest);
+        synchronized (explodedManifests) {
+            explodedManifests.put(hexHash, result);
+        }
+        return result;
+    }
+
+    /**
+     * Records the manifest of exploded content derived from another one, if the manifest of the other one is known,
+     * so that only the changed files have been hashed.
+     *
+     * @param oldHash the hash of the content that was changed
+     * @param newHash the hash of the changed content
+     * @param changes the changes to apply to the manifest of the old content
+     */
+    private void deriveExplodedManifest(byte[] oldHash, byte[] newHash, Consumer<Map<String, byte[]>> changes) {
+        synchronized (explodedManifests) {
+            final Map<String, byte[]> oldManifest = explodedManifests.get(HashUtil.bytesToHexString(oldHash));
+            if (oldManifest != null) {
+                final Map<String, byte[]> manifest = new HashMap<>(oldManifest);
+                changes.accept(manifest);
+                explodedManifests.put(HashUtil.bytesToHexString(newHash), Collections.unmodifiableMap(manifest));
+            }
+        }
+    }
+
+    private static String getManifestPath(Path root, Path file) {
+        return root.normalize().relativize(file.normalize()).toString().replace(File.separatorChar, '/');
+    }
 }
@@ -18,17 +18,26 @@
  */
 package org.jboss.as.repository;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.SequenceInputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Vector;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
@@ -40,6 +49,15 @@ import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
  */
 class HashUtil {
 
+    /**
+     * How many entries of a directory tree may be read ahead of the one being hashed
+     */
+    private static final int READ_AHEAD = 16;
+    /**
+     * Files larger than this are read by the hashing thread rather than read ahead into memory
+     */
+    private static final long READ_AHEAD_MAX_SIZE = 256 * 1024;
+
     private HashUtil() {
     }
 
@@ -101,6 +119,32 @@ class HashUtil {
         return messageDigest.digest();
     }
 
+    /**
+     * Creates a new SHA-1 digest. Digests are not thread safe so each hashing operation should use its own.
+     *
+     * @return a new digest.
+     */
+    public static MessageDigest newSha1Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
+        }
+    }
+
+    /**
+     * Hashes the content of a file, the same way as {@link #hashContent(MessageDigest, InputStream)} would.
+     * @param messageDigest the digest used to hash.
+     * @param file the file we want to hash.
+     * @return the resulting hash.
+     * @throws IOException
+     */
+    public static byte[] hashFileContent(MessageDigest messageDigest, Path file) throws IOException {
+        messageDigest.reset();
+        updateDigest(messageDigest, file);
+        return messageDigest.digest();
+    }
+
     /**
      * Hashes a path, if the path points to a directory then hashes the contents recursively.
      * @param messageDigest the digest used to hash.
@@ -109,31 +153,105 @@ class HashUtil {
      * @throws IOException
      */
     public static byte[] hashPath(MessageDigest messageDigest, Path path) throws IOException {
-        try (InputStream in = getRecursiveContentStream(path)) {
-            return hashContent(messageDigest, in);
+        return hashPath(messageDigest, path, null);
+    }
+
+    /**
+     * Hashes a path, if the path points to a directory then hashes the contents recursively. Small files of a
+     * directory are read ahead by the given executor while the digest is updated in order on the calling thread, so
+     * the result is the same as if the tree was read sequentially.
+     * @param messageDigest the digest used to hash.
+     * @param path the file/directory we want to hash.
+     * @param executor the executor used to read files concurrently, or {@code null} to read them on the calling thread.
+     * @return the resulting hash.
+     * @throws IOException
+     */
+    public static byte[] hashPath(MessageDigest messageDigest, Path path, Executor executor) throws IOException {
+        final List<Path> entries = new ArrayList<>();
+        addEntries(path, entries);
+        final int count = entries.size();
+        final List<FutureTask<byte[]>> reads = new ArrayList<>(Collections.nCopies(count, null));
+        messageDigest.reset();
+        int scheduled = 0;
+        try {
+            for (int i = 0; i < count; i++) {
+                for (; executor != null && scheduled < count && scheduled < i + READ_AHEAD; scheduled++) {
+                    reads.set(scheduled, readAhead(entries.get(scheduled), executor));
+                }
+                final Path entry = entries.get(i);
+                messageDigest.update(entry.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+                final FutureTask<byte[]> read = reads.get(i);
+                if (read != null) {
+                    // Run it here if the executor has not got to it yet
+                    read.run();
+                    messageDigest.update(read.get());
+                    reads.set(i, null);
+                } else if (Files.isRegularFile(entry)) {
+                    updateDigest(messageDigest, entry);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.hashingError(e.getCause(), path);
+        } finally {
+            for (FutureTask<byte[]> read : reads) {
+                if (read != null) {
+                    read.cancel(false);
+                }
+            }
         }
+        return messageDigest.digest();
     }
 
-    private static InputStream getRecursiveContentStream(Path path) {
+    /**
+     * Lists the files and directories to hash in the order their names and contents are fed to the digest.
+     */
+    private static void addEntries(Path path, List<Path> entries) {
         if (Files.isRegularFile(path)) {
-            try {
-                return new SequenceInputStream(new ByteArrayInputStream(path.getFileName().toString().getBytes(StandardCharsets.UTF_8)), Files.newInputStream(path));
-            } catch (IOException ex) {
-                throw DeploymentRepositoryLogger.ROOT_LOGGER.hashingError(ex, path);
-            }
+            entries.add(path);
         } else if (Files.isDirectory(path)) {
-            try {
-                Vector<InputStream> v = new Vector<>();
-                v.add(new ByteArrayInputStream(path.getFileName().toString().getBytes(StandardCharsets.UTF_8)));
-                try(Stream<Path> paths = Files.list(path)) {
-                    v.addAll(paths.sorted((Path path1, Path path2) -> path1.compareTo(path2)).map(p -> getRecursiveContentStream(p)).collect(Collectors.toList()));
-                }
-                return new SequenceInputStream(v.elements());
+            entries.add(path);
+            final List<Path> children;
+            try (Stream<Path> paths = Files.list(path)) {
+                children = paths.sorted().collect(Collectors.toList());
             } catch (IOException ex) {
                 throw DeploymentRepositoryLogger.ROOT_LOGGER.hashingError(ex, path);
             }
+            for (Path child : children) {
+                addEntries(child, entries);
+            }
+        }
+    }
+
+    private static FutureTask<byte[]> readAhead(Path entry, Executor executor) throws IOException {
+        if (!Files.isRegularFile(entry) || Files.size(entry) > READ_AHEAD_MAX_SIZE) {
+            return null;
+        }
+        final FutureTask<byte[]> read = new FutureTask<>(() -> Files.readAllBytes(entry));
+        try {
+            executor.execute(read);
+        } catch (RejectedExecutionException e) {
+            // It will be run by the hashing thread
+        }
+        return read;
+    }
+
+    private static void updateDigest(MessageDigest messageDigest, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(8192);
+            while (channel.read(buffer) > -1) {
+                buffer.flip();
+                messageDigest.update(buffer);
+                buffer.clear();
+            }
+        } catch (IOException ex) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.hashingError(ex, file);
         }
-        return emptyStream();
     }
 
     /**
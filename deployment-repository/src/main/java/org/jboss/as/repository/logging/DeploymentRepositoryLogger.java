@@ -162,4 +162,10 @@ public interface DeploymentRepositoryLogger extends BasicLogger {
     @LogMessage(level = ERROR)
     @Message(id = 24, value = "Error copying file %s")
     void cannotCopyFile(@Cause Exception ex, Path path);
+
+    @Message(id = 25, value = "Content at location %s is not exploded")
+    ExplodedContentException notExplodedContent(String path);
+
+    @Message(id = 26, value = "This content repository cannot list the files of exploded content")
+    ExplodedContentException explodedContentManifestNotSupported();
 }
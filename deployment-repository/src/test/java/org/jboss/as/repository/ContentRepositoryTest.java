@@ -43,12 +43,15 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import org.hamcrest.CoreMatchers;
@@ -90,6 +93,7 @@ public class ContentRepositoryTest {
 
     @After
     public void destroyRepository() throws IOException {
+        repository.readOnly();
         deleteRecursively(rootDir.toPath());
         deleteRecursively(tmpRootDir.toPath());
         repository = null;
@@ -125,6 +129,82 @@ public class ContentRepositoryTest {
         }
     }
 
+    /**
+     * Test of addContent method with a file stream, of class ContentRepository.
+     */
+    @Test
+    public void testAddContentFromFile() throws Exception {
+        Path file = tmpRootDir.toPath().resolve("overlay.xhtml");
+        try (InputStream stream = getResourceAsStream("overlay.xhtml")) {
+            Files.copy(stream, file);
+        }
+        try (InputStream stream = new FileInputStream(file.toFile())) {
+            String expResult = "0c40ffacd15b0f66d5081a93407d3ff5e3c65a71";
+            byte[] result = repository.addContent(stream);
+            assertThat(HashUtil.bytesToHexString(result), is(expResult));
+            assertThat(readFileContent(repository.getContent(result).getPhysicalFile().toPath()), is(readFileContent(file)));
+            assertThat(((ContentRepositoryImpl) repository).getIngestedBytes(), is(Files.size(file)));
+        }
+    }
+
+    /**
+     * Test of addContent method called concurrently, of class ContentRepository.
+     */
+    @Test
+    public void testAddContentConcurrently() throws Exception {
+        final int count = 8;
+        final List<Thread> threads = new ArrayList<>(count);
+        final byte[][] hashes = new byte[count][];
+        final List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            threads.add(new Thread(() -> {
+                try (InputStream stream = new ByteArrayInputStream(createContent(index))) {
+                    hashes[index] = repository.addContent(stream);
+                } catch (Throwable t) {
+                    failures.add(t);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(failures.toString(), failures.isEmpty());
+        for (int i = 0; i < count; i++) {
+            try (InputStream stream = new ByteArrayInputStream(createContent(i))) {
+                assertThat(hashes[i], is(HashUtil.hashContent(HashUtil.newSha1Digest(), stream)));
+            }
+        }
+    }
+
+    /**
+     * Test that hashing a directory tree while reading files ahead gives the same result as reading it sequentially.
+     */
+    @Test
+    public void testHashPathWithExecutor() throws Exception {
+        Path dir = tmpRootDir.toPath().resolve("tree");
+        for (int i = 0; i < 40; i++) {
+            Path file = dir.resolve("sub" + (i % 3)).resolve("file" + i);
+            Files.createDirectories(file.getParent());
+            Files.write(file, createContent(i));
+        }
+        Files.write(dir.resolve("large"), new byte[1024 * 1024]);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            byte[] expected = HashUtil.hashPath(HashUtil.newSha1Digest(), dir);
+            assertThat(HashUtil.hashPath(HashUtil.newSha1Digest(), dir, executor), is(expected));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static byte[] createContent(int index) {
+        byte[] content = new byte[64 * 1024];
+        Arrays.fill(content, (byte) index);
+        return content;
+    }
+
     /**
      * Test of explodeContent method, of class ContentRepository.
      */
@@ -144,6 +224,24 @@ public class ContentRepositoryTest {
         }
     }
 
+    /**
+     * Test of explodeContent method once the repository has been stopped and started again, which replaces the
+     * threads reading the content.
+     */
+    @Test
+    public void testExplodeContentAfterRestart() throws Exception {
+        byte[] archive = createArchive(Collections.singletonList("overlay.xhtml"));
+        byte[] archiveHash;
+        try (ByteArrayInputStream stream = new ByteArrayInputStream(archive)) {
+            archiveHash = repository.addContent(stream);
+        }
+        byte[] hash = repository.explodeContent(archiveHash);
+        repository.readOnly();
+        repository.readWrite();
+        assertThat(HashUtil.bytesToHexString(repository.explodeContent(archiveHash)), is(HashUtil.bytesToHexString(hash)));
+        assertThat(HashUtil.bytesToHexString(hash), is("b1f18e286615dda0643633ec31f1a17d90e48875"));
+    }
+
     /**
      * Test of explodeContent method, of class ContentRepository.
      */
@@ -318,6 +416,45 @@ public class ContentRepositoryTest {
         }
     }
 
+    /**
+     * Test that the manifest of exploded content derived from an update matches the one computed from the files.
+     */
+    @Test
+    public void testExplodedContentManifest() throws Exception {
+        byte[] archive = createArchive(Collections.singletonList("overlay.xhtml"));
+        try (ByteArrayInputStream stream = new ByteArrayInputStream(archive)) {
+            byte[] archiveHash = repository.addContent(stream);
+            try {
+                repository.getExplodedContentManifest(archiveHash);
+                fail("Shouldn't be able to get the manifest of unexploded content");
+            } catch (ExplodedContentException ex) {
+            }
+            byte[] hash = repository.explodeContent(archiveHash);
+            Map<String, byte[]> manifest = repository.getExplodedContentManifest(hash);
+            assertThat(manifest.keySet(), is(Collections.singleton("overlay.xhtml")));
+            hash = repository.addContentToExploded(hash,
+                    Collections.singletonList(new ExplodedContent("test/test.jsp",
+                            new ByteArrayInputStream("this is a test".getBytes(StandardCharsets.UTF_8)))),
+                    true);
+            manifest = repository.getExplodedContentManifest(hash);
+            assertThat(manifest.size(), is(2));
+            assertThat(HashUtil.bytesToHexString(manifest.get("test/test.jsp")),
+                    is(HashUtil.bytesToHexString(HashUtil.hashContent(HashUtil.newSha1Digest(), new ByteArrayInputStream("this is a test".getBytes(StandardCharsets.UTF_8))))));
+            assertManifestEquals(manifest, ContentRepository.Factory.create(rootDir, tmpRootDir, 0L).getExplodedContentManifest(hash));
+            hash = repository.removeContentFromExploded(hash, Collections.singletonList("overlay.xhtml"));
+            manifest = repository.getExplodedContentManifest(hash);
+            assertThat(manifest.keySet(), is(Collections.singleton("test/test.jsp")));
+            assertManifestEquals(manifest, ContentRepository.Factory.create(rootDir, tmpRootDir, 0L).getExplodedContentManifest(hash));
+        }
+    }
+
+    private void assertManifestEquals(Map<String, byte[]> expected, Map<String, byte[]> actual) {
+        assertThat(actual.keySet(), is(expected.keySet()));
+        for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+            assertThat(HashUtil.bytesToHexString(actual.get(entry.getKey())), is(HashUtil.bytesToHexString(entry.getValue())));
+        }
+    }
+
     @Test
     public void testListContents() throws Exception {
         byte[] archive = createArchive(Collections.singletonList("overlay.xhtml"));
@@ -618,6 +755,82 @@ public class ContentRepositoryTest {
 
     }
 
+    /**
+     * Test that the cleaner only removes unreferenced content and that the repository metrics follow the content.
+     */
+    @Test
+    public void testCleanUnreferencedContentMetrics() throws Exception {
+        final ContentRepositoryImpl impl = (ContentRepositoryImpl) repository;
+        final Path existing = rootDir.toPath().resolve("ae").resolve("ffacd15b0f66d5081a93407d3ff5e3c65a71").resolve("content");
+        Files.createDirectories(existing.getParent());
+        Files.write(existing, new byte[10]);
+        final byte[] referenced;
+        final byte[] unreferenced;
+        try (InputStream stream = new ByteArrayInputStream(createContent(1))) {
+            referenced = repository.addContent(stream);
+        }
+        try (InputStream stream = new ByteArrayInputStream(createContent(2))) {
+            unreferenced = repository.addContent(stream);
+        }
+        final ContentReference reference = new ContentReference("referenced", referenced);
+        repository.addContentReference(reference);
+        final long referencedSize = createContent(1).length;
+        final long unreferencedSize = createContent(2).length;
+        assertThat(impl.getContentCount(), is(3));
+        assertThat(impl.getContentBytes(), is(10 + referencedSize + unreferencedSize));
+
+        Map<String, Set<String>> result = repository.cleanObsoleteContent(); //Mark content for deletion
+        assertThat(result.get(ContentRepository.MARKED_CONTENT).size(), is(2));
+        assertThat(result.get(ContentRepository.DELETED_CONTENT).size(), is(0));
+        Thread.sleep(10);
+        result = repository.cleanObsoleteContent();
+        assertThat(result.get(ContentRepository.DELETED_CONTENT).size(), is(2));
+        assertThat(repository.hasContent(referenced), is(true));
+        assertThat(repository.hasContent(unreferenced), is(false));
+        assertThat(Files.exists(existing), is(false));
+        assertThat(impl.getContentCount(), is(1));
+        assertThat(impl.getContentBytes(), is(referencedSize));
+        assertThat(impl.getReclaimedBytes(), is(10 + unreferencedSize));
+        assertThat(impl.getLastCleanDuration() >= 0, is(true));
+
+        result = repository.cleanObsoleteContent();
+        assertThat(result.get(ContentRepository.MARKED_CONTENT).isEmpty(), is(true));
+        assertThat(result.get(ContentRepository.DELETED_CONTENT).isEmpty(), is(true));
+
+        repository.removeContent(reference);
+        assertThat(repository.hasContent(referenced), is(false));
+        assertThat(impl.getContentCount(), is(0));
+        assertThat(impl.getContentBytes(), is(0L));
+        assertThat(impl.getReclaimedBytes(), is(10 + referencedSize + unreferencedSize));
+    }
+
+    /**
+     * Test that the cleaning passes find content put back in the repository directory behind its back, as a rollback
+     * of the configuration history does, and forget content removed that way.
+     */
+    @Test
+    public void testCleanFindsContentChangedBehindRepository() throws Exception {
+        final byte[] hash;
+        try (InputStream stream = new ByteArrayInputStream(createContent(1))) {
+            hash = repository.addContent(stream);
+        }
+        repository.addContentReference(new ContentReference("referenced", hash));
+        repository.cleanObsoleteContent();
+        assertThat(repository.getContentCount(), is(1));
+
+        final Path restored = rootDir.toPath().resolve("ae").resolve("ffacd15b0f66d5081a93407d3ff5e3c65a71").resolve("content");
+        Files.createDirectories(restored.getParent());
+        Files.write(restored, new byte[10]);
+        deleteRecursively(repository.getContent(hash).getPhysicalFile().toPath().getParent().getParent());
+        Map<String, Set<String>> result = repository.cleanObsoleteContent();
+        for (int i = 0; i < 12 && result.get(ContentRepository.MARKED_CONTENT).isEmpty(); i++) {
+            result = repository.cleanObsoleteContent();
+        }
+        assertThat(result.get(ContentRepository.MARKED_CONTENT).size(), is(1));
+        assertThat(repository.getContentCount(), is(1));
+        assertThat(repository.getContentBytes(), is(10L));
+    }
+
     private InputStream getResourceAsStream(final String name) throws IOException {
         final InputStream result = getClass().getClassLoader().getResourceAsStream(name);
         // If we're on Windows we want to replace the stream with one that ignores \r
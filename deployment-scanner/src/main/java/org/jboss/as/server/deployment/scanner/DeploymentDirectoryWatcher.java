@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Watches a deployment directory and all directories below it for changes, so a scan only needs to
+ * examine the paths that changed since the previous scan.
+ * <p>
+ * Some {@link WatchService} implementations poll the file system themselves or drop events under load;
+ * {@link #pollChanges()} reports when events may have been lost so the caller can fall back to a full scan.
+ */
+final class DeploymentDirectoryWatcher implements Closeable {
+
+    private final Path root;
+    private final WatchService watchService;
+
+    private DeploymentDirectoryWatcher(final Path root, final WatchService watchService) {
+        this.root = root;
+        this.watchService = watchService;
+    }
+
+    /**
+     * Creates a watcher for the given directory and everything below it.
+     *
+     * @param root the deployment directory. Cannot be {@code null}
+     * @return the watcher
+     * @throws IOException if the directory cannot be watched
+     */
+    static DeploymentDirectoryWatcher create(final Path root) throws IOException {
+        final WatchService watchService = root.getFileSystem().newWatchService();
+        final DeploymentDirectoryWatcher watcher = new DeploymentDirectoryWatcher(root, watchService);
+        try {
+            watcher.register(root);
+        } catch (IOException | RuntimeException e) {
+            watcher.close();
+            throw e;
+        }
+        return watcher;
+    }
+
+    /**
+     * Gets the paths that were created, modified or deleted since the previous call. Does not block.
+     *
+     * @return the changed paths, or {@code null} if changes may have been missed and the whole directory needs
+     *         to be scanned again
+     */
+    Set<Path> pollChanges() {
+        final Set<Path> changes = new HashSet<>();
+        boolean missed = false;
+        try {
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                final Path dir = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        missed = true;
+                        continue;
+                    }
+                    final Path changed = dir.resolve((Path) event.context());
+                    changes.add(changed);
+                    if (event.kind() == ENTRY_CREATE && Files.isDirectory(changed, LinkOption.NOFOLLOW_LINKS)) {
+                        // Watch new directories too; anything copied into them before registration is
+                        // covered by the creation of the directory itself being reported
+                        try {
+                            register(changed);
+                        } catch (IOException e) {
+                            missed = true;
+                        }
+                    }
+                }
+                if (!key.reset() && dir.equals(root)) {
+                    // The deployment directory itself is gone
+                    missed = true;
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            missed = true;
+        }
+        return missed ? null : changes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void register(final Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
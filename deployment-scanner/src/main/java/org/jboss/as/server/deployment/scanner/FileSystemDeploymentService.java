@@ -94,6 +94,7 @@ import org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger;
 import org.jboss.as.server.deployment.transformation.DeploymentTransformer;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.Property;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Service that monitors the filesystem for deployment content and if found deploys it.
@@ -126,6 +127,14 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
      */
     static final long DEFAULT_DEPLOYMENT_TIMEOUT = 600;
 
+    /**
+     * System property that, when {@code true}, makes periodic scans only examine the paths a
+     * {@link java.nio.file.WatchService} reported as changed instead of walking the whole deployment directory
+     */
+    static final String WATCH_SERVICE_PROPERTY = "jboss.deployment.scanner.watch-service";
+
+    private static final String[] MARKER_SUFFIXES = {DEPLOYED, FAILED_DEPLOY, DO_DEPLOY, DEPLOYING, UNDEPLOYING, UNDEPLOYED, SKIP_DEPLOY, PENDING};
+
     private File deploymentDir;
     private long scanInterval = 0;
     private volatile boolean scanEnabled = false;
@@ -166,6 +175,11 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private volatile boolean deploymentDirAccessible = true;
     private volatile boolean lastScanSuccessful = true;
 
+    private volatile boolean watchDeploymentDir;
+    private volatile DeploymentDirectoryWatcher deploymentDirWatcher;
+    /** Whether the last scan did not complete, so the next one must examine the whole directory. Guarded by scanLock */
+    private boolean fullScanRequired = true;
+
     @SuppressWarnings("deprecation")
     private final DeploymentTransformer deploymentTransformer;
 
@@ -296,6 +310,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             relativePath = null;
         }
         this.deploymentTransformer = loadDeploymentTransformer();
+        this.watchDeploymentDir = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(WATCH_SERVICE_PROPERTY, "false"));
     }
 
     @Override
@@ -390,6 +405,8 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         cancelScan();
         safeClose(deploymentOperations);
         this.deploymentOperations = null;
+        safeClose(deploymentDirWatcher);
+        this.deploymentDirWatcher = null;
         if (undeployScanTask != null) {
             undeployScanTask.cancel(true);
         }
@@ -598,6 +615,13 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 deployedContentEstablished = true;
             }
 
+            final Set<Path> changedPaths = oneOffScan ? null : getChangedPaths();
+            if (changedPaths != null && changedPaths.isEmpty()) {
+                ROOT_LOGGER.tracef("No changes in directory %s since the last scan", deploymentDir.getAbsolutePath());
+                return scheduleRescan;
+            }
+            fullScanRequired = true;
+
             ScanContext scanContext = null;
             try {
                 scanContext = new ScanContext(deploymentOperations);
@@ -609,11 +633,13 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 throw ex;
             }
 
-            scanDirectory(deploymentDir, relativePath, scanContext);
+            if (changedPaths == null || !scanChangedPaths(changedPaths, scanContext)) {
+                scanDirectory(deploymentDir, relativePath, scanContext);
+            }
 
             // WARN about markers with no associated content. Do this first in case any auto-deploy issue
             // is due to a file that wasn't meant to be auto-deployed, but has a misspelled marker
-            ignoredMissingDeployments.retainAll(scanContext.ignoredMissingDeployments);
+            retainScanned(ignoredMissingDeployments, scanContext.ignoredMissingDeployments, scanContext);
             for (String deploymentName : scanContext.ignoredMissingDeployments) {
                 if (ignoredMissingDeployments.add(deploymentName)) {
                     ROOT_LOGGER.deploymentNotFound(deploymentName);
@@ -621,7 +647,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             }
 
             // Log INFO about non-auto-deploy files that have no marker files
-            noticeLogged.retainAll(scanContext.nonDeployable);
+            retainScanned(noticeLogged, scanContext.nonDeployable, scanContext);
             for (String fileName : scanContext.nonDeployable) {
                 if (noticeLogged.add(fileName)) {
                     ROOT_LOGGER.deploymentTriggered(fileName, DO_DEPLOY);
@@ -629,7 +655,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             }
 
             // Log ERROR about META-INF and WEB-INF dirs outside a deployment
-            illegalDirLogged.retainAll(scanContext.illegalDir);
+            retainScanned(illegalDirLogged, scanContext.illegalDir, scanContext);
             for (String fileName : scanContext.illegalDir) {
                 if (illegalDirLogged.add(fileName)) {
                     ROOT_LOGGER.invalidExplodedDeploymentDirectory(fileName, deploymentDir.getAbsolutePath());
@@ -637,7 +663,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             }
 
             // Log about deleting exploded deployments without first triggering undeploy by deleting .deployed
-            prematureExplodedContentDeletionLogged.retainAll(scanContext.prematureExplodedDeletions);
+            retainScanned(prematureExplodedContentDeletionLogged, scanContext.prematureExplodedDeletions, scanContext);
             for (String fileName : scanContext.prematureExplodedDeletions) {
                 if (prematureExplodedContentDeletionLogged.add(fileName)) {
                     ROOT_LOGGER.explodedDeploymentContentDeleted(fileName, DEPLOYED);
@@ -667,6 +693,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 }
                 ROOT_LOGGER.tracef("Scan complete");
                 firstScan = false;
+                fullScanRequired = false;
             }
         }
 
@@ -850,6 +877,148 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         return deploymentDirAccessible;
     }
 
+    /**
+     * Gets the paths in the deployment directory that changed since the last scan, if the directory is being watched.
+     *
+     * @return the changed paths, or {@code null} if the whole directory needs to be scanned
+     */
+    private Set<Path> getChangedPaths() {
+        if (!watchDeploymentDir) {
+            return null;
+        }
+        final DeploymentDirectoryWatcher watcher = deploymentDirWatcher;
+        if (watcher == null) {
+            // Start watching before the full scan so nothing that changes during it is missed
+            synchronized (this) {
+                if (scanEnabled) {
+                    try {
+                        deploymentDirWatcher = DeploymentDirectoryWatcher.create(deploymentDir.toPath());
+                    } catch (IOException e) {
+                        watchDeploymentDir = false;
+                        ROOT_LOGGER.cannotWatchDeploymentDirectory(e, deploymentDir.getAbsolutePath());
+                    }
+                }
+            }
+            return null;
+        }
+        final Set<Path> changedPaths = watcher.pollChanges();
+        if (changedPaths == null) {
+            ROOT_LOGGER.debugf("Changes in directory %s may have been missed; scanning the whole directory", deploymentDir.getAbsolutePath());
+            return null;
+        }
+        // Incomplete or non-scannable content is re-examined by full scans until it has been dealt with
+        if (fullScanRequired || firstScan || !incompleteDeployments.isEmpty() || !nonscannableLogged.isEmpty()) {
+            return null;
+        }
+        return changedPaths;
+    }
+
+    /**
+     * Scan only the deployment content and markers affected by the given changed paths.
+     *
+     * @param changedPaths the paths in the deployment directory that changed since the last scan
+     * @param scanContext  context of the scan
+     * @return {@code false} if the changes cannot be examined without scanning the whole directory
+     */
+    private boolean scanChangedPaths(final Set<Path> changedPaths, final ScanContext scanContext) {
+        final Path root = deploymentDir.toPath();
+        final Map<File, Set<String>> changedNames = new HashMap<File, Set<String>>();
+        final Map<File, String> relativePaths = new HashMap<File, String>();
+        for (Path changed : changedPaths) {
+            if (!changed.startsWith(root) || changed.equals(root)) {
+                return false;
+            }
+            // Find the child scanDirectory would have examined for this change. Anything inside
+            // an exploded deployment is a change to the deployment itself
+            final Path relative = root.relativize(changed);
+            File directory = deploymentDir;
+            String directoryRelativePath = relativePath;
+            String name = null;
+            for (int i = 0; i < relative.getNameCount(); i++) {
+                final String element = relative.getName(i).toString();
+                if (i == relative.getNameCount() - 1 || isEEArchive(element)) {
+                    name = element;
+                    break;
+                }
+                if (WEB_INF.equalsIgnoreCase(element) || META_INF.equalsIgnoreCase(element)) {
+                    return false;
+                }
+                directory = new File(directory, element);
+                directoryRelativePath = directoryRelativePath + element + File.separator;
+            }
+            final File child = new File(directory, name);
+            if (!isAccepted(child)) {
+                continue;
+            }
+            final String deploymentName = stripMarkerSuffix(name);
+            if (!isEEArchive(deploymentName)
+                    && (child.isDirectory() || (!child.exists() && deploymentName.equals(name) && !isXmlFile(name)))) {
+                // A plain directory was added, changed or perhaps removed, along with whatever content it holds
+                return false;
+            }
+            Set<String> names = changedNames.get(directory);
+            if (names == null) {
+                names = new HashSet<String>();
+                changedNames.put(directory, names);
+                relativePaths.put(directory, directoryRelativePath);
+            }
+            names.add(deploymentName);
+        }
+
+        ROOT_LOGGER.tracef("Scanning changed content %s in directory %s", changedNames, deploymentDir.getAbsolutePath());
+        scanContext.scannedNames = new HashSet<String>();
+        for (Map.Entry<File, Set<String>> entry : changedNames.entrySet()) {
+            final File directory = entry.getKey();
+            final List<File> children = new ArrayList<File>();
+            for (String deploymentName : entry.getValue()) {
+                addExistingChild(children, new File(directory, deploymentName));
+                for (String suffix : MARKER_SUFFIXES) {
+                    addExistingChild(children, new File(directory, deploymentName + suffix));
+                }
+                scanContext.scannedNames.add(deploymentName);
+            }
+            scanChildren(directory, relativePaths.get(directory), children, scanContext);
+        }
+        // Only what was examined can be found to be missing
+        scanContext.toRemove.keySet().retainAll(scanContext.scannedNames);
+        return true;
+    }
+
+    private void addExistingChild(final List<File> children, final File child) {
+        if (child.exists() && isAccepted(child)) {
+            children.add(child);
+        }
+    }
+
+    private boolean isAccepted(final File child) {
+        try {
+            return filter.accept(child.toPath());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static String stripMarkerSuffix(final String fileName) {
+        for (String suffix : MARKER_SUFFIXES) {
+            if (fileName.endsWith(suffix)) {
+                return fileName.substring(0, fileName.length() - suffix.length());
+            }
+        }
+        return fileName;
+    }
+
+    /**
+     * Drop the names no longer reported by a scan from a set of names already logged about. An incremental scan
+     * only affects the names it examined.
+     */
+    private static void retainScanned(final Set<String> logged, final Set<String> reported, final ScanContext scanContext) {
+        if (scanContext.scannedNames == null) {
+            logged.retainAll(reported);
+        } else {
+            logged.removeIf(name -> scanContext.scannedNames.contains(name) && !reported.contains(name));
+        }
+    }
+
     /**
      * Scan the given directory for content changes.
      *
@@ -857,7 +1026,17 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
      * @param scanContext context of the scan
      */
     private void scanDirectory(final File directory, final String relativePath, final ScanContext scanContext) {
-        final List<File> children = listDirectoryChildren(directory, filter);
+        scanChildren(directory, relativePath, listDirectoryChildren(directory, filter), scanContext);
+    }
+
+    /**
+     * Scan the given children of a directory for content changes.
+     *
+     * @param directory   the directory containing the children
+     * @param children    the children to examine
+     * @param scanContext context of the scan
+     */
+    private void scanChildren(final File directory, final String relativePath, final List<File> children, final ScanContext scanContext) {
         for (File child : children) {
             final String fileName = child.getName();
             if (fileName.endsWith(DEPLOYED)) {
@@ -1713,6 +1892,10 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
          * Timestamp when the scan started
          */
         private final long scanStartTime = System.currentTimeMillis();
+        /**
+         * Deployment names examined by an incremental scan, {@code null} if the whole directory was scanned
+         */
+        private Set<String> scannedNames;
 
         private ScanContext(final DeploymentOperations deploymentOperations) {
             registeredDeployments = deploymentOperations.getDeploymentsStatus();
@@ -1949,6 +1949,74 @@ public class FileSystemDeploymentServiceUnitTestCase {
         assertEquals(bytes, ts.controller.deployed.get("external.war"));
     }
 
+    @Test
+    public void testWatchedDirectoryScan() throws Exception {
+        File war = createFile("foo.war");
+        File dodeploy = createFile("foo.war" + FileSystemDeploymentService.DO_DEPLOY);
+        File deployed = new File(tmpDir, "foo.war" + FileSystemDeploymentService.DEPLOYED);
+        TesteeSet ts;
+        System.setProperty(FileSystemDeploymentService.WATCH_SERVICE_PROPERTY, "true");
+        try {
+            ts = createTestee();
+        } finally {
+            System.clearProperty(FileSystemDeploymentService.WATCH_SERVICE_PROPERTY);
+        }
+        try {
+            // The first scan starts watching the directory and scans all of it
+            ts.controller.addCompositeSuccessResponse(1);
+            ts.testee.scan();
+            assertTrue(war.exists());
+            assertFalse(dodeploy.exists());
+            assertTrue(deployed.exists());
+
+            // Once the markers written by the scanner have been examined, scans without changes do nothing
+            awaitQuietScan(ts);
+            int requests = ts.controller.requests.size();
+            ts.testee.scan();
+            assertEquals(requests, ts.controller.requests.size());
+
+            File bar = createFile("bar.war");
+            File barDodeploy = createFile("bar.war" + FileSystemDeploymentService.DO_DEPLOY);
+            File barDeployed = new File(tmpDir, "bar.war" + FileSystemDeploymentService.DEPLOYED);
+            ts.controller.addCompositeSuccessResponse(1);
+            scanUntilExists(ts, barDeployed);
+            assertTrue(bar.exists());
+            assertFalse(barDodeploy.exists());
+            assertTrue(ts.controller.deployed.containsKey("bar.war"));
+            assertTrue(ts.controller.deployed.containsKey("foo.war"));
+
+            // Removing a .deployed marker triggers undeploy of just that deployment
+            awaitQuietScan(ts);
+            ts.controller.addCompositeSuccessResponse(1);
+            assertTrue(deployed.delete());
+            scanUntilExists(ts, new File(tmpDir, "foo.war" + FileSystemDeploymentService.UNDEPLOYED));
+            assertFalse(ts.controller.deployed.containsKey("foo.war"));
+            assertTrue(ts.controller.deployed.containsKey("bar.war"));
+            assertTrue(barDeployed.exists());
+        } finally {
+            ts.testee.stopScanner();
+        }
+    }
+
+    private static void awaitQuietScan(TesteeSet ts) throws InterruptedException {
+        int requests;
+        int attempts = 0;
+        do {
+            Thread.sleep(200);
+            requests = ts.controller.requests.size();
+            ts.testee.scan();
+        } while (requests != ts.controller.requests.size() && ++attempts < 50);
+    }
+
+    private static void scanUntilExists(TesteeSet ts, File file) throws InterruptedException {
+        long end = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        do {
+            Thread.sleep(50);
+            ts.testee.scan();
+        } while (!file.exists() && System.currentTimeMillis() < end);
+        assertTrue(file.getName(), file.exists());
+    }
+
     private TesteeSet createTestee(String... existingContent) throws OperationFailedException {
         return createTestee(new MockServerController(existingContent));
     }
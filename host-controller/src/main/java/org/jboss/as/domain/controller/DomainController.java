@@ -129,6 +129,16 @@ public interface DomainController {
         // default no-op because I'm tired of writing no-op impls in testsuite classes
     }
 
+    /**
+     * Gets the state kept about the domain operations coordinated by this host controller: the revisions of the
+     * domain model, the rollout progress, the slave latencies and the shared transformation results.
+     *
+     * @return the domain coordination state, or {@code null} if it is not tracked
+     */
+    default DomainCoordination getDomainCoordination() {
+        return null;
+    }
+
     /**
      * Get the operations needed to create the given profile.
      *
@@ -0,0 +1,84 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller;
+
+import org.jboss.as.domain.controller.plan.RolloutProgress;
+
+/**
+ * The state a host controller keeps about the domain operations it coordinates: the revisions of the domain model,
+ * the progress of the server group rollouts, the latencies of the slave host controllers and the transformation
+ * results shared between slaves of the same version.
+ */
+public final class DomainCoordination {
+
+    private final DomainModelRevisionLog revisionLog;
+    private final RolloutProgress rolloutProgress = new RolloutProgress();
+    private final HostRequestLatencies hostRequestLatencies = new HostRequestLatencies();
+    private final TransformationResultCache transformationResultCache;
+
+    /**
+     * @param revisionLog the revisions of the domain model. Cannot be {@code null}
+     */
+    public DomainCoordination(final DomainModelRevisionLog revisionLog) {
+        assert revisionLog != null : "revisionLog is null";
+        this.revisionLog = revisionLog;
+        this.transformationResultCache = new TransformationResultCache(revisionLog);
+    }
+
+    /**
+     * Gets the revisions of the domain model, used to synchronize the domain model of slave host controllers
+     * incrementally.
+     *
+     * @return the revision log. Will not be {@code null}
+     */
+    public DomainModelRevisionLog getRevisionLog() {
+        return revisionLog;
+    }
+
+    /**
+     * Gets the progress of the rollout plans currently being executed.
+     *
+     * @return the rollout progress. Will not be {@code null}
+     */
+    public RolloutProgress getRolloutProgress() {
+        return rolloutProgress;
+    }
+
+    /**
+     * Gets the latencies of the domain operations sent to the slave host controllers.
+     *
+     * @return the latencies. Will not be {@code null}
+     */
+    public HostRequestLatencies getHostRequestLatencies() {
+        return hostRequestLatencies;
+    }
+
+    /**
+     * Gets the cache of the transformation results shared between slave host controllers of the same version.
+     *
+     * @return the cache. Will not be {@code null}
+     */
+    public TransformationResultCache getTransformationResultCache() {
+        return transformationResultCache;
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CLONE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST_EXCLUDE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TO_PROFILE;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.persistence.ConfigurationFile;
+import org.jboss.as.domain.controller.logging.DomainControllerLogger;
+import org.jboss.as.version.Version;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Revisions of the domain model, used to synchronize a reconnecting slave host controller incrementally.
+ * <p>
+ * On the master every committed domain level write gets a new revision, recorded together with the top level
+ * resources it touched. The revision is also sent along with the operation to the slaves, so that a slave knows the
+ * revision of its copy of the domain model. When the slave registers again it sends that revision back and the master
+ * only sends the top level resources changed since then, or the complete model if the log does not cover it anymore.
+ * <p>
+ * Revisions are relative to an epoch, the digest of the domain configuration the master booted from, and to the
+ * instance of the master. Revision {@code 0} of an epoch is the booted configuration itself, so a slave that did not
+ * miss any change still synchronizes incrementally after the master was restarted.
+ */
+public final class DomainModelRevisionLog {
+
+    /** Host info and response header key for the epoch of the domain model */
+    public static final String DOMAIN_MODEL_EPOCH = "domain-model-epoch";
+    /** Host info and response header key for the master instance the revision belongs to */
+    public static final String DOMAIN_MODEL_INSTANCE = "domain-model-instance";
+    /** Host info, response and operation header key for the revision of the domain model */
+    public static final String DOMAIN_MODEL_REVISION = "domain-model-revision";
+    /** Response header key for the top level resources sent for an incremental synchronization */
+    public static final String DOMAIN_MODEL_DELTA = "domain-model-delta";
+
+    private static final int DEFAULT_LOG_SIZE = 1000;
+    private static final String LOG_SIZE_PROPERTY = "jboss.domain.model-revision-log-size";
+
+    private final String epoch;
+    private final String instance = UUID.randomUUID().toString();
+    private final int capacity;
+    // @GuardedBy this
+    private final Deque<Revision> revisions = new ArrayDeque<>();
+    // @GuardedBy this
+    private long revision;
+    // @GuardedBy this
+    private long oldestRevision;
+    // The revision of the domain model copy on a slave; @GuardedBy this
+    private String syncedEpoch;
+    private String syncedInstance;
+    private long syncedRevision;
+
+    DomainModelRevisionLog(final String epoch, final int capacity) {
+        this.epoch = epoch;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Creates the revision log of a host controller.
+     *
+     * @param domainConfigurationFile the domain configuration, used to compute the epoch
+     * @return the revision log
+     */
+    public static DomainModelRevisionLog create(final ConfigurationFile domainConfigurationFile) {
+        final int capacity = Integer.getInteger(LOG_SIZE_PROPERTY, DEFAULT_LOG_SIZE);
+        return new DomainModelRevisionLog(computeEpoch(domainConfigurationFile), Math.max(capacity, 0));
+    }
+
+    private static String computeEpoch(final ConfigurationFile domainConfigurationFile) {
+        if (domainConfigurationFile == null) {
+            return UUID.randomUUID().toString();
+        }
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(Version.AS_VERSION.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) Version.MANAGEMENT_MAJOR_VERSION);
+            digest.update((byte) Version.MANAGEMENT_MINOR_VERSION);
+            digest.update((byte) Version.MANAGEMENT_MICRO_VERSION);
+            try (InputStream in = Files.newInputStream(domainConfigurationFile.getBootFile().toPath())) {
+                final byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            return HashUtil.bytesToHexString(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            // Without a digest of the configuration every restart of the master is a new epoch
+            DomainControllerLogger.ROOT_LOGGER.debugf(e, "Cannot compute the digest of the domain configuration");
+            return UUID.randomUUID().toString();
+        }
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public String getInstance() {
+        return instance;
+    }
+
+    public synchronized long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Gets the revision a domain level write executed now will get if it is committed. The caller must hold the
+     * exclusive controller lock, so that no other revision is recorded in between.
+     *
+     * @return the next revision
+     */
+    public synchronized long getNextRevision() {
+        return revision + 1;
+    }
+
+    /**
+     * Records a committed domain level write.
+     *
+     * @param committedRevision the revision obtained from {@link #getNextRevision()}
+     * @param operation the operation, to determine the changed resources, or {@code null} if the model was not changed
+     */
+    public synchronized void recordChange(final long committedRevision, final ModelNode operation) {
+        assert committedRevision > revision;
+        revision = committedRevision;
+        if (operation == null) {
+            return;
+        }
+        final Set<PathElement> changed = new HashSet<>();
+        revisions.addLast(new Revision(committedRevision, getChangedResources(operation, changed) ? changed : null));
+        while (revisions.size() > capacity) {
+            oldestRevision = revisions.removeFirst().revision;
+        }
+    }
+
+    /**
+     * Gets the top level resources changed since a revision.
+     *
+     * @param sinceEpoch the epoch of the revision
+     * @param sinceInstance the master instance that assigned the revision
+     * @param sinceRevision the revision
+     * @return the changed resources, or {@code null} if the log does not cover the revision and the complete model
+     *         needs to be synchronized
+     */
+    public synchronized Set<PathElement> getChangesSince(final String sinceEpoch, final String sinceInstance, final long sinceRevision) {
+        if (!epoch.equals(sinceEpoch) || sinceRevision > revision || sinceRevision < oldestRevision) {
+            return null;
+        }
+        if (sinceRevision != 0 && !instance.equals(sinceInstance)) {
+            // The revisions of another instance of the master do not describe the same changes
+            return null;
+        }
+        final Set<PathElement> changed = new HashSet<>();
+        final Iterator<Revision> it = revisions.descendingIterator();
+        while (it.hasNext()) {
+            final Revision entry = it.next();
+            if (entry.revision <= sinceRevision) {
+                break;
+            }
+            if (entry.changed == null) {
+                return null;
+            }
+            changed.addAll(entry.changed);
+        }
+        return changed;
+    }
+
+    /**
+     * Records the revision of the domain model a slave synchronized with.
+     *
+     * @param syncedEpoch the epoch
+     * @param syncedInstance the master instance
+     * @param syncedRevision the revision
+     */
+    public synchronized void synchronizedWith(final String syncedEpoch, final String syncedInstance, final long syncedRevision) {
+        this.syncedEpoch = syncedEpoch;
+        this.syncedInstance = syncedInstance;
+        this.syncedRevision = syncedRevision;
+    }
+
+    /**
+     * Records that a slave applied a domain level write pushed by the master. If a revision was missed the
+     * synchronized revision is forgotten, so that the next registration synchronizes the complete model.
+     *
+     * @param appliedRevision the revision of the write
+     */
+    public synchronized void applied(final long appliedRevision) {
+        if (syncedEpoch == null || appliedRevision <= syncedRevision) {
+            return;
+        }
+        if (appliedRevision == syncedRevision + 1) {
+            syncedRevision = appliedRevision;
+        } else {
+            syncedEpoch = null;
+            syncedInstance = null;
+        }
+    }
+
+    /**
+     * Adds the revision of the domain model a slave synchronized with to its host info, if it is known.
+     *
+     * @param hostInfo the host info sent when registering with the master
+     */
+    public synchronized void addSynchronizedRevision(final ModelNode hostInfo) {
+        if (syncedEpoch != null) {
+            hostInfo.get(DOMAIN_MODEL_EPOCH).set(syncedEpoch);
+            hostInfo.get(DOMAIN_MODEL_INSTANCE).set(syncedInstance);
+            hostInfo.get(DOMAIN_MODEL_REVISION).set(syncedRevision);
+        }
+    }
+
+    /**
+     * Collects the top level resources changed by an operation.
+     *
+     * @return {@code false} if the operation may have changed any part of the model
+     */
+    private static boolean getChangedResources(final ModelNode operation, final Set<PathElement> changed) {
+        final PathAddress address = PathAddress.pathAddress(operation.get(OP_ADDR));
+        final String name = operation.get(OP).asString();
+        if (address.size() == 0) {
+            if (COMPOSITE.equals(name)) {
+                for (ModelNode step : operation.get(STEPS).asList()) {
+                    if (!getChangedResources(step, changed)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return false;
+        }
+        final PathElement element = address.getElement(0);
+        if (HOST.equals(element.getKey())) {
+            // Host models are not part of the domain model
+            return true;
+        }
+        if (HOST_EXCLUDE.equals(element.getKey()) || element.isMultiTarget()) {
+            // Changes what is ignored for the slaves, or addresses several resources
+            return false;
+        }
+        changed.add(element);
+        if (PROFILE.equals(element.getKey()) && address.size() == 1 && CLONE.equals(name)) {
+            changed.add(PathElement.pathElement(PROFILE, operation.get(TO_PROFILE).asString()));
+        }
+        return true;
+    }
+
+    private static final class Revision {
+        private final long revision;
+        private final Set<PathElement> changed;
+
+        private Revision(final long revision, final Set<PathElement> changed) {
+            this.revision = revision;
+            this.changed = changed == null ? null : Collections.unmodifiableSet(changed);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Latencies of the domain operations the master sends to the slave host controllers, kept per slave as histograms
+ * with power of two millisecond buckets.
+ * <p>
+ * The prepare latency is the time from sending an operation to a slave until its prepared response arrived; the
+ * commit latency the time from sending the commit or rollback message until the final response arrived.
+ */
+public final class HostRequestLatencies {
+
+    public static final String PREPARE = "prepare";
+    public static final String COMMIT = "commit";
+    public static final String COUNT = "count";
+    public static final String MEAN = "mean";
+    public static final String MAX = "max";
+    public static final String BUCKETS = "buckets";
+    public static final String UPPER_BOUND = "upper-bound";
+
+    /** Buckets up to 2^15 ms, about 33 seconds, and one for anything slower */
+    private static final int BUCKET_COUNT = 17;
+
+    private final ConcurrentMap<String, HostLatencies> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * Records the time a slave took to prepare an operation.
+     *
+     * @param host the name of the slave host
+     * @param nanos the latency in nanoseconds
+     */
+    public void recordPrepare(final String host, final long nanos) {
+        getHost(host).prepare.record(nanos);
+    }
+
+    /**
+     * Records the time a slave took to commit or roll back an operation.
+     *
+     * @param host the name of the slave host
+     * @param nanos the latency in nanoseconds
+     */
+    public void recordCommit(final String host, final long nanos) {
+        getHost(host).commit.record(nanos);
+    }
+
+    /**
+     * Forgets the latencies of a slave that unregistered.
+     *
+     * @param host the name of the slave host
+     */
+    public void removeHost(final String host) {
+        hosts.remove(host);
+    }
+
+    /**
+     * Describes the latencies of all slaves.
+     *
+     * @return an object with one entry per slave host
+     */
+    public ModelNode toModelNode() {
+        final ModelNode result = new ModelNode().setEmptyObject();
+        for (Map.Entry<String, HostLatencies> entry : new TreeMap<>(hosts).entrySet()) {
+            final ModelNode host = result.get(entry.getKey());
+            host.get(PREPARE).set(entry.getValue().prepare.toModelNode());
+            host.get(COMMIT).set(entry.getValue().commit.toModelNode());
+        }
+        return result;
+    }
+
+    private HostLatencies getHost(final String host) {
+        return hosts.computeIfAbsent(host, h -> new HostLatencies());
+    }
+
+    static int bucketOf(final long millis) {
+        // bucket i holds latencies up to 2^i ms
+        final int bucket = millis <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(millis - 1);
+        return Math.min(bucket, BUCKET_COUNT - 1);
+    }
+
+    private static final class HostLatencies {
+        private final Histogram prepare = new Histogram();
+        private final Histogram commit = new Histogram();
+    }
+
+    private static final class Histogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(final long nanos) {
+            final long millis = TimeUnit.NANOSECONDS.toMillis(Math.max(0, nanos));
+            buckets.incrementAndGet(bucketOf(millis));
+            count.increment();
+            total.add(millis);
+            max.accumulateAndGet(millis, Math::max);
+        }
+
+        ModelNode toModelNode() {
+            final ModelNode result = new ModelNode();
+            final long samples = count.sum();
+            result.get(COUNT).set(samples);
+            result.get(MEAN).set(samples == 0 ? 0 : total.sum() / samples);
+            result.get(MAX).set(max.get());
+            final ModelNode list = result.get(BUCKETS).setEmptyList();
+            int last = -1;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                if (buckets.get(i) > 0) {
+                    last = i;
+                }
+            }
+            for (int i = 0; i <= last; i++) {
+                final ModelNode bucket = new ModelNode();
+                if (i < BUCKET_COUNT - 1) {
+                    bucket.get(UPPER_BOUND).set(1L << i);
+                }
+                bucket.get(COUNT).set(buckets.get(i));
+                list.add(bucket);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Transformation results the master shares between slave host controllers running the same version.
+ * <p>
+ * The transformed and described domain model sent to a registering or synchronizing slave is cached per
+ * {@link org.jboss.as.controller.transform.TransformationTarget#getTransformationKey() transformation key} for the
+ * current revision of the {@link DomainModelRevisionLog}, so that slaves of the same version registering at the
+ * same revision only transform the model once. Any committed domain level write starts a new revision, which drops
+ * the cached models. Domain operations are transformed once per transformation key when they are sent to the slaves;
+ * that sharing only lasts for a single request and is counted separately, it is not a cache hit.
+ */
+public final class TransformationResultCache {
+
+    public static final String OPERATION_TRANSFORMATIONS = "operation-transformations";
+    public static final String TRANSFORMED = "transformed";
+    public static final String SHARED = "shared";
+    public static final String RESOURCES = "resources";
+    public static final String HITS = "hits";
+    public static final String MISSES = "misses";
+    public static final String HIT_RATIO = "hit-ratio";
+    public static final String ENTRIES = "entries";
+    public static final String INVALIDATIONS = "invalidations";
+
+    private final DomainModelRevisionLog revisionLog;
+    private final LongAdder transformedOperations = new LongAdder();
+    private final LongAdder sharedOperations = new LongAdder();
+    private final Statistics resources = new Statistics();
+    private final LongAdder invalidations = new LongAdder();
+    // @GuardedBy this
+    private final Map<Object, List<ModelNode>> describedResources = new HashMap<>();
+    // @GuardedBy this
+    private long revision;
+
+    public TransformationResultCache(final DomainModelRevisionLog revisionLog) {
+        this.revisionLog = revisionLog;
+        this.revision = revisionLog.getRevision();
+    }
+
+    /**
+     * Gets the described domain model transformed for a transformation key at the current revision. The caller must
+     * hold the controller lock, so that the model does not change before a missing entry is
+     * {@link #putDescribedResources(Object, List) added}.
+     *
+     * @param transformationKey the transformation key of the slave
+     * @return the described resources, or {@code null} if they are not cached
+     */
+    public synchronized List<ModelNode> getDescribedResources(final Object transformationKey) {
+        checkRevision();
+        final List<ModelNode> described = describedResources.get(transformationKey);
+        resources.record(described != null);
+        return described;
+    }
+
+    /**
+     * Caches the described domain model transformed for a transformation key at the current revision. The
+     * resources are protected, as they are shared by all slaves with the same transformation key.
+     *
+     * @param transformationKey the transformation key of the slave
+     * @param described the described resources
+     * @return the cached resources
+     */
+    public synchronized List<ModelNode> putDescribedResources(final Object transformationKey, final List<ModelNode> described) {
+        checkRevision();
+        final List<ModelNode> cached = new ArrayList<>(described.size());
+        for (ModelNode resource : described) {
+            resource.protect();
+            cached.add(resource);
+        }
+        final List<ModelNode> result = Collections.unmodifiableList(cached);
+        describedResources.put(transformationKey, result);
+        return result;
+    }
+
+    /**
+     * Records the transformation of a domain operation for a slave.
+     *
+     * @param shared {@code true} if the operation was already transformed for another slave with the same
+     *               transformation key
+     */
+    public void recordOperationTransformation(final boolean shared) {
+        if (shared) {
+            sharedOperations.increment();
+        } else {
+            transformedOperations.increment();
+        }
+    }
+
+    /**
+     * Describes the hits and misses of the cache, and how many operation transformations were shared within a request.
+     *
+     * @return the statistics of the operation and resource transformations
+     */
+    public ModelNode toModelNode() {
+        final ModelNode result = new ModelNode();
+        final ModelNode operationStatistics = result.get(OPERATION_TRANSFORMATIONS);
+        operationStatistics.get(TRANSFORMED).set(transformedOperations.sum());
+        operationStatistics.get(SHARED).set(sharedOperations.sum());
+        final ModelNode resourceStatistics = resources.toModelNode();
+        synchronized (this) {
+            resourceStatistics.get(ENTRIES).set(describedResources.size());
+        }
+        resourceStatistics.get(INVALIDATIONS).set(invalidations.sum());
+        result.get(RESOURCES).set(resourceStatistics);
+        return result;
+    }
+
+    // @GuardedBy this
+    private void checkRevision() {
+        final long current = revisionLog.getRevision();
+        if (current != revision) {
+            if (!describedResources.isEmpty()) {
+                describedResources.clear();
+                invalidations.increment();
+            }
+            revision = current;
+        }
+    }
+
+    private static final class Statistics {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        void record(final boolean hit) {
+            if (hit) {
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+        }
+
+        ModelNode toModelNode() {
+            final ModelNode result = new ModelNode();
+            final long hitCount = hits.sum();
+            final long missCount = misses.sum();
+            result.get(HITS).set(hitCount);
+            result.get(MISSES).set(missCount);
+            result.get(HIT_RATIO).set(hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+            return result;
+        }
+    }
+}
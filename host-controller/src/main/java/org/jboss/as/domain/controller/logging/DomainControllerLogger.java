@@ -805,4 +805,17 @@ public interface DomainControllerLogger extends BasicLogger {
 
     @Message(id = 98, value = "The following servers %s are starting; execution of remote management operations is not currently available")
     OperationFailedException serverManagementUnavailableDuringBoot(String serverNames);
+
+    /**
+     * A message indicating an invalid rollout plan. The server group, represented by the {@code name} parameter, has an
+     * invalid value and cannot be less than 1.
+     *
+     * @param name         the name of the group.
+     * @param propertyName the name of the property.
+     * @param value        the invalid value.
+     *
+     * @return the message.
+     */
+    @Message(id = 99, value = "Invalid rollout plan. Server group %s has a %s value of %s; cannot be less than 1.")
+    String invalidRolloutPlanLessThanOne(String name, String propertyName, int value);
 }
@@ -22,10 +22,15 @@
 
 package org.jboss.as.domain.controller.operations;
 
+import java.util.List;
+import java.util.Set;
+
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.domain.controller.TransformationResultCache;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -38,11 +43,36 @@ class ReadDomainModelHandler implements OperationStepHandler {
     private final Transformers transformers;
     private final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry;
     private final boolean lock;
+    private final Set<PathElement> changedResources;
+    private final TransformationResultCache transformationCache;
+    private final Object transformationKey;
 
     public ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers, final boolean lock) {
+        this(ignoredTransformationRegistry, transformers, lock, null);
+    }
+
+    /**
+     * @param changedResources the top level resources to describe, or {@code null} to describe the complete model
+     */
+    public ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers, final boolean lock,
+                                  final Set<PathElement> changedResources) {
+        this(ignoredTransformationRegistry, transformers, lock, changedResources, null, null);
+    }
+
+    /**
+     * @param changedResources the top level resources to describe, or {@code null} to describe the complete model
+     * @param transformationCache the cache to share the transformed model with other hosts, or {@code null}
+     * @param transformationKey the key to share the transformed model under, or {@code null} if it cannot be shared
+     */
+    public ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers, final boolean lock,
+                                  final Set<PathElement> changedResources, final TransformationResultCache transformationCache,
+                                  final Object transformationKey) {
         this.transformers = transformers;
         this.ignoredTransformationRegistry = ignoredTransformationRegistry != null ? ignoredTransformationRegistry : Transformers.DEFAULT;
         this.lock = lock;
+        this.changedResources = changedResources;
+        this.transformationCache = transformationCache;
+        this.transformationKey = transformationKey;
     }
 
     public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
@@ -52,10 +82,22 @@ class ReadDomainModelHandler implements OperationStepHandler {
             context.acquireControllerLock();
         }
 
-        final Transformers.TransformationInputs transformationInputs = new Transformers.TransformationInputs(context);
-        final ReadMasterDomainModelUtil readUtil = ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(transformers,
-                transformationInputs, ignoredTransformationRegistry, transformationInputs.getRootResource());
-        context.getResult().set(readUtil.getDescribedResources());
+        final boolean cacheable = transformationCache != null && transformationKey != null;
+        List<ModelNode> describedResources = cacheable ? transformationCache.getDescribedResources(transformationKey) : null;
+        if (describedResources == null) {
+            final Transformers.TransformationInputs transformationInputs = new Transformers.TransformationInputs(context);
+            final ReadMasterDomainModelUtil readUtil = ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(transformers,
+                    transformationInputs, ignoredTransformationRegistry, transformationInputs.getRootResource());
+            describedResources = readUtil.getDescribedResources();
+            if (cacheable) {
+                describedResources = transformationCache.putDescribedResources(transformationKey, describedResources);
+            }
+        }
+        if (changedResources == null) {
+            context.getResult().set(describedResources);
+        } else {
+            context.getResult().set(ReadMasterDomainModelUtil.filterDescribedResources(describedResources, changedResources));
+        }
     }
 
 }
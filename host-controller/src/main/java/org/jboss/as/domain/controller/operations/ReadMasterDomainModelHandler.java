@@ -22,20 +22,28 @@
 
 package org.jboss.as.domain.controller.operations;
 
+import java.util.Set;
+
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.domain.controller.DomainCoordination;
+import org.jboss.as.domain.controller.DomainModelRevisionLog;
+import org.jboss.as.domain.controller.TransformationResultCache;
+import org.jboss.as.domain.controller.logging.DomainControllerLogger;
 import org.jboss.as.host.controller.mgmt.HostInfo;
 import org.jboss.dmr.ModelNode;
 
 /**
  * Step handler responsible for collecting a complete description of the domain model,
  * which is going to be sent back to a remote host-controller. This is called when the
- * remote slave boots up or when it reconnects to the DC
+ * remote slave boots up or when it reconnects to the DC. If the slave already has a copy of the domain model and
+ * the revision log covers its revision, only the top level resources changed since then are described.
  *
  * @author John Bailey
  * @author Kabir Khan
@@ -49,12 +57,26 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
     private final Transformers transformers;
     private final ExtensionRegistry extensionRegistry;
     private final boolean lock;
+    private final DomainModelRevisionLog revisionLog;
+    private final TransformationResultCache transformationCache;
 
     public ReadMasterDomainModelHandler(final HostInfo hostInfo, final Transformers transformers, final ExtensionRegistry extensionRegistry, boolean lock) {
+        this(hostInfo, transformers, extensionRegistry, lock, null);
+    }
+
+    /**
+     * @param domainCoordination the revisions of the domain model to send the changes since the last synchronization of
+     *                           the host, and the cache to share the transformed model between hosts of the same version.
+     *                           May be {@code null}
+     */
+    public ReadMasterDomainModelHandler(final HostInfo hostInfo, final Transformers transformers, final ExtensionRegistry extensionRegistry, boolean lock,
+                                        final DomainCoordination domainCoordination) {
         this.hostInfo = hostInfo;
         this.transformers = transformers;
         this.extensionRegistry = extensionRegistry;
         this.lock = lock;
+        this.revisionLog = domainCoordination == null ? null : domainCoordination.getRevisionLog();
+        this.transformationCache = domainCoordination == null ? null : domainCoordination.getTransformationResultCache();
     }
 
     @Override
@@ -74,7 +96,30 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
             ignoredTransformationRegistry = ReadMasterDomainModelUtil.createHostIgnoredRegistry(hostInfo, rc);
         }
 
-        final OperationStepHandler handler = new ReadDomainModelHandler(ignoredTransformationRegistry, transformers, lock);
+        Set<PathElement> changedResources = null;
+        if (revisionLog != null) {
+            // Resources ignored as unused depend on the complete model, so those hosts always get all of it
+            if (hostInfo != null && hostInfo.getDomainModelEpoch() != null && !hostInfo.isIgnoreUnaffectedConfig()) {
+                changedResources = revisionLog.getChangesSince(hostInfo.getDomainModelEpoch(), hostInfo.getDomainModelInstance(), hostInfo.getDomainModelRevision());
+            }
+            final ModelNode headers = context.getResponseHeaders();
+            headers.get(DomainModelRevisionLog.DOMAIN_MODEL_EPOCH).set(revisionLog.getEpoch());
+            headers.get(DomainModelRevisionLog.DOMAIN_MODEL_INSTANCE).set(revisionLog.getInstance());
+            headers.get(DomainModelRevisionLog.DOMAIN_MODEL_REVISION).set(revisionLog.getRevision());
+            if (changedResources != null) {
+                final ModelNode delta = headers.get(DomainModelRevisionLog.DOMAIN_MODEL_DELTA).setEmptyList();
+                for (PathElement element : changedResources) {
+                    delta.add(PathAddress.pathAddress(element).toModelNode());
+                }
+                DomainControllerLogger.ROOT_LOGGER.debugf("Sending %d changed domain resources since revision %d to %s",
+                        changedResources.size(), hostInfo.getDomainModelRevision(), hostInfo.getHostName());
+            }
+        }
+
+        // Hosts ignoring resources get a model of their own
+        final Object transformationKey = hostInfo != null && !hostInfo.isIgnoringResources() ? transformers.getTarget().getTransformationKey() : null;
+        final OperationStepHandler handler = new ReadDomainModelHandler(ignoredTransformationRegistry, transformers, lock, changedResources,
+                transformationCache, transformationKey);
         context.addStep(handler, OperationContext.Stage.MODEL);
     }
 
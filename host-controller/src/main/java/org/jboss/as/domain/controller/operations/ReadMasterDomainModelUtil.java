@@ -103,6 +103,24 @@ public class ReadMasterDomainModelUtil {
         return describedResources;
     }
 
+    /**
+     * Gets the described resources below the given top level resources.
+     *
+     * @param describedResources the described resources
+     * @param roots the top level resources
+     * @return the described resources below {@code roots}
+     */
+    static List<ModelNode> filterDescribedResources(final List<ModelNode> describedResources, final Set<PathElement> roots) {
+        final List<ModelNode> result = new ArrayList<>();
+        for (ModelNode description : describedResources) {
+            final PathAddress address = PathAddress.pathAddress(description.require(DOMAIN_RESOURCE_ADDRESS));
+            if (address.size() > 0 && roots.contains(address.getElement(0))) {
+                result.add(description);
+            }
+        }
+        return result;
+    }
+
     /**
      * Describe the model as a list of resources with their address and model, which
      * the HC can directly apply to create the model. Although the format might appear
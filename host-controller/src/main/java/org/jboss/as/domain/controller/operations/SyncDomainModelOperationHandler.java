@@ -27,6 +27,7 @@ import java.util.Set;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.Transformers;
@@ -39,7 +40,8 @@ import org.jboss.dmr.ModelNode;
  * the local model and pass them to the {@code SyncModelOperationHandler}.
  *
  * This handler will be called for the initial host registration as well when reconnecting and tries to sync the complete
- * model, automatically ignoring unused resources if configured.
+ * model, automatically ignoring unused resources if configured. If the master only sent the top level resources changed
+ * since the last synchronization, only those are compared.
  *
  * @author Emanuel Muckenhuber
  */
@@ -50,13 +52,23 @@ public class SyncDomainModelOperationHandler extends SyncModelHandlerBase {
 
     public SyncDomainModelOperationHandler(HostInfo hostInfo,
                                            SyncModelParameters parameters) {
-        super(parameters);
+        this(hostInfo, parameters, null);
+    }
+
+    public SyncDomainModelOperationHandler(HostInfo hostInfo,
+                                           SyncModelParameters parameters,
+                                           Set<PathElement> changedResources) {
+        super(parameters, changedResources);
         this.hostInfo = hostInfo;
         this.extensionRegistry = parameters.getExtensionRegistry();
     }
 
     @Override
     Transformers.ResourceIgnoredTransformationRegistry createRegistry(OperationContext context, Resource remoteModel, Set<String> remoteExtensions) {
+        if (isDelta()) {
+            // The master only sends deltas to hosts not ignoring unused configuration, which needs the complete model
+            return ReadMasterDomainModelUtil.createHostIgnoredRegistry(hostInfo, new ReadMasterDomainModelUtil.RequiredConfigurationHolder());
+        }
         final ReadMasterDomainModelUtil.RequiredConfigurationHolder rc =
                 ReadMasterDomainModelUtil.populateHostResolutionContext(hostInfo, remoteModel, extensionRegistry);
         return ReadMasterDomainModelUtil.createHostIgnoredRegistry(hostInfo, rc);
@@ -64,8 +76,10 @@ public class SyncDomainModelOperationHandler extends SyncModelHandlerBase {
 
     @Override
     public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
-        //Indicate to the IgnoredClonedProfileRegistry that we should clear the registry
-        getParameters().getIgnoredResourceRegistry().getIgnoredClonedProfileRegistry().initializeModelSync();
+        //Indicate to the IgnoredClonedProfileRegistry that we should clear the registry, unless only changes get synced
+        if (!isDelta()) {
+            getParameters().getIgnoredResourceRegistry().getIgnoredClonedProfileRegistry().initializeModelSync();
+        }
 
         context.addStep(new OperationStepHandler() {
             @Override
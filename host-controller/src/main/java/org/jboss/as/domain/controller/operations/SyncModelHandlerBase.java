@@ -35,6 +35,7 @@ import org.jboss.as.controller.ModelController;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.operations.common.OrderedChildTypesAttachment;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.Transformers;
@@ -57,9 +58,19 @@ abstract class SyncModelHandlerBase implements OperationStepHandler {
     }
 
     private final SyncModelParameters parameters;
+    private final Set<PathElement> changedResources;
 
     protected SyncModelHandlerBase(SyncModelParameters parameters) {
+        this(parameters, null);
+    }
+
+    /**
+     * @param parameters the sync parameters
+     * @param changedResources the top level resources contained in the remote model, or {@code null} if it is complete
+     */
+    protected SyncModelHandlerBase(SyncModelParameters parameters, Set<PathElement> changedResources) {
         this.parameters = parameters;
+        this.changedResources = changedResources;
     }
 
     abstract Transformers.ResourceIgnoredTransformationRegistry createRegistry(OperationContext context, Resource remoteModel, Set<String> remoteExtensions);
@@ -73,7 +84,7 @@ abstract class SyncModelHandlerBase implements OperationStepHandler {
         final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry = createRegistry(context, remote, remoteExtensions);
 
         // Describe the local model
-        final ReadDomainModelHandler readModelHandler = new ReadDomainModelHandler(ignoredTransformationRegistry, TRANSFORMERS, true);
+        final ReadDomainModelHandler readModelHandler = new ReadDomainModelHandler(ignoredTransformationRegistry, TRANSFORMERS, true, changedResources);
         final HostControllerRegistrationHandler.OperationExecutor operationExecutor = parameters.getOperationExecutor();
         final ModelNode localModel = operationExecutor.executeReadOnly(OPERATION, readModelHandler, ModelController.OperationTransactionControl.COMMIT);
         if (localModel.hasDefined(FAILURE_DESCRIPTION)) {
@@ -114,4 +125,13 @@ abstract class SyncModelHandlerBase implements OperationStepHandler {
     protected SyncModelParameters getParameters() {
         return parameters;
     }
+
+    /**
+     * Gets whether only the top level resources changed on the master are synchronized.
+     *
+     * @return {@code true} if the remote model only contains the changed resources
+     */
+    protected boolean isDelta() {
+        return changedResources != null;
+    }
 }
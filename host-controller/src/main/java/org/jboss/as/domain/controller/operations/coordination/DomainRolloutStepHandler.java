@@ -23,6 +23,7 @@
 package org.jboss.as.domain.controller.operations.coordination;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CALLER_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CANARY_PERCENTAGE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CANCELLED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CONCURRENT_GROUPS;
@@ -31,6 +32,8 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAI
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST_FAILURE_DESCRIPTIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IN_SERIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_PERCENTAGE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_SERVERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILED_SERVERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILURE_PERCENTAGE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
@@ -76,6 +79,7 @@ import org.jboss.as.controller.transform.Transformers;
 import org.jboss.as.domain.controller.ServerIdentity;
 import org.jboss.as.domain.controller.logging.DomainControllerLogger;
 import org.jboss.as.domain.controller.plan.RolloutPlanController;
+import org.jboss.as.domain.controller.plan.RolloutProgress;
 import org.jboss.as.domain.controller.plan.ServerTaskExecutor;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
 import org.jboss.dmr.ModelNode;
@@ -95,6 +99,7 @@ public class DomainRolloutStepHandler implements OperationStepHandler {
     private final ExecutorService executorService;
     private final ModelNode serverOperationHeaders;
     private final ModelNode providedRolloutPlan;
+    private final RolloutProgress rolloutProgress;
     private final boolean trace = HOST_CONTROLLER_LOGGER.isTraceEnabled();
 
     public DomainRolloutStepHandler(final Map<String, ProxyController> hostProxies,
@@ -102,13 +107,15 @@ public class DomainRolloutStepHandler implements OperationStepHandler {
                                     final MultiphaseOverallContext multiphaseContext,
                                     final ModelNode rolloutPlan,
                                     final ModelNode serverOperationHeaders,
-                                    final ExecutorService executorService) {
+                                    final ExecutorService executorService,
+                                    final RolloutProgress rolloutProgress) {
         this.hostProxies = hostProxies;
         this.serverProxies = serverProxies;
         this.multiphaseContext = multiphaseContext;
         this.serverOperationHeaders = serverOperationHeaders.clone();
         this.providedRolloutPlan = rolloutPlan;
         this.executorService = executorService;
+        this.rolloutProgress = rolloutProgress;
         //Remove the caller-type=user header
         if (this.serverOperationHeaders.hasDefined(CALLER_TYPE)
                 && this.serverOperationHeaders.get(CALLER_TYPE).asString().equals(USER)) {
@@ -364,7 +371,7 @@ public class DomainRolloutStepHandler implements OperationStepHandler {
                 }
             };
             RolloutPlanController rolloutPlanController = new RolloutPlanController(opsByGroup, rolloutPlan,
-                    multiphaseContext, taskExecutor, executorService, blockingTimeout);
+                    multiphaseContext, taskExecutor, executorService, blockingTimeout, rolloutProgress);
             RolloutPlanController.Result planResult = rolloutPlanController.execute();
             if (trace) {
                 HOST_CONTROLLER_LOGGER.tracef("Rollout plan result is %s", planResult);
@@ -492,6 +499,26 @@ public class DomainRolloutStepHandler implements OperationStepHandler {
                 throw new OperationFailedException(DomainControllerLogger.HOST_CONTROLLER_LOGGER.invalidRolloutPlanLess(prop.getName(), MAX_FAILED_SERVERS, max));
             }
         }
+        if (plan.hasDefined(MAX_CONCURRENT_SERVERS)) {
+            int max = plan.get(MAX_CONCURRENT_SERVERS).asInt();
+            if (max < 1) {
+                throw new OperationFailedException(DomainControllerLogger.HOST_CONTROLLER_LOGGER.invalidRolloutPlanLessThanOne(prop.getName(), MAX_CONCURRENT_SERVERS, max));
+            }
+        }
+        if (plan.hasDefined(MAX_CONCURRENT_PERCENTAGE)) {
+            int max = plan.get(MAX_CONCURRENT_PERCENTAGE).asInt();
+            if (max < 1) {
+                throw new OperationFailedException(DomainControllerLogger.HOST_CONTROLLER_LOGGER.invalidRolloutPlanLessThanOne(prop.getName(), MAX_CONCURRENT_PERCENTAGE, max));
+            } else if (max > 100) {
+                throw new OperationFailedException(DomainControllerLogger.HOST_CONTROLLER_LOGGER.invalidRolloutPlanRange(prop.getName(), MAX_CONCURRENT_PERCENTAGE, max));
+            }
+        }
+        if (plan.hasDefined(CANARY_PERCENTAGE)) {
+            int pct = plan.get(CANARY_PERCENTAGE).asInt();
+            if (pct < 0 || pct > 100) {
+                throw new OperationFailedException(DomainControllerLogger.HOST_CONTROLLER_LOGGER.invalidRolloutPlanRange(prop.getName(), CANARY_PERCENTAGE, pct));
+            }
+        }
     }
 
     private ModelNode getDefaultRolloutPlan(Map<String, Map<ServerIdentity, ModelNode>> opsByGroup) {
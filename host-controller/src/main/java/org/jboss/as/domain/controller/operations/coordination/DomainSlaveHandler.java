@@ -29,16 +29,23 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPE
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.domain.controller.logging.DomainControllerLogger.HOST_CONTROLLER_LOGGER;
 
+import java.net.InetAddress;
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.jboss.as.controller.AccessAuditContext;
 import org.jboss.as.controller.BlockingTimeout;
 import org.jboss.as.controller.CurrentOperationIdHolder;
 import org.jboss.as.controller.OperationContext;
@@ -51,12 +58,23 @@ import org.jboss.as.controller.operations.OperationAttachments;
 import org.jboss.as.controller.remote.ResponseAttachmentInputStreamSupport;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.domain.controller.DomainCoordination;
+import org.jboss.as.domain.controller.DomainModelRevisionLog;
+import org.jboss.as.domain.controller.HostRequestLatencies;
+import org.jboss.as.domain.controller.TransformationResultCache;
 import org.jboss.dmr.ModelNode;
 import org.jboss.threads.AsyncFuture;
 import org.jboss.as.controller.operations.DomainOperationTransmuter;
+import org.wildfly.common.Assert;
+import org.wildfly.security.auth.server.SecurityIdentity;
 
 /**
  * Executes the first phase of a two phase operation on one or more remote, slave host controllers.
+ * <p>
+ * An operation to which no transformer applies is only transformed once for all slaves that have the same
+ * {@link org.jboss.as.controller.transform.TransformationTarget#getTransformationKey() transformation key}, and, if an
+ * executor is available, sent to the slaves concurrently. The prepared responses are then processed in the order they
+ * arrive.
  *
  * @author Brian Stansberry (c) 2011 Red Hat Inc.
  */
@@ -64,11 +82,41 @@ public class DomainSlaveHandler implements OperationStepHandler {
 
     private final MultiphaseOverallContext multiphaseContext;
     private final Map<String, ProxyController> hostProxies;
-
+    private final DomainModelRevisionLog revisionLog;
+    private final ExecutorService executorService;
+    private final HostRequestLatencies latencies;
+    private final TransformationResultCache transformationCache;
+
+    /**
+     * Creates a handler sending the operation to the slaves from the calling thread.
+     */
     public DomainSlaveHandler(final Map<String, ProxyController> hostProxies,
                               final MultiphaseOverallContext domainOperationContext) {
         this.hostProxies = hostProxies;
         this.multiphaseContext = domainOperationContext;
+        this.revisionLog = null;
+        this.executorService = null;
+        this.latencies = null;
+        this.transformationCache = null;
+    }
+
+    /**
+     * @param domainCoordination the state to record the slave latencies, the shared operation transformations and
+     *                           the revision of a domain level write in. Cannot be {@code null}
+     * @param domainWrite {@code true} if the operation is a domain level write, which gets a revision
+     * @param executorService the executor used to send the operation to the slaves concurrently. Cannot be {@code null}
+     */
+    public DomainSlaveHandler(final Map<String, ProxyController> hostProxies,
+                              final MultiphaseOverallContext domainOperationContext,
+                              final DomainCoordination domainCoordination,
+                              final boolean domainWrite,
+                              final ExecutorService executorService) {
+        this.hostProxies = hostProxies;
+        this.multiphaseContext = domainOperationContext;
+        this.revisionLog = domainWrite ? domainCoordination.getRevisionLog() : null;
+        this.executorService = Assert.checkNotNullParam("executorService", executorService);
+        this.latencies = domainCoordination.getHostRequestLatencies();
+        this.transformationCache = domainCoordination.getTransformationResultCache();
     }
 
     @Override
@@ -87,25 +135,49 @@ public class DomainSlaveHandler implements OperationStepHandler {
         final HostControllerUpdateTask.ProxyOperationListener listener = new HostControllerUpdateTask.ProxyOperationListener();
         final Transformers.TransformationInputs transformationInputs = Transformers.TransformationInputs.getOrCreate(context);
         final List<DomainOperationTransmuter> transformers = context.getAttachment(OperationAttachments.SLAVE_SERVER_OPERATION_TRANSMUTERS);
+        // The controller lock is held exclusively, so the revision cannot be taken by another write
+        final long revision = revisionLog == null ? -1 : revisionLog.getNextRevision();
+        ModelNode hostOp = operation.clone();
+        if (transformers != null) {
+            for (final DomainOperationTransmuter transformer : transformers) {
+                hostOp = transformer.transmmute(context, hostOp);
+            }
+        }
+
+        // Set the flags for host controller operations
+        hostOp.get(OPERATION_HEADERS, EXECUTE_FOR_COORDINATOR).set(true);
+        hostOp.get(OPERATION_HEADERS, DomainControllerLockIdUtils.DOMAIN_CONTROLLER_LOCK_ID).set(CurrentOperationIdHolder.getCurrentOperationID());
+        if (revisionLog != null) {
+            hostOp.get(OPERATION_HEADERS, DomainModelRevisionLog.DOMAIN_MODEL_REVISION).set(revision);
+        }
+
+        // Create the proxy tasks, transforming the operation once per distinct transformation target unless a transformer
+        // applies to it, as the rejection and warnings of an actual transformation name the host
+        final Map<Object, HostControllerUpdateTask.Transformation> transformations = new HashMap<>();
+        final List<HostControllerUpdateTask> tasks = new ArrayList<>(hostProxies.size());
         for (Map.Entry<String, ProxyController> entry : hostProxies.entrySet()) {
-            // Create the proxy task
             final String host = entry.getKey();
             final TransformingProxyController proxyController = (TransformingProxyController) entry.getValue();
-            ModelNode clonedOp = operation.clone();
-            if (transformers != null) {
-                for (final DomainOperationTransmuter transformer : transformers) {
-                    clonedOp = transformer.transmmute(context, clonedOp);
+            final Object transformationKey = proxyController.getTransformers().getTarget().getTransformationKey();
+            HostControllerUpdateTask.Transformation transformation = transformationKey == null ? null : transformations.get(transformationKey);
+            final boolean shared = transformation != null;
+            if (!shared) {
+                transformation = HostControllerUpdateTask.Transformation.transform(proxyController, transformationInputs, hostOp.clone());
+                if (transformationKey != null && transformation.isUntransformed()) {
+                    transformations.put(transformationKey, transformation);
                 }
             }
+            if (transformationCache != null) {
+                transformationCache.recordOperationTransformation(shared);
+            }
+            tasks.add(new HostControllerUpdateTask(host, context, proxyController, transformation));
+        }
 
-            // Set the flags for host controller operations
-            clonedOp.get(OPERATION_HEADERS, EXECUTE_FOR_COORDINATOR).set(true);
-            clonedOp.get(OPERATION_HEADERS, DomainControllerLockIdUtils.DOMAIN_CONTROLLER_LOCK_ID).set(CurrentOperationIdHolder.getCurrentOperationID());
-            final HostControllerUpdateTask task = new HostControllerUpdateTask(host, clonedOp, context, proxyController, transformationInputs);
-            // Execute the operation on the remote host
-            final HostControllerUpdateTask.ExecutedHostRequest finalResult = task.execute(listener);
-            multiphaseContext.recordHostRequest(host, finalResult);
-            finalResults.put(host, finalResult);
+        // Execute the operation on the remote hosts
+        final Map<String, Long> sendTimes = new ConcurrentHashMap<>();
+        finalResults.putAll(sendToHosts(tasks, listener, sendTimes));
+        for (Map.Entry<String, HostControllerUpdateTask.ExecutedHostRequest> entry : finalResults.entrySet()) {
+            multiphaseContext.recordHostRequest(entry.getKey(), entry.getValue());
         }
 
         // Wait for all hosts to reach the prepared state
@@ -130,6 +202,9 @@ public class DomainSlaveHandler implements OperationStepHandler {
                     HOST_CONTROLLER_LOGGER.tracef("Preliminary result for remote host %s is %s", hostName, preparedResult);
                     // See if we have to reject the result
                     final HostControllerUpdateTask.ExecutedHostRequest request = finalResults.get(hostName);
+                    if (latencies != null && request.isSent()) {
+                        latencies.recordPrepare(hostName, System.nanoTime() - sendTimes.get(hostName));
+                    }
                     boolean reject = request.rejectOperation(preparedResult);
                     if (reject) {
                         if (HOST_CONTROLLER_LOGGER.isDebugEnabled()) {
@@ -165,6 +240,9 @@ public class DomainSlaveHandler implements OperationStepHandler {
             context.completeStep(new OperationContext.ResultHandler() {
                 @Override
                 public void handleResult(OperationContext.ResultAction resultAction, OperationContext context, ModelNode operation) {
+                    if (revisionLog != null && resultAction == OperationContext.ResultAction.KEEP) {
+                        revisionLog.recordChange(revision, context.isModelAffected() ? operation : null);
+                    }
                     finalizeOp(results, finalResults, false, context, blockingTimeout);
                 }
             });
@@ -178,6 +256,71 @@ public class DomainSlaveHandler implements OperationStepHandler {
         }
     }
 
+    private Map<String, HostControllerUpdateTask.ExecutedHostRequest> sendToHosts(final List<HostControllerUpdateTask> tasks,
+                                                                                final HostControllerUpdateTask.ProxyOperationListener listener,
+                                                                                final Map<String, Long> sendTimes) {
+        final Map<String, HostControllerUpdateTask.ExecutedHostRequest> requests = new ConcurrentHashMap<>();
+        final ExecutorService executor = executorService;
+        if (executor == null || tasks.size() < 2) {
+            for (HostControllerUpdateTask task : tasks) {
+                send(task, listener, requests, sendTimes);
+            }
+            return requests;
+        }
+        // Send from the executor, in the security context of the caller, while the caller waits for the sends to complete
+        final AccessAuditContext accessAuditContext = SecurityActions.currentAccessAuditContext();
+        final SecurityIdentity securityIdentity = accessAuditContext != null ? accessAuditContext.getSecurityIdentity() : null;
+        final InetAddress sourceAddress = accessAuditContext != null ? accessAuditContext.getRemoteAddress() : null;
+        final boolean inVmCall = SecurityActions.isInVmCall();
+        final List<Future<?>> sends = new ArrayList<>(tasks.size());
+        for (final HostControllerUpdateTask task : tasks) {
+            final PrivilegedAction<Void> action = () -> {
+                send(task, listener, requests, sendTimes);
+                return null;
+            };
+            try {
+                sends.add(executor.submit(() -> AccessAuditContext.doAs(securityIdentity, sourceAddress,
+                        inVmCall ? (PrivilegedAction<Void>) () -> SecurityActions.runInVm(action) : action)));
+            } catch (RejectedExecutionException e) {
+                send(task, listener, requests, sendTimes);
+            }
+        }
+        boolean interrupted = false;
+        try {
+            for (Future<?> send : sends) {
+                // Sending does not wait for the remote host, so wait for it even if interrupted; the interrupt is
+                // handled while waiting for the prepared responses
+                while (true) {
+                    try {
+                        send.get();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        final Throwable cause = e.getCause();
+                        if (cause instanceof RuntimeException) {
+                            throw (RuntimeException) cause;
+                        } else if (cause instanceof Error) {
+                            throw (Error) cause;
+                        }
+                        throw new IllegalStateException(cause);
+                    }
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return requests;
+    }
+
+    private static void send(final HostControllerUpdateTask task, final HostControllerUpdateTask.ProxyOperationListener listener,
+                             final Map<String, HostControllerUpdateTask.ExecutedHostRequest> requests, final Map<String, Long> sendTimes) {
+        sendTimes.put(task.getName(), System.nanoTime());
+        requests.put(task.getName(), task.execute(listener));
+    }
+
     private void handleMissingHostResponses(Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults,
                                             Set<String> outstanding, boolean timedOut, long timeout) {
 
@@ -235,6 +378,9 @@ public class DomainSlaveHandler implements OperationStepHandler {
                 if (prepared.isDone()) {
                     continue;
                 }
+                if (latencies != null) {
+                    prepared.getFinalResult().addListener(new CommitLatencyListener(latencies, System.nanoTime()), prepared.getOperation().getName());
+                }
                 if (!rollback) {
                     prepared.commit();
                 } else {
@@ -290,6 +436,25 @@ public class DomainSlaveHandler implements OperationStepHandler {
         }
     }
 
+    /**
+     * Records the time from sending the commit or rollback message to a slave until its final response arrived.
+     */
+    private static final class CommitLatencyListener extends AsyncFuture.AbstractListener<OperationResponse, String> {
+
+        private final HostRequestLatencies latencies;
+        private final long start;
+
+        private CommitLatencyListener(final HostRequestLatencies latencies, final long start) {
+            this.latencies = latencies;
+            this.start = start;
+        }
+
+        @Override
+        public void handleComplete(AsyncFuture<? extends OperationResponse> future, String hostName) {
+            latencies.recordCommit(hostName, System.nanoTime() - start);
+        }
+    }
+
     private static ModelNode getTimeoutResponse(long timeout, String hostName) {
         String msg = HOST_CONTROLLER_LOGGER.timedOutAwaitingHostPreparedResponse(timeout, hostName);
         final ModelNode response = new ModelNode();
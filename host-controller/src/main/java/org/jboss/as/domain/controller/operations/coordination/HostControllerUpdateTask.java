@@ -71,19 +71,25 @@ import org.jboss.threads.AsyncFuture;
 class HostControllerUpdateTask {
 
     private final String name;
-    private final ModelNode operation;
     private final OperationContext context;
     private final TransformingProxyController proxyController;
-    private final Transformers.TransformationInputs transformationInputs;
+    private final Transformation transformation;
 
-    public HostControllerUpdateTask(final String name, final ModelNode operation, final OperationContext context,
-                                    final TransformingProxyController proxyController,
-                                    final Transformers.TransformationInputs transformationInputs) {
+    /**
+     * Creates a task sending an operation that was already transformed, possibly for another host controller
+     * with the same {@link org.jboss.as.controller.transform.TransformationTarget#getTransformationKey() transformation key}
+     * if no transformer applied to it.
+     */
+    public HostControllerUpdateTask(final String name, final OperationContext context, final TransformingProxyController proxyController,
+                                    final Transformation transformation) {
         this.name = name;
         this.context = context;
-        this.operation = operation;
         this.proxyController = proxyController;
-        this.transformationInputs = transformationInputs;
+        this.transformation = transformation;
+    }
+
+    String getName() {
+        return name;
     }
 
     public ExecutedHostRequest execute(final ProxyOperationListener listener) {
@@ -92,9 +98,10 @@ class HostControllerUpdateTask {
         final OperationMessageHandler messageHandler = new DelegatingMessageHandler(context);
         final OperationAttachments operationAttachments = new DelegatingOperationAttachments(context);
         final SubsystemInfoOperationListener subsystemListener = new SubsystemInfoOperationListener(listener, proxyController.getTransformers());
+        final ModelNode operation = transformation.operation;
         try {
 
-            final OperationTransformer.TransformedOperation transformationResult = proxyController.transformOperation(transformationInputs, operation);
+            final OperationTransformer.TransformedOperation transformationResult = transformation.getTransformedOperation();
             final ModelNode transformedOperation = transformationResult.getTransformedOperation();
             final ProxyOperation proxyOperation = new ProxyOperation(name, transformedOperation, messageHandler, operationAttachments);
             try {
@@ -110,7 +117,7 @@ class HostControllerUpdateTask {
                         HOST_CONTROLLER_LOGGER.tracef("Sending %s (untransformed) to %s", transformedOperation, name);
                     }
                     final AsyncFuture<OperationResponse> result = client.execute(subsystemListener, proxyOperation);
-                    return new ExecutedHostRequest(result, transformationResult);
+                    return new ExecutedHostRequest(result, transformationResult, true);
                 } else {
                     // We assume here that if we have a null transformedOperation, it means the operation must be discarded and not be sent to the slave.
                     // The prepared step for this discarded operation will be a SucceededOperation. Later, when the DomainSlaveHandler handler is building up the
@@ -136,6 +143,66 @@ class HostControllerUpdateTask {
         }
     }
 
+    /**
+     * The outcome of transforming an operation for a host controller, which can be used to send the operation to
+     * several host controllers.
+     */
+    static final class Transformation {
+
+        private final ModelNode operation;
+        private final OperationTransformer.TransformedOperation transformedOperation;
+        private final OperationFailedException failure;
+
+        private Transformation(final ModelNode operation, final OperationTransformer.TransformedOperation transformedOperation,
+                               final OperationFailedException failure) {
+            this.operation = operation;
+            this.transformedOperation = transformedOperation;
+            this.failure = failure;
+        }
+
+        /**
+         * Transforms an operation for a host controller.
+         *
+         * @param proxyController the proxy controller of the host controller
+         * @param transformationInputs the inputs of the transformation
+         * @param operation the operation, which may be modified by the transformation
+         * @return the transformation
+         */
+        static Transformation transform(final TransformingProxyController proxyController,
+                                        final Transformers.TransformationInputs transformationInputs, final ModelNode operation) {
+            try {
+                return new Transformation(operation, proxyController.transformOperation(transformationInputs, operation), null);
+            } catch (OperationFailedException e) {
+                return new Transformation(operation, null, e);
+            }
+        }
+
+        /**
+         * Gets whether no transformer applied to the operation, so that it can be sent to the other host controllers
+         * with the same transformation key.
+         *
+         * @return {@code true} if the operation was passed on as it is
+         */
+        boolean isUntransformed() {
+            return failure == null && transformedOperation.isUntransformed();
+        }
+
+        /**
+         * Gets the transformed operation. Each call returns a copy, so that it can be modified and sent independently.
+         *
+         * @return the transformed operation
+         * @throws OperationFailedException if the transformation failed
+         */
+        OperationTransformer.TransformedOperation getTransformedOperation() throws OperationFailedException {
+            if (failure != null) {
+                throw failure;
+            }
+            final ModelNode transformed = transformedOperation.getTransformedOperation();
+            return transformed == null ? transformedOperation
+                    : new OperationTransformer.TransformedOperation(transformed.clone(), transformedOperation, transformedOperation);
+        }
+    }
+
     static class ProxyOperation extends TransactionalOperationImpl {
 
         private final String name;
@@ -154,15 +221,33 @@ class HostControllerUpdateTask {
         private final AsyncFuture<OperationResponse> futureResult;
         private final OperationResultTransformer resultTransformer;
         private final OperationRejectionPolicy rejectPolicy;
+        private final boolean sent;
 
         ExecutedHostRequest(AsyncFuture<OperationResponse> futureResult, OperationResultTransformer resultTransformer, OperationRejectionPolicy rejectPolicy) {
+            this(futureResult, resultTransformer, rejectPolicy, false);
+        }
+
+        private ExecutedHostRequest(AsyncFuture<OperationResponse> futureResult, OperationResultTransformer resultTransformer,
+                                    OperationRejectionPolicy rejectPolicy, boolean sent) {
             this.futureResult = futureResult;
             this.resultTransformer = resultTransformer;
             this.rejectPolicy = rejectPolicy;
+            this.sent = sent;
         }
 
         ExecutedHostRequest(AsyncFuture<OperationResponse> futureResult, OperationTransformer.TransformedOperation transformedOperation) {
-            this(futureResult, transformedOperation, transformedOperation);
+            this(futureResult, transformedOperation, transformedOperation, false);
+        }
+
+        ExecutedHostRequest(AsyncFuture<OperationResponse> futureResult, OperationTransformer.TransformedOperation transformedOperation, boolean sent) {
+            this(futureResult, transformedOperation, transformedOperation, sent);
+        }
+
+        /**
+         * Gets whether the operation was actually sent to the host controller, rather than failed or discarded locally.
+         */
+        boolean isSent() {
+            return sent;
         }
 
         @Override
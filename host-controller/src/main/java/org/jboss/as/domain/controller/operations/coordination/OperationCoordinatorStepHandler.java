@@ -37,16 +37,17 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import org.jboss.as.controller.AccessAuditContext;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.ProxyController;
+import org.jboss.as.domain.controller.DomainCoordination;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
 import org.jboss.as.domain.controller.logging.DomainControllerLogger;
 import org.jboss.dmr.ModelNode;
+import org.wildfly.common.Assert;
 
 /**
  * Coordinates the overall execution of an operation on behalf of the domain.
@@ -59,16 +60,19 @@ public class OperationCoordinatorStepHandler {
     private final Map<String, ProxyController> hostProxies;
     private final Map<String, ProxyController> serverProxies;
     private final OperationSlaveStepHandler localSlaveHandler;
+    private final DomainCoordination domainCoordination;
     private volatile ExecutorService executorService;
 
     OperationCoordinatorStepHandler(final LocalHostControllerInfo localHostControllerInfo,
                                     final Map<String, ProxyController> hostProxies,
                                     final Map<String, ProxyController> serverProxies,
-                                    final OperationSlaveStepHandler localSlaveHandler) {
+                                    final OperationSlaveStepHandler localSlaveHandler,
+                                    final DomainCoordination domainCoordination) {
         this.localHostControllerInfo = localHostControllerInfo;
         this.hostProxies = hostProxies;
         this.serverProxies = serverProxies;
         this.localSlaveHandler = localSlaveHandler;
+        this.domainCoordination = domainCoordination;
     }
 
     void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
@@ -112,11 +116,16 @@ public class OperationCoordinatorStepHandler {
     }
 
     public void setExecutorService(ExecutorService executorService) {
-        this.executorService = executorService;
+        this.executorService = Assert.checkNotNullParam("executorService", executorService);
     }
 
     private ExecutorService getExecutorService() {
-        return executorService == null ? Executors.newSingleThreadExecutor() : executorService;
+        final ExecutorService executorService = this.executorService;
+        if (executorService == null) {
+            // The host controller sets its executor before it executes any operation
+            throw new IllegalStateException();
+        }
+        return executorService;
     }
 
     private void routeToMasterDomainController(OperationContext context, ModelNode operation) {
@@ -209,12 +218,15 @@ public class OperationCoordinatorStepHandler {
                     }
                 }
 
-                context.addStep(slaveOp.clone(), new DomainSlaveHandler(remoteProxies, overallContext), OperationContext.Stage.DOMAIN);
+                // Domain level writes get a revision, so that reconnecting slaves can be synchronized incrementally
+                context.addStep(slaveOp.clone(), new DomainSlaveHandler(remoteProxies, overallContext, domainCoordination, global,
+                        getExecutorService()), OperationContext.Stage.DOMAIN);
             }
         }
 
         // Finally, the step to formulate and execute the 2nd phase rollout plan
-        context.addStep(new DomainRolloutStepHandler(hostProxies, serverProxies, overallContext, rolloutPlan, operationHeaders, getExecutorService()), OperationContext.Stage.DOMAIN);
+        context.addStep(new DomainRolloutStepHandler(hostProxies, serverProxies, overallContext, rolloutPlan, operationHeaders, getExecutorService(),
+                domainCoordination.getRolloutProgress()), OperationContext.Stage.DOMAIN);
     }
 
     static void configureDomainUUID(ModelNode operation) {
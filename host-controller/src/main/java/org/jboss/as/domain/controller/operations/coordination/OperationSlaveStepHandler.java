@@ -44,6 +44,7 @@ import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.domain.controller.DomainModelRevisionLog;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
 import org.jboss.as.domain.controller.operations.SyncModelOperationHandlerWrapper;
 import org.jboss.as.host.controller.ServerInventory;
@@ -61,15 +62,17 @@ class OperationSlaveStepHandler {
     private final Map<String, ProxyController> serverProxies;
     private final IgnoredDomainResourceRegistry ignoredDomainResourceRegistry;
     private final ExtensionRegistry extensionRegistry;
+    private final DomainModelRevisionLog revisionLog;
     private ServerInventory serverInventory;
 
     OperationSlaveStepHandler(final LocalHostControllerInfo localHostControllerInfo, Map<String, ProxyController> serverProxies,
                               final IgnoredDomainResourceRegistry ignoredDomainResourceRegistry,
-                              final ExtensionRegistry extensionRegistry) {
+                              final ExtensionRegistry extensionRegistry, final DomainModelRevisionLog revisionLog) {
         this.localHostControllerInfo = localHostControllerInfo;
         this.serverProxies = serverProxies;
         this.ignoredDomainResourceRegistry = ignoredDomainResourceRegistry;
         this.extensionRegistry = extensionRegistry;
+        this.revisionLog = revisionLog;
     }
 
     void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
@@ -81,6 +84,8 @@ class OperationSlaveStepHandler {
             int id = headers.remove(DomainControllerLockIdUtils.DOMAIN_CONTROLLER_LOCK_ID).asInt();
             context.attach(DomainControllerLockIdUtils.DOMAIN_CONTROLLER_LOCK_ID_ATTACHMENT, id);
         }
+        final long revision = headers.hasDefined(DomainModelRevisionLog.DOMAIN_MODEL_REVISION)
+                ? headers.remove(DomainModelRevisionLog.DOMAIN_MODEL_REVISION).asLong() : -1;
 
         final MultiPhaseLocalContext localContext = new MultiPhaseLocalContext(false);
         final HostControllerExecutionSupport hostControllerExecutionSupport = addSteps(context, operation, localContext);
@@ -95,6 +100,9 @@ class OperationSlaveStepHandler {
                 hostControllerExecutionSupport.complete(resultAction == OperationContext.ResultAction.ROLLBACK);
 
                 if (resultAction == OperationContext.ResultAction.KEEP) {
+                    if (revision > 0 && revisionLog != null) {
+                        revisionLog.applied(revision);
+                    }
 
                     // Replace the special format response ServerOperationsResolverHandler
                     // used to send the prepared response to the coordinator with one that
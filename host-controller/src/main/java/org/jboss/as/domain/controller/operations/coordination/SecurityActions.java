@@ -27,6 +27,7 @@ import static java.security.AccessController.doPrivileged;
 import java.security.PrivilegedAction;
 
 import org.jboss.as.controller.AccessAuditContext;
+import org.jboss.as.controller.access.InVmAccess;
 import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
@@ -36,6 +37,14 @@ import org.wildfly.security.manager.WildFlySecurityManager;
  */
 class SecurityActions {
 
+    static boolean isInVmCall() {
+        return createInVmActions().isInVmCall();
+    }
+
+    static <T> T runInVm(PrivilegedAction<T> action) {
+        return createInVmActions().runInVm(action);
+    }
+
     static AccessAuditContext currentAccessAuditContext() {
         return createAccessAuditContextActions().currentContext();
     }
@@ -44,6 +53,10 @@ class SecurityActions {
         return WildFlySecurityManager.isChecking() ? AccessAuditContextActions.PRIVILEGED : AccessAuditContextActions.NON_PRIVILEGED;
     }
 
+    private static InVmActions createInVmActions() {
+        return WildFlySecurityManager.isChecking() ? InVmActions.PRIVILEGED : InVmActions.NON_PRIVILEGED;
+    }
+
     private interface AccessAuditContextActions {
 
         AccessAuditContext currentContext();
@@ -74,4 +87,37 @@ class SecurityActions {
         };
 
     }
+
+    private interface InVmActions {
+
+        boolean isInVmCall();
+
+        <T> T runInVm(PrivilegedAction<T> action);
+
+        InVmActions NON_PRIVILEGED = new InVmActions() {
+
+            @Override
+            public <T> T runInVm(PrivilegedAction<T> action) {
+                return InVmAccess.runInVm(action);
+            }
+
+            @Override
+            public boolean isInVmCall() {
+                return InVmAccess.isInVmCall();
+            }
+        };
+
+        InVmActions PRIVILEGED = new InVmActions() {
+
+            @Override
+            public <T> T runInVm(PrivilegedAction<T> action) {
+                return doPrivileged((PrivilegedAction<T>) () -> InVmAccess.runInVm(action));
+            }
+
+            @Override
+            public boolean isInVmCall() {
+                return doPrivileged((PrivilegedAction<Boolean>) NON_PRIVILEGED::isInVmCall);
+            }
+        };
+    }
 }
@@ -56,18 +56,26 @@ abstract class AbstractServerGroupRolloutTask implements Runnable {
     protected final SecurityIdentity securityIdentity;
     protected final InetAddress sourceAddress;
     protected final BlockingTimeout blockingTimeout;
+    private final RolloutProgress rolloutProgress;
+    private RolloutProgress.GroupRollout rollout;
 
-    public AbstractServerGroupRolloutTask(List<ServerUpdateTask> tasks, ServerUpdatePolicy updatePolicy, ServerTaskExecutor executor, SecurityIdentity securityIdentity, InetAddress sourceAddress, BlockingTimeout blockingTimeout) {
+    public AbstractServerGroupRolloutTask(List<ServerUpdateTask> tasks, ServerUpdatePolicy updatePolicy, ServerTaskExecutor executor, SecurityIdentity securityIdentity, InetAddress sourceAddress, BlockingTimeout blockingTimeout,
+                                          RolloutProgress rolloutProgress) {
         this.tasks = tasks;
         this.updatePolicy = updatePolicy;
         this.executor = executor;
         this.securityIdentity = securityIdentity;
         this.sourceAddress = sourceAddress;
         this.blockingTimeout = blockingTimeout;
+        this.rolloutProgress = rolloutProgress;
     }
 
     @Override
     public void run() {
+        if (rolloutProgress != null && !tasks.isEmpty()) {
+            rollout = rolloutProgress.start(updatePolicy.getServerGroupName(), tasks.get(0).getOperation(), tasks.size(),
+                    getMaxConcurrentServers(), getCanaryServers());
+        }
         try {
             AccessAuditContext.doAs(securityIdentity, sourceAddress, new PrivilegedAction<Void>() {
 
@@ -80,6 +88,10 @@ abstract class AbstractServerGroupRolloutTask implements Runnable {
             });
         } catch (Throwable t) {
             DomainControllerLogger.HOST_CONTROLLER_LOGGER.debugf(t, "failed to process task %s", tasks.iterator().next().getOperation());
+        } finally {
+            if (rollout != null) {
+                rollout.complete();
+            }
         }
     }
 
@@ -88,6 +100,37 @@ abstract class AbstractServerGroupRolloutTask implements Runnable {
      */
     protected abstract void execute();
 
+    /**
+     * Gets the maximum number of servers updated at the same time.
+     *
+     * @return the number of servers
+     */
+    protected abstract int getMaxConcurrentServers();
+
+    /**
+     * Gets the number of servers updated before all others.
+     *
+     * @return the number of servers
+     */
+    protected int getCanaryServers() {
+        return 0;
+    }
+
+    /**
+     * Execute a server task, recording the server as in flight.
+     *
+     * @param listener the transactional server listener
+     * @param task the server task
+     * @return time to wait in ms for a response from the server, or {@code -1} if the task execution failed locally
+     */
+    protected int executeTask(final ServerTaskExecutor.ServerOperationListener listener, final ServerUpdateTask task) {
+        final int timeout = executor.executeTask(listener, task);
+        if (timeout > -1 && rollout != null) {
+            rollout.serverStarted(task.getServerIdentity());
+        }
+        return timeout;
+    }
+
     /**
      * Record a prepared operation.
      *
@@ -100,6 +143,9 @@ abstract class AbstractServerGroupRolloutTask implements Runnable {
         // final ModelNode transformedResult = prepared.getOperation().transformResult(preparedResult);
         updatePolicy.recordServerResult(identity, preparedResult);
         executor.recordPreparedOperation(prepared);
+        if (rollout != null) {
+            rollout.serverPrepared(identity, preparedResult.has(FAILURE_DESCRIPTION));
+        }
     }
 
     @Override
@@ -124,5 +170,8 @@ abstract class AbstractServerGroupRolloutTask implements Runnable {
         final ModelNode preparedResult = prepared.getPreparedResult();
         updatePolicy.recordServerResult(identity, preparedResult);
         executor.recordOperationPrepareTimeout(prepared);
+        if (rollout != null) {
+            rollout.serverPrepared(identity, true);
+        }
     }
 }
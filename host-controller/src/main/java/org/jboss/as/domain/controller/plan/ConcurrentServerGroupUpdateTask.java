@@ -40,8 +40,14 @@ import org.wildfly.security.auth.server.SecurityIdentity;
 class ConcurrentServerGroupUpdateTask extends AbstractServerGroupRolloutTask implements Runnable {
 
     public ConcurrentServerGroupUpdateTask(List<ServerUpdateTask> tasks, ServerUpdatePolicy updatePolicy,
-                                           ServerTaskExecutor executor, SecurityIdentity securityIdentity, InetAddress sourceAddress, BlockingTimeout blockingTimeout) {
-        super(tasks, updatePolicy, executor, securityIdentity, sourceAddress, blockingTimeout);
+                                           ServerTaskExecutor executor, SecurityIdentity securityIdentity, InetAddress sourceAddress, BlockingTimeout blockingTimeout,
+                                           RolloutProgress rolloutProgress) {
+        super(tasks, updatePolicy, executor, securityIdentity, sourceAddress, blockingTimeout, rolloutProgress);
+    }
+
+    @Override
+    protected int getMaxConcurrentServers() {
+        return tasks.size();
     }
 
     @Override
@@ -53,7 +59,7 @@ class ConcurrentServerGroupUpdateTask extends AbstractServerGroupRolloutTask imp
             final ServerIdentity identity = task.getServerIdentity();
             if (updatePolicy.canUpdateServer(identity) && !Thread.currentThread().isInterrupted()) {
                 // Execute the task
-                int serverTimeout = executor.executeTask(listener, task);
+                int serverTimeout = executeTask(listener, task);
                 if (serverTimeout > -1) {
                     outstanding.put(task.getServerIdentity(), task);
                     if (serverTimeout > preparedTimeout) {
@@ -39,8 +39,14 @@ import org.jboss.as.domain.controller.ServerIdentity;
 class RollingServerGroupUpdateTask extends AbstractServerGroupRolloutTask implements Runnable {
 
     public RollingServerGroupUpdateTask(List<ServerUpdateTask> tasks, ServerUpdatePolicy updatePolicy,
-                                        ServerTaskExecutor executor, SecurityIdentity securityIdentity, InetAddress sourceAddress, BlockingTimeout blockingTimeout) {
-        super(tasks, updatePolicy, executor, securityIdentity, sourceAddress, blockingTimeout);
+                                        ServerTaskExecutor executor, SecurityIdentity securityIdentity, InetAddress sourceAddress, BlockingTimeout blockingTimeout,
+                                        RolloutProgress rolloutProgress) {
+        super(tasks, updatePolicy, executor, securityIdentity, sourceAddress, blockingTimeout, rolloutProgress);
+    }
+
+    @Override
+    protected int getMaxConcurrentServers() {
+        return 1;
     }
 
     @Override
@@ -54,7 +60,7 @@ class RollingServerGroupUpdateTask extends AbstractServerGroupRolloutTask implem
                 continue;
             }
             // Execute the task
-            long timeout = executor.executeTask(listener, task);
+            long timeout = executeTask(listener, task);
             if (timeout > -1) {
                 try {
                     // Wait for the prepared result
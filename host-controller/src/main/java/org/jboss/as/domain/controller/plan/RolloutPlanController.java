@@ -26,9 +26,12 @@
 package org.jboss.as.domain.controller.plan;
 
 import static java.security.AccessController.doPrivileged;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CANARY_PERCENTAGE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CONCURRENT_GROUPS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.GRACEFUL_SHUTDOWN_TIMEOUT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IN_SERIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_PERCENTAGE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_SERVERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILED_SERVERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILURE_PERCENTAGE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ACROSS_GROUPS;
@@ -80,7 +83,8 @@ public class RolloutPlanController {
                                  final MultiphaseOverallContext domainOperationContext,
                                  final ServerTaskExecutor taskExecutor,
                                  final ExecutorService executor,
-                                 final BlockingTimeout blockingTimeout) {
+                                 final BlockingTimeout blockingTimeout,
+                                 final RolloutProgress rolloutProgress) {
         this.domainOperationContext = domainOperationContext;
 
         this.rollbackAcrossGroups = !rolloutPlan.hasDefined(ROLLBACK_ACROSS_GROUPS) || rolloutPlan.get(ROLLBACK_ACROSS_GROUPS).asBoolean();
@@ -141,8 +145,15 @@ public class RolloutPlanController {
 
                     SecurityIdentity securityIdentity = accessAuditContext != null ?  accessAuditContext.getSecurityIdentity() : null;
                     InetAddress sourceAddress = accessAuditContext != null ?  accessAuditContext.getRemoteAddress() : null;
-                    seriesTasks.add(rollingGroup ? new RollingServerGroupUpdateTask(groupTasks, policy, taskExecutor, securityIdentity, sourceAddress, blockingTimeout)
-                        : new ConcurrentServerGroupUpdateTask(groupTasks, policy, taskExecutor, securityIdentity, sourceAddress, blockingTimeout));
+                    if (policyNode.hasDefined(MAX_CONCURRENT_SERVERS) || policyNode.hasDefined(MAX_CONCURRENT_PERCENTAGE) || policyNode.hasDefined(CANARY_PERCENTAGE)) {
+                        final int window = getMaxConcurrentServers(policyNode, servers.size(), rollingGroup);
+                        final int canaries = policyNode.hasDefined(CANARY_PERCENTAGE) ? percentageOf(servers.size(), policyNode.get(CANARY_PERCENTAGE).asInt()) : 0;
+                        seriesTasks.add(new WindowedServerGroupUpdateTask(groupTasks, policy, taskExecutor, securityIdentity, sourceAddress, blockingTimeout,
+                                rolloutProgress, window, canaries));
+                    } else {
+                        seriesTasks.add(rollingGroup ? new RollingServerGroupUpdateTask(groupTasks, policy, taskExecutor, securityIdentity, sourceAddress, blockingTimeout, rolloutProgress)
+                            : new ConcurrentServerGroupUpdateTask(groupTasks, policy, taskExecutor, securityIdentity, sourceAddress, blockingTimeout, rolloutProgress));
+                    }
 
                     updatePolicies.put(serverGroupName, policy);
 
@@ -175,6 +186,26 @@ public class RolloutPlanController {
         return result;
     }
 
+    /**
+     * Gets the number of servers of a group updated at the same time. Unless configured otherwise that is one server for a
+     * rolling group and all of them for a concurrent group.
+     */
+    static int getMaxConcurrentServers(final ModelNode policyNode, final int servers, final boolean rollingGroup) {
+        if (policyNode.hasDefined(MAX_CONCURRENT_SERVERS)) {
+            return Math.max(1, policyNode.get(MAX_CONCURRENT_SERVERS).asInt());
+        } else if (policyNode.hasDefined(MAX_CONCURRENT_PERCENTAGE)) {
+            return Math.max(1, percentageOf(servers, policyNode.get(MAX_CONCURRENT_PERCENTAGE).asInt()));
+        }
+        return rollingGroup ? 1 : Math.max(1, servers);
+    }
+
+    /**
+     * Gets a percentage of the servers, rounded up, so that a non zero percentage is at least one server.
+     */
+    static int percentageOf(final int servers, final int pct) {
+        return pct <= 0 ? 0 : Math.max(1, (servers * pct + 99) / 100);
+    }
+
     private ServerUpdateTask createServerTask(final ServerIdentity serverIdentity, final ModelNode serverOp,
                                               final ServerUpdatePolicy policy) {
         ServerUpdateTask result;
@@ -0,0 +1,143 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.plan;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_SERVERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_GROUP;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.domain.controller.ServerIdentity;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * The server group rollouts currently executed by a host controller, reported by the
+ * {@code read-rollout-progress} operation.
+ */
+public final class RolloutProgress {
+
+    static final String CANARY_SERVERS = "canary-servers";
+    static final String FAILED = "failed";
+    static final String IN_FLIGHT = "in-flight";
+    static final String PREPARED = "prepared";
+
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, GroupRollout> rollouts = new ConcurrentHashMap<>();
+
+    /**
+     * Records the start of a server group rollout.
+     *
+     * @param serverGroup the server group
+     * @param operation the operation rolled out
+     * @param servers the number of servers to update
+     * @param window the maximum number of servers updated at the same time
+     * @param canaries the number of servers updated before all others
+     * @return the rollout
+     */
+    GroupRollout start(final String serverGroup, final ModelNode operation, final int servers, final int window, final int canaries) {
+        final GroupRollout rollout = new GroupRollout(ids.incrementAndGet(), serverGroup, operation.get(OP).asString(), servers, window, canaries);
+        rollouts.put(rollout.id, rollout);
+        return rollout;
+    }
+
+    /**
+     * Describes the server group rollouts in progress.
+     *
+     * @return a list with one entry per server group rollout
+     */
+    public ModelNode toModelNode() {
+        final ModelNode result = new ModelNode().setEmptyList();
+        for (GroupRollout rollout : rollouts.values()) {
+            result.add(rollout.toModelNode());
+        }
+        return result;
+    }
+
+    /**
+     * The progress of the rollout to the servers of a server group.
+     */
+    final class GroupRollout {
+        private final long id;
+        private final String serverGroup;
+        private final String operation;
+        private final int servers;
+        private final int window;
+        private final int canaries;
+        // @GuardedBy this
+        private final Set<ServerIdentity> inFlight = new LinkedHashSet<>();
+        private int prepared;
+        private int failed;
+
+        private GroupRollout(final long id, final String serverGroup, final String operation, final int servers, final int window, final int canaries) {
+            this.id = id;
+            this.serverGroup = serverGroup;
+            this.operation = operation;
+            this.servers = servers;
+            this.window = window;
+            this.canaries = canaries;
+        }
+
+        synchronized void serverStarted(final ServerIdentity server) {
+            inFlight.add(server);
+        }
+
+        synchronized void serverPrepared(final ServerIdentity server, final boolean serverFailed) {
+            if (inFlight.remove(server)) {
+                prepared++;
+                if (serverFailed) {
+                    failed++;
+                }
+            }
+        }
+
+        synchronized int getInFlight() {
+            return inFlight.size();
+        }
+
+        void complete() {
+            rollouts.remove(id);
+        }
+
+        private synchronized ModelNode toModelNode() {
+            final ModelNode result = new ModelNode();
+            result.get(SERVER_GROUP).set(serverGroup);
+            result.get(OP).set(operation);
+            result.get(SERVERS).set(servers);
+            result.get(MAX_CONCURRENT_SERVERS).set(window);
+            result.get(CANARY_SERVERS).set(canaries);
+            result.get(PREPARED).set(prepared);
+            result.get(FAILED).set(failed);
+            final ModelNode list = result.get(IN_FLIGHT).setEmptyList();
+            for (ServerIdentity server : inFlight) {
+                list.add(server.toPathAddress().toModelNode());
+            }
+            return result;
+        }
+    }
+}
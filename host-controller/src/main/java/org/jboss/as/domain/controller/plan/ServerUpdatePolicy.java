@@ -42,6 +42,7 @@ class ServerUpdatePolicy {
     private final Set<ServerIdentity> servers;
     private int successCount;
     private int failureCount;
+    private boolean stopped;
     private final int maxFailed;
 
     /**
@@ -117,7 +118,7 @@ class ServerUpdatePolicy {
             return false;
 
         synchronized (this) {
-            return failureCount <= maxFailed;
+            return !stopped && failureCount <= maxFailed;
         }
     }
 
@@ -159,6 +160,31 @@ class ServerUpdatePolicy {
         }
     }
 
+    /**
+     * Records that the remaining servers will not be updated, because the canary servers failed. The server group
+     * update is then considered failed regardless of the number of failed servers, so that it gets rolled back.
+     */
+    public void recordServerGroupStopped() {
+        synchronized (this) {
+            if (!stopped) {
+                stopped = true;
+                if (failureCount <= maxFailed) {
+                    // The parent was not notified of a failure yet
+                    parent.recordServerGroupResult(serverGroupName, true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets whether any of the recorded results was a failure.
+     *
+     * @return <code>true</code> if updating a server failed
+     */
+    public synchronized boolean hasFailedServers() {
+        return failureCount > 0;
+    }
+
     /**
      * Gets whether the
      * {@link #recordServerResult(org.jboss.as.domain.controller.ServerIdentity, org.jboss.dmr.ModelNode)} recorded results}
@@ -170,6 +196,6 @@ class ServerUpdatePolicy {
     public synchronized boolean isFailed() {
         // Here we use successCount instead of failed count, so
         // non-recorded servers are treated as failures
-        return (servers.size() - successCount) > maxFailed;
+        return stopped || (servers.size() - successCount) > maxFailed;
     }
 }
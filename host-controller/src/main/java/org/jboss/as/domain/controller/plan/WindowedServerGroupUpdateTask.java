@@ -0,0 +1,168 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.plan;
+
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.BlockingTimeout;
+import org.jboss.as.controller.remote.TransactionalProtocolClient;
+import org.jboss.as.domain.controller.ServerIdentity;
+import org.jboss.as.domain.controller.logging.DomainControllerLogger;
+import org.wildfly.security.auth.server.SecurityIdentity;
+
+/**
+ * Updates the servers of a server group keeping a window of at most {@code max-concurrent-servers} servers in flight,
+ * starting the next server as soon as one of them prepared. If canary servers are configured, those are updated first
+ * and the other servers are only updated if none of the canaries failed; otherwise the server group update is failed and
+ * rolled back.
+ */
+class WindowedServerGroupUpdateTask extends AbstractServerGroupRolloutTask implements Runnable {
+
+    private final int window;
+    private final int canaries;
+
+    WindowedServerGroupUpdateTask(List<ServerUpdateTask> tasks, ServerUpdatePolicy updatePolicy,
+                                  ServerTaskExecutor executor, SecurityIdentity securityIdentity, InetAddress sourceAddress, BlockingTimeout blockingTimeout,
+                                  RolloutProgress rolloutProgress, int window, int canaries) {
+        super(tasks, updatePolicy, executor, securityIdentity, sourceAddress, blockingTimeout, rolloutProgress);
+        assert window > 0 : "window must be positive";
+        this.window = window;
+        this.canaries = canaries;
+    }
+
+    @Override
+    protected int getMaxConcurrentServers() {
+        return window;
+    }
+
+    @Override
+    protected int getCanaryServers() {
+        return canaries;
+    }
+
+    @Override
+    public void execute() {
+        final Map<ServerIdentity, InFlightServer> outstanding = new HashMap<>();
+        final ServerTaskExecutor.ServerOperationListener listener = new ServerTaskExecutor.ServerOperationListener();
+        final Iterator<ServerUpdateTask> pending = tasks.iterator();
+        boolean canariesDone = canaries == 0;
+        boolean stopped = false;
+        boolean interrupted = false;
+        int started = 0;
+        while (!interrupted) {
+            // Fill the window, but let the canaries complete before any other server is started
+            while (!stopped && outstanding.size() < window && pending.hasNext() && (canariesDone || started < canaries)) {
+                final ServerUpdateTask task = pending.next();
+                final ServerIdentity identity = task.getServerIdentity();
+                started++;
+                if (!updatePolicy.canUpdateServer(identity) || Thread.currentThread().isInterrupted()) {
+                    DomainControllerLogger.HOST_CONTROLLER_LOGGER.tracef("Skipping server update task for %s", identity);
+                    continue;
+                }
+                final int timeout = executeTask(listener, task);
+                if (timeout > -1) {
+                    outstanding.put(identity, new InFlightServer(task, timeout));
+                }
+            }
+            if (!canariesDone && outstanding.isEmpty() && (started >= canaries || !pending.hasNext())) {
+                canariesDone = true;
+                if (updatePolicy.hasFailedServers()) {
+                    DomainControllerLogger.HOST_CONTROLLER_LOGGER.tracef("Canary servers of %s failed; skipping the remaining servers", updatePolicy.getServerGroupName());
+                    updatePolicy.recordServerGroupStopped();
+                    stopped = true;
+                }
+                continue;
+            }
+            if (outstanding.isEmpty()) {
+                if (stopped || !pending.hasNext()) {
+                    break;
+                }
+                continue;
+            }
+            final long now = System.currentTimeMillis();
+            long deadline = Long.MAX_VALUE;
+            for (InFlightServer server : outstanding.values()) {
+                deadline = Math.min(deadline, server.deadline);
+            }
+            try {
+                // Wait for the next prepared result; one that is already available wins over an expired deadline
+                final TransactionalProtocolClient.PreparedOperation<ServerTaskExecutor.ServerOperation> prepared =
+                        listener.retrievePreparedOperation(Math.max(0, deadline - now), TimeUnit.MILLISECONDS);
+                if (prepared != null) {
+                    final ServerIdentity identity = prepared.getOperation().getIdentity();
+                    // Ignore late responses of servers whose prepare phase already timed out
+                    if (outstanding.remove(identity) != null) {
+                        recordPreparedOperation(identity, prepared);
+                    }
+                } else {
+                    timeoutExpired(outstanding, System.currentTimeMillis());
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            if (!outstanding.isEmpty()) {
+                DomainControllerLogger.HOST_CONTROLLER_LOGGER.interruptedAwaitingPreparedResponse(getClass().getSimpleName(), outstanding.keySet());
+                for (ServerIdentity identity : outstanding.keySet()) {
+                    executor.cancelTask(identity);
+                }
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void timeoutExpired(final Map<ServerIdentity, InFlightServer> outstanding, final long now) {
+        final Iterator<Map.Entry<ServerIdentity, InFlightServer>> it = outstanding.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<ServerIdentity, InFlightServer> entry = it.next();
+            final InFlightServer server = entry.getValue();
+            if (server.deadline <= now) {
+                it.remove();
+                final ServerIdentity identity = entry.getKey();
+                DomainControllerLogger.HOST_CONTROLLER_LOGGER.timedOutAwaitingPreparedResponse(getClass().getSimpleName(), server.timeout, Collections.singleton(identity));
+                executor.cancelTask(identity);
+                handlePreparePhaseTimeout(identity, server.task, server.timeout);
+            }
+        }
+    }
+
+    private static final class InFlightServer {
+        private final ServerUpdateTask task;
+        private final int timeout;
+        private final long deadline;
+
+        private InFlightServer(final ServerUpdateTask task, final int timeout) {
+            this.task = task;
+            this.timeout = timeout;
+            this.deadline = System.currentTimeMillis() + timeout;
+        }
+    }
+}
@@ -141,6 +141,8 @@ import org.jboss.as.controller.remote.ModelControllerOperationHandlerFactory;
 import org.jboss.as.controller.services.path.PathManagerService;
 import org.jboss.as.controller.transform.Transformers;
 import org.jboss.as.domain.controller.DomainController;
+import org.jboss.as.domain.controller.DomainCoordination;
+import org.jboss.as.domain.controller.DomainModelRevisionLog;
 import org.jboss.as.domain.controller.HostConnectionInfo;
 import org.jboss.as.domain.controller.HostConnectionInfo.Event;
 import org.jboss.as.domain.controller.HostRegistrations;
@@ -244,6 +246,7 @@ public class DomainModelControllerService extends AbstractControllerService impl
     private final DomainDelegatingResourceDefinition rootResourceDefinition;
     private final CapabilityRegistry capabilityRegistry;
     private final DomainHostExcludeRegistry domainHostExcludeRegistry;
+    private final DomainCoordination domainCoordination;
     private final AtomicBoolean domainConfigAvailable = new AtomicBoolean(false);
     private final PartialModelIndicator partialModelIndicator = new PartialModelIndicator() {
         @Override
@@ -283,8 +286,9 @@ public class DomainModelControllerService extends AbstractControllerService impl
         final ProcessType processType = environment.getProcessType();
         final ExtensionRegistry hostExtensionRegistry = new ExtensionRegistry(processType, runningModeControl, auditLogger, authorizer, securityIdentitySupplier, hostControllerInfoAccessor);
         final ExtensionRegistry extensionRegistry = new ExtensionRegistry(processType, runningModeControl, auditLogger, authorizer, securityIdentitySupplier, hostControllerInfoAccessor);
+        final DomainCoordination domainCoordination = new DomainCoordination(DomainModelRevisionLog.create(environment.getDomainConfigurationFile()));
         final PrepareStepHandler prepareStepHandler = new PrepareStepHandler(hostControllerInfo,
-                hostProxies, serverProxies, ignoredRegistry, extensionRegistry);
+                hostProxies, serverProxies, ignoredRegistry, extensionRegistry, domainCoordination);
         final RuntimeExpressionResolver expressionResolver = new RuntimeExpressionResolver();
         hostExtensionRegistry.setResolverExtensionRegistry(expressionResolver);
         final DomainHostExcludeRegistry domainHostExcludeRegistry = new DomainHostExcludeRegistry();
@@ -295,7 +299,8 @@ public class DomainModelControllerService extends AbstractControllerService impl
         final DomainModelControllerService service = new DomainModelControllerService(esSupplier, environment, runningModeControl, processState,
                 hostControllerInfo, contentRepository, hostProxies, serverProxies, prepareStepHandler,
                 ignoredRegistry, bootstrapListener, pathManager, expressionResolver, new DomainDelegatingResourceDefinition(),
-                hostExtensionRegistry, extensionRegistry, auditLogger, authorizer, securityIdentitySupplier, capabilityRegistry, domainHostExcludeRegistry);
+                hostExtensionRegistry, extensionRegistry, auditLogger, authorizer, securityIdentitySupplier, capabilityRegistry, domainHostExcludeRegistry,
+                domainCoordination);
         sb.setInstance(service);
         sb.addDependency(ProcessControllerConnectionService.SERVICE_NAME, ProcessControllerConnectionService.class, service.injectedProcessControllerConnection);
         sb.requires(PATH_MANAGER_CAPABILITY.getCapabilityServiceName()); // ensure this is up
@@ -326,7 +331,8 @@ public class DomainModelControllerService extends AbstractControllerService impl
                                          final DelegatingConfigurableAuthorizer authorizer,
                                          final ManagementSecurityIdentitySupplier securityIdentitySupplier,
                                          final CapabilityRegistry capabilityRegistry,
-                                         final DomainHostExcludeRegistry domainHostExcludeRegistry) {
+                                         final DomainHostExcludeRegistry domainHostExcludeRegistry,
+                                         final DomainCoordination domainCoordination) {
         super(executorService, null, environment.getProcessType(), runningModeControl, null, processState,
                 rootResourceDefinition, prepareStepHandler, expressionResolver, auditLogger, authorizer, securityIdentitySupplier, capabilityRegistry, null);
         this.environment = environment;
@@ -350,6 +356,7 @@ public class DomainModelControllerService extends AbstractControllerService impl
         this.rootResourceDefinition = rootResourceDefinition;
         this.capabilityRegistry = capabilityRegistry;
         this.domainHostExcludeRegistry = domainHostExcludeRegistry;
+        this.domainCoordination = domainCoordination;
     }
 
     private static ManagedAuditLogger createAuditLogger(HostControllerEnvironment environment) {
@@ -420,6 +427,7 @@ public class DomainModelControllerService extends AbstractControllerService impl
                     final String address = hostRegistration.getAddress();
                     final Event event = cleanShutdown ? create(HostConnectionInfo.EventType.UNREGISTERED, address) : create(HostConnectionInfo.EventType.UNCLEAN_UNREGISTRATION, address);
                     slaveHostRegistrations.unregisterHost(id, event);
+                    domainCoordination.getHostRequestLatencies().removeHost(id);
                     if (!cleanShutdown) {
                         DOMAIN_LOGGER.lostConnectionToRemoteHost(id);
                     } else {
@@ -1384,6 +1392,11 @@ public class DomainModelControllerService extends AbstractControllerService impl
         return extensionRegistry;
     }
 
+    @Override
+    public DomainCoordination getDomainCoordination() {
+        return domainCoordination;
+    }
+
     @Override
     public ImmutableCapabilityRegistry getCapabilityRegistry() {
         return capabilityRegistry;
@@ -219,6 +219,14 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
         }
     }
 
+    @Override
+    public void stop() {
+        hostPersister.stop();
+        if (domainPersister != null) {
+            domainPersister.stop();
+        }
+    }
+
     @Override
     public String snapshot(String name, String comment) throws ConfigurationPersistenceException {
         throw new UnsupportedOperationException();
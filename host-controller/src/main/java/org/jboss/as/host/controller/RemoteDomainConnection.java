@@ -43,6 +43,7 @@ import javax.security.auth.callback.CallbackHandler;
 
 import org.jboss.as.controller.RunningMode;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.remote.PayloadCompression;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
 import org.jboss.as.host.controller.discovery.DiscoveryOption;
@@ -247,6 +248,7 @@ class RemoteDomainConnection extends FutureManagementChannel {
     protected Future<Connection> reconnect() {
         // Reset the connection state
         channelHandler.getAttachments().removeAttachment(TransactionalProtocolClient.SEND_IDENTITY);
+        PayloadCompression.detach(channelHandler);
         return executorService.submit(new Callable<Connection>() {
             @Override
             public Connection call() throws Exception {
@@ -312,7 +314,8 @@ class RemoteDomainConnection extends FutureManagementChannel {
             return false;
         }
         final List<ModelNode> bootOperations= result.get(ModelDescriptionConstants.RESULT).asList();
-        return callback.applyDomainModel(bootOperations);
+        final ModelNode headers = result.hasDefined(ModelDescriptionConstants.RESPONSE_HEADERS) ? result.get(ModelDescriptionConstants.RESPONSE_HEADERS) : new ModelNode();
+        return callback.applyDomainModel(bootOperations, headers);
     }
 
     void registered() {
@@ -338,9 +341,10 @@ class RemoteDomainConnection extends FutureManagementChannel {
          * Apply the remote domain model.
          *
          * @param result the read-domain-model operation result
+         * @param headers the read-domain-model response headers
          * @return {@code true} if the model was applied successfully, {@code false} otherwise
          */
-        boolean applyDomainModel(List<ModelNode> result);
+        boolean applyDomainModel(List<ModelNode> result, ModelNode headers);
 
         /**
          * Event that the registration was completed.
@@ -386,6 +390,8 @@ class RemoteDomainConnection extends FutureManagementChannel {
              if (context.getRequestHeader().getVersion() != 1) {
                  channelHandler.getAttachments().attach(TransactionalProtocolClient.SEND_IDENTITY, Boolean.TRUE);
              }
+             // Compress the payloads, if the master supports it
+             PayloadCompression.attach(channelHandler, context.getRequestHeader());
              context.executeAsync(new ManagementRequestContext.AsyncTask<Void>() {
                  @Override
                  public void execute(ManagementRequestContext<Void> voidManagementRequestContext) throws Exception {
@@ -449,8 +455,7 @@ class RemoteDomainConnection extends FutureManagementChannel {
                  resultHandler.failed(new SlaveRegistrationException(SlaveRegistrationException.ErrorCode.parseCode(errorCode), message));
                  return;
              }
-             final ModelNode domainModel = new ModelNode();
-             domainModel.readExternal(input);
+             final ModelNode domainModel = PayloadCompression.readModelNode(PayloadCompression.get(channelHandler), input);
              context.executeAsync(new ManagementRequestContext.AsyncTask<Void>() {
                  @Override
                  public void execute(ManagementRequestContext<Void> voidManagementRequestContext) throws Exception {
@@ -42,9 +42,11 @@ import java.io.DataInput;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
@@ -79,6 +81,8 @@ import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.controller.remote.TransactionalProtocolHandlers;
 import org.jboss.as.controller.remote.TransactionalProtocolOperationHandler;
 import org.jboss.as.domain.controller.DomainController;
+import org.jboss.as.domain.controller.DomainCoordination;
+import org.jboss.as.domain.controller.DomainModelRevisionLog;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
 import org.jboss.as.domain.controller.operations.FetchMissingConfigurationHandler;
@@ -523,7 +527,12 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                  */
                 @Override
                 public ModelNode createLocalHostInfo() {
-                    return HostInfo.createLocalHostHostInfo(localHostInfo, productConfig, ignoredDomainResourceRegistry, ReadRootResourceHandler.grabDomainResource(operationExecutor).getChildren(HOST).iterator().next());
+                    final ModelNode info = HostInfo.createLocalHostHostInfo(localHostInfo, productConfig, ignoredDomainResourceRegistry, ReadRootResourceHandler.grabDomainResource(operationExecutor).getChildren(HOST).iterator().next());
+                    final DomainModelRevisionLog revisionLog = getDomainModelRevisionLog();
+                    if (revisionLog != null) {
+                        revisionLog.addSynchronizedRevision(info);
+                    }
+                    return info;
                 }
 
                 @Override
@@ -532,10 +541,10 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                 }
 
                 @Override
-                public boolean applyDomainModel(final List<ModelNode> bootOperations) {
+                public boolean applyDomainModel(final List<ModelNode> bootOperations, final ModelNode headers) {
                     // Apply the model..
                     final HostInfo info = HostInfo.fromModelNode(createLocalHostInfo());
-                    return applyRemoteDomainModel(bootOperations, info);
+                    return applyRemoteDomainModel(bootOperations, headers, info);
                 }
 
                 @Override
@@ -575,20 +584,41 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         return subsystems;
     }
 
+    private DomainModelRevisionLog getDomainModelRevisionLog() {
+        final DomainCoordination domainCoordination = domainController.getDomainCoordination();
+        return domainCoordination == null ? null : domainCoordination.getRevisionLog();
+    }
+
     /**
      * Apply the remote domain model to the local host controller.
      *
      * @param bootOperations the result of the remote read-domain-model op
+     * @param masterHeaders the response headers of the remote read-domain-model op
      * @return {@code true} if the model was applied successfully, {@code false} otherwise
      */
-    private boolean applyRemoteDomainModel(final List<ModelNode> bootOperations, final HostInfo hostInfo) {
+    private boolean applyRemoteDomainModel(final List<ModelNode> bootOperations, final ModelNode masterHeaders, final HostInfo hostInfo) {
+        final DomainModelRevisionLog revisionLog = getDomainModelRevisionLog();
         try {
-            HostControllerLogger.ROOT_LOGGER.debug("Applying domain level boot operations provided by master");
+            // If the master only sent the resources changed since our last synchronization, only those get compared
+            Set<PathElement> changedResources = null;
+            if (masterHeaders.hasDefined(DomainModelRevisionLog.DOMAIN_MODEL_DELTA)) {
+                changedResources = new HashSet<>();
+                for (ModelNode address : masterHeaders.get(DomainModelRevisionLog.DOMAIN_MODEL_DELTA).asList()) {
+                    changedResources.add(PathAddress.pathAddress(address).getElement(0));
+                }
+                HostControllerLogger.ROOT_LOGGER.debugf("Applying %d changed domain resources provided by master", changedResources.size());
+            } else {
+                HostControllerLogger.ROOT_LOGGER.debug("Applying domain level boot operations provided by master");
+            }
+            if (revisionLog != null) {
+                // Whatever happens, the synchronized revision is unknown until the model was applied
+                revisionLog.synchronizedWith(null, null, 0);
+            }
             SyncModelParameters parameters =
                     new SyncModelParameters(domainController, ignoredDomainResourceRegistry,
                             hostControllerEnvironment, extensionRegistry, operationExecutor, true, serverProxies, remoteFileRepository, contentRepository);
             final SyncDomainModelOperationHandler handler =
-                    new SyncDomainModelOperationHandler(hostInfo, parameters);
+                    new SyncDomainModelOperationHandler(hostInfo, parameters, changedResources);
             final ModelNode operation = APPLY_DOMAIN_MODEL.clone();
             operation.get(DOMAIN_MODEL).set(bootOperations);
 
@@ -613,6 +643,11 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                 HostControllerLogger.ROOT_LOGGER.failedToApplyDomainConfig(outcome, failureDesc);
                 return false;
             } else {
+                if (revisionLog != null && masterHeaders.hasDefined(DomainModelRevisionLog.DOMAIN_MODEL_EPOCH)) {
+                    revisionLog.synchronizedWith(masterHeaders.get(DomainModelRevisionLog.DOMAIN_MODEL_EPOCH).asString(),
+                            masterHeaders.get(DomainModelRevisionLog.DOMAIN_MODEL_INSTANCE).asString(),
+                            masterHeaders.get(DomainModelRevisionLog.DOMAIN_MODEL_REVISION).asLong());
+                }
                 return true;
             }
         } catch (Exception e) {
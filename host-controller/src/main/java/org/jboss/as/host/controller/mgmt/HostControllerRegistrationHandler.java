@@ -55,6 +55,7 @@ import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.remote.PayloadCompression;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.controller.transform.TransformationTarget;
 import org.jboss.as.controller.transform.TransformationTargetImpl;
@@ -136,6 +137,8 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
         final byte operationId = header.getOperationId();
         switch (operationId) {
             case DomainControllerProtocol.REGISTER_HOST_CONTROLLER_REQUEST: {
+                // Compress the payloads, if the slave supports it
+                PayloadCompression.attach(handler, header);
                 // Start the registration process
                 final RegistrationContext context = new RegistrationContext(domainController.getExtensionRegistry(),
                         true, domainHostExcludeRegistry);
@@ -143,6 +146,8 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
                 return new InitiateRegistrationHandler();
             }
             case DomainControllerProtocol.FETCH_DOMAIN_CONFIGURATION_REQUEST: {
+                // Compress the payloads, if the slave supports it, as it does for the registration
+                PayloadCompression.attach(handler, header);
                 // Start the fetch the domain model process
                 final RegistrationContext context = new RegistrationContext(domainController.getExtensionRegistry(),
                         false, domainHostExcludeRegistry);
@@ -369,7 +374,8 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
                 // Remotely resolve the subsystem versions and create the transformation
                 registrationContext.processSubsystems(transformers, extensions);
                 // Now run the read-domain model operation
-                final ReadMasterDomainModelHandler handler = new ReadMasterDomainModelHandler(hostInfo, transformers, domainController.getExtensionRegistry(), false);
+                final ReadMasterDomainModelHandler handler = new ReadMasterDomainModelHandler(hostInfo, transformers, domainController.getExtensionRegistry(), false,
+                        domainController.getDomainCoordination());
                 context.addStep(READ_DOMAIN_MODEL.getOperation(), handler, OperationContext.Stage.MODEL);
 
                 context.completeStep(new OperationContext.ResultHandler() {
@@ -571,7 +577,11 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
             final boolean registered = executeBlocking(new IOTask<Boolean>() {
                 @Override
                 void sendMessage(final FlushableDataOutput output) throws IOException {
-                    sendResponse(output, DomainControllerProtocol.PARAM_OK, result);
+                    final PayloadCompression compression = PayloadCompression.get(handler);
+                    sendResponse(output, DomainControllerProtocol.PARAM_OK, result, compression);
+                    if (compression != null) {
+                        DOMAIN_LOGGER.debugf("Sent domain model to %s, %s", hostName, compression);
+                    }
                 }
             });
             if (!registered) {
@@ -723,11 +733,16 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
     }
 
     static void sendResponse(final FlushableDataOutput output, final byte responseType, final ModelNode response) throws IOException {
+        sendResponse(output, responseType, response, null);
+    }
+
+    static void sendResponse(final FlushableDataOutput output, final byte responseType, final ModelNode response,
+                             final PayloadCompression compression) throws IOException {
         // response type
         output.writeByte(responseType);
         if(response != null) {
             // operation result
-            response.writeExternal(output);
+            PayloadCompression.writeModelNode(compression, response, output);
         }
         // response end
         output.writeByte(ManagementProtocol.RESPONSE_END);
@@ -53,6 +53,7 @@ import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.domain.controller.DomainModelRevisionLog;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
 import org.jboss.as.domain.controller.logging.DomainControllerLogger;
 import org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil;
@@ -125,7 +126,11 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
     private final String productName;
     private final String productVersion;
     private final Long remoteConnectionId;
+    private final String domainModelEpoch;
+    private final String domainModelInstance;
+    private final long domainModelRevision;
     private final Transformers.ResourceIgnoredTransformationRegistry ignoredResources;
+    private final boolean ignoringResources;
     private final boolean ignoreUnaffectedConfig;
     private final Set<ServerConfigInfo> serverConfigInfos;
     private final Set<String> domainIgnoredExtensions;
@@ -144,6 +149,12 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         productVersion = hostInfo.hasDefined(PRODUCT_VERSION) ? hostInfo.require(PRODUCT_VERSION).asString() : null;
         remoteConnectionId = hostInfo.hasDefined(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID)
                 ? hostInfo.get(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID).asLong() : null;
+        domainModelEpoch = hostInfo.hasDefined(DomainModelRevisionLog.DOMAIN_MODEL_EPOCH)
+                ? hostInfo.get(DomainModelRevisionLog.DOMAIN_MODEL_EPOCH).asString() : null;
+        domainModelInstance = hostInfo.hasDefined(DomainModelRevisionLog.DOMAIN_MODEL_INSTANCE)
+                ? hostInfo.get(DomainModelRevisionLog.DOMAIN_MODEL_INSTANCE).asString() : null;
+        domainModelRevision = hostInfo.hasDefined(DomainModelRevisionLog.DOMAIN_MODEL_REVISION)
+                ? hostInfo.get(DomainModelRevisionLog.DOMAIN_MODEL_REVISION).asLong() : -1;
 
         Set<String> domainIgnoredExtensions = null;
         Set<String> domainActiveServerGroups = null;
@@ -166,6 +177,8 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
 
         hostDeclaredIgnoreUnaffected = hostInfo.hasDefined(IGNORE_UNUSED_CONFIG) && hostInfo.get(IGNORE_UNUSED_CONFIG).asBoolean();
         ignoreUnaffectedConfig = hostDeclaredIgnoreUnaffected || (domainActiveServerGroups != null && !domainActiveServerGroups.isEmpty());
+        ignoringResources = hostInfo.hasDefined(IGNORED_RESOURCES) || (domainIgnoredExtensions != null && !domainIgnoredExtensions.isEmpty())
+                || ignoreUnaffectedConfig;
 
         final Set<ServerConfigInfo> serverConfigInfos;
         if (ignoreUnaffectedConfig) {
@@ -217,6 +230,23 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         return remoteConnectionId;
     }
 
+    /**
+     * Gets the epoch of the domain model the host synchronized with before.
+     *
+     * @return the epoch, or {@code null} if the host does not have a copy of the domain model
+     */
+    public String getDomainModelEpoch() {
+        return domainModelEpoch;
+    }
+
+    public String getDomainModelInstance() {
+        return domainModelInstance;
+    }
+
+    public long getDomainModelRevision() {
+        return domainModelRevision;
+    }
+
     public boolean isResourceTransformationIgnored(final PathAddress address) {
         // This resource transformation is only used when registering the host
         // Future operations will send an updated list of ignored-resources
@@ -227,6 +257,16 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         return ignoreUnaffectedConfig;
     }
 
+    /**
+     * Gets whether the host ignores parts of the domain model, so that the model transformed for it cannot be shared
+     * with other hosts.
+     *
+     * @return {@code true} if resources are ignored for the host
+     */
+    public boolean isIgnoringResources() {
+        return ignoringResources;
+    }
+
     public Set<IgnoredNonAffectedServerGroupsUtil.ServerConfigInfo> getServerConfigInfos() {
         return serverConfigInfos;
     }
@@ -268,6 +308,12 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         return false;
     }
 
+    @Override
+    public boolean isExcludingOperations() {
+        return (domainIgnoredExtensions != null && !domainIgnoredExtensions.isEmpty())
+                || (ignoreUnaffectedConfig && !hostDeclaredIgnoreUnaffected && requiredConfigurationHolder != null);
+    }
+
     public synchronized ReadMasterDomainModelUtil.RequiredConfigurationHolder
             populateRequiredConfigurationHolder(Resource resource, ExtensionRegistry extensionRegistry) {
         if (requiredConfigurationHolder != null) {
@@ -98,6 +98,9 @@ import org.jboss.as.host.controller.operations.HostXmlMarshallingHandler;
 import org.jboss.as.host.controller.operations.InstallationReportHandler;
 import org.jboss.as.host.controller.operations.IsMasterHandler;
 import org.jboss.as.host.controller.operations.LocalHostControllerInfoImpl;
+import org.jboss.as.host.controller.operations.ReadHostRequestLatenciesHandler;
+import org.jboss.as.host.controller.operations.ReadRolloutProgressHandler;
+import org.jboss.as.host.controller.operations.ReadTransformationCacheStatisticsHandler;
 import org.jboss.as.host.controller.operations.ResolveExpressionOnHostHandler;
 import org.jboss.as.host.controller.operations.StartServersHandler;
 import org.jboss.as.host.controller.resources.HttpManagementResourceDefinition;
@@ -109,6 +112,7 @@ import org.jboss.as.repository.ContentRepository;
 import org.jboss.as.repository.HostFileRepository;
 import org.jboss.as.server.ServerEnvironment;
 import org.jboss.as.server.controller.resources.CapabilityRegistryResourceDefinition;
+import org.jboss.as.server.controller.resources.ContentRepositoryResourceDefinition;
 import org.jboss.as.server.controller.resources.ModuleLoadingResourceDefinition;
 import org.jboss.as.server.controller.resources.ServerRootResourceDefinition;
 import org.jboss.as.server.controller.resources.ServiceContainerResourceDefinition;
@@ -379,6 +383,13 @@ public class HostResourceDefinition extends SimpleResourceDefinition {
         hostRegistration.registerOperationHandler(HostProcessReloadHandler.getDefinition(hostControllerInfo), reloadHandler);
 
 
+        if (hostControllerInfo.isMasterDomainController()) {
+            // Only the master domain controller executes rollouts
+            hostRegistration.registerOperationHandler(ReadRolloutProgressHandler.DEFINITION, new ReadRolloutProgressHandler(domainController));
+        }
+        hostRegistration.registerOperationHandler(ReadHostRequestLatenciesHandler.DEFINITION, new ReadHostRequestLatenciesHandler(domainController));
+        hostRegistration.registerOperationHandler(ReadTransformationCacheStatisticsHandler.DEFINITION, new ReadTransformationCacheStatisticsHandler(domainController));
+
         DomainServerLifecycleHandlers.initializeServerInventory(serverInventory);
 
         DomainServerLifecycleHandlers.registerHostHandlers(hostRegistration);
@@ -459,6 +470,7 @@ public class HostResourceDefinition extends SimpleResourceDefinition {
         // Platform MBeans
         PlatformMBeanResourceRegistrar.registerPlatformMBeanResources(hostRegistration);
         hostRegistration.registerSubModel(new CapabilityRegistryResourceDefinition(domainController.getCapabilityRegistry()));
+        hostRegistration.registerSubModel(new ContentRepositoryResourceDefinition(contentRepository));
 
         // discovery options
         ManagementResourceRegistration discoveryOptions = hostRegistration.registerSubModel(DiscoveryOptionsResourceDefinition.INSTANCE);
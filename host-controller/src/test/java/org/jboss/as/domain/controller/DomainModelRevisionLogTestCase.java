@@ -0,0 +1,169 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CLONE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST_EXCLUDE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SYSTEM_PROPERTY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TO_PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link DomainModelRevisionLog}.
+ */
+public class DomainModelRevisionLogTestCase {
+
+    private static final PathElement GROUP_A = PathElement.pathElement(SERVER_GROUP, "a");
+    private static final PathElement GROUP_B = PathElement.pathElement(SERVER_GROUP, "b");
+    private static final PathElement PROFILE_DEFAULT = PathElement.pathElement(PROFILE, "default");
+    private static final PathElement PROFILE_COPY = PathElement.pathElement(PROFILE, "copy");
+
+    @Test
+    public void testChangesSince() {
+        final DomainModelRevisionLog log = new DomainModelRevisionLog("epoch", 10);
+        Assert.assertEquals(Collections.emptySet(), log.getChangesSince("epoch", "other", 0));
+
+        record(log, createOperation(ADD, GROUP_A));
+        record(log, createOperation(WRITE_ATTRIBUTE_OPERATION, GROUP_B, PathElement.pathElement("jvm", "default")));
+        Assert.assertEquals(2, log.getRevision());
+
+        Assert.assertEquals(set(GROUP_A, GROUP_B), log.getChangesSince("epoch", log.getInstance(), 0));
+        Assert.assertEquals(set(GROUP_B), log.getChangesSince("epoch", log.getInstance(), 1));
+        Assert.assertEquals(Collections.emptySet(), log.getChangesSince("epoch", log.getInstance(), 2));
+        // Revisions the log does not know about
+        Assert.assertNull(log.getChangesSince("epoch", log.getInstance(), 3));
+        Assert.assertNull(log.getChangesSince("other", log.getInstance(), 1));
+        // Revisions of another master instance, except the boot configuration of the same epoch
+        Assert.assertNull(log.getChangesSince("epoch", "other", 1));
+        Assert.assertEquals(set(GROUP_A, GROUP_B), log.getChangesSince("epoch", "other", 0));
+    }
+
+    @Test
+    public void testUnaffectedModel() {
+        final DomainModelRevisionLog log = new DomainModelRevisionLog("epoch", 10);
+        log.recordChange(log.getNextRevision(), null);
+        Assert.assertEquals(1, log.getRevision());
+        Assert.assertEquals(Collections.emptySet(), log.getChangesSince("epoch", log.getInstance(), 0));
+    }
+
+    @Test
+    public void testEviction() {
+        final DomainModelRevisionLog log = new DomainModelRevisionLog("epoch", 2);
+        record(log, createOperation(ADD, GROUP_A));
+        record(log, createOperation(ADD, GROUP_B));
+        record(log, createOperation(ADD, PROFILE_DEFAULT));
+        Assert.assertNull(log.getChangesSince("epoch", log.getInstance(), 0));
+        Assert.assertEquals(set(GROUP_B, PROFILE_DEFAULT), log.getChangesSince("epoch", log.getInstance(), 1));
+    }
+
+    @Test
+    public void testCompleteModelChanges() {
+        final DomainModelRevisionLog log = new DomainModelRevisionLog("epoch", 10);
+        record(log, createOperation(ADD, GROUP_A));
+        record(log, createOperation(WRITE_ATTRIBUTE_OPERATION));
+        record(log, createOperation(ADD, GROUP_B));
+        Assert.assertNull(log.getChangesSince("epoch", log.getInstance(), 0));
+        Assert.assertNull(log.getChangesSince("epoch", log.getInstance(), 1));
+        Assert.assertEquals(set(GROUP_B), log.getChangesSince("epoch", log.getInstance(), 2));
+
+        record(log, createOperation(ADD, PathElement.pathElement(HOST_EXCLUDE, "legacy")));
+        Assert.assertNull(log.getChangesSince("epoch", log.getInstance(), 3));
+        record(log, createOperation(ADD, PathElement.pathElement(SERVER_GROUP)));
+        Assert.assertNull(log.getChangesSince("epoch", log.getInstance(), 4));
+    }
+
+    @Test
+    public void testChangedResources() {
+        final DomainModelRevisionLog log = new DomainModelRevisionLog("epoch", 10);
+        final ModelNode composite = createOperation(COMPOSITE);
+        composite.get(STEPS).add(createOperation(ADD, PathElement.pathElement(SYSTEM_PROPERTY, "prop")));
+        composite.get(STEPS).add(createOperation(ADD, PathElement.pathElement(HOST, "slave"), GROUP_A));
+        final ModelNode clone = createOperation(CLONE, PROFILE_DEFAULT);
+        clone.get(TO_PROFILE).set(PROFILE_COPY.getValue());
+        composite.get(STEPS).add(clone);
+        record(log, composite);
+        Assert.assertEquals(set(PathElement.pathElement(SYSTEM_PROPERTY, "prop"), PROFILE_DEFAULT, PROFILE_COPY),
+                log.getChangesSince("epoch", log.getInstance(), 0));
+    }
+
+    @Test
+    public void testSynchronizedRevision() {
+        final DomainModelRevisionLog log = new DomainModelRevisionLog("epoch", 10);
+        ModelNode hostInfo = new ModelNode();
+        log.addSynchronizedRevision(hostInfo);
+        Assert.assertFalse(hostInfo.isDefined());
+        // Pushed writes are ignored until the slave synchronized
+        log.applied(1);
+        log.addSynchronizedRevision(hostInfo);
+        Assert.assertFalse(hostInfo.isDefined());
+
+        log.synchronizedWith("master", "instance", 3);
+        log.applied(3);
+        log.applied(4);
+        log.addSynchronizedRevision(hostInfo);
+        Assert.assertEquals("master", hostInfo.get(DomainModelRevisionLog.DOMAIN_MODEL_EPOCH).asString());
+        Assert.assertEquals("instance", hostInfo.get(DomainModelRevisionLog.DOMAIN_MODEL_INSTANCE).asString());
+        Assert.assertEquals(4, hostInfo.get(DomainModelRevisionLog.DOMAIN_MODEL_REVISION).asLong());
+
+        // A missed revision forgets the synchronized revision
+        log.applied(6);
+        hostInfo = new ModelNode();
+        log.addSynchronizedRevision(hostInfo);
+        Assert.assertFalse(hostInfo.isDefined());
+    }
+
+    private static void record(final DomainModelRevisionLog log, final ModelNode operation) {
+        log.recordChange(log.getNextRevision(), operation);
+    }
+
+    private static ModelNode createOperation(final String name, final PathElement... elements) {
+        final ModelNode operation = new ModelNode();
+        operation.get(OP).set(name);
+        operation.get(OP_ADDR).set(PathAddress.pathAddress(elements).toModelNode());
+        return operation;
+    }
+
+    private static Set<PathElement> set(final PathElement... elements) {
+        final Set<PathElement> set = new HashSet<>();
+        Collections.addAll(set, elements);
+        return set;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller;
+
+import static org.jboss.as.domain.controller.HostRequestLatencies.BUCKETS;
+import static org.jboss.as.domain.controller.HostRequestLatencies.COMMIT;
+import static org.jboss.as.domain.controller.HostRequestLatencies.COUNT;
+import static org.jboss.as.domain.controller.HostRequestLatencies.MAX;
+import static org.jboss.as.domain.controller.HostRequestLatencies.MEAN;
+import static org.jboss.as.domain.controller.HostRequestLatencies.PREPARE;
+import static org.jboss.as.domain.controller.HostRequestLatencies.UPPER_BOUND;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link HostRequestLatencies}.
+ */
+public class HostRequestLatenciesTestCase {
+
+    @Test
+    public void testBuckets() {
+        Assert.assertEquals(0, HostRequestLatencies.bucketOf(0));
+        Assert.assertEquals(0, HostRequestLatencies.bucketOf(1));
+        Assert.assertEquals(1, HostRequestLatencies.bucketOf(2));
+        Assert.assertEquals(2, HostRequestLatencies.bucketOf(3));
+        Assert.assertEquals(2, HostRequestLatencies.bucketOf(4));
+        Assert.assertEquals(3, HostRequestLatencies.bucketOf(5));
+        Assert.assertEquals(10, HostRequestLatencies.bucketOf(1024));
+        Assert.assertEquals(16, HostRequestLatencies.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testHistograms() {
+        final HostRequestLatencies latencies = new HostRequestLatencies();
+        latencies.recordPrepare("slave", TimeUnit.MILLISECONDS.toNanos(3));
+        latencies.recordPrepare("slave", TimeUnit.MILLISECONDS.toNanos(9));
+        latencies.recordCommit("slave", TimeUnit.MILLISECONDS.toNanos(1));
+
+        final ModelNode slave = latencies.toModelNode().get("slave");
+        final ModelNode prepare = slave.get(PREPARE);
+        Assert.assertEquals(2, prepare.get(COUNT).asLong());
+        Assert.assertEquals(6, prepare.get(MEAN).asLong());
+        Assert.assertEquals(9, prepare.get(MAX).asLong());
+        final List<ModelNode> buckets = prepare.get(BUCKETS).asList();
+        // buckets up to 16 ms, the one of the slowest response
+        Assert.assertEquals(5, buckets.size());
+        Assert.assertEquals(4, buckets.get(2).get(UPPER_BOUND).asLong());
+        Assert.assertEquals(1, buckets.get(2).get(COUNT).asLong());
+        Assert.assertEquals(0, buckets.get(3).get(COUNT).asLong());
+        Assert.assertEquals(16, buckets.get(4).get(UPPER_BOUND).asLong());
+        Assert.assertEquals(1, buckets.get(4).get(COUNT).asLong());
+        Assert.assertEquals(1, slave.get(COMMIT, COUNT).asLong());
+
+        latencies.removeHost("slave");
+        Assert.assertFalse(latencies.toModelNode().has("slave"));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_GROUP;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link TransformationResultCache}.
+ */
+public class TransformationResultCacheTestCase {
+
+    @Test
+    public void testDescribedResourcesInvalidatedByWrite() {
+        final DomainModelRevisionLog log = new DomainModelRevisionLog("epoch", 10);
+        final TransformationResultCache cache = new TransformationResultCache(log);
+
+        Assert.assertNull(cache.getDescribedResources("1.0"));
+        final List<ModelNode> cached = cache.putDescribedResources("1.0", Collections.singletonList(new ModelNode("a")));
+        Assert.assertSame(cached, cache.getDescribedResources("1.0"));
+        Assert.assertNull(cache.getDescribedResources("2.0"));
+        try {
+            cached.get(0).set("b");
+            Assert.fail("The cached resources should be protected");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+
+        final ModelNode op = new ModelNode();
+        op.get(OP).set(ADD);
+        op.get(OP_ADDR).set(PathAddress.pathAddress(PathElement.pathElement(SERVER_GROUP, "a")).toModelNode());
+        log.recordChange(log.getNextRevision(), op);
+        Assert.assertNull(cache.getDescribedResources("1.0"));
+
+        final ModelNode statistics = cache.toModelNode().get(TransformationResultCache.RESOURCES);
+        Assert.assertEquals(1, statistics.get(TransformationResultCache.HITS).asLong());
+        Assert.assertEquals(3, statistics.get(TransformationResultCache.MISSES).asLong());
+        Assert.assertEquals(0.25, statistics.get(TransformationResultCache.HIT_RATIO).asDouble(), 0.0);
+        Assert.assertEquals(0, statistics.get(TransformationResultCache.ENTRIES).asInt());
+        Assert.assertEquals(1, statistics.get(TransformationResultCache.INVALIDATIONS).asLong());
+    }
+
+    @Test
+    public void testOperationStatistics() {
+        final TransformationResultCache cache = new TransformationResultCache(new DomainModelRevisionLog("epoch", 10));
+        Assert.assertEquals(0, cache.toModelNode().get(TransformationResultCache.OPERATION_TRANSFORMATIONS, TransformationResultCache.SHARED).asLong());
+        cache.recordOperationTransformation(false);
+        cache.recordOperationTransformation(true);
+        cache.recordOperationTransformation(true);
+        cache.recordOperationTransformation(true);
+
+        final ModelNode statistics = cache.toModelNode().get(TransformationResultCache.OPERATION_TRANSFORMATIONS);
+        Assert.assertEquals(1, statistics.get(TransformationResultCache.TRANSFORMED).asLong());
+        Assert.assertEquals(3, statistics.get(TransformationResultCache.SHARED).asLong());
+        // Sharing within a request is not reported as cache hits
+        Assert.assertFalse(statistics.has(TransformationResultCache.HITS));
+        Assert.assertFalse(statistics.has(TransformationResultCache.HIT_RATIO));
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.plan;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CANARY_PERCENTAGE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IN_SERIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_SERVERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILED_SERVERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.remote.BlockingQueueOperationListener;
+import org.jboss.as.controller.remote.TransactionalProtocolClient;
+import org.jboss.as.controller.transform.OperationResultTransformer;
+import org.jboss.as.domain.controller.LocalHostControllerInfo;
+import org.jboss.as.domain.controller.ServerIdentity;
+import org.jboss.as.domain.controller.operations.coordination.MultiphaseOverallContext;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link WindowedServerGroupUpdateTask}.
+ */
+public class WindowedServerGroupUpdateTaskTestCase {
+
+    private static final String GROUP = "main-server-group";
+    private static final String OTHER_GROUP = "other-server-group";
+
+    @Test
+    public void testWindowIsRespected() {
+        final Rollout rollout = new Rollout(10, 3, 0);
+        rollout.run();
+        Assert.assertEquals(10, rollout.executor.executed.size());
+        Assert.assertEquals(3, rollout.executor.maxInFlight);
+        Assert.assertTrue(rollout.progress.toModelNode().asList().isEmpty());
+    }
+
+    @Test
+    public void testCanariesRunFirst() {
+        final Rollout rollout = new Rollout(10, 4, 20);
+        rollout.run();
+        Assert.assertEquals(10, rollout.executor.executed.size());
+        // Both canaries were prepared before any other server was started
+        Assert.assertEquals(2, rollout.executor.preparedBeforeThirdServer);
+        Assert.assertEquals(4, rollout.executor.maxInFlight);
+    }
+
+    @Test
+    public void testFailedCanaryStopsRollout() {
+        final Rollout rollout = new Rollout(10, 4, 20);
+        rollout.executor.failing.add(rollout.servers.get(1));
+        rollout.run();
+        Assert.assertEquals(rollout.servers.subList(0, 2), rollout.executor.executed);
+        Assert.assertTrue(rollout.policy.hasFailedServers());
+        // Even though max-failed-servers was not exceeded, the servers that were never updated fail the group
+        Assert.assertTrue(rollout.policy.isFailed());
+    }
+
+    @Test(timeout = 30000)
+    public void testFailedCanaryRollsBackGroup() throws Exception {
+        final Map<String, Map<ServerIdentity, ModelNode>> opsByGroup = new LinkedHashMap<>();
+        final ModelNode rolloutPlan = new ModelNode();
+        for (String group : new String[] {GROUP, OTHER_GROUP}) {
+            final Map<ServerIdentity, ModelNode> ops = new LinkedHashMap<>();
+            for (int i = 0; i < 10; i++) {
+                final ModelNode operation = new ModelNode();
+                operation.get(OP).set("test");
+                ops.put(new ServerIdentity("host", group, group + "-server-" + i), operation);
+            }
+            opsByGroup.put(group, ops);
+            final ModelNode policy = new ModelNode();
+            policy.get(MAX_CONCURRENT_SERVERS).set(4);
+            policy.get(CANARY_PERCENTAGE).set(20);
+            policy.get(MAX_FAILED_SERVERS).set(10);
+            rolloutPlan.get(IN_SERIES).add().get(SERVER_GROUP, group).set(policy);
+        }
+        final ServerIdentity failed = new ServerIdentity("host", GROUP, GROUP + "-server-1");
+        final RolloutProgress progress = new RolloutProgress();
+        final TestServerTaskExecutor executor = new TestServerTaskExecutor(4, progress);
+        executor.failing.add(failed);
+
+        final Constructor<MultiphaseOverallContext> constructor = MultiphaseOverallContext.class.getDeclaredConstructor(LocalHostControllerInfo.class);
+        constructor.setAccessible(true);
+        final MultiphaseOverallContext context = constructor.newInstance((LocalHostControllerInfo) null);
+        context.setCompleteRollback(false);
+
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final RolloutPlanController controller = new RolloutPlanController(opsByGroup, rolloutPlan, context, executor,
+                    executorService, null, progress);
+            Assert.assertEquals(RolloutPlanController.Result.PARTIAL, controller.execute());
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        // Only the canaries of the first group were updated; the next group in series is updated on its own
+        Assert.assertEquals(executor.executed.toString(), 12, executor.executed.size());
+        Assert.assertTrue(executor.executed.contains(failed));
+        Assert.assertTrue(executor.executed.containsAll(opsByGroup.get(OTHER_GROUP).keySet()));
+        final Method isServerGroupRollback = MultiphaseOverallContext.class.getDeclaredMethod("isServerGroupRollback", String.class);
+        isServerGroupRollback.setAccessible(true);
+        Assert.assertTrue((Boolean) isServerGroupRollback.invoke(context, GROUP));
+        final Method isCompleteRollback = MultiphaseOverallContext.class.getDeclaredMethod("isCompleteRollback");
+        isCompleteRollback.setAccessible(true);
+        Assert.assertTrue((Boolean) isCompleteRollback.invoke(context));
+    }
+
+    @Test
+    public void testFailureAfterCanariesDoesNotStopRollout() {
+        final Rollout rollout = new Rollout(10, 4, 10);
+        rollout.executor.failing.add(rollout.servers.get(5));
+        rollout.run();
+        Assert.assertEquals(10, rollout.executor.executed.size());
+    }
+
+    private static class Rollout {
+
+        private final List<ServerIdentity> servers = new ArrayList<>();
+        private final RolloutProgress progress = new RolloutProgress();
+        private final TestServerTaskExecutor executor;
+        private final ServerUpdatePolicy policy;
+        private final WindowedServerGroupUpdateTask task;
+
+        private Rollout(final int serverCount, final int window, final int canaryPercentage) {
+            for (int i = 0; i < serverCount; i++) {
+                servers.add(new ServerIdentity("host", GROUP, "server-" + i));
+            }
+            final Set<ServerIdentity> identities = new LinkedHashSet<>(servers);
+            final ConcurrentGroupServerUpdatePolicy parent = new ConcurrentGroupServerUpdatePolicy(null, Collections.singleton(GROUP));
+            policy = new ServerUpdatePolicy(parent, GROUP, identities, serverCount);
+            final List<ServerUpdateTask> tasks = new ArrayList<>();
+            for (ServerIdentity server : servers) {
+                tasks.add(new ServerUpdateTask(server, policy) {
+                    @Override
+                    public ModelNode getOperation() {
+                        final ModelNode operation = new ModelNode();
+                        operation.get(OP).set("test");
+                        return operation;
+                    }
+                });
+            }
+            executor = new TestServerTaskExecutor(window, progress);
+            task = new WindowedServerGroupUpdateTask(tasks, policy, executor, null, null, null, progress, window,
+                    RolloutPlanController.percentageOf(serverCount, canaryPercentage));
+        }
+
+        private void run() {
+            task.run();
+        }
+    }
+
+    private static class TestServerTaskExecutor extends ServerTaskExecutor {
+
+        private final int window;
+        private final RolloutProgress progress;
+        private final List<ServerIdentity> executed = new ArrayList<>();
+        private final Set<ServerIdentity> failing = new LinkedHashSet<>();
+        private int inFlight;
+        private int maxInFlight;
+        private int prepared;
+        private int preparedBeforeThirdServer = -1;
+
+        private TestServerTaskExecutor(final int window, final RolloutProgress progress) {
+            super(null, new HashMap<>(), new ArrayList<>());
+            this.window = window;
+            this.progress = progress;
+        }
+
+        @Override
+        protected int execute(TransactionalProtocolClient.TransactionalOperationListener<ServerOperation> listener, ServerIdentity identity, ModelNode operation) throws OperationFailedException {
+            executed.add(identity);
+            if (executed.size() == 3) {
+                preparedBeforeThirdServer = prepared;
+            }
+            inFlight++;
+            maxInFlight = Math.max(maxInFlight, inFlight);
+            Assert.assertTrue(inFlight <= window);
+            final ModelNode rollouts = progress.toModelNode();
+            Assert.assertEquals(1, rollouts.asList().size());
+            Assert.assertTrue(rollouts.get(0).get(RolloutProgress.IN_FLIGHT).asList().size() < window);
+            if (failing.contains(identity)) {
+                throw new OperationFailedException("failed " + identity);
+            }
+            final ModelNode result = new ModelNode();
+            result.get(OUTCOME).set(SUCCESS);
+            final ServerOperation serverOperation = new ServerOperation(identity, operation, null, null, OperationResultTransformer.ORIGINAL_RESULT);
+            listener.operationPrepared(new BlockingQueueOperationListener.FailedOperation<>(serverOperation, result, false));
+            return 1000;
+        }
+
+        @Override
+        void recordPreparedOperation(TransactionalProtocolClient.PreparedOperation<ServerOperation> preparedOperation) {
+            super.recordPreparedOperation(preparedOperation);
+            inFlight--;
+            prepared++;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller.mgmt;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+
+import org.jboss.as.controller.remote.PayloadCompression;
+import org.jboss.as.domain.controller.DomainController;
+import org.jboss.as.protocol.mgmt.ManagementChannelHandler;
+import org.jboss.as.protocol.mgmt.ManagementClientChannelStrategy;
+import org.jboss.as.protocol.mgmt.ManagementRequestHandlerFactory;
+import org.jboss.as.protocol.mgmt.ManagementRequestHeader;
+import org.jboss.remoting3.Channel;
+import org.jboss.remoting3.Connection;
+import org.junit.Test;
+
+/**
+ * Tests of the payload compression negotiated by {@link HostControllerRegistrationHandler}.
+ */
+public class HostControllerRegistrationHandlerTestCase {
+
+    @Test
+    public void testCompressionForRegistration() {
+        assertNotNull(resolve(DomainControllerProtocol.REGISTER_HOST_CONTROLLER_REQUEST, PayloadCompression.PROTOCOL_VERSION));
+    }
+
+    @Test
+    public void testCompressionForFetchDomainConfiguration() {
+        // An admin-only slave fetches the domain configuration instead of registering, and expects the same payloads
+        assertNotNull(resolve(DomainControllerProtocol.FETCH_DOMAIN_CONFIGURATION_REQUEST, PayloadCompression.PROTOCOL_VERSION));
+    }
+
+    @Test
+    public void testNoCompressionForOlderSlave() {
+        assertNull(resolve(DomainControllerProtocol.REGISTER_HOST_CONTROLLER_REQUEST, PayloadCompression.PROTOCOL_VERSION - 1));
+        assertNull(resolve(DomainControllerProtocol.FETCH_DOMAIN_CONFIGURATION_REQUEST, PayloadCompression.PROTOCOL_VERSION - 1));
+    }
+
+    private static PayloadCompression resolve(final byte operationId, final int version) {
+        final Connection connection = mock(Connection.class);
+        when(connection.getPeerAddress(InetSocketAddress.class)).thenReturn(new InetSocketAddress(InetAddress.getLoopbackAddress(), 9990));
+        final Channel channel = mock(Channel.class);
+        when(channel.getConnection()).thenReturn(connection);
+        final ManagementChannelHandler channelHandler = new ManagementChannelHandler(ManagementClientChannelStrategy.create(channel), mock(ExecutorService.class));
+        final HostControllerRegistrationHandler handler = new HostControllerRegistrationHandler(channelHandler, mock(DomainController.class), null,
+                mock(ExecutorService.class), null, null);
+        handler.resolveHandler(mock(ManagementRequestHandlerFactory.RequestHandlerChain.class), new ManagementRequestHeader(version, 1, 1, operationId));
+        return PayloadCompression.get(channelHandler);
+    }
+}
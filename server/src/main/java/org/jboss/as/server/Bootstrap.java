@@ -36,17 +36,20 @@ import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.extension.RuntimeHostControllerInfoAccessor;
 import org.jboss.as.controller.parsing.Namespace;
 import org.jboss.as.controller.persistence.BackupXmlConfigurationPersister;
+import org.jboss.as.controller.persistence.BootOperationCache;
 import org.jboss.as.controller.persistence.ConfigurationFile;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
 import org.jboss.as.server.controller.git.GitConfigurationPersister;
 import org.jboss.as.controller.persistence.XmlConfigurationPersister;
 import org.jboss.as.server.parsing.StandaloneXml;
+import org.jboss.as.version.Version;
 import org.jboss.modules.Module;
 import org.jboss.modules.ModuleLoader;
 import org.jboss.msc.service.ServiceActivator;
 import org.jboss.msc.service.ServiceContainer;
 import org.jboss.threads.AsyncFuture;
 import org.wildfly.security.auth.server.SecurityIdentity;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * The application server bootstrap interface.  Get a new instance via {@link Factory#newInstance()}.
@@ -89,6 +92,12 @@ public interface Bootstrap {
      */
     final class Configuration {
 
+        /**
+         * System property that, when set to {@code true}, stores the boot operations parsed from the server
+         * configuration file so that later boots of the same configuration can skip parsing it.
+         */
+        private static final String BOOT_OPERATION_CACHE_PROPERTY = "jboss.config.boot-operation-cache";
+
         private final ServerEnvironment serverEnvironment;
         private final RunningModeControl runningModeControl;
         private final ExtensionRegistry extensionRegistry;
@@ -217,6 +226,12 @@ public interface Bootstrap {
                             persister = new BackupXmlConfigurationPersister(configurationFile, rootElement, parser, parser,
                                     runningModeControl.isReloaded(), serverEnvironment.getLaunchType() == ServerEnvironment.LaunchType.EMBEDDED);
                         }
+                        if (Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(BOOT_OPERATION_CACHE_PROPERTY, "false"))) {
+                            String environment = Version.AS_VERSION + ' ' + serverEnvironment.getProductConfig().getPrettyVersionString()
+                                    + ' ' + runningModeControl.getRunningMode();
+                            persister.setBootOperationCache(new BootOperationCache(configurationFile.getBootOperationCacheFile(),
+                                    Module.getBootModuleLoader(), environment));
+                        }
                         for (Namespace namespace : Namespace.domainValues()) {
                             if (!namespace.equals(Namespace.CURRENT)) {
                                 persister.registerAdditionalRootElement(new QName(namespace.getUriString(), "server"), parser);
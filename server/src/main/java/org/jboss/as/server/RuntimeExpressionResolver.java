@@ -49,11 +49,13 @@ public class RuntimeExpressionResolver extends ExpressionResolverImpl implements
     @Override
     public synchronized void addResolverExtension(ExpressionResolverExtension extension) {
         extensions.add(extension);
+        invalidateResolutionCaches();
     }
 
     @Override
     public synchronized void removeResolverExtension(ExpressionResolverExtension extension) {
         extensions.remove(extension);
+        invalidateResolutionCaches();
     }
 
     @Override
@@ -137,6 +137,18 @@ public class GitContentRepository extends ContentRepositoryImpl {
         return result;
     }
 
+    @Override
+    public byte[] addContent(Path file, byte[] hash) throws IOException {
+        byte[] result = super.addContent(file, hash);
+        final Path realFile = getDeploymentContentFile(result, true);
+        try (Git git = gitRepository.getGit()) {
+            git.add().addFilepattern(gitRepository.getPattern(realFile)).call();
+        } catch (GitAPIException ex) {
+            throw new IOException(ex);
+        }
+        return result;
+    }
+
     @Override
     public void flush(boolean success) {
         if (success) {
@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.controller.resources;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CONTENT_REPOSITORY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE_SERVICE;
+
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.server.controller.descriptions.ServerDescriptions;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Definition of the core-service=content-repository resource, which exposes statistics of the content repository.
+ */
+public class ContentRepositoryResourceDefinition extends SimpleResourceDefinition {
+
+    private static final SimpleAttributeDefinition INGESTED_BYTES = SimpleAttributeDefinitionBuilder.create("ingested-bytes", ModelType.LONG)
+            .setStorageRuntime()
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .setFlags(AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    private static final SimpleAttributeDefinition INGESTION_RATE = SimpleAttributeDefinitionBuilder.create("ingestion-rate", ModelType.LONG)
+            .setStorageRuntime()
+            .setMeasurementUnit(MeasurementUnit.PER_SECOND)
+            .setFlags(AttributeAccess.Flag.GAUGE_METRIC)
+            .build();
+
+    private static final SimpleAttributeDefinition CONTENT_COUNT = SimpleAttributeDefinitionBuilder.create("content-count", ModelType.INT)
+            .setStorageRuntime()
+            .setFlags(AttributeAccess.Flag.GAUGE_METRIC)
+            .build();
+
+    private static final SimpleAttributeDefinition CONTENT_BYTES = SimpleAttributeDefinitionBuilder.create("content-bytes", ModelType.LONG)
+            .setStorageRuntime()
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .setFlags(AttributeAccess.Flag.GAUGE_METRIC)
+            .build();
+
+    private static final SimpleAttributeDefinition RECLAIMED_BYTES = SimpleAttributeDefinitionBuilder.create("reclaimed-bytes", ModelType.LONG)
+            .setStorageRuntime()
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .setFlags(AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    private static final SimpleAttributeDefinition LAST_CLEAN_DURATION = SimpleAttributeDefinitionBuilder.create("last-clean-duration", ModelType.LONG)
+            .setStorageRuntime()
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setFlags(AttributeAccess.Flag.GAUGE_METRIC)
+            .build();
+
+    private final ContentRepository contentRepository;
+
+    public ContentRepositoryResourceDefinition(final ContentRepository contentRepository) {
+        super(new Parameters(
+                PathElement.pathElement(CORE_SERVICE, CONTENT_REPOSITORY),
+                ServerDescriptions.getResourceDescriptionResolver("core", CONTENT_REPOSITORY))
+                .setRuntime()
+        );
+        assert contentRepository != null;
+        this.contentRepository = contentRepository;
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        resourceRegistration.registerMetric(INGESTED_BYTES,
+                (context, operation) -> context.getResult().set(contentRepository.getIngestedBytes()));
+        resourceRegistration.registerMetric(INGESTION_RATE,
+                (context, operation) -> context.getResult().set(contentRepository.getIngestionRate()));
+        resourceRegistration.registerMetric(CONTENT_COUNT,
+                (context, operation) -> context.getResult().set(contentRepository.getContentCount()));
+        resourceRegistration.registerMetric(CONTENT_BYTES,
+                (context, operation) -> context.getResult().set(contentRepository.getContentBytes()));
+        resourceRegistration.registerMetric(RECLAIMED_BYTES,
+                (context, operation) -> context.getResult().set(contentRepository.getReclaimedBytes()));
+        resourceRegistration.registerMetric(LAST_CLEAN_DURATION,
+                (context, operation) -> context.getResult().set(contentRepository.getLastCleanDuration()));
+    }
+}
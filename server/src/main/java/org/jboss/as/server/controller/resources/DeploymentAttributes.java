@@ -50,6 +50,7 @@ import org.jboss.as.controller.OperationDefinition;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.ParameterCorrector;
 import org.jboss.as.controller.PrimitiveListAttributeDefinition;
+import org.jboss.as.controller.PropertiesAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
@@ -59,6 +60,7 @@ import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.operations.validation.MinMaxValidator;
 import org.jboss.as.controller.operations.validation.ModelTypeValidator;
 import org.jboss.as.controller.operations.validation.ParameterValidator;
@@ -357,6 +359,18 @@ public class DeploymentAttributes {
             .setRequired(true)
             .build();
 
+    /** Client side manifest of an exploded deployment, mapping each file path to the hex SHA-1 of its content */
+    public static final PropertiesAttributeDefinition DIFF_MANIFEST = new PropertiesAttributeDefinition.Builder(ModelDescriptionConstants.MANIFEST, false)
+            .build();
+
+    /** Return values for the diff-content operation */
+    private static final StringListAttributeDefinition DIFF_CONTENT_MISSING = new StringListAttributeDefinition.Builder(ModelDescriptionConstants.MISSING)
+            .setRequired(true)
+            .build();
+    private static final StringListAttributeDefinition DIFF_CONTENT_REMOVED = new StringListAttributeDefinition.Builder(ModelDescriptionConstants.REMOVED)
+            .setRequired(true)
+            .build();
+
     /** All attributes of the content attribute */
     @SuppressWarnings("unchecked")
     public static final Map<String, AttributeDefinition> ALL_CONTENT_ATTRIBUTES = createAttributeMap(MANAGED_CONTENT_ATTRIBUTES, UNMANAGED_CONTENT_ATTRIBUTES);
@@ -370,6 +384,19 @@ public class DeploymentAttributes {
             .withFlags(Flag.READ_ONLY)
             .build();
 
+    public static final OperationDefinition READ_ANNOTATION_INDEX_TIMING = SimpleOperationDefinitionBuilder.of(ModelDescriptionConstants.READ_ANNOTATION_INDEX_TIMING, DEPLOYMENT_RESOLVER)
+            .setReplyType(ModelType.LIST)
+            .setReplyValueType(ModelType.OBJECT)
+            .withFlags(Flag.READ_ONLY)
+            .setRuntimeOnly()
+            .build();
+
+    public static final OperationDefinition READ_DEPLOYMENT_TIMING = SimpleOperationDefinitionBuilder.of(ModelDescriptionConstants.READ_DEPLOYMENT_TIMING, DEPLOYMENT_RESOLVER)
+            .setReplyType(ModelType.OBJECT)
+            .withFlags(Flag.READ_ONLY)
+            .setRuntimeOnly()
+            .build();
+
     public static final OperationDefinition DEPLOY_DEFINITION = SimpleOperationDefinitionBuilder.of(ModelDescriptionConstants.DEPLOY, DEPLOYMENT_RESOLVER).build();
     public static final OperationDefinition UNDEPLOY_DEFINITION = SimpleOperationDefinitionBuilder.of(ModelDescriptionConstants.UNDEPLOY, DEPLOYMENT_RESOLVER).build();
     public static final OperationDefinition REDEPLOY_DEFINITION = SimpleOperationDefinitionBuilder.of(ModelDescriptionConstants.REDEPLOY, DEPLOYMENT_RESOLVER).build();
@@ -401,6 +428,12 @@ public class DeploymentAttributes {
             .withFlags(Flag.READ_ONLY)
             .build();
 
+    public static final OperationDefinition DEPLOYMENT_DIFF_CONTENT_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.DIFF_CONTENT, DEPLOYMENT_RESOLVER)
+            .setParameters(DIFF_MANIFEST)
+            .setReplyParameters(DIFF_CONTENT_MISSING, DIFF_CONTENT_REMOVED)
+            .withFlags(Flag.READ_ONLY)
+            .build();
+
     /** Server group add deployment definition */
     public static final OperationDefinition SERVER_GROUP_DEPLOYMENT_ADD_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.ADD, DEPLOYMENT_RESOLVER)
             .setParameters(SERVER_GROUP_ADD_ATTRIBUTES)
@@ -472,6 +505,32 @@ public class DeploymentAttributes {
             .addAccessConstraint(ApplicationTypeAccessConstraintDefinition.DEPLOYMENT)
             .build();
 
+    //Chunked upload definitions
+    public static final SimpleAttributeDefinition UPLOAD_ID = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.UPLOAD_ID, ModelType.STRING)
+            .setRequired(true)
+            .setValidator(new StringLengthValidator(1, 128))
+            .build();
+    public static final SimpleAttributeDefinition UPLOAD_OFFSET = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.OFFSET, ModelType.LONG)
+            .setRequired(true)
+            .setValidator(new LongRangeValidator(0))
+            .build();
+    public static final SimpleAttributeDefinition UPLOAD_SIZE = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.SIZE, ModelType.LONG)
+            .setRequired(true)
+            .setValidator(new LongRangeValidator(0))
+            .build();
+    public static final OperationDefinition UPLOAD_CHUNK_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.UPLOAD_DEPLOYMENT_CHUNK, DEPLOYMENT_RESOLVER)
+            .setParameters(UPLOAD_ID, UPLOAD_OFFSET, INPUT_STREAM_INDEX_NOT_NULL)
+            .setReplyType(ModelType.LONG)
+            .setRuntimeOnly()
+            .addAccessConstraint(ApplicationTypeAccessConstraintDefinition.DEPLOYMENT)
+            .build();
+    public static final OperationDefinition COMMIT_UPLOAD_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.COMMIT_DEPLOYMENT_UPLOAD, DEPLOYMENT_RESOLVER)
+            .setParameters(UPLOAD_ID, UPLOAD_SIZE)
+            .setReplyParameters(UPLOAD_HASH_REPLY)
+            .setRuntimeOnly()
+            .addAccessConstraint(ApplicationTypeAccessConstraintDefinition.DEPLOYMENT)
+            .build();
+
     //Replace deployment definition
     public static final Map<String, AttributeDefinition> REPLACE_DEPLOYMENT_ATTRIBUTES = createAttributeMap(NAME, TO_REPLACE, CONTENT_PARAM_ALL_NILLABLE, RUNTIME_NAME_NILLABLE);
     public static final OperationDefinition REPLACE_DEPLOYMENT_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.REPLACE_DEPLOYMENT, DEPLOYMENT_RESOLVER)
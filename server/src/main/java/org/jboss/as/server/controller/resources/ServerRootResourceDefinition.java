@@ -100,9 +100,12 @@ import org.jboss.as.server.ServerEnvironmentResourceDescription;
 import org.jboss.as.server.Services;
 import org.jboss.as.server.controller.descriptions.ServerDescriptionConstants;
 import org.jboss.as.server.controller.descriptions.ServerDescriptions;
+import org.jboss.as.server.deployment.ChunkedDeploymentUploads;
 import org.jboss.as.server.deployment.DeploymentFullReplaceHandler;
 import org.jboss.as.server.deployment.DeploymentReplaceHandler;
 import org.jboss.as.server.deployment.DeploymentUploadBytesHandler;
+import org.jboss.as.server.deployment.DeploymentUploadChunkHandler;
+import org.jboss.as.server.deployment.DeploymentUploadCommitHandler;
 import org.jboss.as.server.deployment.DeploymentUploadStreamAttachmentHandler;
 import org.jboss.as.server.deployment.DeploymentUploadURLHandler;
 import org.jboss.as.server.deploymentoverlay.DeploymentOverlayDefinition;
@@ -366,6 +369,10 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerOperationHandler(DeploymentAttributes.FULL_REPLACE_DEPLOYMENT_DEFINITION, DeploymentFullReplaceHandler.create(contentRepository));
 
         if (!isDomain) {
+            // chunked uploads are staged by standalone servers only, managed servers get their content from the domain
+            final ChunkedDeploymentUploads chunkedUploads = new ChunkedDeploymentUploads(serverEnvironment.getServerTempDir().toPath().resolve("deployment-uploads"));
+            DeploymentUploadChunkHandler.register(resourceRegistration, chunkedUploads);
+            DeploymentUploadCommitHandler.register(resourceRegistration, chunkedUploads, contentRepository);
             if(serverEnvironment.useGit()) {
                 resourceRegistration.registerOperationHandler(ConfigurationPublishHandler.DEFINITION,
                         new ConfigurationPublishHandler(extensibleConfigurationPersister));
@@ -542,6 +549,9 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
         //capability registry
         resourceRegistration.registerSubModel(new CapabilityRegistryResourceDefinition(capabilityRegistry));
 
+        //content repository statistics
+        resourceRegistration.registerSubModel(new ContentRepositoryResourceDefinition(contentRepository));
+
         // Interfaces
         ManagementResourceRegistration interfaces = resourceRegistration.registerSubModel(new InterfaceResourceDefinition(
                 SpecifiedInterfaceAddHandler.INSTANCE,
@@ -22,7 +22,9 @@ import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.server.deployment.DeploymentAnnotationIndexTimingHandler;
 import org.jboss.as.server.deployment.DeploymentListModulesHandler;
+import org.jboss.as.server.deployment.DeploymentTimingHandler;
 
 /**
  * The sub-deployment resource definition.
@@ -43,5 +45,7 @@ public class ServerSubDeploymentResourceDefinition extends SimpleResourceDefinit
     public void registerOperations(ManagementResourceRegistration resourceRegistration) {
         super.registerOperations(resourceRegistration);
         resourceRegistration.registerOperationHandler(DeploymentAttributes.LIST_MODULES, new DeploymentListModulesHandler());
+        resourceRegistration.registerOperationHandler(DeploymentAttributes.READ_ANNOTATION_INDEX_TIMING, new DeploymentAnnotationIndexTimingHandler());
+        resourceRegistration.registerOperationHandler(DeploymentAttributes.READ_DEPLOYMENT_TIMING, new DeploymentTimingHandler());
     }
 }
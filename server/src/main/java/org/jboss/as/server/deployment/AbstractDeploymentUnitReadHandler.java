@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBDEPLOYMENT;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.ENABLED;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.RUNTIME_NAME;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Base class for operations on deployment and sub-deployment resources that read runtime information from the
+ * {@link DeploymentUnit} of an enabled deployment.
+ */
+abstract class AbstractDeploymentUnitReadHandler implements OperationStepHandler {
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final PathAddress currentAddress = context.getCurrentAddress();
+        final boolean subDeploymentFlag = currentAddress.getLastElement().getKey().equals(SUBDEPLOYMENT);
+        final PathAddress address = subDeploymentFlag ? currentAddress.getParent() : currentAddress;
+
+        final ModelNode model = context.readResourceFromRoot(address, false).getModel();
+        final boolean enabled = ENABLED.resolveModelAttribute(context, model).asBoolean();
+        final String runtimeName = RUNTIME_NAME.resolveModelAttribute(context, model).asString();
+        final String item = context.getCurrentAddressValue();
+
+        if (enabled && context.isNormalServer()) {
+            context.addStep(new OperationStepHandler() {
+                @Override
+                public void execute(OperationContext context, ModelNode operation) {
+                    final ServiceController<?> deploymentUnitSc = context.getServiceRegistry(false).getService(Services.deploymentUnitName(runtimeName));
+                    if (deploymentUnitSc == null || deploymentUnitSc.getValue() == null) {
+                        throw ControllerLogger.ROOT_LOGGER.managementResourceNotFound(currentAddress);
+                    }
+                    DeploymentUnit deploymentUnit = (DeploymentUnit) deploymentUnitSc.getValue();
+                    if (subDeploymentFlag) {
+                        DeploymentUnit subDeploymentUnit = null;
+                        for (DeploymentUnit subDeployment : deploymentUnit.getAttachmentList(Attachments.SUB_DEPLOYMENTS)) {
+                            if (subDeployment.getName().equals(item)) {
+                                subDeploymentUnit = subDeployment;
+                                break;
+                            }
+                        }
+                        if (subDeploymentUnit == null) {
+                            throw ControllerLogger.ROOT_LOGGER.managementResourceNotFound(currentAddress);
+                        }
+                        deploymentUnit = subDeploymentUnit;
+                    }
+                    read(deploymentUnit, context.getResult());
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
+    }
+
+    /**
+     * Reads the runtime information of the deployment unit into the operation result.
+     *
+     * @param deploymentUnit the deployment unit of the addressed deployment or sub-deployment
+     * @param result the operation result
+     */
+    abstract void read(DeploymentUnit deploymentUnit, ModelNode result);
+}
@@ -33,6 +33,7 @@ import org.jboss.as.controller.capability.CapabilityServiceSupport;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.as.server.deployment.annotation.AnnotationIndexSupport;
 import org.jboss.as.server.deployment.annotation.CompositeIndex;
+import org.jboss.as.server.deployment.annotation.ResourceRootIndexTiming;
 import org.jboss.as.server.deployment.module.AdditionalModuleSpecification;
 import org.jboss.as.server.deployment.module.ExtensionInfo;
 import org.jboss.as.server.deployment.module.ExtensionListEntry;
@@ -80,6 +81,11 @@ public final class Attachments {
      */
     public static final AttachmentKey<Set<String>> REGISTERED_SUBSYSTEMS = AttachmentKey.create(Set.class);
 
+    /**
+     * The time spent in each deployment phase and processor of a deployment unit.
+     */
+    public static final AttachmentKey<DeploymentTimings> DEPLOYMENT_TIMINGS = AttachmentKey.create(DeploymentTimings.class);
+
     /**
      * The name that uniquely identifies the deployment to the management layer across the domain.
      */
@@ -90,6 +96,11 @@ public final class Attachments {
      */
     public static final AttachmentKey<VirtualFile> DEPLOYMENT_CONTENTS = AttachmentKey.create(VirtualFile.class);
 
+    /**
+     * The hash of the deployment contents in the content repository, if the deployment is managed content
+     */
+    public static final AttachmentKey<byte[]> DEPLOYMENT_CONTENT_HASH = AttachmentKey.create(byte[].class);
+
     /**
      * A builder used to install a deployment phase
      */
@@ -169,6 +180,11 @@ public final class Attachments {
      */
     public static final AttachmentKey<Index> ANNOTATION_INDEX = AttachmentKey.create(Index.class);
 
+    /**
+     * The time taken to index each resource root of this deployment, in resource root order.
+     */
+    public static final AttachmentKey<AttachmentList<ResourceRootIndexTiming>> ANNOTATION_INDEX_TIMINGS = AttachmentKey.createList(ResourceRootIndexTiming.class);
+
     /**
      * A reference to a support utility object for processing annotation indices. This is attached to the {@link DeploymentUnit} for
      * a top-level deployment and any subdeployments. A {@link Reference} holds the support object so it can be
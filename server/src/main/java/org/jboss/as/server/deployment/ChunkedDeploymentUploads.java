@@ -0,0 +1,393 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.server.logging.ServerLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Staging area for deployment content uploaded in chunks. Each upload is identified by a client chosen id and
+ * assembled in a file of the staging directory. Chunks are written at their offset, so they may be sent in parallel
+ * and sent again after a failure, and the content is hashed as soon as it is contiguous, so committing the upload
+ * only has to move the file into the content repository. A chunk that overlaps another chunk still being received is
+ * rejected.
+ * <p>
+ * Uploads that do not receive any chunk for the number of minutes set by the {@value #UPLOAD_TIMEOUT_PROPERTY}
+ * system property, 60 by default, are discarded. A daemon thread looks for them while uploads are in progress, and
+ * stops once there are none left.
+ */
+public final class ChunkedDeploymentUploads {
+
+    static final String UPLOAD_TIMEOUT_PROPERTY = "jboss.deployment.chunked-upload-timeout";
+    private static final long UPLOAD_TIMEOUT = TimeUnit.MINUTES.toMillis(Long.parseLong(WildFlySecurityManager.getPropertyPrivileged(UPLOAD_TIMEOUT_PROPERTY, "60")));
+    private static final Pattern UPLOAD_ID = Pattern.compile("[A-Za-z0-9_-]{1,128}");
+    private static final long MAX_REAP_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private final Path stagingDir;
+    private final long timeout;
+    // protected by {@code this}
+    private final Map<String, Upload> uploads = new HashMap<>();
+    private boolean initialized;
+    // protected by {@code this}; discards the expired uploads, only runs while there are uploads
+    private ScheduledThreadPoolExecutor reaper;
+
+    public ChunkedDeploymentUploads(final Path stagingDir) {
+        this(stagingDir, UPLOAD_TIMEOUT);
+    }
+
+    ChunkedDeploymentUploads(final Path stagingDir, final long timeout) {
+        this.stagingDir = stagingDir;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Write a chunk of an upload, starting the upload if needed.
+     *
+     * @param uploadId the upload id
+     * @param offset the offset of the chunk in the uploaded content
+     * @param stream the chunk content
+     * @return the number of bytes received from the start of the content without any gap
+     * @throws IOException if the chunk could not be staged
+     * @throws OperationFailedException if the upload id is invalid
+     */
+    long addChunk(final String uploadId, final long offset, final InputStream stream) throws IOException, OperationFailedException {
+        return getUpload(uploadId, true).write(offset, stream);
+    }
+
+    /**
+     * Complete an upload and add its content to the content repository.
+     *
+     * @param uploadId the upload id
+     * @param size the size of the uploaded content
+     * @param repository the content repository
+     * @return the hash of the content
+     * @throws IOException if the content could not be added to the repository
+     * @throws OperationFailedException if there is no such upload or it does not hold exactly {@code size} contiguous bytes
+     */
+    byte[] commit(final String uploadId, final long size, final ContentRepository repository) throws IOException, OperationFailedException {
+        final Upload upload = getUpload(uploadId, false);
+        final byte[] hash = upload.complete(size);
+        try {
+            return repository.addContent(upload.file, hash);
+        } finally {
+            // Only forget the upload now, so that a chunk sent meanwhile cannot start a new upload over the staged file
+            synchronized (this) {
+                uploads.remove(uploadId, upload);
+            }
+            upload.discard();
+        }
+    }
+
+    private Upload getUpload(final String uploadId, final boolean create) throws IOException, OperationFailedException {
+        if (!UPLOAD_ID.matcher(uploadId).matches()) {
+            throw ServerLogger.ROOT_LOGGER.invalidUploadId(uploadId);
+        }
+        final Upload upload;
+        final List<Upload> expired;
+        synchronized (this) {
+            expired = removeExpired();
+            upload = getOrCreateUpload(uploadId, create);
+        }
+        discard(expired);
+        return upload;
+    }
+
+    /**
+     * Discard the uploads that have expired. Runs on the reaper thread.
+     */
+    private void reap() {
+        final List<Upload> expired;
+        synchronized (this) {
+            expired = removeExpired();
+            if (uploads.isEmpty() && reaper != null) {
+                reaper.shutdown();
+                reaper = null;
+            }
+        }
+        discard(expired);
+    }
+
+    /**
+     * Remove the expired uploads that are not being committed. Invoke with the object monitor held.
+     *
+     * @return the removed uploads, to be discarded without holding the monitor
+     */
+    private List<Upload> removeExpired() {
+        final long now = System.currentTimeMillis();
+        final List<Upload> expired = new ArrayList<>();
+        for (Iterator<Upload> it = uploads.values().iterator(); it.hasNext();) {
+            final Upload upload = it.next();
+            if (!upload.closed && now - upload.lastAccess > timeout) {
+                it.remove();
+                expired.add(upload);
+            }
+        }
+        return expired;
+    }
+
+    private static void discard(final List<Upload> expired) {
+        for (Upload upload : expired) {
+            upload.discard();
+        }
+    }
+
+    /**
+     * Invoke with the object monitor held.
+     */
+    private Upload getOrCreateUpload(final String uploadId, final boolean create) throws IOException, OperationFailedException {
+        final long now = System.currentTimeMillis();
+        Upload upload = uploads.get(uploadId);
+        if (upload == null) {
+            if (!create) {
+                throw ServerLogger.ROOT_LOGGER.unknownUpload(uploadId);
+            }
+            if (!initialized) {
+                // uploads do not survive a restart, drop whatever a previous process left behind
+                Files.createDirectories(stagingDir);
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(stagingDir)) {
+                    for (Path staged : stream) {
+                        Files.deleteIfExists(staged);
+                    }
+                }
+                initialized = true;
+            }
+            upload = new Upload(uploadId, stagingDir.resolve(uploadId));
+            uploads.put(uploadId, upload);
+            if (reaper == null) {
+                reaper = new ScheduledThreadPoolExecutor(1, r -> {
+                    final Thread thread = new Thread(r, "Deployment upload reaper");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                final long interval = Math.max(10, Math.min(timeout, MAX_REAP_INTERVAL));
+                reaper.scheduleWithFixedDelay(this::reap, interval, interval, TimeUnit.MILLISECONDS);
+            }
+        }
+        upload.lastAccess = now;
+        return upload;
+    }
+
+    private static final class Upload {
+
+        private final String id;
+        private final Path file;
+        private final FileChannel channel;
+        private final MessageDigest digest;
+        // held shared by the chunk writes, which may run in parallel, and exclusively to complete or discard the upload
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        // written with the lock held exclusively; whether the upload is being committed or has been discarded
+        private volatile boolean closed;
+        // protected by {@code this}; received ranges that could not be hashed yet, by start offset
+        private final TreeMap<Long, Long> pending = new TreeMap<>();
+        // protected by {@code this}; the ranges being written by the chunks in flight, which must not overlap
+        private final List<long[]> writing = new ArrayList<>();
+        // protected by {@code this}; the content up to this offset has been received and hashed
+        private long hashed;
+        private volatile long lastAccess;
+
+        Upload(final String id, final Path file) throws IOException {
+            this.id = id;
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                this.digest = MessageDigest.getInstance("SHA-1");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        long write(final long offset, final InputStream stream) throws IOException, OperationFailedException {
+            lock.readLock().lock();
+            try {
+                if (closed) {
+                    throw ServerLogger.ROOT_LOGGER.unknownUpload(id);
+                }
+                final byte[] bytes = new byte[65536];
+                final long[] range = {offset, offset};
+                long position = offset;
+                int read;
+                try {
+                    while ((read = stream.read(bytes)) > 0) {
+                        reserve(range, position + read);
+                        verifyReceived(position, bytes, read);
+                        final ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, read);
+                        while (buffer.hasRemaining()) {
+                            position += channel.write(buffer, position);
+                        }
+                    }
+                    lastAccess = System.currentTimeMillis();
+                    synchronized (this) {
+                        if (position > offset) {
+                            pending.merge(offset, position, Math::max);
+                        }
+                        hashReceived();
+                        return hashed;
+                    }
+                } finally {
+                    synchronized (this) {
+                        writing.remove(range);
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Extend the range written by a chunk up to {@code end}. Two chunks sent at the same time over the same range
+         * could otherwise both match the content received so far and leave the staged file with the bytes of one while
+         * the other is hashed.
+         */
+        private synchronized void reserve(final long[] range, final long end) throws OperationFailedException {
+            for (long[] other : writing) {
+                if (other != range && other[0] < end && range[1] < other[1]) {
+                    throw ServerLogger.ROOT_LOGGER.uploadChunkInProgress(id, Math.max(range[1], other[0]));
+                }
+            }
+            if (range[0] == range[1]) {
+                writing.add(range);
+            }
+            range[1] = end;
+        }
+
+        /**
+         * Check that the bytes of a chunk are the same as the content already received over the ranges they overlap,
+         * as a chunk sent again must not change content that may already be hashed.
+         */
+        private void verifyReceived(final long start, final byte[] bytes, final int length) throws IOException, OperationFailedException {
+            for (long[] range : received(start, start + length)) {
+                final ByteBuffer buffer = ByteBuffer.allocate((int) (range[1] - range[0]));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, range[0] + buffer.position()) < 0) {
+                        throw new IOException(file.toString());
+                    }
+                }
+                final byte[] staged = buffer.array();
+                for (int i = 0; i < staged.length; i++) {
+                    if (staged[i] != bytes[(int) (range[0] - start) + i]) {
+                        throw ServerLogger.ROOT_LOGGER.uploadChunkMismatch(id, range[0] + i);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Get the ranges of content between {@code start} and {@code end} that have already been received.
+         */
+        private synchronized List<long[]> received(final long start, final long end) {
+            final List<long[]> ranges = new ArrayList<>();
+            if (start < hashed) {
+                ranges.add(new long[] {start, Math.min(end, hashed)});
+            }
+            for (Map.Entry<Long, Long> range : pending.headMap(end).entrySet()) {
+                final long from = Math.max(start, Math.max(range.getKey(), hashed));
+                final long to = Math.min(end, range.getValue());
+                if (from < to) {
+                    ranges.add(new long[] {from, to});
+                }
+            }
+            return ranges;
+        }
+
+        /**
+         * Hash the content received right after the hashed content. Invoke with the object monitor held.
+         */
+        private void hashReceived() throws IOException {
+            final ByteBuffer buffer = ByteBuffer.allocate(65536);
+            Map.Entry<Long, Long> range;
+            while ((range = pending.firstEntry()) != null && range.getKey() <= hashed) {
+                pending.pollFirstEntry();
+                final long end = range.getValue();
+                while (hashed < end) {
+                    buffer.clear();
+                    buffer.limit((int) Math.min(buffer.capacity(), end - hashed));
+                    final int read = channel.read(buffer, hashed);
+                    if (read <= 0) {
+                        throw new IOException(file.toString());
+                    }
+                    digest.update(buffer.array(), 0, read);
+                    hashed += read;
+                }
+            }
+        }
+
+        byte[] complete(final long size) throws IOException, OperationFailedException {
+            lock.writeLock().lock();
+            try {
+                synchronized (this) {
+                    if (closed) {
+                        // committed or discarded concurrently
+                        throw ServerLogger.ROOT_LOGGER.unknownUpload(id);
+                    }
+                    final long staged = channel.size();
+                    if (hashed != size || staged != size) {
+                        throw ServerLogger.ROOT_LOGGER.incompleteUpload(id, size, hashed, staged);
+                    }
+                    closed = true;
+                    channel.close();
+                    return digest.digest();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void discard() {
+            lock.writeLock().lock();
+            try {
+                closed = true;
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                ServerLogger.ROOT_LOGGER.debugf(e, "Cannot delete staged upload %s", file);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.server.deployment.annotation.ResourceRootIndexTiming;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Handles reading the time taken to index the resource roots of a deployment and sub-deployment.
+ */
+public class DeploymentAnnotationIndexTimingHandler extends AbstractDeploymentUnitReadHandler {
+
+    @Override
+    void read(DeploymentUnit deploymentUnit, ModelNode result) {
+        result.setEmptyList();
+        for (ResourceRootIndexTiming timing : deploymentUnit.getAttachmentList(Attachments.ANNOTATION_INDEX_TIMINGS)) {
+            final ModelNode entry = new ModelNode();
+            entry.get("resource-root").set(timing.getResourceRoot());
+            entry.get("time").set(TimeUnit.NANOSECONDS.toMillis(timing.getNanos()));
+            entry.get("classes").set(timing.getClasses());
+            result.add(entry);
+        }
+    }
+}
@@ -28,9 +28,12 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REL
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.List;
 import java.util.zip.ZipEntry;
@@ -103,7 +106,7 @@ public abstract class DeploymentHandlerUtils {
         } else if (contentItem.hasDefined(DeploymentAttributes.CONTENT_URL.getName())) {
             final String urlSpec = DeploymentAttributes.CONTENT_URL.resolveModelAttribute(context, contentItem).asString();
             try {
-                in = new URL(urlSpec).openStream();
+                in = openStream(new URL(urlSpec));
             } catch (MalformedURLException e) {
                 throw ServerLogger.ROOT_LOGGER.invalidStreamURL(e, urlSpec);
             } catch (IOException e) {
@@ -117,6 +120,18 @@ public abstract class DeploymentHandlerUtils {
         return in;
     }
 
+    private static InputStream openStream(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            // A plain file stream lets the content repository copy the file without reading it through the heap
+            try {
+                return new FileInputStream(new File(url.toURI()));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                // Not a hierarchical file URI; let the URL handler deal with it
+            }
+        }
+        return url.openStream();
+    }
+
     /**
      * Checks to see if a valid deployment parameter has been defined.
      *
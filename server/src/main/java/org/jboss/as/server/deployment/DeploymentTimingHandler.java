@@ -0,0 +1,65 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Handles reading the time spent in each deployment phase and processor of a deployment and sub-deployment.
+ */
+public class DeploymentTimingHandler extends AbstractDeploymentUnitReadHandler {
+
+    @Override
+    void read(DeploymentUnit deploymentUnit, ModelNode result) {
+        final DeploymentTimings timings = deploymentUnit.getAttachment(Attachments.DEPLOYMENT_TIMINGS);
+        if (timings == null) {
+            return;
+        }
+        final long elapsed = timings.getElapsedTime();
+        if (elapsed >= 0) {
+            result.get("elapsed-time").set(toMillis(elapsed));
+        }
+        result.get("processing-time").set(toMillis(timings.getProcessingTime()));
+        final ModelNode phases = result.get("phases").setEmptyObject();
+        for (Map.Entry<Phase, Long> entry : timings.getPhaseTimes().entrySet()) {
+            phases.get(entry.getKey().name(), "time").set(toMillis(entry.getValue()));
+        }
+        for (DeploymentTimings.ProcessorTiming timing : timings.getProcessorTimes()) {
+            final ModelNode processor = new ModelNode();
+            processor.get("processor").set(timing.getProcessor());
+            if (timing.getSubsystem() != null) {
+                processor.get("subsystem").set(timing.getSubsystem());
+            }
+            processor.get("priority").set(timing.getPriority());
+            processor.get("time").set(toMillis(timing.getNanos()));
+            phases.get(timing.getPhase().name(), "processors").add(processor);
+        }
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
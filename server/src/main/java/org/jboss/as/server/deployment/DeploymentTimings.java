@@ -0,0 +1,170 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time spent in each deployment phase and {@link DeploymentUnitProcessor} of a deployment unit. All times are in
+ * nanoseconds.
+ */
+public final class DeploymentTimings {
+
+    private long startTime = System.nanoTime();
+    private final Map<Phase, Long> phaseTimes = new EnumMap<>(Phase.class);
+    private final List<ProcessorTiming> processorTimes = new ArrayList<>();
+    private Phase lastStarted;
+    private long elapsedTime = -1;
+
+    synchronized void phaseStarted(final Phase phase) {
+        if (lastStarted != null && phase.compareTo(lastStarted) <= 0) {
+            // The phase is restarting, so it and every later phase will run again; discard the timings of the
+            // previous run and measure the elapsed time from this restart
+            phaseTimes.keySet().removeIf(p -> p.compareTo(phase) >= 0);
+            processorTimes.removeIf(t -> t.getPhase().compareTo(phase) >= 0);
+            startTime = System.nanoTime();
+            elapsedTime = -1;
+        }
+        lastStarted = phase;
+    }
+
+    synchronized void processorCompleted(final Phase phase, final RegisteredDeploymentUnitProcessor processor, final long nanos) {
+        processorTimes.add(new ProcessorTiming(phase, processor.getProcessor().getClass().getName(),
+                processor.getSubsystemName(), processor.getPriority(), nanos));
+    }
+
+    synchronized void phaseCompleted(final Phase phase, final long nanos) {
+        phaseTimes.put(phase, nanos);
+        if (phase.next() == null) {
+            elapsedTime = System.nanoTime() - startTime;
+        }
+    }
+
+    /**
+     * Gets the time spent running the processors of each completed phase.
+     *
+     * @return the time per phase, in phase order
+     */
+    public synchronized Map<Phase, Long> getPhaseTimes() {
+        return new EnumMap<>(phaseTimes);
+    }
+
+    /**
+     * Gets the time spent in each processor that has run, in the order they ran.
+     *
+     * @return the processor timings
+     */
+    public synchronized List<ProcessorTiming> getProcessorTimes() {
+        return new ArrayList<>(processorTimes);
+    }
+
+    /**
+     * Gets the total time spent running processors.
+     *
+     * @return the sum of the phase times
+     */
+    public synchronized long getProcessingTime() {
+        long total = 0;
+        for (long nanos : phaseTimes.values()) {
+            total += nanos;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the time elapsed between the start of the first phase and the end of the last phase, including the time
+     * spent waiting for the dependencies of each phase. If a phase was restarted, the time is measured from the latest
+     * restart.
+     *
+     * @return the elapsed time, or {@code -1} if the last phase has not completed
+     */
+    public synchronized long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * Gets the processors that took the most time, slowest first.
+     *
+     * @param timings the timings of the deployment units to consider
+     * @param count the maximum number of processors to return
+     * @return the slowest processors
+     */
+    static List<ProcessorTiming> getSlowestProcessors(final List<DeploymentTimings> timings, final int count) {
+        final List<ProcessorTiming> all = new ArrayList<>();
+        for (DeploymentTimings timing : timings) {
+            all.addAll(timing.getProcessorTimes());
+        }
+        Collections.sort(all, Comparator.comparingLong(ProcessorTiming::getNanos).reversed());
+        return all.size() > count ? all.subList(0, count) : all;
+    }
+
+    /**
+     * The time spent in one {@link DeploymentUnitProcessor}.
+     */
+    public static final class ProcessorTiming {
+        private final Phase phase;
+        private final String processor;
+        private final String subsystem;
+        private final int priority;
+        private final long nanos;
+
+        ProcessorTiming(final Phase phase, final String processor, final String subsystem, final int priority, final long nanos) {
+            this.phase = phase;
+            this.processor = processor;
+            this.subsystem = subsystem;
+            this.priority = priority;
+            this.nanos = nanos;
+        }
+
+        public Phase getPhase() {
+            return phase;
+        }
+
+        public String getProcessor() {
+            return processor;
+        }
+
+        public String getSubsystem() {
+            return subsystem;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s [%s] %dms", processor, phase, TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jboss.as.server.deployment.module.ModuleSpecification;
@@ -47,6 +48,7 @@ import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * A service which executes a particular phase of deployment.
@@ -58,6 +60,14 @@ import org.jboss.msc.value.InjectedValue;
  */
 final class DeploymentUnitPhaseService<T> implements Service<T> {
 
+    static final String SLOW_DEPLOYMENT_THRESHOLD_PROPERTY = "jboss.deployment.slow-deployment-threshold";
+
+    /** Deployments taking longer than this many milliseconds to complete all phases are logged; 0 disables the log. */
+    private static final long SLOW_DEPLOYMENT_THRESHOLD = Long.parseLong(
+            WildFlySecurityManager.getPropertyPrivileged(SLOW_DEPLOYMENT_THRESHOLD_PROPERTY, "0"));
+
+    private static final int SLOW_PROCESSORS_LOGGED = 5;
+
     private final InjectedValue<DeployerChains> deployerChainsInjector = new InjectedValue<DeployerChains>();
     private final DeploymentUnit deploymentUnit;
     private final Phase phase;
@@ -141,11 +151,15 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
         }
 
         final Set<String> registeredSubSystems;
+        final DeploymentTimings timings;
         if (phase == Phase.STRUCTURE) {
             registeredSubSystems = new HashSet<>();
             deploymentUnit.putAttachment(Attachments.REGISTERED_SUBSYSTEMS, registeredSubSystems);
+            timings = new DeploymentTimings();
+            deploymentUnit.putAttachment(Attachments.DEPLOYMENT_TIMINGS, timings);
         } else {
             registeredSubSystems = deploymentUnit.getAttachment(Attachments.REGISTERED_SUBSYSTEMS);
+            timings = deploymentUnit.getAttachment(Attachments.DEPLOYMENT_TIMINGS);
         }
 
         for (RegisteredDeploymentUnitProcessor dupRegistration : list) {
@@ -175,11 +189,18 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
         }
 
+        timings.phaseStarted(phase);
+        final long phaseStart = System.nanoTime();
         while (iterator.hasNext()) {
             final RegisteredDeploymentUnitProcessor processor = iterator.next();
             try {
                 if (shouldRun(deploymentUnit, processor)) {
-                    processor.getProcessor().deploy(processorContext);
+                    final long start = System.nanoTime();
+                    try {
+                        processor.getProcessor().deploy(processorContext);
+                    } finally {
+                        timings.processorCompleted(phase, processor, System.nanoTime() - start);
+                    }
                 }
             } catch (Throwable e) {
                 while (iterator.hasPrevious()) {
@@ -189,6 +210,10 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
                 throw ServerLogger.ROOT_LOGGER.deploymentPhaseFailed(phase, deploymentUnit, e);
             }
         }
+        timings.phaseCompleted(phase, System.nanoTime() - phaseStart);
+        if (phase.next() == null && parent == null) {
+            logSlowDeployment(deploymentUnit, timings);
+        }
 
         final Phase nextPhase = phase.next();
         if (nextPhase != null) {
@@ -245,6 +270,23 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
         }
     }
 
+    private static void logSlowDeployment(final DeploymentUnit deploymentUnit, final DeploymentTimings timings) {
+        final long elapsed = TimeUnit.NANOSECONDS.toMillis(timings.getElapsedTime());
+        if (SLOW_DEPLOYMENT_THRESHOLD > 0 && elapsed > SLOW_DEPLOYMENT_THRESHOLD) {
+            final List<DeploymentTimings> allTimings = new ArrayList<>();
+            allTimings.add(timings);
+            for (DeploymentUnit subDeployment : deploymentUnit.getAttachmentList(Attachments.SUB_DEPLOYMENTS)) {
+                final DeploymentTimings subDeploymentTimings = subDeployment.getAttachment(Attachments.DEPLOYMENT_TIMINGS);
+                if (subDeploymentTimings != null) {
+                    allTimings.add(subDeploymentTimings);
+                }
+            }
+            ServerLogger.DEPLOYMENT_LOGGER.slowDeployment(deploymentUnit.getName(), elapsed,
+                    TimeUnit.NANOSECONDS.toMillis(timings.getProcessingTime()), SLOW_DEPLOYMENT_THRESHOLD,
+                    DeploymentTimings.getSlowestProcessors(allTimings, SLOW_PROCESSORS_LOGGED));
+        }
+    }
+
     private static void safeUndeploy(final DeploymentUnit deploymentUnit, final Phase phase, final RegisteredDeploymentUnitProcessor prev) {
         try {
             if (shouldRun(deploymentUnit, prev)) {
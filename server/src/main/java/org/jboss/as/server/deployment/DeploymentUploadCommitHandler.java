@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.access.Action;
+import org.jboss.as.controller.access.AuthorizationResult;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.server.controller.resources.DeploymentAttributes;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Handler for the commit-deployment-upload operation, adding the content of a completed chunked upload to the
+ * content repository.
+ */
+public class DeploymentUploadCommitHandler implements OperationStepHandler {
+
+    private static final Set<Action.ActionEffect> ACTION_EFFECT_SET =
+            EnumSet.of(Action.ActionEffect.WRITE_RUNTIME);
+
+    private final ChunkedDeploymentUploads uploads;
+    private final ContentRepository contentRepository;
+
+    private DeploymentUploadCommitHandler(final ChunkedDeploymentUploads uploads, final ContentRepository contentRepository) {
+        this.uploads = uploads;
+        this.contentRepository = contentRepository;
+    }
+
+    public static void register(final ManagementResourceRegistration registration, final ChunkedDeploymentUploads uploads,
+                                final ContentRepository contentRepository) {
+        registration.registerOperationHandler(DeploymentAttributes.COMMIT_UPLOAD_DEFINITION, new DeploymentUploadCommitHandler(uploads, contentRepository));
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String uploadId = DeploymentAttributes.UPLOAD_ID.resolveModelAttribute(context, operation).asString();
+        final long size = DeploymentAttributes.UPLOAD_SIZE.resolveModelAttribute(context, operation).asLong();
+        // Trigger authz
+        AuthorizationResult authorizationResult = context.authorize(operation, ACTION_EFFECT_SET);
+        authorizationResult.failIfDenied(operation, context.getCurrentAddress());
+        try {
+            context.getResult().set(uploads.commit(uploadId, size, contentRepository));
+        } catch (IOException e) {
+            throw ServerLogger.ROOT_LOGGER.caughtIOExceptionUploadingContent(e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MISSING;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REMOVED;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.CONTENT_HASH;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.DIFF_MANIFEST;
+import static org.jboss.as.server.deployment.DeploymentHandlerUtil.getContentItem;
+import static org.jboss.as.server.deployment.DeploymentHandlerUtil.isManaged;
+import static org.jboss.as.server.deployment.DeploymentHandlerUtils.createFailureException;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.repository.ExplodedContentException;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Handler for the "diff-content" operation over an exploded managed deployment.
+ * Compares a client side manifest (path to SHA-1) with the deployment content and reports the paths the client has to
+ * send with "add-content" and the paths it has to drop with "remove-content", so that a redeploy only transfers
+ * the files that actually changed.
+ */
+public class ExplodedDeploymentDiffContentHandler implements OperationStepHandler {
+
+    private final ContentRepository contentRepository;
+
+    public ExplodedDeploymentDiffContentHandler(final ContentRepository contentRepository) {
+        assert contentRepository != null : "Null contentRepository";
+        this.contentRepository = contentRepository;
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        if (context.getProcessType() == ProcessType.SELF_CONTAINED) {
+            throw ServerLogger.ROOT_LOGGER.cannotReadContentFromSelfContainedServer();
+        }
+        final Resource deploymentResource = context.readResource(PathAddress.EMPTY_ADDRESS);
+        ModelNode contentItemNode = getContentItem(deploymentResource);
+        // Validate this op is available
+        if (!isManaged(contentItemNode)) {
+            throw ServerLogger.ROOT_LOGGER.cannotReadContentFromUnmanagedDeployment();
+        }
+        final byte[] deploymentHash = CONTENT_HASH.resolveModelAttribute(context, contentItemNode).asBytes();
+        final Map<String, String> clientManifest = new TreeMap<>(DIFF_MANIFEST.unwrap(context, operation));
+        final Map<String, byte[]> serverManifest;
+        try {
+            serverManifest = contentRepository.getExplodedContentManifest(deploymentHash);
+        } catch (ExplodedContentException ex) {
+            throw createFailureException(ex.toString());
+        }
+        final ModelNode result = context.getResult();
+        result.get(MISSING).setEmptyList();
+        result.get(REMOVED).setEmptyList();
+        for (Map.Entry<String, String> entry : clientManifest.entrySet()) {
+            byte[] serverHash = serverManifest.get(entry.getKey());
+            if (serverHash == null || !HashUtil.bytesToHexString(serverHash).equalsIgnoreCase(entry.getValue())) {
+                result.get(MISSING).add(entry.getKey());
+            }
+        }
+        for (String path : new TreeMap<>(serverManifest).keySet()) {
+            if (!clientManifest.containsKey(path)) {
+                result.get(REMOVED).add(path);
+            }
+        }
+    }
+}
@@ -51,6 +51,7 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
     private final DeploymentOverlayIndex deploymentOverlays;
     private final WeakReference<AnnotationIndexSupport> annotationIndexSupport;
     private final boolean isExplodedContent;
+    private final byte[] contentHash;
 
     /**
      * Construct a new instance.
@@ -64,13 +65,14 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
      * @param deploymentOverlays the deployment overlays
      * @param annotationIndexSupport operation-scoped cache of static module annotation indexes
      * @param exploded the deployment has been exploded
+     * @param contentHash the hash of the deployment's managed content, or {@code null} if the content is unmanaged
      */
     public RootDeploymentUnitService(final String name, final String managementName, final DeploymentUnit parent,
                                      final ImmutableManagementResourceRegistration registration, final ManagementResourceRegistration mutableRegistration,
                                      final Resource resource, final CapabilityServiceSupport capabilityServiceSupport,
                                      final DeploymentOverlayIndex deploymentOverlays,
                                      final AnnotationIndexSupport annotationIndexSupport,
-                                     final boolean exploded) {
+                                     final boolean exploded, final byte[] contentHash) {
         super(registration, mutableRegistration, resource, capabilityServiceSupport);
         assert name != null : "name is null";
         this.name = name;
@@ -83,12 +85,16 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         // of the related deployment operations.
         this.annotationIndexSupport = new WeakReference<>(annotationIndexSupport);
         this.isExplodedContent = exploded;
+        this.contentHash = contentHash;
     }
 
     protected DeploymentUnit createAndInitializeDeploymentUnit(final ServiceRegistry registry) {
         final DeploymentUnit deploymentUnit = new DeploymentUnitImpl(parent, name, registry);
         deploymentUnit.putAttachment(Attachments.MANAGEMENT_NAME, managementName);
         deploymentUnit.putAttachment(Attachments.DEPLOYMENT_CONTENTS, contentsInjector.getValue());
+        if (contentHash != null) {
+            deploymentUnit.putAttachment(Attachments.DEPLOYMENT_CONTENT_HASH, contentHash);
+        }
         deploymentUnit.putAttachment(DeploymentResourceSupport.REGISTRATION_ATTACHMENT, registration);
         deploymentUnit.putAttachment(DeploymentResourceSupport.MUTABLE_REGISTRATION_ATTACHMENT, mutableRegistration);
         deploymentUnit.putAttachment(DeploymentResourceSupport.DEPLOYMENT_RESOURCE, resource);
@@ -22,21 +22,43 @@
 
 package org.jboss.as.server.deployment.annotation;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.jboss.as.server.deployment.AttachmentList;
+import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.server.deployment.DeploymentUtils;
 import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.jandex.Index;
+import org.jboss.vfs.VirtualFile;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
- * Deployment unit processor responsible for creating and attaching an annotation index for a resource root
+ * Deployment unit processor responsible for creating and attaching an annotation index for a resource root.
+ * <p>
+ * The resource roots of a deployment are independent of each other, so when a deployment has several of them they
+ * are indexed concurrently, using at most the number of threads given by the {@value #INDEX_PARALLELISM_PROPERTY}
+ * system property. The time taken for each resource root is attached to the deployment unit as
+ * {@link Attachments#ANNOTATION_INDEX_TIMINGS}.
  *
  * @author John E. Bailey
  * @author Stuart Douglas
  */
 public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
 
+    static final String INDEX_PARALLELISM_PROPERTY = "jboss.deployment.annotation-index-parallelism";
+
+    private static final int INDEX_PARALLELISM = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(
+            INDEX_PARALLELISM_PROPERTY, Integer.toString(Runtime.getRuntime().availableProcessors())));
+
     /**
      * Process this deployment for annotations.  This will use an annotation indexer to create an index of all annotations
      * found in this deployment and attach it to the deployment unit context.
@@ -47,9 +69,78 @@ public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
      */
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
-        for (ResourceRoot resourceRoot : DeploymentUtils.allResourceRoots(deploymentUnit)) {
-            ResourceRootIndexer.indexResourceRoot(resourceRoot);
+        final DeploymentIndexCache cache = DeploymentIndexCache.forDeployment(deploymentUnit);
+        final List<ResourceRoot> resourceRoots = DeploymentUtils.allResourceRoots(deploymentUnit);
+        final long[] nanos = new long[resourceRoots.size()];
+        if (INDEX_PARALLELISM > 1 && resourceRoots.size() > 1) {
+            indexConcurrently(resourceRoots, cache, nanos);
+        } else {
+            for (int i = 0; i < nanos.length; i++) {
+                nanos[i] = index(resourceRoots.get(i), cache);
+            }
+        }
+
+        final ResourceRoot deploymentRoot = DeploymentUtils.getTopDeploymentUnit(deploymentUnit).getAttachment(Attachments.DEPLOYMENT_ROOT);
+        final AttachmentList<ResourceRootIndexTiming> timings = new AttachmentList<>(ResourceRootIndexTiming.class);
+        for (int i = 0; i < nanos.length; i++) {
+            final ResourceRoot resourceRoot = resourceRoots.get(i);
+            final Index index = resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX);
+            timings.add(new ResourceRootIndexTiming(getPath(resourceRoot.getRoot(), deploymentRoot), nanos[i],
+                    index == null ? 0 : index.getKnownClasses().size()));
         }
+        deploymentUnit.putAttachment(Attachments.ANNOTATION_INDEX_TIMINGS, timings);
     }
 
+    private static void indexConcurrently(final List<ResourceRoot> resourceRoots, final DeploymentIndexCache cache,
+                                          final long[] nanos) throws DeploymentUnitProcessingException {
+        final List<ForkJoinTask<Long>> tasks = new ArrayList<>(resourceRoots.size());
+        for (ResourceRoot resourceRoot : resourceRoots) {
+            tasks.add(IndexingPool.POOL.submit(() -> index(resourceRoot, cache)));
+        }
+        // wait for every root, so no indexing outlives this processor even if one of them fails
+        DeploymentUnitProcessingException failure = null;
+        for (int i = 0; i < nanos.length; i++) {
+            try {
+                nanos[i] = tasks.get(i).get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof DeploymentUnitProcessingException
+                            ? (DeploymentUnitProcessingException) e.getCause()
+                            : ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (ForkJoinTask<Long> task : tasks) {
+                    task.cancel(true);
+                }
+                throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static long index(final ResourceRoot resourceRoot, final DeploymentIndexCache cache) throws DeploymentUnitProcessingException {
+        final long start = System.nanoTime();
+        ResourceRootIndexer.indexResourceRoot(resourceRoot, cache);
+        return System.nanoTime() - start;
+    }
+
+    private static String getPath(final VirtualFile root, final ResourceRoot deploymentRoot) {
+        if (deploymentRoot == null) {
+            return root.getPathName();
+        } else if (root.equals(deploymentRoot.getRoot())) {
+            return root.getName();
+        }
+        try {
+            return root.getPathNameRelativeTo(deploymentRoot.getRoot());
+        } catch (IllegalArgumentException e) {
+            return root.getPathName();
+        }
+    }
+
+    private static final class IndexingPool {
+        static final ForkJoinPool POOL = new ForkJoinPool(INDEX_PARALLELISM);
+    }
 }
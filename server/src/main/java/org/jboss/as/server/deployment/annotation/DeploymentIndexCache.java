@@ -0,0 +1,253 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.as.server.ServerEnvironment;
+import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.as.server.deployment.DeploymentUtils;
+import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.as.server.deploymentoverlay.DeploymentOverlayIndex;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.vfs.VirtualFile;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * On-disk cache of the annotation indexes generated for deployment resource roots, kept in the server data directory.
+ * <p>
+ * Entries are stored under the content repository hash of the deployment, and named after the path of the resource
+ * root within the deployment. An index is therefore reused when unchanged content is deployed again, including across
+ * restarts, and is never found once the content changes. The least recently used entries are removed once the cache
+ * grows beyond the size configured by the {@value #CACHE_SIZE_PROPERTY} system property, in bytes. A size of zero
+ * disables the cache.
+ */
+final class DeploymentIndexCache {
+
+    static final String CACHE_SIZE_PROPERTY = "jboss.deployment.index-cache-size";
+
+    static final String CACHE_DIR = "deployment-index";
+
+    private static final long CACHE_SIZE = Long.parseLong(
+            WildFlySecurityManager.getPropertyPrivileged(CACHE_SIZE_PROPERTY, Long.toString(256L * 1024 * 1024)));
+
+    private static final String INDEX_SUFFIX = ".idx";
+
+    private static final Object EVICTION_LOCK = new Object();
+
+    private final Path cacheDir;
+    private final Path entryDir;
+    private final VirtualFile deploymentRoot;
+    private final long maxSize;
+
+    DeploymentIndexCache(final Path cacheDir, final byte[] contentHash, final VirtualFile deploymentRoot, final long maxSize) {
+        this.cacheDir = cacheDir;
+        this.entryDir = cacheDir.resolve(HashUtil.bytesToHexString(contentHash));
+        this.deploymentRoot = deploymentRoot;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the cache to use for the resource roots of a deployment.
+     *
+     * @param deploymentUnit the deployment unit, or one of its sub deployments
+     * @return the cache, or {@code null} if the deployment content is not managed, is affected by deployment overlays,
+     *         or if the cache is disabled
+     */
+    static DeploymentIndexCache forDeployment(final DeploymentUnit deploymentUnit) {
+        if (CACHE_SIZE <= 0) {
+            return null;
+        }
+        final DeploymentUnit topLevel = DeploymentUtils.getTopDeploymentUnit(deploymentUnit);
+        final byte[] contentHash = topLevel.getAttachment(Attachments.DEPLOYMENT_CONTENT_HASH);
+        final PathManager pathManager = topLevel.getAttachment(Attachments.PATH_MANAGER);
+        final ResourceRoot deploymentRoot = topLevel.getAttachment(Attachments.DEPLOYMENT_ROOT);
+        if (contentHash == null || pathManager == null || deploymentRoot == null) {
+            return null;
+        }
+        // overlays replace content without changing the deployment hash
+        final DeploymentOverlayIndex overlays = topLevel.getAttachment(Attachments.DEPLOYMENT_OVERLAY_INDEX);
+        if (overlays != null && !overlays.getOverlays(topLevel.getName()).isEmpty()) {
+            return null;
+        }
+        final String dataDir = pathManager.getPathEntry(ServerEnvironment.SERVER_DATA_DIR).resolvePath();
+        return new DeploymentIndexCache(Paths.get(dataDir, CACHE_DIR), contentHash, deploymentRoot.getRoot(), CACHE_SIZE);
+    }
+
+    /**
+     * Reads the cached index of a resource root.
+     *
+     * @param root the resource root
+     * @param ignorePaths the paths excluded from the index, may be {@code null}
+     * @return the index, or {@code null} if it is not cached
+     */
+    Index read(final VirtualFile root, final Set<String> ignorePaths) {
+        final Path entry = getEntry(root, ignorePaths);
+        if (entry == null || !Files.isRegularFile(entry)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(entry)) {
+            final Index index = new IndexReader(in).read();
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            ServerLogger.DEPLOYMENT_LOGGER.tracef("Read cached index for %s from %s", root, entry);
+            return index;
+        } catch (IOException | RuntimeException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Discarding cached index %s", entry);
+            deleteQuietly(entry);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the index of a resource root, evicting the least recently used entries if the cache grows too large.
+     *
+     * @param root the resource root
+     * @param ignorePaths the paths excluded from the index, may be {@code null}
+     * @param index the index
+     */
+    void write(final VirtualFile root, final Set<String> ignorePaths, final Index index) {
+        final Path entry = getEntry(root, ignorePaths);
+        if (entry == null) {
+            return;
+        }
+        Path tmp = null;
+        try {
+            Files.createDirectories(entryDir);
+            tmp = Files.createTempFile(entryDir, null, ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                new IndexWriter(out).write(index);
+            }
+            Files.move(tmp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            ServerLogger.DEPLOYMENT_LOGGER.tracef("Cached index for %s in %s", root, entry);
+        } catch (IOException | RuntimeException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot cache index for %s", root);
+            if (tmp != null) {
+                deleteQuietly(tmp);
+            }
+            return;
+        }
+        evict();
+    }
+
+    private Path getEntry(final VirtualFile root, final Set<String> ignorePaths) {
+        final String relativePath;
+        if (root.equals(deploymentRoot)) {
+            relativePath = "";
+        } else {
+            try {
+                relativePath = root.getPathNameRelativeTo(deploymentRoot);
+            } catch (IllegalArgumentException e) {
+                // not part of the deployment content, e.g. an external Class-Path entry
+                return null;
+            }
+        }
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(relativePath.getBytes(StandardCharsets.UTF_8));
+        if (ignorePaths != null) {
+            for (String ignored : new TreeSet<>(ignorePaths)) {
+                digest.update((byte) 0);
+                digest.update(ignored.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return entryDir.resolve(HashUtil.bytesToHexString(digest.digest()) + INDEX_SUFFIX);
+    }
+
+    private void evict() {
+        synchronized (EVICTION_LOCK) {
+            final Map<Path, BasicFileAttributes> entries = new HashMap<>();
+            long size = 0;
+            try (DirectoryStream<Path> dirs = Files.newDirectoryStream(cacheDir, Files::isDirectory)) {
+                for (Path dir : dirs) {
+                    try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + INDEX_SUFFIX)) {
+                        for (Path file : files) {
+                            final BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                            entries.put(file, attrs);
+                            size += attrs.size();
+                        }
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                // removed concurrently, the next write will check again
+                return;
+            } catch (IOException e) {
+                ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot check the size of %s", cacheDir);
+                return;
+            }
+            if (size <= maxSize) {
+                return;
+            }
+            final List<Path> leastRecentlyUsed = new ArrayList<>(entries.keySet());
+            leastRecentlyUsed.sort(Comparator.comparing(file -> entries.get(file).lastModifiedTime()));
+            for (Path file : leastRecentlyUsed) {
+                if (size <= maxSize) {
+                    break;
+                }
+                if (deleteQuietly(file)) {
+                    size -= entries.get(file).size();
+                    ServerLogger.DEPLOYMENT_LOGGER.tracef("Evicted cached index %s", file);
+                    deleteQuietly(file.getParent());
+                }
+            }
+        }
+    }
+
+    private static boolean deleteQuietly(final Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // e.g. a directory that still holds other entries
+            return false;
+        }
+    }
+}
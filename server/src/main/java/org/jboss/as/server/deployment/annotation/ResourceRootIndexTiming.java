@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+/**
+ * The time taken to obtain the annotation index of a deployment resource root.
+ */
+public final class ResourceRootIndexTiming {
+
+    private final String resourceRoot;
+    private final long nanos;
+    private final int classes;
+
+    ResourceRootIndexTiming(final String resourceRoot, final long nanos, final int classes) {
+        this.resourceRoot = resourceRoot;
+        this.nanos = nanos;
+        this.classes = classes;
+    }
+
+    /**
+     * Gets the path of the resource root, relative to the deployment root where possible.
+     *
+     * @return the resource root path
+     */
+    public String getResourceRoot() {
+        return resourceRoot;
+    }
+
+    /**
+     * Gets the time taken to index, or read the cached index of, the resource root.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Gets the number of classes in the index of the resource root.
+     *
+     * @return the number of classes, {@code 0} if the resource root is not indexed
+     */
+    public int getClasses() {
+        return classes;
+    }
+}
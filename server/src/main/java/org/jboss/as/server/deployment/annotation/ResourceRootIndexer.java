@@ -50,6 +50,14 @@ public class ResourceRootIndexer {
      * Creates and attaches the annotation index to a resource root, if it has not already been attached
      */
     public static void indexResourceRoot(final ResourceRoot resourceRoot) throws DeploymentUnitProcessingException {
+        indexResourceRoot(resourceRoot, null);
+    }
+
+    /**
+     * Creates and attaches the annotation index to a resource root, if it has not already been attached, reusing
+     * and populating the given on-disk cache.
+     */
+    static void indexResourceRoot(final ResourceRoot resourceRoot, final DeploymentIndexCache cache) throws DeploymentUnitProcessingException {
         if (resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX) != null) {
             return;
         }
@@ -81,6 +89,13 @@ public class ResourceRootIndexer {
         }
 
         final VirtualFile virtualFile = resourceRoot.getRoot();
+        if (cache != null) {
+            final Index cached = cache.read(virtualFile, indexIgnorePaths);
+            if (cached != null) {
+                resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, cached);
+                return;
+            }
+        }
         final Indexer indexer = new Indexer();
         try {
             final VisitorAttributes visitorAttributes = new VisitorAttributes();
@@ -106,6 +121,9 @@ public class ResourceRootIndexer {
             final Index index = indexer.complete();
             resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
             ServerLogger.DEPLOYMENT_LOGGER.tracef("Generated index for archive %s", virtualFile);
+            if (cache != null) {
+                cache.write(virtualFile, indexIgnorePaths, index);
+            }
         } catch (Throwable t) {
             throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(t);
         }
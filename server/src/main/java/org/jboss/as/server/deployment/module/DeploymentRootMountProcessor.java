@@ -24,6 +24,7 @@ package org.jboss.as.server.deployment.module;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Locale;
 
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.deployment.Attachments;
@@ -38,14 +39,49 @@ import org.jboss.as.server.deployment.MountType;
 import org.jboss.vfs.VFS;
 import org.jboss.vfs.VFSUtils;
 import org.jboss.vfs.VirtualFile;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Deployment processor responsible for mounting and attaching the resource root for this deployment.
+ * <p>
+ * Archives are mounted as zip files unless the {@value #MOUNT_STRATEGY_PROPERTY} system property selects another
+ * strategy: {@code expanded} expands the archive to a temporary directory on each deployment, while
+ * {@code expanded-cache} expands managed archives to a directory of the server data directory named after the content
+ * hash, which is reused for as long as the content does not change. The number of such directories kept while not
+ * deployed is set by {@value #EXPANDED_CACHE_SIZE_PROPERTY}.
  *
  * @author John Bailey
  */
 public class DeploymentRootMountProcessor implements DeploymentUnitProcessor {
 
+    static final String MOUNT_STRATEGY_PROPERTY = "jboss.deployment.archive-mount-strategy";
+
+    static final String EXPANDED_CACHE_SIZE_PROPERTY = "jboss.deployment.expanded-cache-size";
+
+    private static final MountStrategy MOUNT_STRATEGY = MountStrategy.fromProperty();
+
+    private static final int EXPANDED_CACHE_SIZE = Integer.parseInt(
+            WildFlySecurityManager.getPropertyPrivileged(EXPANDED_CACHE_SIZE_PROPERTY, "4"));
+
+    private enum MountStrategy {
+        ZIP,
+        EXPANDED,
+        EXPANDED_CACHE;
+
+        static MountStrategy fromProperty() {
+            final String value = WildFlySecurityManager.getPropertyPrivileged(MOUNT_STRATEGY_PROPERTY, null);
+            if (value == null) {
+                return ZIP;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ENGLISH).replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                ServerLogger.DEPLOYMENT_LOGGER.unknownArchiveMountStrategy(value, MOUNT_STRATEGY_PROPERTY, "zip");
+                return ZIP;
+            }
+        }
+    }
+
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
         if(deploymentUnit.getAttachment(Attachments.DEPLOYMENT_ROOT) != null) {
@@ -81,14 +117,22 @@ public class DeploymentRootMountProcessor implements DeploymentUnitProcessor {
             try {
                 final boolean mountExploded = MountExplodedMarker.isMountExploded(deploymentUnit);
                 final MountType type;
-                if(mountExploded) {
+                if(mountExploded || (MOUNT_STRATEGY == MountStrategy.EXPANDED && !deploymentName.endsWith(".xml"))) {
                     type = MountType.EXPANDED;
                 } else if (deploymentName.endsWith(".xml")) {
                     type = MountType.REAL;
                 } else {
                     type = MountType.ZIP;
                 }
-                handle = deploymentMountProvider.mountDeploymentContent(deploymentContents, deploymentRoot, type);
+                if (type == MountType.ZIP && MOUNT_STRATEGY == MountStrategy.EXPANDED_CACHE) {
+                    final ExpandedContentCache cache = ExpandedContentCache.forDeployment(deploymentUnit, EXPANDED_CACHE_SIZE);
+                    if (cache != null) {
+                        handle = cache.mount(deploymentContents, deploymentUnit.getAttachment(Attachments.DEPLOYMENT_CONTENT_HASH), deploymentRoot);
+                    }
+                }
+                if (handle == null) {
+                    handle = deploymentMountProvider.mountDeploymentContent(deploymentContents, deploymentRoot, type);
+                }
                 mountHandle = MountHandle.create(handle);
             } catch (IOException e) {
                 failed = true;
@@ -0,0 +1,216 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.module;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.as.server.ServerEnvironment;
+import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VFSUtils;
+import org.jboss.vfs.VirtualFile;
+
+/**
+ * Expands managed archive deployments into directories of the server data directory, named after the content
+ * repository hash of the archive. An unchanged archive is expanded once and the directory is mounted again on
+ * redeploy and restart, so class loading reads plain files instead of inflating entries through a VFS zip mount.
+ * <p>
+ * Expanded archives that are not mounted are removed, least recently used first, once there are more of them than
+ * the configured limit.
+ */
+final class ExpandedContentCache {
+
+    static final String CACHE_DIR = "expanded-deployments";
+
+    private static final String TMP_PREFIX = ".expanding-";
+
+    /** Number of current mounts of each cached expansion, by hash. Guarded by itself. */
+    private static final Map<String, Integer> MOUNTED = new HashMap<>();
+
+    private final Path cacheDir;
+    private final int maxUnused;
+
+    ExpandedContentCache(final Path cacheDir, final int maxUnused) {
+        this.cacheDir = cacheDir;
+        this.maxUnused = maxUnused;
+    }
+
+    /**
+     * Gets the cache for a deployment.
+     *
+     * @param deploymentUnit the deployment unit
+     * @param maxUnused the number of expanded archives to keep when they are not mounted
+     * @return the cache, or {@code null} if the deployment content is not managed
+     */
+    static ExpandedContentCache forDeployment(final DeploymentUnit deploymentUnit, final int maxUnused) {
+        final PathManager pathManager = deploymentUnit.getAttachment(Attachments.PATH_MANAGER);
+        if (deploymentUnit.getAttachment(Attachments.DEPLOYMENT_CONTENT_HASH) == null || pathManager == null) {
+            return null;
+        }
+        final String dataDir = pathManager.getPathEntry(ServerEnvironment.SERVER_DATA_DIR).resolvePath();
+        return new ExpandedContentCache(Paths.get(dataDir, CACHE_DIR), maxUnused);
+    }
+
+    /**
+     * Mounts the expanded content of an archive, expanding it first if needed.
+     *
+     * @param contents the archive
+     * @param hash the content repository hash of the archive
+     * @param mountPoint VFS location where the content should be mounted
+     * @return handle closing the mount
+     * @throws IOException if the archive cannot be expanded or mounted
+     */
+    Closeable mount(final VirtualFile contents, final byte[] hash, final VirtualFile mountPoint) throws IOException {
+        final String key = HashUtil.bytesToHexString(hash);
+        final Path dir = cacheDir.resolve(key);
+        acquire(key);
+        boolean mounted = false;
+        try {
+            if (Files.isDirectory(dir)) {
+                Files.setLastModifiedTime(dir, FileTime.fromMillis(System.currentTimeMillis()));
+                ServerLogger.DEPLOYMENT_LOGGER.tracef("Reusing expanded content %s for %s", dir, contents);
+            } else {
+                expand(contents.getPhysicalFile(), dir);
+            }
+            final Closeable handle = VFS.mountReal(dir.toFile(), mountPoint);
+            mounted = true;
+            evict();
+            return new Closeable() {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        handle.close();
+                    } finally {
+                        release(key);
+                    }
+                }
+            };
+        } finally {
+            if (!mounted) {
+                release(key);
+            }
+        }
+    }
+
+    private void expand(final File archive, final Path dir) throws IOException {
+        Files.createDirectories(cacheDir);
+        final Path tmp = Files.createTempDirectory(cacheDir, TMP_PREFIX);
+        try {
+            try (ZipFile zip = new ZipFile(archive)) {
+                final Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    final ZipEntry entry = entries.nextElement();
+                    final Path target = tmp.resolve(entry.getName()).normalize();
+                    if (!target.startsWith(tmp)) {
+                        throw ServerLogger.ROOT_LOGGER.archiveEntryOutsideArchive(entry.getName(), archive.getName());
+                    }
+                    if (entry.isDirectory()) {
+                        Files.createDirectories(target);
+                    } else {
+                        Files.createDirectories(target.getParent());
+                        try (InputStream in = zip.getInputStream(entry)) {
+                            Files.copy(in, target);
+                        }
+                    }
+                    if (entry.getTime() != -1) {
+                        Files.setLastModifiedTime(target, FileTime.fromMillis(entry.getTime()));
+                    }
+                }
+            }
+            try {
+                Files.move(tmp, dir, StandardCopyOption.ATOMIC_MOVE);
+                ServerLogger.DEPLOYMENT_LOGGER.tracef("Expanded %s to %s", archive, dir);
+            } catch (IOException e) {
+                if (!Files.isDirectory(dir)) {
+                    throw e;
+                }
+                // expanded concurrently by another deployment of the same content
+                VFSUtils.recursiveDelete(tmp.toFile());
+            }
+        } catch (IOException | RuntimeException e) {
+            VFSUtils.recursiveDelete(tmp.toFile());
+            throw e;
+        }
+    }
+
+    private void evict() {
+        final List<Path> unused = new ArrayList<>();
+        synchronized (MOUNTED) {
+            try (DirectoryStream<Path> dirs = Files.newDirectoryStream(cacheDir)) {
+                for (Path dir : dirs) {
+                    final String name = dir.getFileName().toString();
+                    if (!name.startsWith(TMP_PREFIX) && !MOUNTED.containsKey(name) && Files.isDirectory(dir)) {
+                        unused.add(dir);
+                    }
+                }
+            } catch (IOException e) {
+                ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot list %s", cacheDir);
+                return;
+            }
+            if (unused.size() <= maxUnused) {
+                return;
+            }
+            final Map<Path, Long> lastUsed = new HashMap<>();
+            for (Path dir : unused) {
+                lastUsed.put(dir, dir.toFile().lastModified());
+            }
+            unused.sort((a, b) -> Long.compare(lastUsed.get(b), lastUsed.get(a)));
+            for (Path dir : unused.subList(maxUnused, unused.size())) {
+                ServerLogger.DEPLOYMENT_LOGGER.tracef("Removing expanded content %s", dir);
+                VFSUtils.recursiveDelete(dir.toFile());
+            }
+        }
+    }
+
+    private static void acquire(final String key) {
+        synchronized (MOUNTED) {
+            MOUNTED.merge(key, 1, Integer::sum);
+        }
+    }
+
+    private static void release(final String key) {
+        synchronized (MOUNTED) {
+            MOUNTED.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+        }
+    }
+}
@@ -37,6 +37,7 @@ import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
+import org.jboss.as.server.deployment.ExplodedDeploymentMarker;
 import org.jboss.as.server.deployment.SubDeploymentMarker;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.moduleservice.ModuleDefinition;
@@ -229,9 +230,12 @@ public class ModuleSpecProcessor implements DeploymentUnitProcessor {
             specBuilder.addResourceRoot(resourceLoaderSpec);
         }
 
+        // the content of an exploded deployment may change while it is deployed, so only archives are indexed
+        final DeploymentUnit topLevelDeployment = deploymentUnit.getParent() == null ? deploymentUnit : deploymentUnit.getParent();
+        final boolean immutable = !ExplodedDeploymentMarker.isExplodedDeployment(topLevelDeployment);
         for (final ResourceRoot resourceRoot : resourceRoots) {
             logger.debugf("Adding resource %s to module %s", resourceRoot.getRoot(), moduleIdentifier);
-            addResourceRoot(specBuilder, resourceRoot, permFactories);
+            addResourceRoot(specBuilder, resourceRoot, permFactories, immutable);
         }
 
         createDependencies(specBuilder, dependencies, false);
@@ -352,20 +356,20 @@ public class ModuleSpecProcessor implements DeploymentUnitProcessor {
         }
     }
 
-    private void addResourceRoot(final ModuleSpec.Builder specBuilder, final ResourceRoot resource, final List<PermissionFactory> permFactories)
-            throws DeploymentUnitProcessingException {
+    private void addResourceRoot(final ModuleSpec.Builder specBuilder, final ResourceRoot resource, final List<PermissionFactory> permFactories,
+                                 final boolean immutable) throws DeploymentUnitProcessingException {
         try {
             final VirtualFile root = resource.getRoot();
             if (resource.getExportFilters().isEmpty()) {
                 specBuilder.addResourceRoot(ResourceLoaderSpec.createResourceLoaderSpec(new VFSResourceLoader(resource
-                        .getRootName(), root, resource.isUsePhysicalCodeSource())));
+                        .getRootName(), root, resource.isUsePhysicalCodeSource(), immutable)));
             } else {
                 final MultiplePathFilterBuilder filterBuilder = PathFilters.multiplePathFilterBuilder(true);
                 for (final FilterSpecification filter : resource.getExportFilters()) {
                     filterBuilder.addFilter(filter.getPathFilter(), filter.isInclude());
                 }
                 specBuilder.addResourceRoot(ResourceLoaderSpec.createResourceLoaderSpec(new VFSResourceLoader(resource
-                        .getRootName(), root, resource.isUsePhysicalCodeSource()), filterBuilder.create()));
+                        .getRootName(), root, resource.isUsePhysicalCodeSource(), immutable), filterBuilder.create()));
             }
             // start with the root
             permFactories.add(new ImmediatePermissionFactory(
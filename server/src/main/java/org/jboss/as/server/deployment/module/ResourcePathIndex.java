@@ -0,0 +1,167 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.module;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.jboss.modules.PathUtils;
+import org.jboss.vfs.VirtualFile;
+
+/**
+ * Immutable index of the file and directory paths below a resource root, built with a single walk of the root.
+ * Existence checks are answered by a hash lookup and listings by scanning the sorted path arrays, so neither touches
+ * the mounted file system once the index exists. Only usable for roots whose content does not change.
+ */
+final class ResourcePathIndex {
+
+    private static final String[] NO_PATHS = new String[0];
+
+    // all file and directory paths, relative to the root and without a trailing '/'
+    private final Set<String> entries;
+    // the root ("") and all directory paths, in walk order
+    private final List<String> directories;
+    // all file paths, sorted so that the files below a directory are contiguous
+    private final String[] files;
+    // the files directly within each directory that contains any
+    private final Map<String, String[]> filesByDirectory;
+
+    private ResourcePathIndex(final Set<String> entries, final List<String> directories, final String[] files, final Map<String, String[]> filesByDirectory) {
+        this.entries = entries;
+        this.directories = directories;
+        this.files = files;
+        this.filesByDirectory = filesByDirectory;
+    }
+
+    /**
+     * Build the index of the given root.
+     *
+     * @param root the resource root
+     * @return the index
+     * @throws IOException if the root could not be walked
+     */
+    static ResourcePathIndex build(final VirtualFile root) throws IOException {
+        final Set<String> entries = new HashSet<>();
+        final List<String> directories = new ArrayList<>();
+        final List<String> files = new ArrayList<>();
+        final Map<String, List<String>> filesByDirectory = new HashMap<>();
+        entries.add("");
+        directories.add("");
+        for (VirtualFile file : root.getChildrenRecursively()) {
+            final String path = file.getPathNameRelativeTo(root);
+            entries.add(path);
+            if (file.isDirectory()) {
+                directories.add(path);
+            } else {
+                files.add(path);
+                filesByDirectory.computeIfAbsent(parentOf(path), k -> new ArrayList<>()).add(path);
+            }
+        }
+        final String[] sortedFiles = files.toArray(NO_PATHS);
+        Arrays.sort(sortedFiles);
+        final Map<String, String[]> directFiles = new HashMap<>(filesByDirectory.size() * 4 / 3 + 1);
+        for (Map.Entry<String, List<String>> entry : filesByDirectory.entrySet()) {
+            directFiles.put(entry.getKey(), entry.getValue().toArray(NO_PATHS));
+        }
+        return new ResourcePathIndex(entries, Collections.unmodifiableList(directories), sortedFiles, directFiles);
+    }
+
+    /**
+     * Determine whether a file or directory exists at the given path.
+     *
+     * @param path the path, relative to the root
+     * @return {@code true} if the path exists, {@code false} otherwise
+     */
+    boolean contains(final String path) {
+        return entries.contains(normalize(path));
+    }
+
+    /**
+     * Get the root ({@code ""}) and all directory paths below it.
+     *
+     * @return the directory paths
+     */
+    List<String> getDirectories() {
+        return directories;
+    }
+
+    /**
+     * Get the paths of the files below a directory.
+     *
+     * @param directory the directory path, relative to the root
+     * @param recursive {@code true} to include the files of all nested directories, {@code false} for the direct
+     *                  children only
+     * @return the file paths
+     */
+    Iterator<String> getFiles(final String directory, final boolean recursive) {
+        final String dir = normalize(directory);
+        if (!recursive) {
+            final String[] direct = filesByDirectory.get(dir);
+            return direct == null ? Collections.<String>emptyIterator() : Arrays.asList(direct).iterator();
+        }
+        if (dir.isEmpty()) {
+            return Arrays.asList(files).iterator();
+        }
+        final String prefix = dir + '/';
+        final int start = Arrays.binarySearch(files, prefix);
+        return new Iterator<String>() {
+            // the prefix itself is never a file name, so the search always reports an insertion point
+            private int next = -start - 1;
+
+            @Override
+            public boolean hasNext() {
+                return next < files.length && files[next].startsWith(prefix);
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return files[next++];
+            }
+        };
+    }
+
+    private static String normalize(final String path) {
+        String result = PathUtils.canonicalize(PathUtils.relativize(path));
+        while (result.endsWith("/")) {
+            result = result.substring(0, result.length() - 1);
+        }
+        return result;
+    }
+
+    private static String parentOf(final String path) {
+        final int idx = path.lastIndexOf('/');
+        return idx == -1 ? "" : path.substring(0, idx);
+    }
+}
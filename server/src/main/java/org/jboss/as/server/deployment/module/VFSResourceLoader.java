@@ -95,6 +95,9 @@ public class VFSResourceLoader extends AbstractResourceLoader implements Iterabl
     private final Manifest manifest;
     private final URL rootUrl;
     private final boolean multiRelease;
+    private final boolean immutable;
+    private volatile ResourcePathIndex pathIndex;
+    private volatile boolean pathIndexFailed;
 
     // protected by {@code this}
     private final Map<CodeSigners, CodeSource> codeSources = new HashMap<>();
@@ -119,6 +122,20 @@ public class VFSResourceLoader extends AbstractResourceLoader implements Iterabl
      * @throws IOException if the manifest could not be read or the root URL is invalid
      */
     public VFSResourceLoader(final String rootName, final VirtualFile root, final boolean usePhysicalCodeSource) throws IOException {
+        this(rootName, root, usePhysicalCodeSource, false);
+    }
+
+    /**
+     * Construct new instance.
+     *
+     * @param rootName The module root name
+     * @param root The root virtual file
+     * @param usePhysicalCodeSource {@code true} to use the physical root URL for code sources, {@code false} to use the VFS URL
+     * @param immutable {@code true} if the content below the root does not change while the loader is in use, in which
+     *                  case its paths are indexed once and lookups, path listings and iteration are served from the index
+     * @throws IOException if the manifest could not be read or the root URL is invalid
+     */
+    public VFSResourceLoader(final String rootName, final VirtualFile root, final boolean usePhysicalCodeSource, final boolean immutable) throws IOException {
         final SecurityManager sm = System.getSecurityManager();
         final boolean checking = WildFlySecurityManager.isChecking();
         if (checking) {
@@ -145,18 +162,56 @@ public class VFSResourceLoader extends AbstractResourceLoader implements Iterabl
         // with value true
         multiRelease = manifest != null && Boolean.parseBoolean(manifest.getMainAttributes().getValue(MULTI_RELEASE_NAME));
         rootUrl = usePhysicalCodeSource ? VFSUtils.getRootURL(root) : root.asFileURL();
+        this.immutable = immutable;
+    }
+
+    /**
+     * Get the path index of the root, building it on first use.
+     *
+     * @return the index, or {@code null} if the root content is not immutable or could not be indexed
+     */
+    private ResourcePathIndex getPathIndex() {
+        ResourcePathIndex index = pathIndex;
+        if (index != null || !immutable || pathIndexFailed) {
+            return index;
+        }
+        synchronized (this) {
+            index = pathIndex;
+            if (index == null && !pathIndexFailed) {
+                try {
+                    index = pathIndex = doPrivileged(new PrivilegedExceptionAction<ResourcePathIndex>() {
+                        public ResourcePathIndex run() throws IOException {
+                            return ResourcePathIndex.build(root);
+                        }
+                    });
+                } catch (PrivilegedActionException e) {
+                    ServerLogger.ROOT_LOGGER.debugf(e.getException(), "Could not index resource root %s", rootName);
+                    pathIndexFailed = true;
+                }
+            }
+            return index;
+        }
     }
 
     VirtualFile getExistentVirtualFile(final String name) {
+        final ResourcePathIndex index = getPathIndex();
         VirtualFile file;
         int version = RELEASE;
         if (multiRelease) while (version >= 9) {
-            file = root.getChild(MR_PREFIX + version + "/" + name);
-            if (file.exists()) {
-                return file;
+            final String path = MR_PREFIX + version + "/" + name;
+            if (index == null) {
+                file = root.getChild(path);
+                if (file.exists()) {
+                    return file;
+                }
+            } else if (index.contains(path)) {
+                return root.getChild(path);
             }
             version --;
         }
+        if (index != null) {
+            return index.contains(name) ? root.getChild(name) : null;
+        }
         file = root.getChild(name);
         return file.exists() ? file : null;
     }
@@ -283,6 +338,12 @@ public class VFSResourceLoader extends AbstractResourceLoader implements Iterabl
             }
         }
 
+        final ResourcePathIndex pathIndex = getPathIndex();
+        if (pathIndex != null) {
+            index.addAll(pathIndex.getDirectories());
+            return index;
+        }
+
         FilterVirtualFileVisitor visitor = new FilterVirtualFileVisitor(new VirtualFileFilter() {
             @Override
             public boolean accepts(VirtualFile file) {
@@ -309,6 +370,35 @@ public class VFSResourceLoader extends AbstractResourceLoader implements Iterabl
         if (startPath.length() > 1 && child == root) {
             return Collections.<Resource>emptySet().iterator();
         }
+        final ResourcePathIndex index = getPathIndex();
+        if (index != null) {
+            final Iterator<String> paths = index.getFiles(child == root ? "" : child.getPathNameRelativeTo(root), recursive);
+            return new Iterator<Resource>() {
+
+                @Override
+                public boolean hasNext() {
+                    return paths.hasNext();
+                }
+
+                @Override
+                public Resource next() {
+                    final String path = paths.next();
+                    final VirtualFile file = root.getChild(path);
+                    URL fileURL;
+                    try {
+                        fileURL = file.toURL();
+                    } catch (MalformedURLException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                    return new VFSEntryResource(path, file, fileURL);
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
         VirtualFileFilter filter = new VirtualFileFilter() {
             @Override
             public boolean accepts(VirtualFile file) {
@@ -36,6 +36,7 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.UnknownHostException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Set;
 import java.util.jar.Attributes;
 import java.util.zip.ZipException;
@@ -1397,6 +1398,32 @@ public interface ServerLogger extends BasicLogger {
     @Message(id = 290, value = "Couldn't find the specified YAML file %s")
     IllegalArgumentException unableToFindYaml(String file);
 
+    @LogMessage(level = WARN)
+    @Message(id = 291, value = "Deployment %s took %dms to complete, of which %dms were spent in deployment processors, exceeding the threshold of %dms. Slowest processors: %s")
+    void slowDeployment(String deployment, long elapsed, long processing, long threshold, List<?> slowestProcessors);
+
+    @Message(id = 292, value = "Entry %s of archive %s would be expanded outside of its target directory")
+    IOException archiveEntryOutsideArchive(String entry, String archive);
+
+    @LogMessage(level = WARN)
+    @Message(id = 293, value = "Unknown value %s for system property %s, using %s")
+    void unknownArchiveMountStrategy(String value, String property, String defaultValue);
+
+    @Message(id = 294, value = "Invalid upload id '%s', only letters, digits, '-' and '_' are allowed")
+    OperationFailedException invalidUploadId(String uploadId);
+
+    @Message(id = 295, value = "No upload with id '%s' is in progress")
+    OperationFailedException unknownUpload(String uploadId);
+
+    @Message(id = 296, value = "Upload '%s' cannot be committed with size %d, %d contiguous bytes out of %d have been received")
+    OperationFailedException incompleteUpload(String uploadId, long size, long received, long staged);
+
+    @Message(id = 297, value = "A chunk of upload '%s' differs at offset %d from the content already received")
+    OperationFailedException uploadChunkMismatch(String uploadId, long offset);
+
+    @Message(id = 298, value = "A chunk of upload '%s' overlaps at offset %d a chunk that is still being received")
+    OperationFailedException uploadChunkInProgress(String uploadId, long offset);
+
     ////////////////////////////////////////////////
     //Messages without IDs
 
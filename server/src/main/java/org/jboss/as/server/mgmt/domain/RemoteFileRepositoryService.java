@@ -209,4 +209,39 @@ public class RemoteFileRepositoryService implements CompositeContentRepository,
     public List<ContentRepositoryElement> listContent(byte[] deploymentHash, String path, ContentFilter filter) throws ExplodedContentException {
         return contentRepository.listContent(deploymentHash, path, filter);
     }
+
+    @Override
+    public Map<String, byte[]> getExplodedContentManifest(byte[] deploymentHash) throws ExplodedContentException {
+        return contentRepository.getExplodedContentManifest(deploymentHash);
+    }
+
+    @Override
+    public long getIngestedBytes() {
+        return contentRepository.getIngestedBytes();
+    }
+
+    @Override
+    public long getIngestionRate() {
+        return contentRepository.getIngestionRate();
+    }
+
+    @Override
+    public int getContentCount() {
+        return contentRepository.getContentCount();
+    }
+
+    @Override
+    public long getContentBytes() {
+        return contentRepository.getContentBytes();
+    }
+
+    @Override
+    public long getReclaimedBytes() {
+        return contentRepository.getReclaimedBytes();
+    }
+
+    @Override
+    public long getLastCleanDuration() {
+        return contentRepository.getLastCleanDuration();
+    }
 }
@@ -29,6 +29,7 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.ExpressionResolverImpl;
 import org.jboss.as.controller.OperationClientException;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -135,6 +136,7 @@ public class SystemPropertyAddHandler implements OperationStepHandler {
         } else {
             WildFlySecurityManager.clearPropertyPrivileged(name);
         }
+        ExpressionResolverImpl.invalidateResolutionCaches();
         if (systemPropertyUpdater != null) {
             systemPropertyUpdater.systemPropertyUpdated(name, value);
         }
@@ -42,6 +42,7 @@ import org.jboss.staxmapper.XMLElementReader;
 import org.jboss.staxmapper.XMLElementWriter;
 import org.jboss.staxmapper.XMLExtendedStreamReader;
 import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * A mapper between an AS server's configuration model and XML representations, particularly {@code standalone.xml}.
@@ -57,7 +58,21 @@ public final class StandaloneXml implements XMLElementReader<List<ModelNode>>, X
          * from parsing subsystem elements. If provided it leads to a warning message being logged.
          * If omitted, the parser will exit with an exception when encountering errors at a subsystem element.
          */
-        IGNORE_SUBSYSTEM_FAILURES();
+        IGNORE_SUBSYSTEM_FAILURES(),
+
+        /**
+         * This option instructs the parser to copy each subsystem element into a separate buffer and to parse
+         * the buffers concurrently on the boot executor. The resulting operations are added in document order, so
+         * the boot operation list is the same as if the subsystems were parsed one after the other.
+         * It has no effect if no boot executor is available.
+         */
+        PARALLEL_SUBSYSTEM_PARSING();
+
+        /**
+         * System property that, when set to {@code true}, enables {@link #PARALLEL_SUBSYSTEM_PARSING} for the
+         * server's boot configuration.
+         */
+        static final String PARALLEL_SUBSYSTEM_PARSING_PROPERTY = "jboss.server.parallel-subsystem-parsing";
 
         /**
          * Verifies if an option exist in an array of options
@@ -84,7 +99,8 @@ public final class StandaloneXml implements XMLElementReader<List<ModelNode>>, X
             final ExtensionRegistry extensionRegistry) {
         deferredExtensionContext = new DeferredExtensionContext(loader, extensionRegistry, executorService);
         this.extensionHandler = new DefaultExtensionHandler(extensionRegistry, deferredExtensionContext);
-        this.parsingOptions = new ParsingOption[] {};
+        this.parsingOptions = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ParsingOption.PARALLEL_SUBSYSTEM_PARSING_PROPERTY, "false"))
+                ? new ParsingOption[] {ParsingOption.PARALLEL_SUBSYSTEM_PARSING} : new ParsingOption[] {};
     }
 
     public StandaloneXml(ExtensionHandler handler, DeferredExtensionContext deferredExtensionContext, ParsingOption... options) {
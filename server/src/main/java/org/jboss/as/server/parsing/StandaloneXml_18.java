@@ -62,6 +62,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
@@ -71,6 +72,7 @@ import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.management.BaseHttpInterfaceResourceDefinition;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.parsing.Attribute;
+import org.jboss.as.controller.parsing.ConcurrentSubsystemParser;
 import org.jboss.as.controller.parsing.DeferredExtensionContext;
 import org.jboss.as.controller.parsing.Element;
 import org.jboss.as.controller.parsing.Namespace;
@@ -646,14 +648,23 @@ final class StandaloneXml_18 extends CommonXml implements ManagementXmlDelegate
 
         // Content
         final Map<String, List<ModelNode>> profileOps = new LinkedHashMap<String, List<ModelNode>>();
+        final ExecutorService bootExecutor = StandaloneXml.ParsingOption.PARALLEL_SUBSYSTEM_PARSING.isSet(this.parsingOptions)
+                ? deferredExtensionContext.getBootExecutor() : null;
+        final ConcurrentSubsystemParser concurrentParser = bootExecutor == null ? null
+                : new ConcurrentSubsystemParser(reader.getXMLMapper(), bootExecutor,
+                        StandaloneXml.ParsingOption.IGNORE_SUBSYSTEM_FAILURES.isSet(this.parsingOptions));
         while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
             if (Element.forName(reader.getLocalName()) != Element.SUBSYSTEM) {
                 throw unexpectedElement(reader);
             }
             String namespace = reader.getNamespaceURI();
-            if (profileOps.containsKey(namespace)) {
+            if (profileOps.containsKey(namespace) || (concurrentParser != null && concurrentParser.contains(namespace))) {
                 throw ControllerLogger.ROOT_LOGGER.duplicateDeclaration("subsystem", reader.getLocation());
             }
+            if (concurrentParser != null) {
+                concurrentParser.submit(reader);
+                continue;
+            }
             // parse subsystem
             final List<ModelNode> subsystems = new ArrayList<ModelNode>();
             try {
@@ -671,6 +682,9 @@ final class StandaloneXml_18 extends CommonXml implements ManagementXmlDelegate
 
             profileOps.put(namespace, subsystems);
         }
+        if (concurrentParser != null) {
+            profileOps.putAll(concurrentParser.complete());
+        }
 
         // Let extensions modify the profile
         Set<ProfileParsingCompletionHandler> completionHandlers = extensionHandler.getProfileParsingCompletionHandlers();
@@ -0,0 +1,260 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.repository.ContentRepository;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of {@link ChunkedDeploymentUploads}.
+ */
+public class ChunkedDeploymentUploadsTestCase {
+
+    private static final int CHUNK = 100_000;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path stagingDir;
+    private ContentRepository repository;
+    private byte[] content;
+
+    @Before
+    public void setUp() throws IOException {
+        stagingDir = temporaryFolder.newFolder("staging").toPath();
+        repository = ContentRepository.Factory.create(temporaryFolder.newFolder("content"), temporaryFolder.newFolder("tmp"));
+        content = new byte[CHUNK * 3 + 1234];
+        new Random(42).nextBytes(content);
+    }
+
+    @Test
+    public void testChunksInAnyOrder() throws Exception {
+        final ChunkedDeploymentUploads uploads = new ChunkedDeploymentUploads(stagingDir);
+        assertEquals(0, uploads.addChunk("upload", CHUNK * 2, chunk(2)));
+        assertEquals(0, uploads.addChunk("upload", CHUNK, chunk(1)));
+        assertEquals(CHUNK * 3, uploads.addChunk("upload", 0, chunk(0)));
+        assertEquals(content.length, uploads.addChunk("upload", CHUNK * 3, chunk(3)));
+
+        final byte[] hash = uploads.commit("upload", content.length, repository);
+        assertArrayEquals(MessageDigest.getInstance("SHA-1").digest(content), hash);
+        assertArrayEquals(content, Files.readAllBytes(repository.getContent(hash).getPhysicalFile().toPath()));
+        assertFalse(Files.exists(stagingDir.resolve("upload")));
+        try {
+            uploads.commit("upload", content.length, repository);
+            fail("The upload should be gone once committed");
+        } catch (OperationFailedException expected) {
+        }
+    }
+
+    @Test
+    public void testResumeAfterFailure() throws Exception {
+        final ChunkedDeploymentUploads uploads = new ChunkedDeploymentUploads(stagingDir);
+        assertEquals(CHUNK, uploads.addChunk("upload", 0, chunk(0)));
+        // a chunk cut short by a failure, then sent again from the offset the server reported
+        final long received = uploads.addChunk("upload", CHUNK, new ByteArrayInputStream(content, CHUNK, 10));
+        assertEquals(CHUNK + 10, received);
+        assertEquals(content.length, uploads.addChunk("upload", received, new ByteArrayInputStream(content, (int) received, content.length - (int) received)));
+        // a chunk sent twice
+        assertEquals(content.length, uploads.addChunk("upload", CHUNK, chunk(1)));
+
+        assertArrayEquals(MessageDigest.getInstance("SHA-1").digest(content), uploads.commit("upload", content.length, repository));
+    }
+
+    @Test
+    public void testChunkSentAgainMustMatch() throws Exception {
+        final ChunkedDeploymentUploads uploads = new ChunkedDeploymentUploads(stagingDir);
+        assertEquals(CHUNK, uploads.addChunk("upload", 0, chunk(0)));
+        assertEquals(CHUNK, uploads.addChunk("upload", CHUNK * 2, chunk(2)));
+        final byte[] changed = Arrays.copyOfRange(content, CHUNK - 10, CHUNK * 2 + 10);
+        changed[changed.length - 1]++;
+        try {
+            // overlaps the end of the first chunk and the start of the third one
+            uploads.addChunk("upload", CHUNK - 10, new ByteArrayInputStream(changed));
+            fail("A chunk changing content already received should be rejected");
+        } catch (OperationFailedException expected) {
+        }
+        assertEquals(CHUNK * 3, uploads.addChunk("upload", CHUNK - 10, new ByteArrayInputStream(content, CHUNK - 10, CHUNK + 20)));
+        assertEquals(content.length, uploads.addChunk("upload", CHUNK * 3, chunk(3)));
+
+        assertArrayEquals(MessageDigest.getInstance("SHA-1").digest(content), uploads.commit("upload", content.length, repository));
+    }
+
+    @Test
+    public void testOverlappingChunksInFlight() throws Exception {
+        final ChunkedDeploymentUploads uploads = new ChunkedDeploymentUploads(stagingDir);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch resume = new CountDownLatch(1);
+        // a chunk whose stream stalls after its first bytes have been written
+        final InputStream stalled = new SequenceInputStream(new ByteArrayInputStream(content, 0, 10), new InputStream() {
+            private final InputStream rest = new ByteArrayInputStream(content, 10, CHUNK - 10);
+
+            @Override
+            public int read() throws IOException {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                started.countDown();
+                try {
+                    resume.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return rest.read(b, off, len);
+            }
+        });
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Long> first = executor.submit(() -> uploads.addChunk("upload", 0, stalled));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            final byte[] changed = Arrays.copyOf(content, CHUNK);
+            changed[50]++;
+            try {
+                uploads.addChunk("upload", 0, new ByteArrayInputStream(changed));
+                fail("A chunk overlapping a chunk in flight should be rejected");
+            } catch (OperationFailedException expected) {
+            }
+            // chunks that do not overlap may still be received in parallel
+            assertEquals(0, uploads.addChunk("upload", CHUNK, chunk(1)));
+            resume.countDown();
+            assertEquals(CHUNK * 2, first.get(10, TimeUnit.SECONDS).longValue());
+        } finally {
+            resume.countDown();
+            executor.shutdownNow();
+        }
+        assertArrayEquals(MessageDigest.getInstance("SHA-1").digest(Arrays.copyOf(content, CHUNK * 2)), uploads.commit("upload", CHUNK * 2, repository));
+    }
+
+    @Test
+    public void testChunkDuringCommit() throws Exception {
+        final ChunkedDeploymentUploads uploads = new ChunkedDeploymentUploads(stagingDir);
+        // a repository that receives a chunk of the upload while it adds the content
+        final ContentRepository committing = (ContentRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ContentRepository.class}, (proxy, method, args) -> {
+            if (method.getName().equals("addContent") && args.length == 2) {
+                try {
+                    uploads.addChunk("upload", 0, chunk(0));
+                    fail("A chunk should be rejected while its upload is committed");
+                } catch (OperationFailedException expected) {
+                }
+                assertTrue(Files.exists(stagingDir.resolve("upload")));
+            }
+            try {
+                return method.invoke(repository, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+        uploads.addChunk("upload", 0, chunk(0));
+        final byte[] hash = uploads.commit("upload", CHUNK, committing);
+        assertArrayEquals(Arrays.copyOf(content, CHUNK), Files.readAllBytes(repository.getContent(hash).getPhysicalFile().toPath()));
+    }
+
+    @Test
+    public void testIncompleteCommit() throws Exception {
+        final ChunkedDeploymentUploads uploads = new ChunkedDeploymentUploads(stagingDir);
+        uploads.addChunk("upload", 0, chunk(0));
+        uploads.addChunk("upload", CHUNK * 2, chunk(2));
+        try {
+            uploads.commit("upload", content.length, repository);
+            fail("An upload with missing chunks cannot be committed");
+        } catch (OperationFailedException expected) {
+        }
+        uploads.addChunk("upload", CHUNK, chunk(1));
+        try {
+            uploads.commit("upload", CHUNK * 3 - 1, repository);
+            fail("An upload larger than the committed size cannot be committed");
+        } catch (OperationFailedException expected) {
+        }
+        assertArrayEquals(MessageDigest.getInstance("SHA-1").digest(Arrays.copyOf(content, CHUNK * 3)), uploads.commit("upload", CHUNK * 3, repository));
+    }
+
+    @Test
+    public void testInvalidUploadId() throws Exception {
+        final ChunkedDeploymentUploads uploads = new ChunkedDeploymentUploads(stagingDir);
+        for (String uploadId : new String[] {"../upload", "a/b", ""}) {
+            try {
+                uploads.addChunk(uploadId, 0, chunk(0));
+                fail(uploadId + " should have been rejected");
+            } catch (OperationFailedException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void testStaleUploadDiscarded() throws Exception {
+        final ChunkedDeploymentUploads uploads = new ChunkedDeploymentUploads(stagingDir, 0L);
+        uploads.addChunk("stale", 0, chunk(0));
+        Thread.sleep(10);
+        uploads.addChunk("other", 0, chunk(0));
+        assertFalse(Files.exists(stagingDir.resolve("stale")));
+        try {
+            uploads.commit("stale", CHUNK, repository);
+            fail("A stale upload should have been discarded");
+        } catch (OperationFailedException expected) {
+        }
+    }
+
+    @Test
+    public void testExpiredUploadReaped() throws Exception {
+        final ChunkedDeploymentUploads uploads = new ChunkedDeploymentUploads(stagingDir, 50L);
+        uploads.addChunk("expired", 0, chunk(0));
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (Files.exists(stagingDir.resolve("expired")) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(Files.exists(stagingDir.resolve("expired")));
+    }
+
+    private ByteArrayInputStream chunk(int index) {
+        final int offset = index * CHUNK;
+        return new ByteArrayInputStream(content, offset, Math.min(CHUNK, content.length - offset));
+    }
+}
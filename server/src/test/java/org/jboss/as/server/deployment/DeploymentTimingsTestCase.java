@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests of {@link DeploymentTimings} and {@link DeploymentTimingHandler}.
+ */
+public class DeploymentTimingsTestCase {
+
+    @Test
+    public void testTimings() {
+        final DeploymentTimings timings = new DeploymentTimings();
+        timings.processorCompleted(Phase.STRUCTURE, processor(1, "first"), millis(5));
+        timings.processorCompleted(Phase.STRUCTURE, processor(2, "second"), millis(20));
+        timings.phaseCompleted(Phase.STRUCTURE, millis(30));
+        assertEquals(-1, timings.getElapsedTime());
+
+        timings.processorCompleted(Phase.CLEANUP, processor(3, "third"), millis(10));
+        timings.phaseCompleted(Phase.CLEANUP, millis(12));
+        assertTrue(timings.getElapsedTime() >= 0);
+        assertEquals(millis(42), timings.getProcessingTime());
+        assertEquals(Arrays.asList(Phase.STRUCTURE, Phase.CLEANUP), Arrays.asList(timings.getPhaseTimes().keySet().toArray()));
+
+        final DeploymentTimings other = new DeploymentTimings();
+        other.processorCompleted(Phase.PARSE, processor(4, "fourth"), millis(15));
+        final List<DeploymentTimings.ProcessorTiming> slowest = DeploymentTimings.getSlowestProcessors(Arrays.asList(timings, other), 3);
+        assertEquals(3, slowest.size());
+        assertEquals(2, slowest.get(0).getPriority());
+        assertEquals(4, slowest.get(1).getPriority());
+        assertEquals(3, slowest.get(2).getPriority());
+    }
+
+    @Test
+    public void testPhaseRestart() throws InterruptedException {
+        final DeploymentTimings timings = new DeploymentTimings();
+        timings.phaseStarted(Phase.STRUCTURE);
+        timings.processorCompleted(Phase.STRUCTURE, processor(1, "first"), millis(5));
+        timings.phaseCompleted(Phase.STRUCTURE, millis(6));
+        timings.phaseStarted(Phase.PARSE);
+        timings.processorCompleted(Phase.PARSE, processor(2, "second"), millis(10));
+        timings.phaseCompleted(Phase.PARSE, millis(11));
+        timings.phaseStarted(Phase.CLEANUP);
+        timings.processorCompleted(Phase.CLEANUP, processor(3, "third"), millis(20));
+        timings.phaseCompleted(Phase.CLEANUP, millis(21));
+        assertTrue(timings.getElapsedTime() >= 0);
+
+        Thread.sleep(50);
+        timings.phaseStarted(Phase.PARSE);
+        assertEquals(-1, timings.getElapsedTime());
+        assertEquals(Arrays.asList(Phase.STRUCTURE), Arrays.asList(timings.getPhaseTimes().keySet().toArray()));
+        assertEquals(1, timings.getProcessorTimes().size());
+
+        timings.processorCompleted(Phase.PARSE, processor(2, "second"), millis(3));
+        timings.phaseCompleted(Phase.PARSE, millis(4));
+        timings.phaseStarted(Phase.CLEANUP);
+        timings.processorCompleted(Phase.CLEANUP, processor(3, "third"), millis(7));
+        timings.phaseCompleted(Phase.CLEANUP, millis(8));
+        assertEquals(3, timings.getProcessorTimes().size());
+        assertEquals(millis(18), timings.getProcessingTime());
+        assertTrue(timings.getElapsedTime() < millis(50));
+    }
+
+    @Test
+    public void testReadTimings() {
+        final DeploymentTimings timings = new DeploymentTimings();
+        timings.processorCompleted(Phase.STRUCTURE, processor(1, "first"), millis(5));
+        timings.processorCompleted(Phase.STRUCTURE, processor(2, null), millis(7));
+        timings.phaseCompleted(Phase.STRUCTURE, millis(12));
+        final DeploymentUnit deploymentUnit = mock(DeploymentUnit.class);
+        when(deploymentUnit.getAttachment(Attachments.DEPLOYMENT_TIMINGS)).thenReturn(timings);
+
+        final ModelNode result = new ModelNode();
+        new DeploymentTimingHandler().read(deploymentUnit, result);
+        assertFalse(result.hasDefined("elapsed-time"));
+        assertEquals(12, result.get("processing-time").asLong());
+        final ModelNode structure = result.get("phases", Phase.STRUCTURE.name());
+        assertEquals(12, structure.get("time").asLong());
+        final List<ModelNode> processors = structure.get("processors").asList();
+        assertEquals(2, processors.size());
+        assertEquals("first", processors.get(0).get("subsystem").asString());
+        assertEquals(5, processors.get(0).get("time").asLong());
+        assertEquals(2, processors.get(1).get("priority").asInt());
+        assertFalse(processors.get(1).hasDefined("subsystem"));
+    }
+
+    private static RegisteredDeploymentUnitProcessor processor(final int priority, final String subsystem) {
+        return new RegisteredDeploymentUnitProcessor(priority, mock(DeploymentUnitProcessor.class), subsystem);
+    }
+
+    private static long millis(final long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.server.deployment.AttachmentList;
+import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.DeploymentPhaseContext;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.vfs.VFS;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Tests of {@link AnnotationIndexProcessor}.
+ */
+public class AnnotationIndexProcessorTestCase {
+
+    private static final Class<?>[] CLASSES = {AnnotationIndexProcessorTestCase.class, DeploymentIndexCacheTestCase.class,
+            ResourceRootIndexTiming.class, DeploymentIndexCache.class};
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIndexResourceRoots() throws Exception {
+        final File deployment = temporaryFolder.newFolder("deployment.war");
+        final ResourceRoot deploymentRoot = new ResourceRoot(VFS.getChild(deployment.toURI()), null);
+        addClass(deployment, CLASSES[0]);
+        final AttachmentList<ResourceRoot> libRoots = new AttachmentList<>(ResourceRoot.class);
+        for (int i = 1; i < CLASSES.length; i++) {
+            final File lib = new File(deployment, "lib" + i);
+            assertEquals(true, lib.mkdir());
+            addClass(lib, CLASSES[i]);
+            libRoots.add(new ResourceRoot(deploymentRoot.getRoot().getChild(lib.getName()), null));
+        }
+
+        final DeploymentUnit deploymentUnit = mock(DeploymentUnit.class);
+        when(deploymentUnit.getAttachment(Attachments.DEPLOYMENT_ROOT)).thenReturn(deploymentRoot);
+        when(deploymentUnit.getAttachmentList(Attachments.RESOURCE_ROOTS)).thenReturn(libRoots);
+        final DeploymentPhaseContext phaseContext = mock(DeploymentPhaseContext.class);
+        when(phaseContext.getDeploymentUnit()).thenReturn(deploymentUnit);
+
+        new AnnotationIndexProcessor().deploy(phaseContext);
+
+        final List<ResourceRoot> resourceRoots = new ArrayList<>();
+        resourceRoots.add(deploymentRoot);
+        resourceRoots.addAll(libRoots);
+        for (int i = 0; i < CLASSES.length; i++) {
+            final Index index = resourceRoots.get(i).getAttachment(Attachments.ANNOTATION_INDEX);
+            assertNotNull(index);
+            // the deployment root also contains the library directories
+            assertEquals(i == 0 ? CLASSES.length : 1, index.getKnownClasses().size());
+            assertNotNull(index.getClassByName(DotName.createSimple(CLASSES[i].getName())));
+        }
+
+        final ArgumentCaptor<AttachmentList> timings = ArgumentCaptor.forClass(AttachmentList.class);
+        verify(deploymentUnit).putAttachment(eq(Attachments.ANNOTATION_INDEX_TIMINGS), timings.capture());
+        final List<ResourceRootIndexTiming> captured = timings.getValue();
+        assertEquals(CLASSES.length, captured.size());
+        assertEquals("deployment.war", captured.get(0).getResourceRoot());
+        for (int i = 1; i < CLASSES.length; i++) {
+            assertEquals("lib" + i, captured.get(i).getResourceRoot());
+            assertEquals(1, captured.get(i).getClasses());
+        }
+    }
+
+    private static void addClass(final File dir, final Class<?> clazz) throws IOException {
+        try (InputStream in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+            Files.copy(in, new File(dir, clazz.getSimpleName() + ".class").toPath());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VirtualFile;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of {@link DeploymentIndexCache}.
+ */
+public class DeploymentIndexCacheTestCase {
+
+    private static final byte[] HASH = {1, 2, 3, 4};
+    private static final byte[] OTHER_HASH = {5, 6, 7, 8};
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path cacheDir;
+    private VirtualFile deploymentRoot;
+    private VirtualFile libRoot;
+    private Index index;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDir = temporaryFolder.newFolder("cache").toPath();
+        final File deployment = temporaryFolder.newFolder("deployment");
+        assertTrue(new File(deployment, "lib").mkdir());
+        deploymentRoot = VFS.getChild(deployment.toURI());
+        libRoot = deploymentRoot.getChild("lib");
+        final Indexer indexer = new Indexer();
+        try (InputStream in = getClass().getResourceAsStream(getClass().getSimpleName() + ".class")) {
+            indexer.index(in);
+        }
+        index = indexer.complete();
+    }
+
+    @Test
+    public void testReadWrittenIndex() {
+        final DeploymentIndexCache cache = new DeploymentIndexCache(cacheDir, HASH, deploymentRoot, Long.MAX_VALUE);
+        assertNull(cache.read(deploymentRoot, null));
+        cache.write(deploymentRoot, null, index);
+
+        final Index cached = new DeploymentIndexCache(cacheDir, HASH, deploymentRoot, Long.MAX_VALUE).read(deploymentRoot, null);
+        assertNotNull(cached);
+        assertNotNull(cached.getClassByName(DotName.createSimple(getClass().getName())));
+        // keyed by resource root and ignored paths
+        assertNull(cache.read(libRoot, null));
+        assertNull(cache.read(deploymentRoot, Collections.singleton("ignored")));
+    }
+
+    @Test
+    public void testContentChangeInvalidatesIndex() {
+        new DeploymentIndexCache(cacheDir, HASH, deploymentRoot, Long.MAX_VALUE).write(libRoot, null, index);
+        assertNull(new DeploymentIndexCache(cacheDir, OTHER_HASH, deploymentRoot, Long.MAX_VALUE).read(libRoot, null));
+        assertNotNull(new DeploymentIndexCache(cacheDir, HASH, deploymentRoot, Long.MAX_VALUE).read(libRoot, null));
+    }
+
+    @Test
+    public void testCorruptIndexIsDiscarded() throws IOException {
+        final DeploymentIndexCache cache = new DeploymentIndexCache(cacheDir, HASH, deploymentRoot, Long.MAX_VALUE);
+        cache.write(deploymentRoot, null, index);
+        final Path entry = listEntries()[0];
+        Files.write(entry, new byte[] {1, 2, 3});
+
+        assertNull(cache.read(deploymentRoot, null));
+        assertFalse(Files.exists(entry));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() throws IOException {
+        final Path sizingDir = temporaryFolder.newFolder("sizing").toPath();
+        new DeploymentIndexCache(sizingDir, HASH, deploymentRoot, Long.MAX_VALUE).write(deploymentRoot, null, index);
+        final long entrySize = Files.size(listEntries(sizingDir)[0]);
+
+        // room for two entries
+        final long maxSize = 2 * entrySize + entrySize / 2;
+        new DeploymentIndexCache(cacheDir, HASH, deploymentRoot, maxSize).write(deploymentRoot, null, index);
+        new DeploymentIndexCache(cacheDir, OTHER_HASH, deploymentRoot, maxSize).write(deploymentRoot, null, index);
+        for (Path entry : listEntries()) {
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis() - 60000));
+        }
+        // reading marks the entry as recently used
+        assertNotNull(new DeploymentIndexCache(cacheDir, HASH, deploymentRoot, maxSize).read(deploymentRoot, null));
+
+        new DeploymentIndexCache(cacheDir, HASH, deploymentRoot, maxSize).write(libRoot, null, index);
+        assertEquals(2, listEntries().length);
+        assertNotNull(new DeploymentIndexCache(cacheDir, HASH, deploymentRoot, maxSize).read(deploymentRoot, null));
+        assertNotNull(new DeploymentIndexCache(cacheDir, HASH, deploymentRoot, maxSize).read(libRoot, null));
+        assertNull(new DeploymentIndexCache(cacheDir, OTHER_HASH, deploymentRoot, maxSize).read(deploymentRoot, null));
+    }
+
+    private Path[] listEntries() throws IOException {
+        return listEntries(cacheDir);
+    }
+
+    private static Path[] listEntries(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).toArray(Path[]::new);
+        }
+    }
+}
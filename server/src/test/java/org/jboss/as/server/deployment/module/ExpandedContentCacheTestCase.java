@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.module;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VirtualFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of {@link ExpandedContentCache}.
+ */
+public class ExpandedContentCacheTestCase {
+
+    private static final byte[] CONTENT = "content".getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testMountReusesExpansion() throws IOException {
+        final Path cacheDir = temporaryFolder.newFolder("cache").toPath();
+        final VirtualFile archive = createArchive("test.jar", "META-INF/test.txt");
+        final byte[] hash = {1, 2, 3};
+        final VirtualFile mountPoint = VFS.getChild("content/expanded-cache-test.jar");
+
+        try (Closeable handle = new ExpandedContentCache(cacheDir, 1).mount(archive, hash, mountPoint)) {
+            assertArrayEquals(CONTENT, read(mountPoint.getChild("META-INF/test.txt")));
+            assertTrue(mountPoint.getChild("META-INF").isDirectory());
+        }
+        assertFalse(mountPoint.getChild("META-INF/test.txt").exists());
+
+        final Path expanded = cacheDir.resolve(HashUtil.bytesToHexString(hash));
+        final Path marker = expanded.resolve("marker");
+        Files.write(marker, CONTENT);
+        try (Closeable handle = new ExpandedContentCache(cacheDir, 1).mount(archive, hash, mountPoint)) {
+            assertTrue(mountPoint.getChild("marker").exists());
+        }
+    }
+
+    @Test
+    public void testUnusedExpansionsAreEvicted() throws IOException {
+        final Path cacheDir = temporaryFolder.newFolder("cache").toPath();
+        final ExpandedContentCache cache = new ExpandedContentCache(cacheDir, 1);
+        final VirtualFile archive = createArchive("test.jar", "test.txt");
+        final VirtualFile first = VFS.getChild("content/expanded-cache-first.jar");
+        final VirtualFile second = VFS.getChild("content/expanded-cache-second.jar");
+        final VirtualFile third = VFS.getChild("content/expanded-cache-third.jar");
+
+        final Closeable firstHandle = cache.mount(archive, new byte[] {1}, first);
+        cache.mount(archive, new byte[] {2}, second).close();
+        Files.setLastModifiedTime(cacheDir.resolve("02"), FileTime.fromMillis(System.currentTimeMillis() - 60000));
+        try (Closeable handle = cache.mount(archive, new byte[] {3}, third)) {
+            // the mounted expansions are kept, the unused one is over the limit of one
+            assertTrue(Files.isDirectory(cacheDir.resolve("01")));
+            assertTrue(Files.isDirectory(cacheDir.resolve("02")));
+            assertTrue(Files.isDirectory(cacheDir.resolve("03")));
+        }
+        firstHandle.close();
+        Files.setLastModifiedTime(cacheDir.resolve("01"), FileTime.fromMillis(System.currentTimeMillis() - 30000));
+        Files.setLastModifiedTime(cacheDir.resolve("03"), FileTime.fromMillis(System.currentTimeMillis() - 10000));
+        try (Closeable handle = cache.mount(archive, new byte[] {4}, first)) {
+            // only the most recently used of the unused expansions is kept
+            assertEquals(2, countDirectories(cacheDir));
+            assertTrue(Files.isDirectory(cacheDir.resolve("03")));
+            assertTrue(Files.isDirectory(cacheDir.resolve("04")));
+        }
+    }
+
+    @Test
+    public void testEntryOutsideTargetIsRejected() throws IOException {
+        final Path cacheDir = temporaryFolder.newFolder("cache").toPath();
+        final VirtualFile archive = createArchive("evil.jar", "../evil.txt");
+        try {
+            new ExpandedContentCache(cacheDir, 1).mount(archive, new byte[] {1}, VFS.getChild("content/evil.jar"));
+            fail("Entry outside of the target directory was expanded");
+        } catch (IOException expected) {
+            // expected
+        }
+        assertFalse(Files.exists(cacheDir.resolve("evil.txt")));
+        assertEquals(0, countDirectories(cacheDir));
+    }
+
+    private VirtualFile createArchive(final String name, final String entry) throws IOException {
+        final File file = temporaryFolder.newFile(name);
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(file.toPath()))) {
+            out.putNextEntry(new ZipEntry(entry));
+            out.write(CONTENT);
+            out.closeEntry();
+        }
+        return VFS.getChild(file.toURI());
+    }
+
+    private static byte[] read(final VirtualFile file) throws IOException {
+        try (InputStream in = file.openStream()) {
+            final byte[] bytes = new byte[CONTENT.length];
+            assertEquals(CONTENT.length, in.read(bytes));
+            return bytes;
+        }
+    }
+
+    private static long countDirectories(final Path dir) throws IOException {
+        try (Stream<Path> children = Files.list(dir)) {
+            return children.filter(Files::isDirectory).count();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.module;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.jboss.modules.Resource;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VirtualFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that a {@link VFSResourceLoader} serving lookups from its path index behaves like one reading the VFS.
+ */
+public class VFSResourceLoaderTestCase {
+
+    private static final String[] FILES = {
+            "META-INF/MANIFEST.MF",
+            "META-INF/services/org.example.Service",
+            "org/example/A.class",
+            "org/example/B.class",
+            "org/example/impl/C.class",
+            "org/examples/D.class",
+            "root.txt",
+    };
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private VirtualFile root;
+    private Closeable mount;
+    private VFSResourceLoader plain;
+    private VFSResourceLoader indexed;
+
+    @Before
+    public void setUp() throws IOException {
+        final Path dir = temporaryFolder.newFolder("content").toPath();
+        for (String file : FILES) {
+            final Path path = dir.resolve(file);
+            Files.createDirectories(path.getParent());
+            Files.write(path, content(file));
+        }
+        Files.createDirectories(dir.resolve("empty/nested"));
+        root = VFS.getChild("content/resource-loader-test.jar");
+        mount = VFS.mountReal(dir.toFile(), root);
+        plain = new VFSResourceLoader("test", root, false, false);
+        indexed = new VFSResourceLoader("test", root, false, true);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mount.close();
+    }
+
+    @Test
+    public void testGetPaths() {
+        assertEquals(new HashSet<>(plain.getPaths()), new HashSet<>(indexed.getPaths()));
+        assertTrue(indexed.getPaths().contains(""));
+        assertTrue(indexed.getPaths().contains("empty/nested"));
+    }
+
+    @Test
+    public void testGetResource() throws IOException {
+        for (String file : FILES) {
+            final Resource resource = indexed.getResource(file);
+            assertNotNull(file, resource);
+            assertEquals(file, resource.getName());
+            assertArrayEquals(content(file), read(resource));
+            assertEquals(plain.getResource(file).getURL(), resource.getURL());
+        }
+        for (String name : new String[] {"/org/example/A.class", "org/./example/../example/A.class", "org/example", "org/example/"}) {
+            assertEquals(name, plain.getResource(name).getName(), indexed.getResource(name).getName());
+        }
+        for (String name : new String[] {"org/example/Missing.class", "missing/A.class", "org/example/A.class/x", "org/exampl"}) {
+            assertNull(name, plain.getResource(name));
+            assertNull(name, indexed.getResource(name));
+        }
+    }
+
+    @Test
+    public void testGetClassSpec() throws IOException {
+        assertArrayEquals(plain.getClassSpec("org/example/A.class").getBytes(), indexed.getClassSpec("org/example/A.class").getBytes());
+        assertNull(indexed.getClassSpec("org/example/Missing.class"));
+    }
+
+    @Test
+    public void testIterateResources() {
+        for (String startPath : new String[] {"", "/", "org", "org/example", "/org/example/", "org/example/impl", "empty", "missing", "root.txt"}) {
+            for (boolean recursive : new boolean[] {false, true}) {
+                final String message = startPath + (recursive ? " recursive" : "");
+                assertEquals(message, names(plain.iterateResources(startPath, recursive)), names(indexed.iterateResources(startPath, recursive)));
+            }
+        }
+        assertEquals(4, names(indexed.iterateResources("org", true)).size());
+        assertTrue(names(indexed.iterateResources("org", false)).isEmpty());
+    }
+
+    @Test
+    public void testIndexIgnoresLaterChanges() throws IOException {
+        assertNull(indexed.getResource("added.txt"));
+        final VirtualFile added = root.getChild("added.txt");
+        Files.write(added.getPhysicalFile().toPath(), new byte[0]);
+        assertNotNull(plain.getResource("added.txt"));
+        assertNull(indexed.getResource("added.txt"));
+        assertFalse(names(indexed.iterateResources("", false)).contains("added.txt"));
+    }
+
+    private static byte[] content(final String file) {
+        // the manifest is parsed by the loader, so it has to be valid
+        return (file.equals("META-INF/MANIFEST.MF") ? "Manifest-Version: 1.0\n" : file).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Set<String> names(final Iterator<Resource> resources) {
+        final Set<String> names = new HashSet<>();
+        while (resources.hasNext()) {
+            names.add(resources.next().getName());
+        }
+        return names;
+    }
+
+    private static byte[] read(final Resource resource) throws IOException {
+        try (InputStream in = resource.openStream()) {
+            final byte[] bytes = new byte[(int) resource.getSize()];
+            int read = 0;
+            while (read < bytes.length) {
+                read += in.read(bytes, read, bytes.length - read);
+            }
+            return bytes;
+        }
+    }
+}
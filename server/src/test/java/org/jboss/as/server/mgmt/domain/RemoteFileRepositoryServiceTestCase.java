@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2022, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.mgmt.domain;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Map;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.repository.ExplodedContentException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of {@link RemoteFileRepositoryService}.
+ */
+public class RemoteFileRepositoryServiceTestCase {
+
+    private static final String HASH = "0c40ffacd15b0f66d5081a93407d3ff5e3c65a71";
+    private static final String ARCHIVE_HASH = "b1f18e286615dda0643633ec31f1a17d90e48875";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testExplodedContentManifest() throws Exception {
+        final File contentDir = temporaryFolder.newFolder("content");
+        final RemoteFileRepositoryService repository = new RemoteFileRepositoryService(contentDir, temporaryFolder.newFolder("tmp"));
+        final Path exploded = contentDir.toPath().resolve(HASH.substring(0, 2)).resolve(HASH.substring(2)).resolve("content");
+        final byte[] bytes = "index".getBytes(StandardCharsets.UTF_8);
+        Files.createDirectories(exploded.resolve("WEB-INF"));
+        Files.write(exploded.resolve("WEB-INF").resolve("index.html"), bytes);
+
+        final Map<String, byte[]> manifest = repository.getExplodedContentManifest(HashUtil.hexStringToByteArray(HASH));
+        assertEquals(1, manifest.size());
+        assertArrayEquals(MessageDigest.getInstance("SHA-1").digest(bytes), manifest.get("WEB-INF/index.html"));
+
+        final Path archive = contentDir.toPath().resolve(ARCHIVE_HASH.substring(0, 2)).resolve(ARCHIVE_HASH.substring(2)).resolve("content");
+        Files.createDirectories(archive.getParent());
+        Files.write(archive, bytes);
+        try {
+            repository.getExplodedContentManifest(HashUtil.hexStringToByteArray(ARCHIVE_HASH));
+            fail("Archived content has no manifest");
+        } catch (ExplodedContentException expected) {
+        }
+    }
+}